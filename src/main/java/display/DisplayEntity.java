@@ -76,6 +76,7 @@ public final class DisplayEntity {
 	private static final float POWERUP_SIZE = .15f;
 
 	private static final int PLAYER_RESPAWN_FLICKER_TIME = 250;
+	private static final double GHOST_OPACITY = .35;
 	private static final float[] PLAYER_TWO_CIRCLE = {11, 0, 9};
 	private static final double[][] PLAYER_TWO_LINES = {
 			{
@@ -417,11 +418,30 @@ public final class DisplayEntity {
 	 */
 	public static void draw(final Player p) {
 		Paint color = Color.WHITE;
-		if (p.invincible() && (System.currentTimeMillis() - p.getInvincibleStart()) % (PLAYER_RESPAWN_FLICKER_TIME * 2)
+		if (p.invincible() && (p.getThisGame().getTime() - p.getInvincibleStart()) % (PLAYER_RESPAWN_FLICKER_TIME * 2)
 				< PLAYER_RESPAWN_FLICKER_TIME) {
 			color = Color.GREY;
 		}
+		Launcher.getRoot().getChildren().add(player(p, color));
+	}
+
+	/**
+	 * DisplayText the ship of a ghost run on screen, see Ghost.
+	 *
+	 * @param p - the player of the ghost run
+	 */
+	public static void ghost(final Player p) {
+		final Group group = player(p, Color.WHITE);
+		group.setOpacity(GHOST_OPACITY);
+		Launcher.getRoot().getChildren().add(group);
+	}
 
+	/**
+	 * @param p     - the player
+	 * @param color - the color
+	 * @return the ship of the player, placed and turned
+	 */
+	private static Group player(final Player p, final Paint color) {
 		final Group group = new Group();
 		if (p.isPlayerTwo()) {
 			playerTwo(p, color, group);
@@ -432,7 +452,7 @@ public final class DisplayEntity {
 		group.setRotate(Math.toDegrees(-p.getRotation()));
 		group.setTranslateX(p.getX());
 		group.setTranslateY(p.getY());
-		Launcher.getRoot().getChildren().add(group);
+		return group;
 	}
 
 	/**
@@ -537,4 +557,53 @@ public final class DisplayEntity {
 	public static double[][] getSaucerShape() {
 		return SAUCER_SHAPE.clone();
 	}
+
+	/**
+	 * @return the asteroidSize
+	 */
+	public static float getAsteroidSize() {
+		return ASTEROID_SIZE;
+	}
+
+	/**
+	 * @return the saucerSize
+	 */
+	public static float getSaucerSize() {
+		return SAUCER_SIZE;
+	}
+
+	/**
+	 * @return the bossSize
+	 */
+	public static float getBossSize() {
+		return BOSS_SIZE;
+	}
+
+	/**
+	 * @return the playerOneSize
+	 */
+	public static float getPlayerOneSize() {
+		return PLAYER_ONE_SIZE;
+	}
+
+	/**
+	 * @return the basicBossShape
+	 */
+	public static double[][] getBasicBossShape() {
+		return BASIC_BOSS_SHAPE.clone();
+	}
+
+	/**
+	 * @return the teleBossShape
+	 */
+	public static double[][] getTeleBossShape() {
+		return TELE_BOSS_SHAPE.clone();
+	}
+
+	/**
+	 * @return the doubleBossShape
+	 */
+	public static double[][] getDoubleBossShape() {
+		return DOUBLE_BOSS_SHAPE.clone();
+	}
 }
@@ -125,8 +125,9 @@ public final class DisplayText {
 	/**
 	 * draw the view highscores screen.
 	 * @param strings - the highscore strings
+	 * @param shown - what the strings are, the modes or the name of one mode
 	 */
-	public static void viewHighscoresScreen(final String[][] strings) {
+	public static void viewHighscoresScreen(final String[][] strings, final String shown) {
         final float highscoresTextX = (float) 140;
         final float highscoresTextY = (float) 100;
         final float highscoresModesTextX = (float) 100;
@@ -135,6 +136,7 @@ public final class DisplayText {
         final int highscoresModesSpace = 30;
         final float deleteTextY = (float) 410;
         final float returnToMainTextY = (float) 440;
+        final float modeTextY = (float) 470;
         final float scoreTextSize = (float) 100;
 
         drawText(highscoresTextX, highscoresTextY, LARGE_FONT, "highscores");
@@ -148,6 +150,31 @@ public final class DisplayText {
         }
         drawText(highscoresModesTextX, deleteTextY, 			"press d to delete all highscores");
         drawText(highscoresModesTextX, returnToMainTextY, 	"press r to return to main menu");
+        drawText(highscoresModesTextX, modeTextY, 			"< " + shown + " >");
+	}
+
+	/**
+	 * draw the option to resume the saved run on the start screen.
+	 */
+	public static void resumeOption() {
+		final float pressEnterTextX = (float) 100;
+		final float pressEnterTextY = (float) 180;
+		drawText(pressEnterTextX, pressEnterTextY, "press enter to resume your run");
+	}
+
+	/**
+	 * draw whether the ghost of the highscore runs along.
+	 *
+	 * @param on - whether the ghost is on
+	 */
+	public static void ghostOption(final boolean on) {
+		final float pressGTextX = (float) 100;
+		final float pressGTextY = (float) 470;
+		String text = "press g to race your best run: off";
+		if (on) {
+			text = "press g to race your best run: on";
+		}
+		drawText(pressGTextX, pressGTextY, text);
 	}
 
 	/**
@@ -156,10 +183,23 @@ public final class DisplayText {
 	public static void pauseScreen() {
         final float pressPTextY = (float) 280;
         final float pressRTextY = (float) 310;
+        final float pressEscapeTextY = (float) 340;
 
         drawText(CONGRATULATIONS_TEXT_X, CONGRATULATIONS_TEXT_Y, LARGE_FONT, "Pause");
         drawText(PRESS_R_TEXT_X, pressPTextY, "press p to continue");
         drawText(PRESS_R_TEXT_X, pressRTextY, "press r to return to main menu");
+        drawText(PRESS_R_TEXT_X, pressEscapeTextY, "press escape to save and quit");
+	}
+
+	/**
+	 * draw the kill cam text.
+	 */
+	public static void killCam() {
+        final float killCamTextY = (float) 60;
+        final float pressEnterTextY = (float) 470;
+
+        drawText(CONGRATULATIONS_TEXT_X, killCamTextY, LARGE_FONT, "Kill cam");
+        drawText(PRESS_R_TEXT_X, pressEnterTextY, "left and right to rewind, enter to skip");
 	}
 
 	/**
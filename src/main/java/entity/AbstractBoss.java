@@ -3,9 +3,13 @@ package entity;
 import entity.builders.BulletBuilder;
 import game.Game;
 import game.Logger;
+import game.snapshot.Codec;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
+
 /**
  * Abstract version of the Boss class to allow for extension.
  * @author Dario
@@ -15,8 +19,12 @@ import lombok.Setter;
 @Getter
 public abstract class AbstractBoss extends AbstractEntity {
 	private int currentLives;
-	private final BulletBuilder bBuilder;
 	private int bullets;
+	/**
+	 * The data this boss shares with every boss of its kind.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final BossType type;
 
 	/**
 	 * Constructor for boss.
@@ -25,14 +33,22 @@ public abstract class AbstractBoss extends AbstractEntity {
 	 * @param dX speed of boss along x-axis
 	 * @param dY speed of boss along y-axis
 	 * @param thisGame game the boss exists in
+	 * @param type the kind of boss, which gives its radius, lives and bullets
 	 */
-	public AbstractBoss(final float x, final float y, final float dX, final float dY, final Game thisGame) {
+	public AbstractBoss(final float x, final float y, final float dX, final float dY, final Game thisGame,
+						final BossType type) {
 		super(x, y, dX, dY, thisGame);
-		
-		// Initialize the Bullet Builder
-		bBuilder = new BulletBuilder();
-		getBBuilder().setPierce(0);
-		getBBuilder().setFriendly(false);
+		this.type = type;
+		setRadius(type.getRadius());
+		currentLives = type.getStartingLives();
+		bullets = type.getBullets();
+	}
+
+	/**
+	 * @return the bullet builder shared by all enemies of the game
+	 */
+	public final BulletBuilder getBBuilder() {
+		return getThisGame().getEnemyBullets();
 	}
 
 	/**
@@ -63,4 +79,23 @@ public abstract class AbstractBoss extends AbstractEntity {
 		}
 	}
 
+	/**
+	 * Write the lives and the amount of bullets per shot every boss has.
+	 *
+	 * @param out the buffer
+	 */
+	protected final void saveBoss(final ByteBuffer out) {
+		Codec.putSigned(out, currentLives);
+		Codec.putVarLong(out, bullets);
+	}
+
+	/**
+	 * Restore the state written by saveBoss.
+	 *
+	 * @param in the buffer
+	 */
+	protected final void loadBoss(final ByteBuffer in) {
+		currentLives = (int) Codec.getSigned(in);
+		bullets = Codec.getVarInt(in);
+	}
 }
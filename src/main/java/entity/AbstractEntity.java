@@ -1,8 +1,10 @@
 package entity;
 import game.Game;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -18,10 +20,37 @@ public abstract class AbstractEntity {
 	private float dX;
 	private float dY;
 	private float radius;
+	/**
+	 * Speed above which collisions are tested along the path travelled in the
+	 * last tick instead of only at the current position.
+	 */
+	private float sweepSpeed = Float.POSITIVE_INFINITY;
+	/**
+	 * Motion flags from EntityStore, telling how the entity moves every tick.
+	 */
+	private int motion;
+	/**
+	 * The handle of this entity in the EntityHandles of its game, or
+	 * EntityHandles.NONE if nothing refers to it by handle.
+	 */
+	@Setter(AccessLevel.PACKAGE)
+	private int id;
 	/**
 	 * The Game this Entity belongs to.
 	 */
 	private Game thisGame;
+	/**
+	 * The store holding the state of this entity while it is in a game, or
+	 * null while it keeps its state in its own fields.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private EntityStore store;
+	/**
+	 * The slot of this entity in the store.
+	 */
+	@Setter(AccessLevel.NONE)
+	private int slot = -1;
 
 	/**
 	 * Constructor for the Entity class.
@@ -51,6 +80,235 @@ public abstract class AbstractEntity {
 		this.setThisGame(null);
 	}
 
+	/**
+	 * @return location of the entity along the X-axis
+	 */
+	public final float getX() {
+		if (store == null) {
+			return x;
+		}
+		return store.getX()[slot];
+	}
+
+	/**
+	 * @param x location of the entity along the X-axis
+	 */
+	public final void setX(final float x) {
+		if (store == null) {
+			this.x = x;
+		} else {
+			store.getX()[slot] = x;
+		}
+	}
+
+	/**
+	 * @return location of the entity along the Y-axis
+	 */
+	public final float getY() {
+		if (store == null) {
+			return y;
+		}
+		return store.getY()[slot];
+	}
+
+	/**
+	 * @param y location of the entity along the Y-axis
+	 */
+	public final void setY(final float y) {
+		if (store == null) {
+			this.y = y;
+		} else {
+			store.getY()[slot] = y;
+		}
+	}
+
+	/**
+	 * @return velocity of the entity along the X-axis
+	 */
+	public final float getDX() {
+		if (store == null) {
+			return dX;
+		}
+		return store.getDX()[slot];
+	}
+
+	/**
+	 * @param dX velocity of the entity along the X-axis
+	 */
+	public final void setDX(final float dX) {
+		if (store == null) {
+			this.dX = dX;
+		} else {
+			store.getDX()[slot] = dX;
+		}
+	}
+
+	/**
+	 * @return velocity of the entity along the Y-axis
+	 */
+	public final float getDY() {
+		if (store == null) {
+			return dY;
+		}
+		return store.getDY()[slot];
+	}
+
+	/**
+	 * @param dY velocity of the entity along the Y-axis
+	 */
+	public final void setDY(final float dY) {
+		if (store == null) {
+			this.dY = dY;
+		} else {
+			store.getDY()[slot] = dY;
+		}
+	}
+
+	/**
+	 * @return radius of the entity
+	 */
+	public final float getRadius() {
+		if (store == null) {
+			return radius;
+		}
+		return store.getRadius()[slot];
+	}
+
+	/**
+	 * @param radius radius of the entity
+	 */
+	public final void setRadius(final float radius) {
+		if (store == null) {
+			this.radius = radius;
+		} else {
+			store.getRadius()[slot] = radius;
+		}
+	}
+
+	/**
+	 * @return speed above which collisions of this entity are swept
+	 */
+	public final float getSweepSpeed() {
+		if (store == null) {
+			return sweepSpeed;
+		}
+		return store.getSweepSpeed()[slot];
+	}
+
+	/**
+	 * @param sweepSpeed speed above which collisions of this entity are swept
+	 */
+	public final void setSweepSpeed(final float sweepSpeed) {
+		if (store == null) {
+			this.sweepSpeed = sweepSpeed;
+		} else {
+			store.getSweepSpeed()[slot] = sweepSpeed;
+		}
+	}
+
+	/**
+	 * @return motion flags of the entity
+	 */
+	public final int getMotion() {
+		if (store == null) {
+			return motion;
+		}
+		return store.getMotion()[slot];
+	}
+
+	/**
+	 * @param motion motion flags of the entity, see EntityStore
+	 */
+	public final void setMotion(final int motion) {
+		if (store == null) {
+			this.motion = motion;
+		} else {
+			store.getMotion()[slot] = motion;
+		}
+	}
+
+	/**
+	 * Move the state of this entity into a slot of a store.
+	 *
+	 * @param target the store
+	 * @param index  the slot in the store
+	 */
+	final void attach(final EntityStore target, final int index) {
+		final float currentX = getX();
+		final float currentY = getY();
+		final float currentDX = getDX();
+		final float currentDY = getDY();
+		final float currentRadius = getRadius();
+		final float currentSweepSpeed = getSweepSpeed();
+		final int currentMotion = getMotion();
+		store = target;
+		slot = index;
+		setX(currentX);
+		setY(currentY);
+		setDX(currentDX);
+		setDY(currentDY);
+		setRadius(currentRadius);
+		setSweepSpeed(currentSweepSpeed);
+		setMotion(currentMotion);
+	}
+
+	/**
+	 * Take the state of this entity back from a store into its own fields.
+	 * Does nothing if the entity has since moved to another store.
+	 *
+	 * @param source the store the entity was attached to
+	 */
+	final void detach(final EntityStore source) {
+		if (store != source) {
+			return;
+		}
+		x = getX();
+		y = getY();
+		dX = getDX();
+		dY = getDY();
+		radius = getRadius();
+		sweepSpeed = getSweepSpeed();
+		motion = getMotion();
+		store = null;
+		slot = -1;
+	}
+
+	/**
+	 * @param source a store
+	 * @return whether the state of this entity is kept in the store
+	 */
+	final boolean isAttachedTo(final EntityStore source) {
+		return store == source;
+	}
+
+	/**
+	 * Point this entity at another slot of its store, after its state was
+	 * copied there.
+	 *
+	 * @param index the new slot
+	 */
+	final void moveTo(final int index) {
+		slot = index;
+	}
+
+	/**
+	 * @return whether the state of this entity is kept in a store
+	 */
+	public final boolean isAttached() {
+		return store != null;
+	}
+
+	/**
+	 * @return the time of the game of this entity in milliseconds, or the
+	 *         wall clock while it has no game yet
+	 */
+	public final long gameTime() {
+		if (getThisGame() == null) {
+			return System.currentTimeMillis();
+		}
+		return getThisGame().getTime();
+	}
+
 	/**
 	 * Method to calculate new position of entity.
 	 *
@@ -68,8 +326,45 @@ public abstract class AbstractEntity {
 	 * reach the edge.
 	 */
 	public final void wrapAround() {
-		setX((getX() + getThisGame().getScreenX()) % getThisGame().getScreenX());
-		setY((getY() + getThisGame().getScreenY()) % getThisGame().getScreenY());
+		final Game game = getThisGame();
+		setX(wrap(getX(), game.getScreenX()));
+		setY(wrap(getY(), game.getScreenY()));
+	}
+
+	/**
+	 * Move the entity along its velocity and wrap it around the screen,
+	 * according to its motion flags. Entities in a store have already been
+	 * moved by {@link EntityStore#integrate(float, float)} this tick, so this
+	 * only moves entities that are not in one.
+	 */
+	public final void integrate() {
+		if (isAttached()) {
+			return;
+		}
+		final int flags = getMotion();
+		if ((flags & EntityStore.INTEGRATE) != 0) {
+			setX(getX() + getDX());
+			setY(getY() + getDY());
+		}
+		if ((flags & EntityStore.WRAP) != 0) {
+			wrapAround();
+		}
+	}
+
+	/**
+	 * Wrap a coordinate into the range from 0 up to size. A coordinate just
+	 * below 0 can round up to size, which is 0 again.
+	 *
+	 * @param value the coordinate
+	 * @param size  the size of the screen along the axis
+	 * @return the wrapped coordinate
+	 */
+	public static float wrap(final float value, final float size) {
+		final float wrapped = value - size * (float) Math.floor(value / size);
+		if (wrapped >= size) {
+			return 0;
+		}
+		return wrapped;
 	}
 
 	/**
@@ -100,7 +395,61 @@ public abstract class AbstractEntity {
 	 * @return boolean that is true when entities collide
 	 */
 	public static boolean collision(final AbstractEntity e1, final AbstractEntity e2) {
-		return (e1.radius + e2.radius) > distance(e1, e2);
+		if (overlap(e1.getX(), e1.getY(), e1.getRadius(), e2.getX(), e2.getY(), e2.getRadius())) {
+			return true;
+		}
+		return (e1.isSwept() || e2.isSwept()) && sweptOverlap(e1, e2);
+	}
+
+	/**
+	 * @return whether this entity moves fast enough to need swept collision tests.
+	 */
+	public final boolean isSwept() {
+		return getDX() * getDX() + getDY() * getDY() > getSweepSpeed() * getSweepSpeed();
+	}
+
+	/**
+	 * Check whether or not two circles overlap, using the same arithmetic as
+	 * {@link #collision(AbstractEntity, AbstractEntity)}.
+	 *
+	 * @param x1 x coordinate of the first circle
+	 * @param y1 y coordinate of the first circle
+	 * @param r1 radius of the first circle
+	 * @param x2 x coordinate of the second circle
+	 * @param y2 y coordinate of the second circle
+	 * @param r2 radius of the second circle
+	 * @return boolean that is true when the circles overlap
+	 */
+	public static boolean overlap(final float x1, final float y1, final float r1,
+								  final float x2, final float y2, final float r2) {
+		return (r1 + r2) > (float) Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
+	}
+
+	/**
+	 * Check whether or not two moving entities touched during the last tick.
+	 * Both are assumed to have moved in a straight line from their position
+	 * minus their velocity to their current position, so looking at the motion
+	 * of the first relative to the second it is enough to find the point on
+	 * that line closest to the second entity.
+	 *
+	 * @param e1 first AbstractEntity
+	 * @param e2 second AbstractEntity
+	 * @return boolean that is true when the entities overlapped somewhere in the last tick
+	 */
+	public static boolean sweptOverlap(final AbstractEntity e1, final AbstractEntity e2) {
+		final double moveX = e1.getDX() - e2.getDX();
+		final double moveY = e1.getDY() - e2.getDY();
+		final double startX = e1.getX() - e2.getX() - moveX;
+		final double startY = e1.getY() - e2.getY() - moveY;
+		final double length = moveX * moveX + moveY * moveY;
+		double t = 0;
+		if (length > 0) {
+			t = Math.max(0, Math.min(1, -(startX * moveX + startY * moveY) / length));
+		}
+		final double closestX = startX + t * moveX;
+		final double closestY = startY + t * moveY;
+		final double reach = e1.getRadius() + e2.getRadius();
+		return closestX * closestX + closestY * closestY < reach * reach;
 	}
 
 	/**
@@ -116,4 +465,20 @@ public abstract class AbstractEntity {
 	 */
 	public abstract void onDeath();
 
+	/**
+	 * Write the state this entity adds to its position, velocity and radius,
+	 * with times relative to the timers of the game, so a snapshot can
+	 * restore it.
+	 *
+	 * @param out the buffer
+	 */
+	public abstract void save(ByteBuffer out);
+
+	/**
+	 * Restore the state written by save, on a new entity of the same class in
+	 * the game the snapshot is restored in.
+	 *
+	 * @param in the buffer
+	 */
+	public abstract void load(ByteBuffer in);
 }
@@ -1,13 +1,13 @@
 package entity;
 import display.DisplayEntity;
-import game.Audio;
 import game.Game;
+import game.GameRandom;
 import game.Logger;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Class that represents an Asteroid.
@@ -18,26 +18,8 @@ public class Asteroid extends AbstractEntity {
 	private int shape;
 
 	private static final int SHAPES = 3;
-	private static final float BIG_RADIUS = 20;
-	private static final float MEDIUM_RADIUS = 12;
-	private static final int BIG_SCORE = 20;
-	private static final float SMALL_RADIUS = 4;
-	private static final int MEDIUM_SCORE = 50;
-	private static final int SMALL_SCORE = 100;
 	private static final float MIN_SPEED = .5f;
 	private static final int SPLIT = 2;
-	/**
-	 * The converted size for big asteroids in survival mode.
-	 */
-	private static final int SURVIVAL_CONVERTED_SIZE_BIG = 4;
-	/**
-	 * The converted size for medium asteroids in survival mode.
-	 */
-	private static final int SURVIVAL_CONVERTED_SIZE_MEDIUM = 2;
-	/**
-	 * The converted size for small asteroids in survival mode.
-	 */
-	private static final int SURVIVAL_CONVERTED_SIZE_SMALL = 1;
 
 	/**
 	 * Constructor for the Asteroid class.
@@ -50,9 +32,9 @@ public class Asteroid extends AbstractEntity {
 	 */
 	public Asteroid(final float x, final float y, final float dX, final float dY, final Game thisGame) {
 		super(x, y, dX, dY, thisGame);
-		final Random random = new Random();
-		setRadius(BIG_RADIUS);
-		shape = random.nextInt(SHAPES);
+		setMotion(EntityStore.INTEGRATE | EntityStore.WRAP);
+		setRadius(AsteroidSize.BIG.getRadius());
+		shape = thisGame.getEffectRandom().nextInt(SHAPES);
 		if (getDX() == 0) {
 			setDX(1);
 		}
@@ -88,9 +70,7 @@ public class Asteroid extends AbstractEntity {
 	 */
 	@Override
 	public final void update(final List<String> input) {
-		setX(getX() + getDX());
-		setY(getY() + getDY());
-		wrapAround();
+		integrate();
 	}
 
 	/**
@@ -114,24 +94,16 @@ public class Asteroid extends AbstractEntity {
 	 */
 	@Override
 	public final void onDeath() {
-		if (Float.compare(BIG_RADIUS, getRadius()) == 0) {
-			for (int i = 0; i < SPLIT; i++) {
-				getThisGame().create(new Asteroid(getX(), getY(), (float) (getDX() + Math.random() - .5),
-						(float) (getDY() + Math.random() - .5), MEDIUM_RADIUS, getThisGame()));
-			}
-			getThisGame().getAudio().playMultiple(Audio.LARGEEXPLOSION);
-			getThisGame().addScore(BIG_SCORE);
-		} else if (Float.compare(MEDIUM_RADIUS, getRadius()) == 0) {
+		final AsteroidSize size = AsteroidSize.of(getRadius());
+		if (size.getChild() != null) {
+			final GameRandom random = getThisGame().getRandom();
 			for (int i = 0; i < SPLIT; i++) {
-				getThisGame().create(new Asteroid(getX(), getY(), (float) (getDX() + Math.random() - .5),
-						(float) (getDY() + Math.random() - .5), SMALL_RADIUS, getThisGame()));
+				getThisGame().create(new Asteroid(getX(), getY(), (float) (getDX() + random.nextDouble() - .5),
+						(float) (getDY() + random.nextDouble() - .5), size.getChild().getRadius(), getThisGame()));
 			}
-			getThisGame().getAudio().playMultiple(Audio.MEDIUMEXPLOSION);
-			getThisGame().addScore(MEDIUM_SCORE);
-		} else {
-			getThisGame().getAudio().playMultiple(Audio.SMALLEXPLOSION);
-			getThisGame().addScore(SMALL_SCORE);
 		}
+		getThisGame().getAudio().playMultiple(size.getExplosion());
+		getThisGame().addScore(size.getScore());
 		Particle.explosion(getX(), getY(), getThisGame());
 	}
 	
@@ -140,13 +112,7 @@ public class Asteroid extends AbstractEntity {
 	 * @return 4 for big asteroids, 2 for medium and 1 for small.
 	 */
 	public final int getSurvivalSize() {
-		if (Float.compare(BIG_RADIUS, getRadius()) == 0) {
-			return SURVIVAL_CONVERTED_SIZE_BIG;
-		} else if (Float.compare(MEDIUM_RADIUS, getRadius()) == 0) {
-			return SURVIVAL_CONVERTED_SIZE_MEDIUM;
-		} else {
-			return SURVIVAL_CONVERTED_SIZE_SMALL;
-		}
+		return AsteroidSize.of(getRadius()).getSurvivalSize();
 	}
 
 	/**
@@ -161,13 +127,23 @@ public class Asteroid extends AbstractEntity {
 	 * @return the mediumRadius
 	 */
 	public static float getMediumRadius() {
-		return MEDIUM_RADIUS;
+		return AsteroidSize.MEDIUM.getRadius();
 	}
 
 	/**
 	 * @return the smallRadius
 	 */
 	public static float getSmallRadius() {
-		return SMALL_RADIUS;
+		return AsteroidSize.SMALL.getRadius();
+	}
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		out.put((byte) shape);
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		shape = in.get();
 	}
 }
@@ -0,0 +1,70 @@
+package entity;
+
+import game.Audio;
+import lombok.Getter;
+
+/**
+ * The data every asteroid of one size shares, kept once per size instead of
+ * being worked out again in every asteroid.
+ */
+@Getter
+public final class AsteroidSize {
+	/**
+	 * Small asteroids, they do not split.
+	 */
+	public static final AsteroidSize SMALL = new AsteroidSize(4, 100, 1, Audio.SMALLEXPLOSION, null);
+	/**
+	 * Medium asteroids, they split into small ones.
+	 */
+	public static final AsteroidSize MEDIUM = new AsteroidSize(12, 50, 2, Audio.MEDIUMEXPLOSION, SMALL);
+	/**
+	 * Big asteroids, they split into medium ones.
+	 */
+	public static final AsteroidSize BIG = new AsteroidSize(20, 20, 4, Audio.LARGEEXPLOSION, MEDIUM);
+
+	private final float radius;
+	private final int score;
+	/**
+	 * How many small asteroids this size counts as in survival mode.
+	 */
+	private final int survivalSize;
+	private final int explosion;
+	/**
+	 * The size of the asteroids this size splits into, or null.
+	 */
+	private final AsteroidSize child;
+
+	/**
+	 * Constructor for an AsteroidSize.
+	 *
+	 * @param radius       radius of the asteroids
+	 * @param score        score for destroying one
+	 * @param survivalSize how many small asteroids one counts as in survival mode
+	 * @param explosion    the audio track played when one is destroyed
+	 * @param child        the size it splits into, or null
+	 */
+	private AsteroidSize(final float radius, final int score, final int survivalSize, final int explosion,
+						 final AsteroidSize child) {
+		this.radius = radius;
+		this.score = score;
+		this.survivalSize = survivalSize;
+		this.explosion = explosion;
+		this.child = child;
+	}
+
+	/**
+	 * Find the size of an asteroid from its radius, anything that is neither
+	 * big nor medium counts as small.
+	 *
+	 * @param radius the radius of the asteroid
+	 * @return the size
+	 */
+	public static AsteroidSize of(final float radius) {
+		if (Float.compare(BIG.radius, radius) == 0) {
+			return BIG;
+		} else if (Float.compare(MEDIUM.radius, radius) == 0) {
+			return MEDIUM;
+		}
+		return SMALL;
+	}
+}
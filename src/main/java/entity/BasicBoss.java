@@ -2,11 +2,14 @@ package entity;
 
 import display.DisplayEntity;
 import game.Game;
+import game.TimerWheel;
+import game.snapshot.Codec;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Class that represents a BasicBoss. Moves like a saucer from one
@@ -19,21 +22,20 @@ import java.util.Random;
 @Getter
 public class BasicBoss extends AbstractBoss {
 	private int toRight;
-	private final Random random;
 	private long dirChangeTime;
-	private long shotSpeed;
+	/**
+	 * Changes the direction of the boss every CHANGE_DIR_TIME.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private final TimerWheel.Timer dirChange;
 	private long shotTime;
 	private static final double PATHS = 3;
 	private static final double PATH_ANGLE = Math.PI / 4;
 	private static final long CHANGE_DIR_TIME = 2000;
-	private static final float RADIUS = 50;
 	private static final float BULLET_SPEED = 4;
-	private static final long SHOT_TIME = 1000;
-	private static final int BULLETNUMBER = 5;
-	private static final int STARTING_LIVES = 10;
 	private static final double MULTI_SHOT_ANGLE = .1;
 	private static final float ACCURACY = 3;
-	private static final int SCORE = 20000;
 
 	/**
 	 * Constructor for BasicBoss.
@@ -44,19 +46,30 @@ public class BasicBoss extends AbstractBoss {
 	 * @param thisGame game the BasicBoss exists in
 	 */
 	public BasicBoss(final float x, final float y, final float dX, final float dY, final Game thisGame) {
-		super(x, y, dX, dY, thisGame);
-		random = new Random();
-		setRadius(RADIUS);
-		dirChangeTime = System.currentTimeMillis();
+		this(x, y, dX, dY, thisGame, BossType.BASIC);
+	}
+
+	/**
+	 * Constructor for a boss that moves like a BasicBoss.
+	 * @param x location of the boss along x-axis
+	 * @param y location of the boss along y-axis
+	 * @param dX speed of the boss along x-axis
+	 * @param dY speed of the boss along y-axis
+	 * @param thisGame game the boss exists in
+	 * @param type the kind of boss
+	 */
+	protected BasicBoss(final float x, final float y, final float dX, final float dY, final Game thisGame,
+						final BossType type) {
+		super(x, y, dX, dY, thisGame, type);
+		setMotion(EntityStore.INTEGRATE);
+		dirChange = thisGame.getTimers().timer(this::changeDirection);
+		setDirChangeTime(thisGame.getTime());
 		shotTime = dirChangeTime;
-		setCurrentLives(STARTING_LIVES);
 		int nextToRight = 0;
 		if (x > (getThisGame().getScreenX() / 2)) {
 			nextToRight = 1;
 		}
-		setPath(nextToRight, random.nextInt((int) PATHS));
-		this.shotSpeed = SHOT_TIME;
-		setBullets(BULLETNUMBER);
+		setPath(nextToRight, getThisGame().getRandom().nextInt((int) PATHS));
 	}
 
 	/**
@@ -68,23 +81,27 @@ public class BasicBoss extends AbstractBoss {
 	 */
 	@Override
 	public final void update(final List<String> input) {
-		setX(getX() + getDX());
-		setY(getY() + getDY());
+		integrate();
 		checkEdgeX();
 		checkEdgeY();
-		changeDirection();
 		shoot();
 	}
 
 	/**
-	 * Change the BasicBoss's direction randomly at certain times in a random
-	 * direction.
+	 * @param dirChangeTime the game time at which the direction last changed,
+	 *                      the next change is CHANGE_DIR_TIME later
+	 */
+	public final void setDirChangeTime(final long dirChangeTime) {
+		this.dirChangeTime = dirChangeTime;
+		dirChange.schedule(dirChangeTime + CHANGE_DIR_TIME);
+	}
+
+	/**
+	 * Change the BasicBoss's direction at random, called by its timer.
 	 */
 	private void changeDirection() {
-		if (System.currentTimeMillis() - dirChangeTime > CHANGE_DIR_TIME) {
-			dirChangeTime = System.currentTimeMillis();
-			setPath(random.nextInt((int) PATHS));
-		}
+		setDirChangeTime(getThisGame().getTime());
+		setPath(getThisGame().getRandom().nextInt((int) PATHS));
 	}
 
 	/**
@@ -152,26 +169,26 @@ public class BasicBoss extends AbstractBoss {
 			return;
 		}
 		if (getThisGame().getPlayer().invincible()) {
-			this.shotTime = System.currentTimeMillis();
+			this.shotTime = getThisGame().getTime();
 		} else {
-			if (System.currentTimeMillis() - this.shotTime > this.shotSpeed) {
+			if (getThisGame().getTime() - this.shotTime > getType().getShotTime()) {
 				final float playerX = getThisGame().getPlayer().getX();
 				final float playerY = getThisGame().getPlayer().getY();
-				final float randomRange = (float) (Math.PI * (Math.random() / ACCURACY));
+				final float randomRange = (float) (Math.PI * (getThisGame().getRandom().nextDouble() / ACCURACY));
 				float straightDir;
 				if (playerX > getX()) {
 					straightDir = (float) Math.atan((playerY - getY()) / (playerX - getX()));
 				} else {
 					straightDir = (float) (Math.PI + Math.atan((playerY - getY()) / (playerX - getX())));
 				}
-				final float errorRight = (float) (random.nextInt(2) * 2 - 1);
+				final float errorRight = (float) (getThisGame().getRandom().nextInt(2) * 2 - 1);
 
 				final float shotDir = straightDir + errorRight * randomRange;
 
 				for (int i = 0; i < getBullets(); i++) {
 					fireBullet(shotDir - i * MULTI_SHOT_ANGLE);
 				}
-				this.shotTime = System.currentTimeMillis();
+				this.shotTime = getThisGame().getTime();
 			}
 		}
 	}
@@ -191,6 +208,7 @@ public class BasicBoss extends AbstractBoss {
 		this.getBBuilder().setThisGame(getThisGame());
 		this.getBBuilder().setShooter(this);
 		this.getBBuilder().setFriendly(false);
+		this.getBBuilder().setPierce(0);
 		final Bullet b = (Bullet) getBBuilder().getResult();
 
 		getThisGame().create(b);
@@ -203,8 +221,8 @@ public class BasicBoss extends AbstractBoss {
 
 	@Override
 	public final void onDeath() {
-		getThisGame().getSpawner().setStartRest(System.currentTimeMillis());
-		getThisGame().addScore(SCORE);
+		dirChange.cancel();
+		getThisGame().addScore(getType().getScore());
 		Particle.explosion(getX(), getY(), getThisGame());
 	}
 	
@@ -213,7 +231,29 @@ public class BasicBoss extends AbstractBoss {
 	 * @return the amount of starting lives
 	 */
 	public final int getStartingLives() {
-		return STARTING_LIVES;
+		return getType().getStartingLives();
+	}
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		final long now = getThisGame().getTimers().getNow();
+		saveBoss(out);
+		out.put((byte) toRight);
+		Codec.putTime(out, dirChangeTime, now);
+		dirChange.save(out);
+		// the time between shots, which is kept by the type now
+		Codec.putVarLong(out, getType().getShotTime());
+		Codec.putTime(out, shotTime, now);
 	}
 
+	@Override
+	public final void load(final ByteBuffer in) {
+		final long now = getThisGame().getTimers().getNow();
+		loadBoss(in);
+		toRight = in.get();
+		dirChangeTime = Codec.getTime(in, now);
+		dirChange.load(in);
+		Codec.getVarLong(in);
+		shotTime = Codec.getTime(in, now);
+	}
 }
@@ -0,0 +1,53 @@
+package entity;
+
+import lombok.Getter;
+
+/**
+ * The data every boss of one kind shares, kept once per kind instead of in
+ * every boss.
+ */
+@Getter
+public final class BossType {
+	/**
+	 * The boss that flies around like a saucer.
+	 */
+	public static final BossType BASIC = new BossType(50, 10, 5, 1000, 20000);
+	/**
+	 * One of a pair of smaller bosses that shoot faster.
+	 */
+	public static final BossType DOUBLE = new BossType(40, 7, 3, 600, 20000);
+	/**
+	 * The boss that teleports.
+	 */
+	public static final BossType TELE = new BossType(50, 10, 5, 1000, 20000);
+
+	private final float radius;
+	private final int startingLives;
+	/**
+	 * The amount of bullets per shot a boss starts with.
+	 */
+	private final int bullets;
+	/**
+	 * The time between two shots.
+	 */
+	private final long shotTime;
+	private final int score;
+
+	/**
+	 * Constructor for a BossType.
+	 *
+	 * @param radius        radius of the bosses
+	 * @param startingLives the lives a boss starts with
+	 * @param bullets       the amount of bullets per shot a boss starts with
+	 * @param shotTime      the time between two shots
+	 * @param score         score for destroying one
+	 */
+	private BossType(final float radius, final int startingLives, final int bullets, final long shotTime,
+					 final int score) {
+		this.radius = radius;
+		this.startingLives = startingLives;
+		this.bullets = bullets;
+		this.shotTime = shotTime;
+		this.score = score;
+	}
+}
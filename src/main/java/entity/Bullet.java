@@ -1,9 +1,13 @@
 package entity;
 import display.DisplayEntity;
 import game.Logger;
+import game.TimerWheel;
+import game.snapshot.Codec;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -14,12 +18,26 @@ import java.util.List;
 public class Bullet extends AbstractEntity {
 	private long birthTime;
 	private boolean friendly;
-	private AbstractEntity shooter;
+	/**
+	 * Handle of the entity that shot this bullet.
+	 */
+	private int shooterId;
 	private int piercing = 1;
 	private boolean shot;
+	/**
+	 * Destroys the bullet when its lifetime is over.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private TimerWheel.Timer expiry;
 
 	private static final long LIFETIME = 2000;
 	private static final float RADIUS = 2;
+	/**
+	 * Bullets faster than this can skip past small asteroids between two
+	 * ticks, so their collisions are tested along their path.
+	 */
+	private static final float SWEEP_SPEED = 2;
 
 	/**
 	 * Constructor for the Bullet class.
@@ -27,11 +45,84 @@ public class Bullet extends AbstractEntity {
 	public Bullet() {
 		super();
 		setRadius(RADIUS);
+		setSweepSpeed(SWEEP_SPEED);
 		birthTime = 0;
 		friendly = true;
 		shot = false;
 	}
 
+	/**
+	 * Bullets only start moving once they are shot.
+	 *
+	 * @param shot whether the bullet has been shot
+	 */
+	public final void setShot(final boolean shot) {
+		this.shot = shot;
+		if (shot) {
+			setMotion(EntityStore.INTEGRATE | EntityStore.WRAP);
+		} else {
+			setMotion(0);
+		}
+		scheduleExpiry();
+	}
+
+	/**
+	 * @param birthTime the game time at which the bullet was shot
+	 */
+	public final void setBirthTime(final long birthTime) {
+		this.birthTime = birthTime;
+		scheduleExpiry();
+	}
+
+	/**
+	 * Schedule the end of the lifetime of a shot bullet on the timers of its
+	 * game, or cancel it if the bullet is not shot.
+	 */
+	private void scheduleExpiry() {
+		if (getThisGame() == null) {
+			return;
+		}
+		if (!shot) {
+			if (expiry != null) {
+				expiry.cancel();
+			}
+			return;
+		}
+		expiryTimer().schedule(birthTime + LIFETIME);
+	}
+
+	/**
+	 * @return the timer that ends the lifetime of the bullet, made the first
+	 *         time it is needed
+	 */
+	private TimerWheel.Timer expiryTimer() {
+		if (expiry == null) {
+			expiry = getThisGame().getTimers().timer(() -> getThisGame().destroy(this));
+		}
+		return expiry;
+	}
+
+	/**
+	 * @return the entity that shot this bullet, or null if it is gone
+	 */
+	public final AbstractEntity getShooter() {
+		if (getThisGame() == null) {
+			return null;
+		}
+		return getThisGame().getEntityHandles().get(shooterId);
+	}
+
+	/**
+	 * @param shooter the entity that shot this bullet, may be null
+	 */
+	public final void setShooter(final AbstractEntity shooter) {
+		if (shooter == null || shooter.getThisGame() == null) {
+			shooterId = EntityHandles.NONE;
+		} else {
+			shooterId = shooter.getThisGame().getEntityHandles().handleOf(shooter);
+		}
+	}
+
 	/**
 	 * Calculate new position of Bullet.
 	 *
@@ -40,12 +131,7 @@ public class Bullet extends AbstractEntity {
 	@Override
 	public final void update(final List<String> input) {
 		if (this.isShot()) {
-			setX(getX() + getDX());
-			setY(getY() + getDY());
-			wrapAround();
-			if (System.currentTimeMillis() - birthTime > LIFETIME) {
-				getThisGame().destroy(this);
-			}
+			integrate();
 		}
 	}
 
@@ -70,7 +156,9 @@ public class Bullet extends AbstractEntity {
 	 */
 	@Override
 	public final void onDeath() {
-		//no-op
+		if (expiry != null) {
+			expiry.cancel();
+		}
 	}
 
 	/**
@@ -92,11 +180,36 @@ public class Bullet extends AbstractEntity {
 		bullet.setDY(this.getDY());
 		bullet.setThisGame(this.getThisGame());
 		bullet.setPiercing(this.getPiercing());
-		bullet.setShooter(getShooter());
+		bullet.setShooterId(getShooterId());
 		bullet.setBirthTime(birthTime);
 		bullet.setShot(isShot());
 		bullet.setFriendly(isFriendly());
 		bullet.setRadius(this.getRadius());
 		return bullet;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		Codec.putTime(out, birthTime, getThisGame().getTimers().getNow());
+		Codec.putBoolean(out, friendly);
+		Codec.putVarLong(out, Integer.toUnsignedLong(shooterId));
+		Codec.putSigned(out, piercing);
+		Codec.putBoolean(out, shot);
+		expiryTimer().save(out);
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		birthTime = Codec.getTime(in, getThisGame().getTimers().getNow());
+		friendly = Codec.getBoolean(in);
+		shooterId = Codec.getVarInt(in);
+		piercing = (int) Codec.getSigned(in);
+		shot = Codec.getBoolean(in);
+		if (shot) {
+			setMotion(EntityStore.INTEGRATE | EntityStore.WRAP);
+		} else {
+			setMotion(0);
+		}
+		expiryTimer().load(in);
+	}
+}
@@ -9,10 +9,6 @@ import game.Game;
  *
  */
 public class DoubleBoss extends BasicBoss {
-	private static final int DOUBLE_BOSS_LIVES = 7;
-	private static final int SHOT_SPEED = 600;
-	private static final int BULLETS = 3;
-	private static final int DOUBLE_RADIUS = 40;
 
 	/**
 	 * Constructor for DoubleBoss.
@@ -24,10 +20,6 @@ public class DoubleBoss extends BasicBoss {
 	 * @param thisGame the game
 	 */
 	public DoubleBoss(final float x, final float y, final float dX, final float dY, final Game thisGame) {
-		super(x, y, dX, dY, thisGame);
-		this.setCurrentLives(DOUBLE_BOSS_LIVES);
-		this.setShotSpeed(SHOT_SPEED);
-		this.setBullets(BULLETS);
-		this.setRadius(DOUBLE_RADIUS);
+		super(x, y, dX, dY, thisGame, BossType.DOUBLE);
 	}
 }
@@ -0,0 +1,164 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the entities of a game grouped on type, in ranges that follow the
+ * order of the type constants of EntityTypes. Within a range the entities keep
+ * the order they were added in.
+ * <p>
+ * The amount of entities of every type is kept, so a created entity is put at
+ * the end of the range of its type and destroyed ones are taken out in one
+ * pass over the list that moves every entity at most once, without sorting or
+ * looking up the type of the entities that stay. The list ends up in the same
+ * order as a stable sort on type of the entities that stay followed by the
+ * created ones. A list that was changed some other way is grouped again, with
+ * a counting sort.
+ */
+public final class EntityGroups {
+	private static final int TYPES = EntityTypes.OTHER + 1;
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The amount of entities of every type, while grouped is true.
+	 */
+	private final int[] counts = new int[TYPES];
+	private final int[] added = new int[TYPES];
+	private boolean grouped;
+	/**
+	 * The size of the list when it was last grouped or changed here.
+	 */
+	private int size;
+	private final Set<AbstractEntity> destroyed = Collections.newSetFromMap(new IdentityHashMap<>());
+	private int[] createdTypes = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Forget the grouping, because the list was changed some other way. It is
+	 * grouped again by the next commit.
+	 */
+	public void invalidate() {
+		grouped = false;
+	}
+
+	/**
+	 * Take the destroyed entities out of the list and add the created ones,
+	 * each after the last entity of its type.
+	 *
+	 * @param entities the entities of the game
+	 * @param destroy  the entities to take out
+	 * @param create   the entities to add, in the order they were created
+	 */
+	public void commit(final List<AbstractEntity> entities, final List<AbstractEntity> destroy,
+					   final List<AbstractEntity> create) {
+		if (!grouped || size != entities.size()) {
+			regroup(entities);
+		}
+		if (!destroy.isEmpty()) {
+			remove(entities, destroy);
+		}
+		if (!create.isEmpty()) {
+			insert(entities, create);
+		}
+		size = entities.size();
+	}
+
+	/**
+	 * @param type one of the type constants of EntityTypes
+	 * @return the amount of entities of the type, as of the last commit
+	 */
+	public int getCount(final int type) {
+		return counts[type];
+	}
+
+	/**
+	 * Group the list on type with a counting sort, which keeps the order of
+	 * entities of the same type.
+	 *
+	 * @param entities the entities
+	 */
+	private void regroup(final List<AbstractEntity> entities) {
+		final int n = entities.size();
+		final int[] types = new int[n];
+		Arrays.fill(counts, 0);
+		for (int i = 0; i < n; i++) {
+			types[i] = EntityTypes.of(entities.get(i));
+			counts[types[i]]++;
+		}
+		final int[] next = new int[TYPES];
+		for (int t = 1; t < TYPES; t++) {
+			next[t] = next[t - 1] + counts[t - 1];
+		}
+		final AbstractEntity[] grouping = new AbstractEntity[n];
+		for (int i = 0; i < n; i++) {
+			grouping[next[types[i]]++] = entities.get(i);
+		}
+		for (int i = 0; i < n; i++) {
+			entities.set(i, grouping[i]);
+		}
+		grouped = true;
+	}
+
+	/**
+	 * Take entities out of the list, moving the others forward.
+	 *
+	 * @param entities the grouped entities
+	 * @param destroy  the entities to take out
+	 */
+	private void remove(final List<AbstractEntity> entities, final List<AbstractEntity> destroy) {
+		destroyed.addAll(destroy);
+		int read = 0;
+		int write = 0;
+		for (int t = 0; t < TYPES; t++) {
+			int kept = 0;
+			for (int k = 0; k < counts[t]; k++) {
+				final AbstractEntity e = entities.get(read++);
+				if (!destroyed.contains(e)) {
+					entities.set(write++, e);
+					kept++;
+				}
+			}
+			counts[t] = kept;
+		}
+		entities.subList(write, entities.size()).clear();
+		destroyed.clear();
+	}
+
+	/**
+	 * Add entities to the end of the ranges of their types, merging from the
+	 * back so no entity is overwritten before it is moved.
+	 *
+	 * @param entities the grouped entities
+	 * @param create   the entities to add
+	 */
+	private void insert(final List<AbstractEntity> entities, final List<AbstractEntity> create) {
+		final int m = create.size();
+		if (createdTypes.length < m) {
+			createdTypes = new int[Math.max(m, createdTypes.length * 2)];
+		}
+		Arrays.fill(added, 0);
+		for (int j = 0; j < m; j++) {
+			createdTypes[j] = EntityTypes.of(create.get(j));
+			added[createdTypes[j]]++;
+		}
+		int read = entities.size() - 1;
+		for (int j = 0; j < m; j++) {
+			entities.add(null);
+		}
+		int write = entities.size() - 1;
+		for (int t = TYPES - 1; t >= 0 && write > read; t--) {
+			for (int j = m - 1; j >= 0 && added[t] > 0; j--) {
+				if (createdTypes[j] == t) {
+					entities.set(write--, create.get(j));
+				}
+			}
+			for (int k = 0; k < counts[t]; k++) {
+				entities.set(write--, entities.get(read--));
+			}
+			counts[t] += added[t];
+		}
+	}
+}
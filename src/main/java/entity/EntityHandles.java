@@ -0,0 +1,183 @@
+package entity;
+
+import game.snapshot.Codec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Hands out int handles that refer to entities of one game.
+ * <p>
+ * A handle is a dense slot index together with the generation of that slot.
+ * When an entity is released its slot gets a new generation and can be given
+ * to another entity, so a handle kept after its entity was destroyed simply no
+ * longer resolves, instead of keeping the dead entity alive. Handles are only
+ * made and released on the game thread.
+ */
+public final class EntityHandles {
+	/**
+	 * The handle that never refers to an entity.
+	 */
+	public static final int NONE = 0;
+	private static final int INDEX_BITS = 20;
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+	private static final int GENERATION_MASK = -1 >>> INDEX_BITS;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private AbstractEntity[] entities = new AbstractEntity[INITIAL_CAPACITY];
+	private int[] generations = new int[INITIAL_CAPACITY];
+	private int[] free = new int[INITIAL_CAPACITY];
+	private int freeCount;
+	private int size;
+
+	/**
+	 * Get the handle of an entity, giving it one if it has none yet.
+	 *
+	 * @param e the entity
+	 * @return the handle of the entity
+	 */
+	public int handleOf(final AbstractEntity e) {
+		if (e.getId() != NONE && get(e.getId()) == e) {
+			return e.getId();
+		}
+		final int index = allocate();
+		entities[index] = e;
+		final int handle = generations[index] << INDEX_BITS | index;
+		e.setId(handle);
+		return handle;
+	}
+
+	/**
+	 * Look up the entity a handle refers to.
+	 *
+	 * @param handle the handle
+	 * @return the entity, or null if it has been released
+	 */
+	public AbstractEntity get(final int handle) {
+		if (handle == NONE) {
+			return null;
+		}
+		final int index = handle & INDEX_MASK;
+		if (index >= size || generations[index] != handle >>> INDEX_BITS) {
+			return null;
+		}
+		return entities[index];
+	}
+
+	/**
+	 * Release the handle of an entity, so it no longer resolves and its slot
+	 * can be reused. Does nothing if the entity has no handle here.
+	 *
+	 * @param e the entity
+	 */
+	public void release(final AbstractEntity e) {
+		final int handle = e.getId();
+		if (handle == NONE || get(handle) != e) {
+			return;
+		}
+		final int index = handle & INDEX_MASK;
+		entities[index] = null;
+		generations[index] = nextGeneration(generations[index]);
+		free[freeCount++] = index;
+		e.setId(NONE);
+	}
+
+	/**
+	 * Write the generation of every slot and the free slots, but not which
+	 * entity is in each slot, that is restored with restore.
+	 *
+	 * @param out the buffer
+	 */
+	public void save(final ByteBuffer out) {
+		Codec.putVarLong(out, size);
+		for (int i = 0; i < size; i++) {
+			Codec.putVarLong(out, generations[i]);
+		}
+		Codec.putVarLong(out, freeCount);
+		for (int i = 0; i < freeCount; i++) {
+			Codec.putVarLong(out, free[i]);
+		}
+	}
+
+	/**
+	 * Restore the slots written by save, all of them empty. Handles made
+	 * afterwards are the same as the saved ones would have made.
+	 *
+	 * @param in the buffer
+	 */
+	public void load(final ByteBuffer in) {
+		Arrays.fill(entities, null);
+		size = Codec.getVarInt(in);
+		final int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, size)) * 2);
+		if (entities.length < capacity) {
+			entities = new AbstractEntity[capacity];
+			generations = new int[capacity];
+			free = new int[capacity];
+		}
+		for (int i = 0; i < size; i++) {
+			generations[i] = Codec.getVarInt(in);
+		}
+		freeCount = Codec.getVarInt(in);
+		for (int i = 0; i < freeCount; i++) {
+			free[i] = Codec.getVarInt(in);
+		}
+	}
+
+	/**
+	 * Give an entity back the handle it had when the slots were saved.
+	 *
+	 * @param e      the entity
+	 * @param handle the handle it had, or NONE
+	 */
+	public void restore(final AbstractEntity e, final int handle) {
+		e.setId(handle);
+		if (handle != NONE) {
+			entities[handle & INDEX_MASK] = e;
+		}
+	}
+
+	/**
+	 * @return the amount of entities that have a handle
+	 */
+	public int size() {
+		return size - freeCount;
+	}
+
+	/**
+	 * Find a free slot, reusing released ones first.
+	 *
+	 * @return the index of the slot
+	 */
+	private int allocate() {
+		if (freeCount > 0) {
+			return free[--freeCount];
+		}
+		if (size > INDEX_MASK) {
+			throw new IllegalStateException("too many entities");
+		}
+		if (size == entities.length) {
+			final int grown = size * 2;
+			final AbstractEntity[] moreEntities = new AbstractEntity[grown];
+			System.arraycopy(entities, 0, moreEntities, 0, size);
+			entities = moreEntities;
+			final int[] moreGenerations = new int[grown];
+			System.arraycopy(generations, 0, moreGenerations, 0, size);
+			generations = moreGenerations;
+			free = new int[grown];
+		}
+		generations[size] = 1;
+		return size++;
+	}
+
+	/**
+	 * @param generation the current generation of a slot
+	 * @return the next generation, skipping 0 so no handle equals NONE
+	 */
+	private static int nextGeneration(final int generation) {
+		final int next = (generation + 1) & GENERATION_MASK;
+		if (next == 0) {
+			return 1;
+		}
+		return next;
+	}
+}
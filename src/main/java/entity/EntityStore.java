@@ -0,0 +1,232 @@
+package entity;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the kinematic state of all entities in a game in flat columns.
+ * <p>
+ * Every entity in the game owns one slot, the column values at that index are
+ * its position, velocity, size and how it moves. The slots follow the order of the entity
+ * list, so a loop over the columns visits entities in the same order as a
+ * loop over the list, but reads memory front to back instead of jumping
+ * between objects. Entities read and write their state through the store
+ * while they are attached to it, and keep it in their own fields otherwise.
+ * <p>
+ * The store is changed by {@link #commit(List, List)}, which the game calls
+ * at the end of a tick in which entities were created or destroyed. It moves
+ * only the slots of entities that changed place and attaches only the created
+ * ones. {@link #sync(List)} makes the store again from scratch, for a list
+ * that was replaced.
+ */
+@Getter
+public final class EntityStore {
+	/**
+	 * Motion flag of entities that move along their velocity every tick.
+	 */
+	public static final int INTEGRATE = 1;
+	/**
+	 * Motion flag of entities that wrap around the edges of the screen.
+	 */
+	public static final int WRAP = 2;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private float[] x = new float[INITIAL_CAPACITY];
+	private float[] y = new float[INITIAL_CAPACITY];
+	private float[] dX = new float[INITIAL_CAPACITY];
+	private float[] dY = new float[INITIAL_CAPACITY];
+	private float[] radius = new float[INITIAL_CAPACITY];
+	private float[] sweepSpeed = new float[INITIAL_CAPACITY];
+	private int[] motion = new int[INITIAL_CAPACITY];
+	/**
+	 * The type of each entity, see EntityTypes.
+	 */
+	private int[] type = new int[INITIAL_CAPACITY];
+	private AbstractEntity[] handles = new AbstractEntity[INITIAL_CAPACITY];
+	/**
+	 * The amount of slots in use.
+	 */
+	private int size;
+
+	/**
+	 * Make the store hold exactly the given entities, in order. Entities that
+	 * are no longer in the list take their state back into their own fields.
+	 *
+	 * @param entities the entities of the game
+	 */
+	public void sync(final List<AbstractEntity> entities) {
+		for (int i = 0; i < size; i++) {
+			handles[i].detach(this);
+			handles[i] = null;
+		}
+		size = 0;
+		ensureCapacity(entities.size());
+		for (final AbstractEntity e : entities) {
+			handles[size] = e;
+			type[size] = EntityTypes.of(e);
+			e.attach(this, size);
+			size++;
+		}
+	}
+
+	/**
+	 * Follow a change of the entities that kept the order of the ones that
+	 * stay, as made by EntityGroups: the destroyed entities take their state
+	 * back, the ones that changed place are moved to their new slot and the
+	 * created ones are attached. Entities that moved to the front are moved
+	 * front to back and the ones that moved to the back are moved back to
+	 * front, so no slot is written before it is read. A change that did not
+	 * keep the order makes the store again, see sync.
+	 *
+	 * @param entities  the entities of the game
+	 * @param destroyed the entities that were taken out of the list
+	 */
+	public void commit(final List<AbstractEntity> entities, final List<AbstractEntity> destroyed) {
+		final int n = entities.size();
+		int last = -1;
+		for (int i = 0; i < n; i++) {
+			final AbstractEntity e = entities.get(i);
+			if (e.isAttachedTo(this)) {
+				if (e.getSlot() <= last) {
+					sync(entities);
+					return;
+				}
+				last = e.getSlot();
+			}
+		}
+		for (final AbstractEntity e : destroyed) {
+			e.detach(this);
+		}
+		ensureCapacity(n);
+		for (int i = 0; i < n; i++) {
+			final AbstractEntity e = entities.get(i);
+			if (e.isAttachedTo(this) && e.getSlot() > i) {
+				move(e, i);
+			}
+		}
+		for (int i = n - 1; i >= 0; i--) {
+			final AbstractEntity e = entities.get(i);
+			if (!e.isAttachedTo(this)) {
+				handles[i] = e;
+				type[i] = EntityTypes.of(e);
+				e.attach(this, i);
+			} else if (e.getSlot() < i) {
+				move(e, i);
+			}
+		}
+		for (int i = n; i < size; i++) {
+			handles[i] = null;
+		}
+		size = n;
+	}
+
+	/**
+	 * Copy the columns of an attached entity to another slot.
+	 *
+	 * @param e  the entity
+	 * @param to the slot it moves to
+	 */
+	private void move(final AbstractEntity e, final int to) {
+		final int from = e.getSlot();
+		x[to] = x[from];
+		y[to] = y[from];
+		dX[to] = dX[from];
+		dY[to] = dY[from];
+		radius[to] = radius[from];
+		sweepSpeed[to] = sweepSpeed[from];
+		motion[to] = motion[from];
+		type[to] = type[from];
+		handles[to] = e;
+		e.moveTo(to);
+	}
+
+	/**
+	 * Move every entity along its velocity and wrap it around the screen,
+	 * according to its motion flags. This is the movement that would
+	 * otherwise be done by each entity in its own update, done in one pass
+	 * over the columns before any entity is updated.
+	 * <p>
+	 * Nothing moves more than a screen in one tick, so wrapping is a compare
+	 * and at most one add, instead of a float modulo or division per axis.
+	 *
+	 * @param screenX width of the screen
+	 * @param screenY height of the screen
+	 */
+	public void integrate(final float screenX, final float screenY) {
+		for (int i = 0; i < size; i++) {
+			final int flags = motion[i];
+			if ((flags & INTEGRATE) != 0) {
+				x[i] += dX[i];
+				y[i] += dY[i];
+			}
+			if ((flags & WRAP) != 0) {
+				x[i] = wrapOnce(x[i], screenX);
+				y[i] = wrapOnce(y[i], screenY);
+			}
+		}
+	}
+
+	/**
+	 * Wrap a coordinate that is less than one screen outside of the screen.
+	 * Gives the same result as AbstractEntity.wrap for those coordinates.
+	 *
+	 * @param value the coordinate
+	 * @param size  the size of the screen along the axis
+	 * @return the wrapped coordinate
+	 */
+	private static float wrapOnce(final float value, final float size) {
+		if (value < 0) {
+			final float wrapped = value + size;
+			if (wrapped >= size) {
+				// a value just below 0 rounds up to size
+				return 0;
+			}
+			return wrapped;
+		} else if (value >= size) {
+			return value - size;
+		}
+		return value;
+	}
+
+	/**
+	 * Check whether the slots are exactly the given entities, in order.
+	 *
+	 * @param entities the entities to compare with
+	 * @return true if slot i holds entity i for every entity
+	 */
+	public boolean holds(final List<AbstractEntity> entities) {
+		if (entities.size() != size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (handles[i] != entities.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Grow the columns so they fit the given amount of slots, keeping the
+	 * slots in use.
+	 *
+	 * @param capacity the amount of slots needed
+	 */
+	private void ensureCapacity(final int capacity) {
+		if (handles.length >= capacity) {
+			return;
+		}
+		final int grown = Math.max(capacity, handles.length * 2);
+		x = Arrays.copyOf(x, grown);
+		y = Arrays.copyOf(y, grown);
+		dX = Arrays.copyOf(dX, grown);
+		dY = Arrays.copyOf(dY, grown);
+		radius = Arrays.copyOf(radius, grown);
+		sweepSpeed = Arrays.copyOf(sweepSpeed, grown);
+		motion = Arrays.copyOf(motion, grown);
+		type = Arrays.copyOf(type, grown);
+		handles = Arrays.copyOf(handles, grown);
+	}
+}
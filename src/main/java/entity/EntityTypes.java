@@ -0,0 +1,271 @@
+package entity;
+
+import game.Game;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Calls update, draw and collide through one call site per concrete entity
+ * class.
+ * <p>
+ * A loop calling update on a list that mixes all entity classes gives the JIT
+ * a call site with too many receiver classes to inline any of them. Here every
+ * case of the switch casts to one class, so each call site only ever sees that
+ * class and the final method behind it can be inlined. The game keeps its
+ * entities grouped on type, see EntityGroups, so a loop over them takes the
+ * same case many times in a row. This is also the order entities are updated,
+ * collided, drawn and hashed in: on type first, then in the order they were
+ * added.
+ */
+public final class EntityTypes {
+	/**
+	 * Type of players.
+	 */
+	public static final int PLAYER = 0;
+	/**
+	 * Type of asteroids.
+	 */
+	public static final int ASTEROID = 1;
+	/**
+	 * Type of bullets.
+	 */
+	public static final int BULLET = 2;
+	/**
+	 * Type of particles.
+	 */
+	public static final int PARTICLE = 3;
+	/**
+	 * Type of saucers.
+	 */
+	public static final int SAUCER = 4;
+	/**
+	 * Type of powerups.
+	 */
+	public static final int POWERUP = 5;
+	/**
+	 * Type of basic bosses.
+	 */
+	public static final int BASIC_BOSS = 6;
+	/**
+	 * Type of double bosses.
+	 */
+	public static final int DOUBLE_BOSS = 7;
+	/**
+	 * Type of teleporting bosses.
+	 */
+	public static final int TELE_BOSS = 8;
+	/**
+	 * Type of any other entity, called through the abstract methods.
+	 */
+	public static final int OTHER = 9;
+	/**
+	 * Orders entities on type, keeping the order of entities of the same type.
+	 */
+	public static final Comparator<AbstractEntity> ORDER = Comparator.comparingInt(EntityTypes::of);
+
+	/**
+	 * private constructor for utility class.
+	 */
+	private EntityTypes() {
+		//no-op
+	}
+
+	/**
+	 * Find the type of an entity.
+	 *
+	 * @param e the entity
+	 * @return one of the type constants
+	 */
+	public static int of(final AbstractEntity e) {
+		if (e instanceof Player) {
+			return PLAYER;
+		} else if (e instanceof Asteroid) {
+			return ASTEROID;
+		} else if (e instanceof Bullet) {
+			return BULLET;
+		} else if (e instanceof Particle) {
+			return PARTICLE;
+		} else if (e instanceof Saucer) {
+			return SAUCER;
+		} else if (e instanceof Powerup) {
+			return POWERUP;
+		} else if (e instanceof DoubleBoss) {
+			return DOUBLE_BOSS;
+		} else if (e instanceof BasicBoss) {
+			return BASIC_BOSS;
+		} else if (e instanceof TeleBoss) {
+			return TELE_BOSS;
+		}
+		return OTHER;
+	}
+
+	/**
+	 * Make an entity of a type in a game, to restore its saved state into.
+	 *
+	 * @param type     one of the type constants, except OTHER
+	 * @param thisGame the game
+	 * @return a new entity of the type
+	 */
+	public static AbstractEntity create(final int type, final Game thisGame) {
+		final AbstractEntity e;
+		switch (type) {
+			case PLAYER:
+				e = new Player();
+				break;
+			case ASTEROID:
+				e = new Asteroid(0, 0, 0, 0, thisGame);
+				break;
+			case BULLET:
+				e = new Bullet();
+				break;
+			case PARTICLE:
+				e = new Particle(0, 0, 0, 0, thisGame);
+				break;
+			case SAUCER:
+				e = new Saucer(0, 0, 0, 0, thisGame);
+				break;
+			case POWERUP:
+				e = new Powerup(0, 0, thisGame);
+				break;
+			case BASIC_BOSS:
+				e = new BasicBoss(0, 0, 0, 0, thisGame);
+				break;
+			case DOUBLE_BOSS:
+				e = new DoubleBoss(0, 0, 0, 0, thisGame);
+				break;
+			case TELE_BOSS:
+				e = new TeleBoss(0, 0, 0, 0, thisGame);
+				break;
+			default:
+				throw new IllegalArgumentException("entities of type " + type + " can not be made");
+		}
+		e.setThisGame(thisGame);
+		return e;
+	}
+
+	/**
+	 * Update an entity.
+	 *
+	 * @param type  the type of the entity
+	 * @param e     the entity
+	 * @param input all keys pressed at the time of update
+	 */
+	public static void update(final int type, final AbstractEntity e, final List<String> input) {
+		switch (type) {
+			case PLAYER:
+				((Player) e).update(input);
+				break;
+			case ASTEROID:
+				((Asteroid) e).update(input);
+				break;
+			case BULLET:
+				((Bullet) e).update(input);
+				break;
+			case PARTICLE:
+				((Particle) e).update(input);
+				break;
+			case SAUCER:
+				((Saucer) e).update(input);
+				break;
+			case POWERUP:
+				((Powerup) e).update(input);
+				break;
+			case BASIC_BOSS:
+				((BasicBoss) e).update(input);
+				break;
+			case DOUBLE_BOSS:
+				((DoubleBoss) e).update(input);
+				break;
+			case TELE_BOSS:
+				((TeleBoss) e).update(input);
+				break;
+			default:
+				e.update(input);
+				break;
+		}
+	}
+
+	/**
+	 * Draw an entity.
+	 *
+	 * @param type the type of the entity
+	 * @param e    the entity
+	 */
+	public static void draw(final int type, final AbstractEntity e) {
+		switch (type) {
+			case PLAYER:
+				((Player) e).draw();
+				break;
+			case ASTEROID:
+				((Asteroid) e).draw();
+				break;
+			case BULLET:
+				((Bullet) e).draw();
+				break;
+			case PARTICLE:
+				((Particle) e).draw();
+				break;
+			case SAUCER:
+				((Saucer) e).draw();
+				break;
+			case POWERUP:
+				((Powerup) e).draw();
+				break;
+			case BASIC_BOSS:
+				((BasicBoss) e).draw();
+				break;
+			case DOUBLE_BOSS:
+				((DoubleBoss) e).draw();
+				break;
+			case TELE_BOSS:
+				((TeleBoss) e).draw();
+				break;
+			default:
+				e.draw();
+				break;
+		}
+	}
+
+	/**
+	 * Let an entity collide with another.
+	 *
+	 * @param type the type of the first entity
+	 * @param e1   the entity that collides
+	 * @param e2   the entity it collides with
+	 */
+	public static void collide(final int type, final AbstractEntity e1, final AbstractEntity e2) {
+		switch (type) {
+			case PLAYER:
+				((Player) e1).collide(e2);
+				break;
+			case ASTEROID:
+				((Asteroid) e1).collide(e2);
+				break;
+			case BULLET:
+				((Bullet) e1).collide(e2);
+				break;
+			case PARTICLE:
+				((Particle) e1).collide(e2);
+				break;
+			case SAUCER:
+				((Saucer) e1).collide(e2);
+				break;
+			case POWERUP:
+				((Powerup) e1).collide(e2);
+				break;
+			case BASIC_BOSS:
+				((BasicBoss) e1).collide(e2);
+				break;
+			case DOUBLE_BOSS:
+				((DoubleBoss) e1).collide(e2);
+				break;
+			case TELE_BOSS:
+				((TeleBoss) e1).collide(e2);
+				break;
+			default:
+				e1.collide(e2);
+				break;
+		}
+	}
+}
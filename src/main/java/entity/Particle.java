@@ -1,8 +1,13 @@
 package entity;
 import display.DisplayEntity;
 import game.Game;
+import game.GameRandom;
+import game.TimerWheel;
+import game.snapshot.Codec;
+import lombok.AccessLevel;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -13,6 +18,11 @@ import java.util.List;
 @Setter
 public class Particle extends AbstractEntity {
 	private long birthTime;
+	/**
+	 * Destroys the particle when its lifetime is over.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final TimerWheel.Timer expiry;
 	
 	private static final long LIFETIME = 750;
 	private static final int EXPLOSION_PARTICLES = 10;
@@ -29,8 +39,18 @@ public class Particle extends AbstractEntity {
 	 */
 	public Particle(final float x, final float y, final float dX, final float dY, final Game thisGame) {
 		super(x, y, dX, dY, thisGame);
+		setMotion(EntityStore.INTEGRATE | EntityStore.WRAP);
 		setRadius(1);
-		setBirthTime(System.currentTimeMillis());
+		expiry = thisGame.getTimers().timer(() -> getThisGame().destroy(this));
+		setBirthTime(thisGame.getTime());
+	}
+
+	/**
+	 * @param birthTime the game time at which the particle was made
+	 */
+	public final void setBirthTime(final long birthTime) {
+		this.birthTime = birthTime;
+		expiry.schedule(birthTime + LIFETIME);
 	}
 
 	/**
@@ -55,7 +75,8 @@ public class Particle extends AbstractEntity {
 	 * @return the random particle
 	 */
 	private static Particle randomParticle(final float x, final float y, final Game thisGame) {
-		return new Particle(x, y, (float) (Math.random() - .5) * SPEED, (float) (Math.random() - .5) * SPEED, thisGame);
+		final GameRandom random = thisGame.getEffectRandom();
+		return new Particle(x, y, (random.nextFloat() - .5f) * SPEED, (random.nextFloat() - .5f) * SPEED, thisGame);
 	}
 
 	/**
@@ -79,7 +100,7 @@ public class Particle extends AbstractEntity {
 	 */
 	@Override
 	public final void onDeath() {
-		//no-op
+		expiry.cancel();
 	}
 
 	/**
@@ -89,12 +110,7 @@ public class Particle extends AbstractEntity {
 	 */
 	@Override
 	public final void update(final List<String> input) {
-		setX(getX() + getDX());
-		setY(getY() + getDY());
-		wrapAround();
-		if (System.currentTimeMillis() - birthTime > LIFETIME) {
-			getThisGame().destroy(this);
-		}
+		integrate();
 	}
 
 	/**
@@ -104,4 +120,15 @@ public class Particle extends AbstractEntity {
 		return EXPLOSION_PARTICLES;
 	}
 
+	@Override
+	public final void save(final ByteBuffer out) {
+		Codec.putTime(out, birthTime, getThisGame().getTimers().getNow());
+		expiry.save(out);
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		birthTime = Codec.getTime(in, getThisGame().getTimers().getNow());
+		expiry.load(in);
+	}
 }
@@ -5,11 +5,12 @@ import game.Audio;
 import game.Logger;
 import entity.cannons.PlayerCannon;
 import entity.keyhandler.KeyHandler;
+import game.snapshot.Codec;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * This class is the player of the game.
@@ -50,6 +51,7 @@ public class Player extends AbstractEntity {
     	super();
     	lives = STARTING_LIVES;
 		setRadius(RADIUS);
+		setMotion(EntityStore.INTEGRATE | EntityStore.WRAP);
 		rotation = 0;
     	playerTwo = false;
     	playerString = "The player";
@@ -92,6 +94,7 @@ public class Player extends AbstractEntity {
 	 */
 	private void loseLife() {
 		lives--;
+		getThisGame().playerDied();
 		if (lives <= 0) {
 			getThisGame().over();
 		} else {
@@ -136,10 +139,8 @@ public class Player extends AbstractEntity {
 	 */
 	@Override
 	public final void update(final List<String> input) {
-		setX(getX() + getDX());
-		setY(getY() + getDY());
+		integrate();
 		slowDown();
-		wrapAround();
 		if (!invincible()) {
 			keyhandler.update(input);
 		}
@@ -190,7 +191,7 @@ public class Player extends AbstractEntity {
 	 *                        invincible.
 	 */
 	private void makeInvincible(final int milliseconds) {
-		invincibleStart = System.currentTimeMillis();
+		invincibleStart = gameTime();
 		invincibleMS = milliseconds;
 	}
 
@@ -198,25 +199,24 @@ public class Player extends AbstractEntity {
 	 * @return whether or not the player is invincible at this moment.
 	 */
 	public final boolean invincible() {
-		return getInvincibleStart() + invincibleMS > System.currentTimeMillis();
+		return getInvincibleStart() + invincibleMS > gameTime();
 	}
 
 	/**
 	 * Method to handle hyperspace mechanic.
 	 */
 	public final void goHyperspace() {
-		final Random random = new Random();
-		if (random.nextInt(chanceOfDying) == 0) {
+		if (getThisGame().getRandom().nextInt(chanceOfDying) == 0) {
 			onHit();
 			Logger.getInstance().log(playerString + " died in hyperspace.");
 		} else {
 			Logger.getInstance().log(playerString + " went into hyperspace.");
-			setX((float) (getThisGame().getScreenX() * Math.random()));
-			setY((float) (getThisGame().getScreenY() * Math.random()));
+			setX((float) (getThisGame().getScreenX() * getThisGame().getRandom().nextDouble()));
+			setY((float) (getThisGame().getScreenY() * getThisGame().getRandom().nextDouble()));
 			setDX(0);
 			setDY(0);
 			makeInvincible(HYPERSPACE_TIME);
-			hyperspaceStart = System.currentTimeMillis();
+			hyperspaceStart = gameTime();
 			getThisGame().getAudio().play(Audio.TELEPORT);
 		}
 	}
@@ -250,7 +250,7 @@ public class Player extends AbstractEntity {
 	 */
 	private void hitByAsteroid(final Asteroid e2) {
 		if (invincible() && !hyperspace()) {
-			invincibleStart = System.currentTimeMillis();
+			invincibleStart = gameTime();
 		} else if (!invincible()) {
 			getThisGame().destroy(e2);
 			onHit();
@@ -262,7 +262,7 @@ public class Player extends AbstractEntity {
 	 * @return whether or not the player is in hyperspace at this moment.
 	 */
 	private boolean hyperspace() {
-		return hyperspaceStart + invincibleMS > System.currentTimeMillis();
+		return hyperspaceStart + invincibleMS > gameTime();
 	}
 
 	/**
@@ -336,6 +336,39 @@ public class Player extends AbstractEntity {
 		newPlayer.setDY(this.getDY());
 		newPlayer.setThisGame(this.getThisGame());
 		newPlayer.setPlayerTwo(this.isPlayerTwo());
+		// the copy was made without a game, start its timing on the game clock
+		newPlayer.makeInvincible(INVINCIBILITY_START_TIME);
+		newPlayer.shooter.setLastShot(newPlayer.gameTime());
 		return newPlayer;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		final long now = getThisGame().getTimers().getNow();
+		Codec.putSigned(out, lives);
+		out.putDouble(rotation);
+		Codec.putTime(out, invincibleStart, now);
+		Codec.putVarLong(out, invincibleMS);
+		Codec.putTime(out, hyperspaceStart, now);
+		Codec.putBoolean(out, boost);
+		Codec.putBoolean(out, playerTwo);
+		Codec.putVarLong(out, shielding);
+		Codec.putVarLong(out, chanceOfDying);
+		shooter.save(out);
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		final long now = getThisGame().getTimers().getNow();
+		lives = (int) Codec.getSigned(in);
+		rotation = in.getDouble();
+		invincibleStart = Codec.getTime(in, now);
+		invincibleMS = Codec.getVarInt(in);
+		hyperspaceStart = Codec.getTime(in, now);
+		boost = Codec.getBoolean(in);
+		setPlayerTwo(Codec.getBoolean(in));
+		shielding = Codec.getVarInt(in);
+		chanceOfDying = Codec.getVarInt(in);
+		shooter.load(in);
+	}
+}
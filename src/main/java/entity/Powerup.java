@@ -5,12 +5,15 @@ import entity.cannons.PlayerCannon;
 import game.Audio;
 import game.Game;
 import game.Logger;
+import game.TimerWheel;
+import game.snapshot.Codec;
 import javafx.scene.Group;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Class that represents a Powerup.
@@ -25,9 +28,25 @@ public class Powerup extends AbstractEntity {
 	private long startTime;
 	private long pickupTime;
 
-	private Player player;
+	/**
+	 * Handle of the player that picked up this powerup.
+	 */
+	private int playerId;
 
 	private long glitterTime;
+	/**
+	 * Makes the powerup perish while it lies around, or run out once it is
+	 * picked up.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private final TimerWheel.Timer expiry;
+	/**
+	 * Makes the powerup glitter while it lies around.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private final TimerWheel.Timer glitter;
 
 	private static final long PERISH_TIME = 10000;
 	private static final int POWERUP_DURATION = 5000;
@@ -68,12 +87,48 @@ public class Powerup extends AbstractEntity {
 	 */
 	public Powerup(final float x, final float y, final Game thisGame) {
 		super(x, y, 0, 0, thisGame);
-		final Random random = new Random();
 		setRadius(RADIUS);
-		type = random.nextInt(TYPES);
-		startTime = System.currentTimeMillis();
+		type = thisGame.getSpawnRandom().nextInt(TYPES);
+		expiry = thisGame.getTimers().timer(this::expire);
+		glitter = thisGame.getTimers().timer(this::glitter);
 		pickupTime = 0;
-		glitterTime = 0;
+		setStartTime(thisGame.getTime());
+		setGlitterTime(thisGame.getTime() - GLITTER_TIME);
+	}
+
+	/**
+	 * @param startTime the game time at which the powerup appeared
+	 */
+	public final void setStartTime(final long startTime) {
+		this.startTime = startTime;
+		if (pickupTime == 0) {
+			expiry.schedule(startTime + PERISH_TIME);
+		}
+	}
+
+	/**
+	 * @param pickupTime the game time at which the powerup was picked up, or 0
+	 *                   if it still lies around
+	 */
+	public final void setPickupTime(final long pickupTime) {
+		this.pickupTime = pickupTime;
+		if (pickupTime == 0) {
+			expiry.schedule(startTime + PERISH_TIME);
+			glitter.schedule(glitterTime + GLITTER_TIME);
+		} else {
+			glitter.cancel();
+			expiry.schedule(pickupTime + POWERUP_DURATION);
+		}
+	}
+
+	/**
+	 * @param glitterTime the game time at which the powerup last glittered
+	 */
+	public final void setGlitterTime(final long glitterTime) {
+		this.glitterTime = glitterTime;
+		if (pickupTime == 0) {
+			glitter.schedule(glitterTime + GLITTER_TIME);
+		}
 	}
 
 	/**
@@ -85,7 +140,8 @@ public class Powerup extends AbstractEntity {
 	public final void collide(final AbstractEntity e2) {
 		if (e2 instanceof Player && pickupTime == 0) {
 			pickup((Player) e2);
-			Logger.getInstance().log(player.getPlayerString() + " collected " + TYPE_STRING[type] + " powerup.");
+			Logger.getInstance().log(((Player) e2).getPlayerString() + " collected " + TYPE_STRING[type]
+					+ " powerup.");
         }
 	}
 
@@ -95,9 +151,9 @@ public class Powerup extends AbstractEntity {
 	 * @param p the player
 	 */
 	private void pickup(final Player p) {
-		player = p;
+		setPlayer(p);
 		final PlayerCannon ps = p.getShooter();
-		pickupTime = System.currentTimeMillis();
+		setPickupTime(getThisGame().getTime());
 		getThisGame().getAudio().play(Audio.POWERUP);
 		switch (type) {
 			case EXTRA_LIFE:
@@ -126,7 +182,8 @@ public class Powerup extends AbstractEntity {
 
 	@Override
 	public final void onDeath() {
-		//no-op
+		expiry.cancel();
+		glitter.cancel();
 	}
 
 	@Override
@@ -138,25 +195,59 @@ public class Powerup extends AbstractEntity {
 		}
 	}
 
+	/**
+	 * Does nothing, glittering, perishing and running out are done by the
+	 * timers of the powerup.
+	 *
+	 * @param input the pressed keys
+	 */
 	@Override
 	public final void update(final List<String> input) {
-		if (GLITTER_TIME < (System.currentTimeMillis() - glitterTime) && pickupTime == 0) {
-			Particle.explosion(getX(), getY(), getThisGame());
-			glitterTime = System.currentTimeMillis();
-		}
+		//no-op
+	}
+
+	/**
+	 * Let the powerup perish if it still lies around, or run out otherwise.
+	 */
+	private void expire() {
 		if (pickupTime == 0) {
-			if (PERISH_TIME < (System.currentTimeMillis() - startTime)) {
-				getThisGame().destroy(this);
-	 		} 
-		} else if (POWERUP_DURATION < (System.currentTimeMillis() - pickupTime)) {
+			getThisGame().destroy(this);
+		} else {
 			runOut();
 		}
 	}
 
+	/**
+	 * Show an explosion of particles where the powerup lies.
+	 */
+	private void glitter() {
+		Particle.explosion(getX(), getY(), getThisGame());
+		setGlitterTime(getThisGame().getTime());
+	}
+
+	/**
+	 * @return the player that picked up this powerup, or null if there is none
+	 */
+	public final Player getPlayer() {
+		return (Player) getThisGame().getEntityHandles().get(playerId);
+	}
+
+	/**
+	 * @param p the player that picked up this powerup, may be null
+	 */
+	public final void setPlayer(final Player p) {
+		if (p == null) {
+			playerId = EntityHandles.NONE;
+		} else {
+			playerId = getThisGame().getEntityHandles().handleOf(p);
+		}
+	}
+
 	/**
 	 * Run out.
 	 */
 	private void runOut() {
+		final Player player = getPlayer();
 		if (player == null) {
 			Logger.getInstance().log("ERROR | No player was linked to this powerup for runOut().");
 			getThisGame().destroy(this);
@@ -226,4 +317,33 @@ public class Powerup extends AbstractEntity {
 		return NEW_FIRE_RATE;
 	}
 
+	@Override
+	public final void save(final ByteBuffer out) {
+		final long now = getThisGame().getTimers().getNow();
+		out.put((byte) type);
+		Codec.putTime(out, startTime, now);
+		Codec.putBoolean(out, pickupTime != 0);
+		if (pickupTime != 0) {
+			Codec.putTime(out, pickupTime, now);
+		}
+		Codec.putTime(out, glitterTime, now);
+		Codec.putVarLong(out, Integer.toUnsignedLong(playerId));
+		expiry.save(out);
+		glitter.save(out);
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		final long now = getThisGame().getTimers().getNow();
+		type = in.get();
+		startTime = Codec.getTime(in, now);
+		pickupTime = 0;
+		if (Codec.getBoolean(in)) {
+			pickupTime = Codec.getTime(in, now);
+		}
+		glitterTime = Codec.getTime(in, now);
+		playerId = Codec.getVarInt(in);
+		expiry.load(in);
+		glitter.load(in);
+	}
 }
@@ -1,16 +1,16 @@
 package entity;
 
-import com.google.common.primitives.Floats;
 import display.DisplayEntity;
 import entity.cannons.SaucerCannon;
-import game.Audio;
 import game.Game;
 import game.Logger;
+import game.TimerWheel;
+import game.snapshot.Codec;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Class that represents a Saucer.
@@ -19,23 +19,24 @@ public class Saucer extends AbstractEntity {
 
 	@Getter
 	private int toRight;
-	private final Random random;
-	@Getter @Setter
+	@Getter
 	private long dirChangeTime;
+	/**
+	 * Changes the direction of the saucer every CHANGE_DIR_TIME.
+	 */
+	private final TimerWheel.Timer dirChange;
+	/**
+	 * The game time of the last shot, or of the last time the player could
+	 * not be shot at.
+	 */
 	@Getter
-	private final SaucerCannon shooter;
-
-	private static final float SMALL_RADIUS = 5;
-	private static final float BIG_RADIUS = 10;
+	@Setter
+	private long lastShot;
 
 	private static final double PATHS = 3;
 	private static final double PATH_ANGLE = Math.PI / 4;
 	private static final long CHANGE_DIR_TIME = 2000;
 
-	private static final int BIG_SCORE = 200;
-	private static final int SMALL_SCORE = 1000;
-
-
 	/**
 	 * Constructor for Saucer class.
 	 *
@@ -47,15 +48,16 @@ public class Saucer extends AbstractEntity {
 	 */
 	public Saucer(final float x, final float y, final float dX, final float dY, final Game thisGame) {
 		super(x, y, dX, dY, thisGame);
-		random = new Random();
-		setRadius(BIG_RADIUS);
-		dirChangeTime = System.currentTimeMillis();
+		setMotion(EntityStore.INTEGRATE);
+		setRadius(SaucerSize.BIG.getRadius());
+		dirChange = thisGame.getTimers().timer(this::changeDirection);
+		setDirChangeTime(thisGame.getTime());
 		int nextToRight = 0;
 		if (x > (getThisGame().getScreenX() / 2)) {
 			nextToRight = 1;
 		}
-		setPath(nextToRight, random.nextInt((int) PATHS));
-		shooter = new SaucerCannon(this);
+		setPath(nextToRight, getThisGame().getRandom().nextInt((int) PATHS));
+		lastShot = gameTime();
 	}
 
 	/**
@@ -95,19 +97,13 @@ public class Saucer extends AbstractEntity {
 	 */
 	@Override
 	public final void update(final List<String> input) {
-		setX(getX() + getDX());
-		setY(getY() + getDY());
+		integrate();
 		if (!checkEnd()) {
 			wrapAround();
 		}
-		changeDirection();
-		shooter.shoot();
+		getShooter().shoot(this);
 		if (getThisGame().getGamestate().getOngoingGameState() == getThisGame().getGamestate().getState()) {
-			if (isSmall()) {
-				getThisGame().getAudio().play(Audio.UFOSMALL);
-			} else {
-				getThisGame().getAudio().play(Audio.UFOBIG);
-			}
+			getThisGame().getAudio().play(getSize().getSound());
 		}
 	}
 
@@ -125,13 +121,20 @@ public class Saucer extends AbstractEntity {
 	}
 
 	/**
-	 * Change the ufo direction randomly at certain times in a random direction.
+	 * @param dirChangeTime the game time at which the direction last changed,
+	 *                      the next change is CHANGE_DIR_TIME later
+	 */
+	public final void setDirChangeTime(final long dirChangeTime) {
+		this.dirChangeTime = dirChangeTime;
+		dirChange.schedule(dirChangeTime + CHANGE_DIR_TIME);
+	}
+
+	/**
+	 * Change the ufo direction at random, called by its timer.
 	 */
 	private void changeDirection() {
-		if (System.currentTimeMillis() - dirChangeTime > CHANGE_DIR_TIME) {
-			dirChangeTime = System.currentTimeMillis();
-			setPath(random.nextInt((int) PATHS));
-		}
+		setDirChangeTime(getThisGame().getTime());
+		setPath(getThisGame().getRandom().nextInt((int) PATHS));
 	}
 
 	/**
@@ -163,23 +166,28 @@ public class Saucer extends AbstractEntity {
 	 */
 	@Override
 	public final void onDeath() {
+		dirChange.cancel();
+		final SaucerSize size = getSize();
 		if (getX() < getThisGame().getScreenX() && getX() > 0) {
-			int points;
-			if (Float.compare(SMALL_RADIUS, getRadius()) >= 0) {
-				points = SMALL_SCORE;
-				getThisGame().getAudio().playMultiple(Audio.SMALLEXPLOSION);
-			} else {
-				points = BIG_SCORE;
-				getThisGame().getAudio().playMultiple(Audio.MEDIUMEXPLOSION);
-			}
-			getThisGame().addScore(points);
+			getThisGame().getAudio().playMultiple(size.getExplosion());
+			getThisGame().addScore(size.getScore());
 			Particle.explosion(getX(), getY(), getThisGame());
 		}
-		if (isSmall()) {
-			getThisGame().getAudio().stop(Audio.UFOSMALL);
-		} else {
-			getThisGame().getAudio().stop(Audio.UFOBIG);
-		}
+		getThisGame().getAudio().stop(size.getSound());
+	}
+
+	/**
+	 * @return the size of this saucer, from its radius
+	 */
+	public final SaucerSize getSize() {
+		return SaucerSize.of(getRadius());
+	}
+
+	/**
+	 * @return the cannon all saucers shoot with
+	 */
+	public final SaucerCannon getShooter() {
+		return SaucerCannon.getInstance();
 	}
 
 	/**
@@ -188,7 +196,7 @@ public class Saucer extends AbstractEntity {
 	 * @return small saucer radius
 	 */
 	public static float getSmallRadius() {
-		return SMALL_RADIUS;
+		return SaucerSize.SMALL.getRadius();
 	}
 
 	/**
@@ -197,27 +205,43 @@ public class Saucer extends AbstractEntity {
 	 * @return true if small
 	 */
 	public final boolean isSmall() {
-		return Floats.compare(getRadius(), SMALL_RADIUS) == 0;
+		return getSize() == SaucerSize.SMALL;
 	}
 
 	/**
 	 * @return the bigRadius
 	 */
 	public static float getBigRadius() {
-		return BIG_RADIUS;
+		return SaucerSize.BIG.getRadius();
 	}
 
 	/**
 	 * @return the smallScore
 	 */
 	public static int getSmallScore() {
-		return SMALL_SCORE;
+		return SaucerSize.SMALL.getScore();
 	}
 
 	/**
 	 * @return the bigScore
 	 */
 	public static int getBigScore() {
-		return BIG_SCORE;
+		return SaucerSize.BIG.getScore();
+	}
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		out.put((byte) toRight);
+		Codec.putTime(out, dirChangeTime, getThisGame().getTimers().getNow());
+		dirChange.save(out);
+		Codec.putTime(out, lastShot, getThisGame().getTimers().getNow());
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		toRight = in.get();
+		dirChangeTime = Codec.getTime(in, getThisGame().getTimers().getNow());
+		dirChange.load(in);
+		lastShot = Codec.getTime(in, getThisGame().getTimers().getNow());
 	}
 }
@@ -0,0 +1,57 @@
+package entity;
+
+import game.Audio;
+import lombok.Getter;
+
+/**
+ * The data every saucer of one size shares, kept once per size instead of
+ * being worked out again in every saucer.
+ */
+@Getter
+public final class SaucerSize {
+	/**
+	 * Small saucers, they aim at the player.
+	 */
+	public static final SaucerSize SMALL = new SaucerSize(5, 1000, Audio.SMALLEXPLOSION, Audio.UFOSMALL);
+	/**
+	 * Big saucers, they shoot in random directions.
+	 */
+	public static final SaucerSize BIG = new SaucerSize(10, 200, Audio.MEDIUMEXPLOSION, Audio.UFOBIG);
+
+	private final float radius;
+	private final int score;
+	private final int explosion;
+	/**
+	 * The audio track played while a saucer of this size flies.
+	 */
+	private final int sound;
+
+	/**
+	 * Constructor for a SaucerSize.
+	 *
+	 * @param radius    radius of the saucers
+	 * @param score     score for destroying one
+	 * @param explosion the audio track played when one is destroyed
+	 * @param sound     the audio track played while one flies
+	 */
+	private SaucerSize(final float radius, final int score, final int explosion, final int sound) {
+		this.radius = radius;
+		this.score = score;
+		this.explosion = explosion;
+		this.sound = sound;
+	}
+
+	/**
+	 * Find the size of a saucer from its radius, anything up to the small
+	 * radius counts as small.
+	 *
+	 * @param radius the radius of the saucer
+	 * @return the size
+	 */
+	public static SaucerSize of(final float radius) {
+		if (Float.compare(SMALL.radius, radius) >= 0) {
+			return SMALL;
+		}
+		return BIG;
+	}
+}
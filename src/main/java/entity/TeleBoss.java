@@ -2,9 +2,11 @@ package entity;
 
 import display.DisplayEntity;
 import game.Game;
+import game.TimerWheel;
+import game.snapshot.Codec;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Class representing a randomly teleporting boss variant.
@@ -13,19 +15,15 @@ import java.util.Random;
  *
  */
 public class TeleBoss extends AbstractBoss {
-	private long teleTime;
-	private final Random random;
-	private final long shotSpeed;
+	/**
+	 * Teleports the boss every TELEPORT_TIME.
+	 */
+	private final TimerWheel.Timer teleporter;
 	private long shotTime;
 	private static final long TELEPORT_TIME = 1800;
 	private static final float BULLET_SPEED = 4;
-	private static final long SHOT_TIME = 1000;
-	private static final float RADIUS = 50;
-	private static final int BULLETNUMBER = 5;
-	private static final int STARTING_LIVES = 10;
 	private static final double MULTI_SHOT_ANGLE = .1;
 	private static final float ACCURACY = 3;
-	private static final int SCORE = 20000;
 
 	/**
 	 * The constructor for DoubleBoss.
@@ -37,14 +35,10 @@ public class TeleBoss extends AbstractBoss {
 	 * @param thisGame the game
 	 */
 	public TeleBoss(final float x, final float y, final float dX, final float dY, final Game thisGame) {
-		super(x, y, dX, dY, thisGame);
-		teleTime = System.currentTimeMillis();
-		random = new Random();
-		setRadius(RADIUS);
-		this.shotTime = System.currentTimeMillis();
-		setCurrentLives(STARTING_LIVES);
-		this.shotSpeed = SHOT_TIME;
-		setBullets(BULLETNUMBER);
+		super(x, y, dX, dY, thisGame, BossType.TELE);
+		teleporter = thisGame.getTimers().timer(this::teleport);
+		teleporter.schedule(thisGame.getTime() + TELEPORT_TIME);
+		this.shotTime = thisGame.getTime();
 	}
 
 	/**
@@ -52,20 +46,17 @@ public class TeleBoss extends AbstractBoss {
 	 */
 	@Override
 	public final void update(final List<String> input) {
-		teleport();
 		shoot();
 	}
 
 	/**
-	 * The method that teleports a TeleBoss.
+	 * The method that teleports a TeleBoss, called by its timer.
 	 */
 	private void teleport() {
-		if (System.currentTimeMillis() - teleTime > TELEPORT_TIME) {
-			teleTime = System.currentTimeMillis();
-			Particle.explosion(getX(), getY(), getThisGame());
-			setX((float) Math.random() * this.getThisGame().getScreenX());
-			setY((float) Math.random() * this.getThisGame().getScreenY());
-		}
+		teleporter.schedule(getThisGame().getTime() + TELEPORT_TIME);
+		Particle.explosion(getX(), getY(), getThisGame());
+		setX(getThisGame().getRandom().nextFloat() * this.getThisGame().getScreenX());
+		setY(getThisGame().getRandom().nextFloat() * this.getThisGame().getScreenY());
 	}
 	
 	/**
@@ -76,26 +67,26 @@ public class TeleBoss extends AbstractBoss {
 			return;
 		}
 		if (getThisGame().getPlayer().invincible()) {
-			this.shotTime = System.currentTimeMillis();
+			this.shotTime = getThisGame().getTime();
 		} else {
-			if (System.currentTimeMillis() - this.shotTime > this.shotSpeed) {
+			if (getThisGame().getTime() - this.shotTime > getType().getShotTime()) {
 				final float playerX = getThisGame().getPlayer().getX();
 				final float playerY = getThisGame().getPlayer().getY();
-				final float randomRange = (float) (Math.PI * (Math.random() / ACCURACY));
+				final float randomRange = (float) (Math.PI * (getThisGame().getRandom().nextDouble() / ACCURACY));
 				float straightDir;
 				if (playerX > getX()) {
 					straightDir = (float) Math.atan((playerY - getY()) / (playerX - getX()));
 				} else {
 					straightDir = (float) (Math.PI + Math.atan((playerY - getY()) / (playerX - getX())));
 				}
-				final float errorRight = (float) (random.nextInt(2) * 2 - 1);
+				final float errorRight = (float) (getThisGame().getRandom().nextInt(2) * 2 - 1);
 
 				final float shotDir = straightDir + errorRight * randomRange;
 
 				for (int i = 0; i < getBullets(); i++) {
 					fireBullet(shotDir - i * MULTI_SHOT_ANGLE);
 				}
-				this.shotTime = System.currentTimeMillis();
+				this.shotTime = getThisGame().getTime();
 			}
 		}
 	}
@@ -114,6 +105,7 @@ public class TeleBoss extends AbstractBoss {
 		this.getBBuilder().setThisGame(getThisGame());
 		this.getBBuilder().setShooter(this);
 		this.getBBuilder().setFriendly(false);
+		this.getBBuilder().setPierce(0);
 		final Bullet b = (Bullet) getBBuilder().getResult();
 
 		getThisGame().create(b);
@@ -126,9 +118,22 @@ public class TeleBoss extends AbstractBoss {
 
 	@Override
 	public final void onDeath() {
-		getThisGame().getSpawner().setStartRest(System.currentTimeMillis());
-		getThisGame().addScore(SCORE);
+		teleporter.cancel();
+		getThisGame().addScore(getType().getScore());
 		Particle.explosion(getX(), getY(), getThisGame());
 	}
-	
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		saveBoss(out);
+		teleporter.save(out);
+		Codec.putTime(out, shotTime, getThisGame().getTimers().getNow());
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		loadBoss(in);
+		teleporter.load(in);
+		shotTime = Codec.getTime(in, getThisGame().getTimers().getNow());
+	}
 }
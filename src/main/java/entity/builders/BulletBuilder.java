@@ -88,7 +88,7 @@ public class BulletBuilder implements EntityBuilder {
 	@Override
 	public final AbstractEntity getResult() {
 		final Bullet temp = bullet.shallowCopy();
-		temp.setBirthTime(System.currentTimeMillis());
+		temp.setBirthTime(temp.gameTime());
 		temp.setShot(true);
 		return temp;
 	}
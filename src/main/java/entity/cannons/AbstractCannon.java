@@ -5,6 +5,8 @@ import entity.builders.BulletBuilder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
+
 /**
  * Regulates the logic when entities shoot bullets.
  * @author Esmee
@@ -20,12 +22,13 @@ public abstract class AbstractCannon {
 	/**
 	 * Constructor for Abstracthooter.
 	 * @param owner AbstractEntity this belongs to.
+	 * @param bBuilder the builder used to make bullets, which may be shared
 	 */
-	public AbstractCannon(final AbstractEntity owner) {
+	public AbstractCannon(final AbstractEntity owner, final BulletBuilder bBuilder) {
 		this.owner = owner;
-		bBuilder = new BulletBuilder();
+		this.bBuilder = bBuilder;
 		bBuilder.setShooter(owner);
-		lastShot = System.currentTimeMillis();
+		lastShot = owner.gameTime();
 	}
 	
 	/**
@@ -47,4 +50,18 @@ public abstract class AbstractCannon {
 		this.bBuilder = bBuilder;
 	}
 
+	/**
+	 * Write the state of the cannon, with times relative to the timers of the
+	 * game.
+	 *
+	 * @param out the buffer
+	 */
+	public abstract void save(ByteBuffer out);
+
+	/**
+	 * Restore the state written by save.
+	 *
+	 * @param in the buffer
+	 */
+	public abstract void load(ByteBuffer in);
 }
@@ -4,9 +4,12 @@ import entity.Bullet;
 import entity.Player;
 import entity.builders.BulletBuilder;
 import game.Audio;
+import game.snapshot.Codec;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class that regulates logic when a Player shoots bullets.
  * @author Esmee
@@ -32,9 +35,7 @@ public class PlayerCannon extends AbstractCannon {
 	 * @param player this belongs to
 	 */
 	public PlayerCannon(final Player player) {
-		super(player);
-		// Initialize the Bullet Builder
-		setBBuilder(new BulletBuilder());
+		super(player, new BulletBuilder());
 		getBBuilder().setPierce(piercing);
 		getBBuilder().setFriendly(true);
 		getBBuilder().setShooter(player);
@@ -49,13 +50,13 @@ public class PlayerCannon extends AbstractCannon {
 	public final void shoot() {
 		final Player owner = (Player) getOwner();
 		final double rotation = owner.getRotation();
-		if (System.currentTimeMillis() - getLastShot() > fireRate && owner.getThisGame().bullets(owner) < maxBullets) {
+		if (owner.gameTime() - getLastShot() > fireRate && owner.getThisGame().bullets(owner) < maxBullets) {
 			fireBullet(rotation);
 			if (tripleShot) {
 				fireBullet(rotation - TRIPLE_SHOT_ANGLE);
 				fireBullet(rotation + TRIPLE_SHOT_ANGLE);
 			}
-			setLastShot(System.currentTimeMillis());
+			setLastShot(owner.gameTime());
 			if (owner.isPlayerTwo()) {
 				owner.getThisGame().getAudio().playMultiple(Audio.SHOOTING2);
 			} else {
@@ -72,12 +73,12 @@ public class PlayerCannon extends AbstractCannon {
 		final Player owner = (Player) getOwner();
 
 		final BulletBuilder bBuilder = getBBuilder();
+		bBuilder.setThisGame(owner.getThisGame());
+		bBuilder.setShooter(owner);
 		bBuilder.coordinatesOfShooter();
 		bBuilder.setDX((float) (owner.getDX() / 2 + Math.cos(direction) * BULLET_SPEED));
 		bBuilder.setDY((float) (owner.getDY() / 2 - Math.sin(direction) * BULLET_SPEED));
 		bBuilder.setRadius(bulletSize);
-		bBuilder.setThisGame(owner.getThisGame());
-		bBuilder.setShooter(owner);
 		bBuilder.setPierce(piercing);
 		final Bullet b = (Bullet) bBuilder.getResult();
 		
@@ -119,4 +120,24 @@ public class PlayerCannon extends AbstractCannon {
 	public static long getFireRate() {
 		return FIRE_RATE;
 	}
+
+	@Override
+	public final void save(final ByteBuffer out) {
+		Codec.putTime(out, getLastShot(), getOwner().getThisGame().getTimers().getNow());
+		Codec.putVarLong(out, maxBullets);
+		Codec.putSigned(out, piercing);
+		out.putFloat(bulletSize);
+		Codec.putBoolean(out, tripleShot);
+		out.putDouble(fireRate);
+	}
+
+	@Override
+	public final void load(final ByteBuffer in) {
+		setLastShot(Codec.getTime(in, getOwner().getThisGame().getTimers().getNow()));
+		maxBullets = Codec.getVarInt(in);
+		piercing = (int) Codec.getSigned(in);
+		bulletSize = in.getFloat();
+		tripleShot = Codec.getBoolean(in);
+		fireRate = in.getDouble();
+	}
 }
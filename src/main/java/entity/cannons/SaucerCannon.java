@@ -6,60 +6,66 @@ import entity.Saucer;
 import entity.builders.BulletBuilder;
 import game.Game;
 
-import java.util.Random;
-
 /**
  * Class that regulates logic when saucers shoot bullets.
+ * <p>
+ * The cannon keeps no state of its own, the time of the last shot is kept by
+ * the saucer, so all saucers share one cannon.
  * @author Esmee
  *
  */
-public class SaucerCannon extends AbstractCannon {
+public final class SaucerCannon {
+	private static final SaucerCannon INSTANCE = new SaucerCannon();
 	private static final int PIERCING = 1;
 	private static final long SHOT_TIME = 1000;
 	private static final long LESS_SHOT = 50;
 	private static final float MAX_ACCURACY = 10;
 	private static final float BULLET_SPEED = 4;
 	
-	private final Random random;
+	/**
+	 * Private constructor of the cannon all saucers share.
+	 */
+	private SaucerCannon() { }
 
 	/**
-	 * Constructor for saucer.
-	 * @param saucer this belongs to
+	 * getter for the INSTANCE.
+	 *
+	 * @return the cannon.
 	 */
-	public SaucerCannon(final Saucer saucer) {
-		super(saucer);
-		getBBuilder().setThisGame(saucer.getThisGame());
-		getBBuilder().setPierce(PIERCING);
-		getBBuilder().setFriendly(false);
-		random = new Random();
+	public static SaucerCannon getInstance() {
+		return INSTANCE;
 	}
-
 	
 	/**
-	 * Makes the Saucer shoot.
+	 * Makes a Saucer shoot, with the bullet builder shared by all enemies in
+	 * its game.
+	 *
+	 * @param saucer the saucer that shoots
 	 */
-	@Override
-	public final void shoot() {
-		final Game thisGame = getOwner().getThisGame();
+	public void shoot(final Saucer saucer) {
+		final Game thisGame = saucer.getThisGame();
 		
 		if (thisGame.getPlayer() == null) {
 			return;
 		}
 		if (thisGame.getPlayer().invincible()) {
-			setLastShot(System.currentTimeMillis());
+			saucer.setLastShot(thisGame.getTime());
 		} else {
-			final BulletBuilder bBuilder = getBBuilder();
+			final BulletBuilder bBuilder = thisGame.getEnemyBullets();
+			bBuilder.setShooter(saucer);
+			bBuilder.setPierce(PIERCING);
+			bBuilder.setFriendly(false);
 			bBuilder.coordinatesOfShooter();
 			
-			if (((Saucer) getOwner()).isSmall()) {
-				if (System.currentTimeMillis() - getLastShot() > smallShotTime()) {
-	                final float shotDir = smallShotDir();
-	                shootBullet(shotDir);
+			if (saucer.isSmall()) {
+				if (thisGame.getTime() - saucer.getLastShot() > smallShotTime(thisGame)) {
+	                final float shotDir = smallShotDir(saucer);
+	                shootBullet(saucer, shotDir);
 				}
             } else {
-                if (System.currentTimeMillis() - getLastShot() > SHOT_TIME) {
-					final float shotDir = (float) (Math.random() * 2 * Math.PI);
-					shootBullet(shotDir);
+                if (thisGame.getTime() - saucer.getLastShot() > SHOT_TIME) {
+					final float shotDir = (float) (thisGame.getRandom().nextDouble() * 2 * Math.PI);
+					shootBullet(saucer, shotDir);
 				}
 			}
 		}
@@ -67,25 +73,26 @@ public class SaucerCannon extends AbstractCannon {
 	
 	/**
 	 * Shoot bullet, given a direction.
+	 * @param saucer the saucer that shoots
 	 * @param shotDir direction you want the saucer to shoot in
 	 */
-	private void shootBullet(final float shotDir) {
-		final BulletBuilder bBuilder = getBBuilder();
+	private void shootBullet(final Saucer saucer, final float shotDir) {
+		final BulletBuilder bBuilder = saucer.getThisGame().getEnemyBullets();
 		bBuilder.setDX((float) Math.cos(shotDir) * BULLET_SPEED);
 		bBuilder.setDY((float) Math.sin(shotDir) * BULLET_SPEED);
 		final Bullet newBullet = (Bullet) bBuilder.getResult();
 		
-		getOwner().getThisGame().create(newBullet);
-		setLastShot(System.currentTimeMillis());
+		saucer.getThisGame().create(newBullet);
+		saucer.setLastShot(saucer.getThisGame().getTime());
 	}
 	
 	/**
 	 * generates the shot direction of small saucer.
 	 *
+	 * @param owner the saucer that shoots
 	 * @return direction in radians.
 	 */
-	private float smallShotDir() {
-		final AbstractEntity owner = getOwner();
+	private float smallShotDir(final AbstractEntity owner) {
 		final float playerX = owner.getThisGame().getPlayer().getX();
 		final float playerY = owner.getThisGame().getPlayer().getY();
 		float accuracy = owner.getThisGame().getScorecounter().smallSaucerDifficulty();
@@ -93,7 +100,8 @@ public class SaucerCannon extends AbstractCannon {
 			accuracy = MAX_ACCURACY;
 		}
 		//0 is completely random, 10 is perfect.
-		final float randomRange = (float) (Math.PI * ((MAX_ACCURACY - accuracy) / MAX_ACCURACY) * Math.random());
+		final float randomRange = (float) (Math.PI * ((MAX_ACCURACY - accuracy) / MAX_ACCURACY)
+				* owner.getThisGame().getRandom().nextDouble());
 		//The angle of error.
 		float straightDir;
 		if (playerX > owner.getX()) {
@@ -102,7 +110,7 @@ public class SaucerCannon extends AbstractCannon {
 			straightDir = (float) (Math.PI + Math.atan((playerY - owner.getY()) / (playerX - owner.getX())));
 		}
 			//Straight direction from saucer to player in radians.
-		final float errorRight = (float) (random.nextInt(2) * 2 - 1);
+		final float errorRight = (float) (owner.getThisGame().getRandom().nextInt(2) * 2 - 1);
 		//-1 is error left, 1 is error right.
 		return straightDir + errorRight * randomRange;
 	}
@@ -111,10 +119,11 @@ public class SaucerCannon extends AbstractCannon {
 	 * The time between shots of the small Saucer,
 	 * becomes more smaller when score is higher.
 	 *
+	 * @param thisGame the game of the saucer
 	 * @return shot time of small saucer
 	 */
-	private long smallShotTime() {
-		final long score = getOwner().getThisGame().getScorecounter().smallSaucerDifficulty();
+	private long smallShotTime(final Game thisGame) {
+		final long score = thisGame.getScorecounter().smallSaucerDifficulty();
 		if (score == 0) {
 			return SHOT_TIME;
 		} else if (score <= SHOT_TIME / (2 * LESS_SHOT)) {
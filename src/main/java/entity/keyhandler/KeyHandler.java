@@ -1,7 +1,7 @@
 package entity.keyhandler;
 
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,10 +49,10 @@ public class KeyHandler {
 	/**
 	 * Convert a list of inputs to a set of commands.
 	 * @param input the list that contains keyboard input
-	 * @return a set of abstractcommands.
+	 * @return a set of abstractcommands, in the order of the input.
 	 */
 	private Set<AbstractCommand> convert(final List<String> input) {
-		final Set<AbstractCommand> commands = new HashSet<AbstractCommand>();
+		final Set<AbstractCommand> commands = new LinkedHashSet<AbstractCommand>();
 		if (p.getThisGame().getGamestate().isCoop()) {
 			for (final String s : input) {
 				AbstractCommand c = null;
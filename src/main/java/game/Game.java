@@ -1,15 +1,29 @@
 package game;
 
+import display.DisplayEntity;
 import display.DisplayHud;
 import display.DisplayText;
 import entity.AbstractBoss;
 import entity.AbstractEntity;
 import entity.Asteroid;
 import entity.Bullet;
+import entity.EntityGroups;
+import entity.EntityHandles;
+import entity.EntityStore;
+import entity.EntityTypes;
 import entity.Player;
 import entity.Saucer;
+import entity.builders.BulletBuilder;
 import entity.builders.PlayerBuilder;
+import game.collision.CollisionDetector;
+import game.collision.PairBuffer;
 import game.highscore.HighscoreStore;
+import game.replay.Ghost;
+import game.replay.ReplayRecorder;
+import game.replay.StateHash;
+import game.snapshot.RewindBuffer;
+import game.snapshot.SessionStore;
+import game.snapshot.Snapshot;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import lombok.AccessLevel;
@@ -18,6 +32,8 @@ import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
 
 /**
  * This class defines everything within the game.
@@ -34,6 +50,12 @@ public final class Game {
 	private List<AbstractEntity> createList;
 	@Setter(AccessLevel.NONE)
 	private final ScoreCounter scorecounter;
+	/**
+	 * Whether the game is played without a person, by a replay, test or
+	 * benchmark, so its score is never put on the highscores or leaderboard.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final boolean headless;
 	@Setter(AccessLevel.NONE)
 	private final float screenX;
 	@Setter(AccessLevel.NONE)
@@ -44,6 +66,119 @@ public final class Game {
 	private final Gamestate gamestate;
 	@Setter(AccessLevel.NONE)
 	private final Audio audio;
+	@Setter(AccessLevel.NONE)
+	private final CollisionDetector collisionDetector;
+	@Setter(AccessLevel.NONE)
+	private final EntityStore entityStore;
+	@Setter(AccessLevel.NONE)
+	private final UpdatePhase updatePhase;
+	@Setter(AccessLevel.NONE)
+	private final TickPipeline pipeline;
+	@Setter(AccessLevel.NONE)
+	private final EntityHandles entityHandles;
+	/**
+	 * Keeps the entities grouped on type, see EntityTypes.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final EntityGroups entityGroups;
+	/**
+	 * The seed all random numbers of the game come from.
+	 */
+	@Setter(AccessLevel.NONE)
+	private long seed;
+	/**
+	 * Random numbers for the gameplay of entities.
+	 */
+	@Setter(AccessLevel.NONE)
+	private GameRandom random;
+	/**
+	 * Random numbers for what the spawner adds.
+	 */
+	@Setter(AccessLevel.NONE)
+	private GameRandom spawnRandom;
+	/**
+	 * Random numbers for looks only, like particles and asteroid shapes.
+	 */
+	@Setter(AccessLevel.NONE)
+	private GameRandom effectRandom;
+	/**
+	 * Bullet builder shared by all enemies, which set every property of the
+	 * bullet before each shot.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final BulletBuilder enemyBullets;
+	/**
+	 * The clock all game timing is read from, in milliseconds.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private LongSupplier clock;
+	/**
+	 * The time of the tick that is running, so everything in one tick sees
+	 * the same time and a replay can give it the time it was recorded with.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private long tickTime;
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean ticking;
+	/**
+	 * Clock time that does not count as game time, because the game was held
+	 * while a kill cam was shown.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private long heldFor;
+	/**
+	 * The clock time the game was held at, while it is held.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private long heldAt;
+	/**
+	 * Whether game time stands still.
+	 */
+	@Setter(AccessLevel.NONE)
+	private boolean held;
+	/**
+	 * Whether a player lost a life in the tick that is running.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean playerDied;
+	/**
+	 * Timers of entities, fired at the start of the simulate stage.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final TimerWheel timers;
+	/**
+	 * Records the input of the current game, from its start until it is over.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final ReplayRecorder recorder;
+	/**
+	 * Snapshots of the last seconds of the game, shown by the kill cam.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final RewindBuffer rewind;
+	/**
+	 * The run saved when the game was closed, to resume after a restart.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final SessionStore session;
+	/**
+	 * The best run of the mode, drawn next to the player.
+	 */
+	@Setter(AccessLevel.NONE)
+	private final Ghost ghost;
+	/**
+	 * The colliding pairs found by the broadphase stage of this tick, empty
+	 * if it did not run.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private PairBuffer pairs;
 	private static final float CANVAS_SIZE = 500;
 	private static final long SURVIVAL_ASTEROID_SIZE_BIG = 4;
 	private static final boolean LOG_SCORE = false;
@@ -52,24 +187,160 @@ public final class Game {
 	 * Constructor for a new game.
 	 */
 	public Game() {
+		this(false, new HighscoreStore());
+	}
+
+	/**
+	 * Constructor for a new game.
+	 *
+	 * @param headless       whether the game is played without a person
+	 * @param highscoreStore the highscores and leaderboards the score is
+	 *                       compared with
+	 */
+	private Game(final boolean headless, final HighscoreStore highscoreStore) {
 		Logger.getInstance().log("Game constructed.");
+		this.headless = headless;
 		screenX = CANVAS_SIZE;
 		screenY = CANVAS_SIZE;
+		clock = System::currentTimeMillis;
+		timers = new TimerWheel(getTime());
+		recorder = new ReplayRecorder();
+		rewind = new RewindBuffer();
+		session = new SessionStore();
+		ghost = new Ghost();
 		entities = new ArrayList<>();
+		entityHandles = new EntityHandles();
+		entityGroups = new EntityGroups();
+		setSeed(new SplittableRandom().nextLong());
+		enemyBullets = new BulletBuilder();
+		enemyBullets.setThisGame(this);
+		enemyBullets.setFriendly(false);
 		spawner = new Spawner(this);
 		destroyList = new ArrayList<>();
 		createList = new ArrayList<>();
 		gamestate = new Gamestate(this);
-		scorecounter = new ScoreCounter(this, new HighscoreStore());
+		scorecounter = new ScoreCounter(this, highscoreStore);
 		audio = new Audio();
+		collisionDetector = new CollisionDetector(screenX, screenY);
+		entityStore = new EntityStore();
+		updatePhase = new UpdatePhase(this);
+		pipeline = new TickPipeline();
+		pairs = new PairBuffer();
+		buildPipeline();
+	}
+
+	/**
+	 * Replace the entities of the game, their state is moved into the store.
+	 *
+	 * @param entities the new entities
+	 */
+	public void setEntities(final List<AbstractEntity> entities) {
+		this.entities = entities;
+		entityGroups.invalidate();
+		entityStore.sync(entities);
+		spawner.enemiesChanged();
+	}
+
+	/**
+	 * @return the current game time in milliseconds, which does not change
+	 *         during a tick
+	 */
+	public long getTime() {
+		if (ticking) {
+			return tickTime;
+		}
+		return gameClock();
+	}
+
+	/**
+	 * @return the time of the clock, without the time the game was held
+	 */
+	private long gameClock() {
+		if (held) {
+			return heldAt - heldFor;
+		}
+		return clock.getAsLong() - heldFor;
 	}
 
 	/**
-	 * Starts or restarts the game, with initial entities.
+	 * Replace the clock game time is read from. Pending timers are dropped, as
+	 * their deadlines belong to the old clock.
+	 *
+	 * @param clock the new clock, in milliseconds
+	 */
+	public void setClock(final LongSupplier clock) {
+		this.clock = clock;
+		heldFor = 0;
+		held = false;
+		timers.reset(getTime());
+	}
+
+	/**
+	 * Stop game time until release, so timers and cooldowns wait, for example
+	 * while the kill cam is shown.
+	 */
+	public void hold() {
+		if (!held) {
+			heldAt = clock.getAsLong();
+			held = true;
+		}
+	}
+
+	/**
+	 * Let game time go on from where hold stopped it.
+	 */
+	public void release() {
+		if (held) {
+			heldFor += clock.getAsLong() - heldAt;
+			held = false;
+		}
+	}
+
+	/**
+	 * Tell the game a player lost a life, the kill cam is shown after the
+	 * tick if the rewind buffer is enabled.
+	 */
+	public void playerDied() {
+		playerDied = true;
+	}
+
+	/**
+	 * Seed the random numbers of the game, a game started after the same seed
+	 * and given the same input plays out the same.
+	 *
+	 * @param seed the seed
+	 */
+	public void setSeed(final long seed) {
+		this.seed = seed;
+		random = new GameRandom(seed);
+		spawnRandom = random.split();
+		effectRandom = random.split();
+	}
+
+	/**
+	 * Starts or restarts the game, with initial entities and a new seed.
 	 */
 	public void startGame() {
+		startGame(random.nextLong());
+	}
+
+	/**
+	 * Starts or restarts the game with a seed, with initial entities. The
+	 * input of the game is recorded from here on.
+	 *
+	 * @param gameSeed the seed of the game
+	 */
+	public void startGame(final long gameSeed) {
+		setSeed(gameSeed);
 		scorecounter.setScore(0);
+		entities.forEach(entityHandles::release);
 		entities.clear();
+		timers.reset(getTime());
+		rewind.clear();
+		if (rewind.isEnabled()) {
+			gamestate.getKillCamState().prepare();
+		}
+		ghost.clear();
 		final PlayerBuilder pBuilder = new PlayerBuilder();
 		if (gamestate.isCoop()) {
 			// Create player 1
@@ -96,10 +367,51 @@ public final class Game {
 			player = (Player) pBuilder.getResult();
 			entities.add(player);
 		}
+		entityGroups.invalidate();
+		entityStore.sync(entities);
 		spawner.reset();
+		recorder.start(gameSeed, gamestate.getCurrentMode(), getTime());
 		Logger.getInstance().log(gamestate.toString() + " game started.");
 	}
 
+	/**
+	 * Make a game that plays without drawing anything or playing sound, as
+	 * replays, tests and benchmarks play it, and start it. Its score is kept
+	 * when it is over, and never submitted.
+	 *
+	 * @param clock the clock game time is read from, in milliseconds
+	 * @param mode  the mode, one of the mode constants of Gamestate
+	 * @param seed  the seed of the game
+	 * @return the started game
+	 */
+	public static Game headless(final LongSupplier clock, final int mode, final long seed) {
+		final Game thisGame = new Game(true, new HighscoreStore());
+		thisGame.getAudio().setMute(true);
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.setClock(clock);
+		thisGame.getGamestate().setCurrentMode(mode);
+		thisGame.getGamestate().setState(thisGame.getGamestate().getOngoingGameState());
+		thisGame.startGame(seed);
+		return thisGame;
+	}
+
+	/**
+	 * Make a game that only draws the states restored into it, silently, for
+	 * showing snapshots of another game. It shares the highscores of that
+	 * game, so making it reads no files, and it never submits a score.
+	 *
+	 * @param viewed the game whose snapshots are shown
+	 * @return the game, which is not started
+	 */
+	public static Game viewer(final Game viewed) {
+		final Game thisGame = new Game(true, viewed.getScorecounter().getHighscoreStore());
+		thisGame.getAudio().setMute(true);
+		for (int stage = 0; stage < TickPipeline.STAGES; stage++) {
+			thisGame.getPipeline().setSkipped(stage, stage != TickPipeline.RENDER);
+		}
+		return thisGame;
+	}
+
 	/**
 	 * update runs every game tick and updates all necessary entities.
 	 *
@@ -119,17 +431,63 @@ public final class Game {
 	}
 
 	/**
-	 * handles the update logic of the game itself.
+	 * handles the update logic of the game itself, by running all stages of
+	 * the tick pipeline.
 	 *
 	 * @param input - all keys pressed at the time of update
 	 */
 	public void updateGame(final List<String> input) {
-		entities.forEach(e -> {
-			e.update(input);
-			checkCollision(e);
-			e.draw();
-		});
-		
+		tickTime = gameClock();
+		ticking = true;
+		try {
+			recorder.tick(tickTime, input);
+			// pairs of an earlier tick point into a list that has changed since
+			pairs.clear();
+			pipeline.run(input);
+			if (recorder.isTicking()) {
+				recorder.endTick(StateHash.of(this));
+			}
+		} finally {
+			ticking = false;
+		}
+		if (recorder.isKeyframeDue()) {
+			recorder.keyframe(Snapshot.capture(this));
+		}
+		rewind.capture(this);
+		if (playerDied && rewind.isEnabled()) {
+			gamestate.getKillCamState().start();
+		}
+		playerDied = false;
+	}
+
+	/**
+	 * Fill the tick pipeline with the stages of a game tick.
+	 */
+	private void buildPipeline() {
+		pipeline.setStage(TickPipeline.INPUT, () -> pipeline.setInput(new ArrayList<>(pipeline.getInput())));
+		pipeline.setStage(TickPipeline.SIMULATE, this::simulate);
+		pipeline.setStage(TickPipeline.BROADPHASE,
+				() -> pairs = collisionDetector.detect(entities, entityStore));
+		pipeline.setStage(TickPipeline.RESOLVE, this::resolveCollisions);
+		pipeline.setStage(TickPipeline.SPAWN, this::spawn);
+		pipeline.setStage(TickPipeline.COMMIT, this::commit);
+		pipeline.setStage(TickPipeline.RENDER, this::render);
+	}
+
+	/**
+	 * Fire the timers that are due, then move all entities and run their
+	 * updates.
+	 */
+	private void simulate() {
+		timers.advance(getTime());
+		entityStore.integrate(screenX, screenY);
+		updatePhase.run(entities, pipeline.getInput());
+	}
+
+	/**
+	 * Let the spawner of the current mode add enemies.
+	 */
+	private void spawn() {
 		if (gamestate.isArcade()) {
 			spawner.updateArcade();
 		} else if (gamestate.isBoss()) {
@@ -137,13 +495,40 @@ public final class Game {
 		} else {
 			spawner.updateSurvival();
 		}
-		
+	}
+
+	/**
+	 * Remove the destroyed entities and add the created ones, each at the end
+	 * of the entities of its type.
+	 */
+	private void commit() {
+		if (createList.isEmpty() && destroyList.isEmpty()) {
+			return;
+		}
+		if (createList.stream().anyMatch(Game::isEnemy) || destroyList.stream().anyMatch(Game::isEnemy)) {
+			spawner.enemiesChanged();
+		}
 		destroyList.forEach(AbstractEntity::onDeath);
-		entities.removeAll(destroyList);
-		entities.addAll(createList);
+		entityGroups.commit(entities, destroyList, createList);
+		entityStore.commit(entities, destroyList);
+		destroyList.forEach(entityHandles::release);
 		createList.clear();
 		destroyList.clear();
-		createList.clear();
+	}
+
+	/**
+	 * Draw all entities, play the music and show the HUD.
+	 */
+	private void render() {
+		ghost.update(getTime());
+		final Player ghostPlayer = ghost.getPlayer();
+		if (ghostPlayer != null) {
+			DisplayEntity.ghost(ghostPlayer);
+		}
+		final int[] types = entityStore.getType();
+		for (int i = 0; i < entities.size(); i++) {
+			EntityTypes.draw(types[i], entities.get(i));
+		}
 		audio.backgroundTrack(enemies());
 		scorecounter.displayScore();
 		if (gamestate.isCoop()) {
@@ -156,22 +541,23 @@ public final class Game {
 			return;
 		}
 		DisplayHud.lives(player.getLives(), player.isPlayerTwo());
-		
 	}
 
 	/**
-	 * checks all collisions of an entity, if there is a hit then collide of the
-	 * entity class will be run.
-	 *
-	 * @param e1 - the entity
+	 * runs collide for every colliding pair found in the broadphase stage,
+	 * ordered by the first and then the second entity of the pair. every
+	 * entity has moved before any pair is tested.
 	 */
-	public void checkCollision(final AbstractEntity e1) {
-		entities.stream()
-				.filter(e2 -> !e1.equals(e2)
-						&& AbstractEntity.collision(e1, e2)
-						&& !destroyList.contains(e1)
-						&& !destroyList.contains(e2))
-				.forEach(e1::collide);
+	private void resolveCollisions() {
+		final int[] types = entityStore.getType();
+		for (int k = 0; k < pairs.size(); k++) {
+			final AbstractEntity e1 = entities.get(pairs.first(k));
+			final AbstractEntity e2 = entities.get(pairs.second(k));
+			if (!destroyList.contains(e1) && !destroyList.contains(e2)
+					&& AbstractEntity.collision(e1, e2)) {
+				EntityTypes.collide(types[pairs.first(k)], e1, e2);
+			}
+		}
 	}
 
 	/**
@@ -218,12 +604,18 @@ public final class Game {
 	 * Switches the gamemode when game is over.
 	 */
 	public void overSwitch() {
+		recorder.stop();
 		destroy(player);
 		if (gamestate.isCoop()) {
 			destroy(playerTwo);
 		}
-		if (scorecounter.isNotHighscore()) {
-			scorecounter.setScore(0);
+		if (headless) {
+			// the mode is kept, so the same game can be started again
+			Logger.getInstance().log("Game over with score " + scorecounter.getScore() + ".");
+			gamestate.setState(gamestate.getStartScreenState());
+		} else if (scorecounter.isNotHighscore()) {
+			// no name is asked for a score that is not a highscore
+			scorecounter.startGame("");
 			gamestate.setCurrentMode(Gamestate.NONEMODE);
 			gamestate.setState(gamestate.getStartScreenState());
 		} else {
@@ -277,11 +669,15 @@ public final class Game {
 	 * @return amount of bullets
 	 */
 	public int bullets(final Player player) {
+		final int id = player.getId();
+		if (id == EntityHandles.NONE || entityHandles.get(id) != player) {
+			return 0;
+		}
 		return Math.toIntExact(entities.stream()
 				.filter(e -> e instanceof Bullet)
 				.map(e -> (Bullet) e)
 				.filter(Bullet::isFriendly)
-				.filter(bullet -> bullet.getShooter().equals(player))
+				.filter(bullet -> bullet.getShooterId() == id)
 				.count());
 	}
 
@@ -292,9 +688,17 @@ public final class Game {
 	 */
 	public int enemies() {
 		return Math.toIntExact(entities.stream()
-				.filter(e -> e instanceof Asteroid || e instanceof Saucer || e instanceof AbstractBoss)
+				.filter(Game::isEnemy)
 				.count());
 	}
+
+	/**
+	 * @param e an entity
+	 * @return whether the entity counts as an enemy
+	 */
+	private static boolean isEnemy(final AbstractEntity e) {
+		return e instanceof Asteroid || e instanceof Saucer || e instanceof AbstractBoss;
+	}
 	
 	/**
 	 * Amount of big enemies, where 2 medium asteroids count as 1 big
@@ -0,0 +1,186 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Random numbers for one game.
+ * <p>
+ * Every game seeds its own generator instead of sharing Math.random or
+ * making a new Random per object, so a game can be played again from its
+ * seed. A generator can be split into an independent one, which lets parts
+ * of the game that draw a varying amount of numbers, like the particles of
+ * explosions, do so without changing what the rest of the game draws. A
+ * generator is not thread safe and is only used on the game thread.
+ * <p>
+ * The generator is SplitMix64, the algorithm of java.util.SplittableRandom,
+ * and draws the same numbers for the same seed. It is written out here so its
+ * two words of state can be saved in a snapshot and restored.
+ */
+public final class GameRandom {
+	/**
+	 * A float has 24 bits of precision, the other 8 bits of an int are dropped.
+	 */
+	private static final int FLOAT_BITS = 24;
+	private static final int FLOAT_SHIFT = Integer.SIZE - FLOAT_BITS;
+	private static final float FLOAT_UNIT = 1.0f / (1 << FLOAT_BITS);
+	/**
+	 * A double has 53 bits of precision, the other 11 bits of a long are dropped.
+	 */
+	private static final int DOUBLE_BITS = 53;
+	private static final int DOUBLE_SHIFT = Long.SIZE - DOUBLE_BITS;
+	private static final double DOUBLE_UNIT = 1.0 / (1L << DOUBLE_BITS);
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final long MIX64_ONE = 0xBF58476D1CE4E5B9L;
+	private static final long MIX64_TWO = 0x94D049BB133111EBL;
+	private static final long MIX32_ONE = 0x62A9D9ED799705F5L;
+	private static final long MIX32_TWO = 0xCB24D0A5C88C35B3L;
+	private static final long GAMMA_ONE = 0xFF51AFD7ED558CCDL;
+	private static final long GAMMA_TWO = 0xC4CEB9FE1A85EC53L;
+	private static final long GAMMA_FLIP = 0xAAAAAAAAAAAAAAAAL;
+	private static final int GAMMA_MIN_TRANSITIONS = 24;
+	private static final int SHIFT_27 = 27;
+	private static final int SHIFT_28 = 28;
+	private static final int SHIFT_30 = 30;
+	private static final int SHIFT_31 = 31;
+	private static final int SHIFT_33 = 33;
+
+	private long seed;
+	private long gamma;
+
+	/**
+	 * Constructor for a GameRandom.
+	 *
+	 * @param seed the seed
+	 */
+	public GameRandom(final long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Constructor for a GameRandom from its state.
+	 *
+	 * @param seed  the current seed
+	 * @param gamma the odd amount the seed moves by for every number
+	 */
+	private GameRandom(final long seed, final long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * @return a new generator whose numbers do not depend on the ones drawn
+	 *         from this generator afterwards
+	 */
+	public GameRandom split() {
+		return new GameRandom(nextLong(), mixGamma(nextSeed()));
+	}
+
+	/**
+	 * @param bound the upper bound, which must be positive
+	 * @return a number from 0 up to but not including the bound
+	 */
+	public int nextInt(final int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive");
+		}
+		int r = mix32(nextSeed());
+		final int m = bound - 1;
+		if ((bound & m) == 0) {
+			return r & m;
+		}
+		int u = r >>> 1;
+		r = u % bound;
+		// reject the top numbers that would make the low ones more likely
+		while (u + m - r < 0) {
+			u = mix32(nextSeed()) >>> 1;
+			r = u % bound;
+		}
+		return r;
+	}
+
+	/**
+	 * @return a number from 0 up to but not including 1
+	 */
+	public double nextDouble() {
+		return (mix64(nextSeed()) >>> DOUBLE_SHIFT) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * @return a number from 0 up to but not including 1
+	 */
+	public float nextFloat() {
+		return (mix32(nextSeed()) >>> FLOAT_SHIFT) * FLOAT_UNIT;
+	}
+
+	/**
+	 * @return a random long, for example to seed another game
+	 */
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	/**
+	 * Write the state of the generator, 16 bytes.
+	 *
+	 * @param out the buffer
+	 */
+	public void save(final ByteBuffer out) {
+		out.putLong(seed);
+		out.putLong(gamma);
+	}
+
+	/**
+	 * Restore the state written by save, after which the generator draws
+	 * the same numbers as the saved one.
+	 *
+	 * @param in the buffer
+	 */
+	public void load(final ByteBuffer in) {
+		seed = in.getLong();
+		gamma = in.getLong();
+	}
+
+	/**
+	 * @return the next seed
+	 */
+	private long nextSeed() {
+		seed += gamma;
+		return seed;
+	}
+
+	/**
+	 * @param value a seed
+	 * @return 64 well mixed bits
+	 */
+	private static long mix64(final long value) {
+		long z = value;
+		z = (z ^ (z >>> SHIFT_30)) * MIX64_ONE;
+		z = (z ^ (z >>> SHIFT_27)) * MIX64_TWO;
+		return z ^ (z >>> SHIFT_31);
+	}
+
+	/**
+	 * @param value a seed
+	 * @return 32 well mixed bits
+	 */
+	private static int mix32(final long value) {
+		long z = value;
+		z = (z ^ (z >>> SHIFT_33)) * MIX32_ONE;
+		return (int) (((z ^ (z >>> SHIFT_28)) * MIX32_TWO) >>> Integer.SIZE);
+	}
+
+	/**
+	 * @param value a seed
+	 * @return an odd gamma with enough bit transitions for a good generator
+	 */
+	private static long mixGamma(final long value) {
+		long z = value;
+		z = (z ^ (z >>> SHIFT_33)) * GAMMA_ONE;
+		z = (z ^ (z >>> SHIFT_33)) * GAMMA_TWO;
+		z = (z ^ (z >>> SHIFT_33)) | 1L;
+		if (Long.bitCount(z ^ (z >>> 1)) < GAMMA_MIN_TRANSITIONS) {
+			return z ^ GAMMA_FLIP;
+		}
+		return z;
+	}
+}
@@ -2,6 +2,7 @@ package game;
 
 import game.states.AbstractState;
 import game.states.HighscoreScreenState;
+import game.states.KillCamState;
 import game.states.OngoingGameState;
 import game.states.PauseScreenState;
 import game.states.StartScreenState;
@@ -31,6 +32,7 @@ public final class Gamestate {
 	private final PauseScreenState pauseScreenState;
 	private final StartScreenState startScreenState;
 	private final ViewHighscoresState viewHighscoresState;
+	private final KillCamState killCamState;
 	
 	// modes
 	@Setter
@@ -60,6 +62,7 @@ public final class Gamestate {
 		ongoingGameState = new OngoingGameState(thisGame);
 		highscoreScreenState = new HighscoreScreenState(thisGame);
 		viewHighscoresState = new ViewHighscoresState(thisGame);
+		killCamState = new KillCamState(thisGame);
 		
 		currentState = startScreenState;
 				
@@ -86,6 +89,15 @@ public final class Gamestate {
 		} else if (input.contains("ESCAPE")) {
 			Logger.getInstance().log("Player quit the game.");
 			Launcher.quit();
+		} else if (input.contains("G") && isSwitchTime()) {
+			thisGame.getGhost().setEnabled(!thisGame.getGhost().isEnabled());
+			Logger.getInstance().log("Ghost turned " + onOff(thisGame.getGhost().isEnabled()) + ".");
+			screenSwitchTime = System.currentTimeMillis();
+		} else if (input.contains("ENTER") && thisGame.getSession().hasSave()) {
+			if (!thisGame.getSession().resume(thisGame)) {
+				setCurrentMode(NONEMODE);
+				setState(startScreenState);
+			}
 		} else {
 			checkModeInput(input);
 		}
@@ -97,32 +109,43 @@ public final class Gamestate {
 	 */
 	private void checkModeInput(final List<String> input) {
 		if (input.contains("A")) {
-			setCurrentMode(ARCADEMODE);
-			setState(ongoingGameState);
-			thisGame.startGame();
+			startMode(ARCADEMODE);
 		} else if (input.contains("Z")) {
-			setCurrentMode(COOPARCADEMODE);
-			setState(ongoingGameState);
-			thisGame.startGame();
+			startMode(COOPARCADEMODE);
 		} else if (input.contains("S")) {
-			setCurrentMode(SURVIVALMODE);
-			setState(ongoingGameState);
-			thisGame.startGame();
+			startMode(SURVIVALMODE);
 		} else if (input.contains("X")) {
-			setCurrentMode(COOPSURVIVALMODE);
-			setState(ongoingGameState);
-			thisGame.startGame();
+			startMode(COOPSURVIVALMODE);
 		} else if (input.contains("D")) {
-			setCurrentMode(BOSSMODE);
-			setState(ongoingGameState);
-			thisGame.startGame();
+			startMode(BOSSMODE);
 		} else if (input.contains("C")) {
-			setCurrentMode(COOPBOSSMODE);
-			setState(ongoingGameState);
-			thisGame.startGame();
+			startMode(COOPBOSSMODE);
 		} 
 	}
 
+	/**
+	 * start a game in a mode, and start loading the ghost of its highscore.
+	 * @param mode - the mode
+	 */
+	private void startMode(final int mode) {
+		setCurrentMode(mode);
+		setState(ongoingGameState);
+		thisGame.startGame();
+		thisGame.getGhost().load(thisGame.getScorecounter().getHighscoreStore().getReplayFile(mode),
+				thisGame.getTime());
+	}
+
+	/**
+	 * @param on - a setting
+	 * @return the setting as text
+	 */
+	private static String onOff(final boolean on) {
+		if (on) {
+			return "on";
+		}
+		return "off";
+	}
+
 	/**
 	 * makes modeInt into string.
 	 * @param modeInt - the int of the mode
@@ -155,6 +178,15 @@ public final class Gamestate {
 		return currentState;
 	}
 
+	/**
+	 * @return true if a run is being played, paused or watched in the kill
+	 *         cam, which can be saved and resumed
+	 */
+	public boolean isPlaying() {
+		return currentState == ongoingGameState || currentState == pauseScreenState
+				|| currentState == killCamState && killCamState.isReturningToGame();
+	}
+
 	/**
 	 * @return true if coop
 	 */
@@ -1,5 +1,6 @@
 package game;
 
+import game.highscore.HighscoreUtils;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Application;
@@ -15,6 +16,7 @@ import javafx.util.Duration;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +30,14 @@ public class Launcher extends Application {
 	 * Time of one frame.
 	 */
 	private static final double FRAME_TIME = 0.017;
+	/**
+	 * The file the last game played is recorded to.
+	 */
+	private static final String REPLAY_FILE = "last.replay";
+	/**
+	 * The file the run being played is saved to when the game is closed.
+	 */
+	private static final String SESSION_FILE = "session.snapshot";
 	private static final Group ROOT = new Group();
 
 	// Make a new Game
@@ -60,6 +70,9 @@ public class Launcher extends Application {
 		scene.setCursor(Cursor.NONE);
 		stage.setScene(scene);
 		final List<String> input = getInput(scene);
+		thisGame.getRecorder().setFile(new File(HighscoreUtils.getAppDirectory() + REPLAY_FILE));
+		thisGame.getRewind().setEnabled(true);
+		thisGame.getSession().setFile(new File(HighscoreUtils.getAppDirectory() + SESSION_FILE));
 		// set up the timing control
 		final Timeline renderLoop = new Timeline();
 		renderLoop.setCycleCount(Timeline.INDEFINITE);
@@ -80,6 +93,17 @@ public class Launcher extends Application {
 		stage.show();
 	}
 
+	/**
+	 * Save the run being played when the window is closed, so it can be
+	 * resumed on the next start.
+	 */
+	@Override
+	public final void stop() {
+		if (thisGame.getGamestate().isPlaying()) {
+			thisGame.getSession().save(thisGame);
+		}
+	}
+
 	/**
 	 * get the input.
 	 *
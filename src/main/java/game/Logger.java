@@ -54,12 +54,14 @@ public final class Logger {
 	}
 
 	/**
-	 * This method logs a message with the current time to a file.
+	 * This method logs a message with the current time to a file. Games
+	 * played on other threads, like ghosts, log as well, so only one message
+	 * is written at a time.
 	 *
 	 * @param message the message
 	 */
 	@SuppressWarnings("PMD.SystemPrintln")
-	public void log(final String message) {
+	public synchronized void log(final String message) {
 		final String string = sdf.format(new Date(System.currentTimeMillis()))
 				+ " | " + message + "\n";
 		System.out.print(string);
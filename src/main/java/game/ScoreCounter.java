@@ -20,6 +20,7 @@ public class ScoreCounter {
 
 	@Setter
 	private long score;
+	@Getter
 	private final HighscoreStore highscoreStore;
 	@Getter
 	private final Game thisGame;
@@ -36,14 +37,20 @@ public class ScoreCounter {
 
 	/**
 	 * Set score to 0 at start of game.
-	 * Write existing score as highscore if larger than current highscore.
+	 * Write existing score as highscore if larger than current highscore,
+	 * with the replay of the game that reached it. Any other score above 0
+	 * only goes on the leaderboard of the mode.
 	 * @param name - the name
 	 */
 	public final void startGame(final String name) {
+		final int mode = thisGame.getGamestate().getCurrentMode();
 		if (this.score > getHighscore()) {
-			highscoreStore.addHighScore(name, score, thisGame.getGamestate().getCurrentMode());
+			highscoreStore.addHighScore(name, score, mode);
+			highscoreStore.addReplay(mode, thisGame.getRecorder().toByteArray());
 			highscoreStore.writeScores();
-		}		
+		} else {
+			highscoreStore.addScore(name, score, mode);
+		}
 		score = 0;
 	}
 	
@@ -70,6 +77,23 @@ public class ScoreCounter {
 		return out;
 	}
 	
+	/**
+	 * Convert the best scores of a mode into readable strings for display.
+	 * @param mode - the gamemode
+	 * @param n - the amount of scores
+	 * @return the place, score and name strings of the best scores.
+	 */
+	public final String[][] leaderboardToStrings(final int mode, final int n) {
+		final List<HighScore> best = highscoreStore.getLeaderboard(mode, n);
+		final String[][] out = new String[THREE][best.size()];
+		for (int i = 0; i < best.size(); i++) {
+			out[0][i] = Integer.toString(best.get(i).getId());
+			out[1][i] = Long.toString(best.get(i).getScore());
+			out[2][i] = best.get(i).getUserName();
+		}
+		return out;
+	}
+
 	/**
 	 * Helps calculate difficulty for small saucer.
 	 * @return difficulty for small saucer.
@@ -6,35 +6,58 @@ import entity.DoubleBoss;
 import entity.Powerup;
 import entity.Saucer;
 import entity.TeleBoss;
-import java.util.Random;
+import game.snapshot.Codec;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 
 /**
  * This class takes care of spawning in new Asteroids and Saucer's.
+ * <p>
+ * Spawning is driven by a priority queue of timed events: the next saucer,
+ * the next powerup and the end of the rest between waves. Every tick only
+ * looks at the head of the queue. The game tells the spawner when enemies
+ * were created or destroyed, and only then are the enemies counted again:
+ * the rest starts when none are left and is called off when new ones
+ * appear, and in survival mode the asteroids are topped up.
  *
  * @author Kibo
  */
 public final class Spawner {
-	private long startSaucerTime;
-	private long startPowerupTime;
-	private long startRest;
+	private static final int SAUCER_EVENT = 0;
+	private static final int POWERUP_EVENT = 1;
+	private static final int REST_EVENT = 2;
+	private static final int EVENTS = 3;
+	private static final int ARCADE = 0;
+	private static final int BOSS = 1;
+	private static final int SURVIVAL = 2;
+	private static final byte NOT_QUEUED = 0;
+	private static final byte QUEUED_AT = 1;
+	/**
+	 * Queued to fire in the next tick, whatever the time.
+	 */
+	private static final byte QUEUED_NOW = 2;
+
+	private final PriorityQueue<SpawnEvent> events;
+	/**
+	 * The queued event of every kind, or null if none is queued.
+	 */
+	private final SpawnEvent[] queued;
+	private long sequence;
+	private boolean enemiesChanged;
+	private int survivalExtra;
 	private int wave;
-	private final double telebossratio;
-	private final double doublebossratio;
-	private final Random random;
+	private WaveSchedule waves;
 	private final Game thisGame;
 
 	private static final long SAUCER_TIME = 20000;
-	private static final double TELE_RATIO = 0.3;
-	private static final double DOUBLE_RATIO = 0.2;
 	private static final long POWERUP_TIME = 15000;
 	private static final long REST = 4000;
-	private static final int STARTING_ASTEROIDS = 4;
-	private static final int MAX_EXTRA = 7;
 	private static final long DIFFICULTY_STEP = 10000;
 	private static final long MAX_DIFFICULTY_SCORE = 10 * DIFFICULTY_STEP;
 	private static final float ASTEROID_SPEED = 1;
 	private static final long SURVIVAL_POINTS_PER_ASTEROID = 10000;
-	private static final float WAVES_BETWEEN_BOSSES = 5;
 	
 	/**
 	 * Constructor of Spawner.
@@ -43,145 +66,200 @@ public final class Spawner {
 	 */
 	public Spawner(final Game game) {
 		thisGame = game;
-		startSaucerTime = System.currentTimeMillis();
-		startPowerupTime = System.currentTimeMillis();
-		startRest = 0;
-		wave = 0;
-		random = new Random();
-		telebossratio = TELE_RATIO;
-		doublebossratio = DOUBLE_RATIO;
+		events = new PriorityQueue<>(EVENTS, Comparator.comparingLong((SpawnEvent e) -> e.time)
+				.thenComparingLong(e -> e.sequence));
+		queued = new SpawnEvent[EVENTS];
+		waves = WaveSchedule.getDefault();
+		reset();
 	}
 
 	/**
 	 * This method is called every tick of an arcade game.
 	 */
 	public void updateArcade() {
-		updateSaucer();
-		updatePowerup();
-		if (thisGame.enemies() != 0) {
-			startRest = System.currentTimeMillis();
-		}
-		updateWave();
+		update(ARCADE);
 	}
 
 	/**
 	 * This method is called every tick of a boss game.
 	 */
 	public void updateBoss() {
-		if (thisGame.getGamestate().isBoss() && thisGame.enemies() < 1 
-				&& System.currentTimeMillis() - startRest > REST) {
-			if (Math.random() < (telebossratio)) {
-				spawnTeleBoss();
-			} else {
-				if (Math.random() < (telebossratio + doublebossratio)) {
-					spawnDoubleBoss();
-					spawnDoubleBoss();
-				} else {
-					spawnBasicBoss();
-				}
-			}
-		} else {
-			updateSaucer();
-			updatePowerup();
-			if (thisGame.enemies() != 0) {
-				startRest = System.currentTimeMillis();
-			}
-			updateWave();
-		}
+		update(BOSS);
 	}
 
 	/**
 	 * This method is called every tick of a survival game.
 	 */
 	public void updateSurvival() {
-		updateSaucer();
-		updatePowerup();
-		final int extra = (int) (thisGame.getScorecounter().getScore() / SURVIVAL_POINTS_PER_ASTEROID);
-		final int enemies = thisGame.convertedBigEnemies();
-		if (STARTING_ASTEROIDS + extra - enemies > 0) {
-			spawnAsteroid(STARTING_ASTEROIDS + extra - enemies);
+		update(SURVIVAL);
+	}
+
+	/**
+	 * Tell the spawner that enemies were created or destroyed, so it counts
+	 * them again in the next tick.
+	 */
+	public void enemiesChanged() {
+		enemiesChanged = true;
+	}
+
+	/**
+	 * React to changed enemies, then fire the events that are due.
+	 *
+	 * @param mode ARCADE, BOSS or SURVIVAL
+	 */
+	private void update(final int mode) {
+		final long now = thisGame.getTime();
+		final boolean changed = enemiesChanged;
+		enemiesChanged = false;
+		if (changed && mode != SURVIVAL) {
+			if (thisGame.enemies() != 0) {
+				cancel(REST_EVENT);
+			} else if (queued[REST_EVENT] == null) {
+				schedule(REST_EVENT, now + REST);
+			}
+		}
+		while (!events.isEmpty() && events.peek().time < now) {
+			final SpawnEvent event = events.poll();
+			queued[event.kind] = null;
+			fire(event.kind, now, mode);
+		}
+		if (mode == SURVIVAL) {
+			topUpAsteroids(changed);
 		}
 	}
-	
+
 	/**
-	 * Checks if a saucer should be added and does so if needed.
+	 * Do what an event stands for.
+	 *
+	 * @param kind the kind of event
+	 * @param now  the current game time
+	 * @param mode ARCADE, BOSS or SURVIVAL
 	 */
-	private void updateSaucer() {
-		if (System.currentTimeMillis() - startSaucerTime > SAUCER_TIME) {
-			spawnSaucer();
-			Logger.getInstance().log("Saucer was spawned");
-			startSaucerTime = System.currentTimeMillis();
+	private void fire(final int kind, final long now, final int mode) {
+		switch (kind) {
+			case SAUCER_EVENT:
+				spawnSaucer();
+				Logger.getInstance().log("Saucer was spawned");
+				schedule(SAUCER_EVENT, now + SAUCER_TIME);
+				break;
+			case POWERUP_EVENT:
+				spawnPowerup();
+				Logger.getInstance().log("Powerup was spawned");
+				schedule(POWERUP_EVENT, now + POWERUP_TIME);
+				break;
+			default:
+				if (mode == BOSS) {
+					spawnBossGroup();
+				} else if (mode == ARCADE) {
+					updateWave();
+				}
+				break;
 		}
 	}
-	
+
 	/**
-	 * Checks if a powerup should be added and does so if needed.
+	 * Add asteroids in survival mode when there are fewer than the score
+	 * asks for. They are only counted when enemies changed or the score
+	 * passed another step.
+	 *
+	 * @param changed whether enemies were created or destroyed
 	 */
-	private void updatePowerup() {
-		if (System.currentTimeMillis() - startPowerupTime > POWERUP_TIME) {
-			spawnPowerup();
-			Logger.getInstance().log("Powerup was spawned");
-			startPowerupTime = System.currentTimeMillis();
+	private void topUpAsteroids(final boolean changed) {
+		final int extra = (int) (thisGame.getScorecounter().getScore() / SURVIVAL_POINTS_PER_ASTEROID);
+		if (!changed && extra == survivalExtra) {
+			return;
+		}
+		survivalExtra = extra;
+		final int enemies = thisGame.convertedBigEnemies();
+		final int missing = waves.getSurvivalAsteroids() + extra - enemies;
+		if (missing > 0) {
+			spawnAsteroid(missing);
 		}
 	}
 	
 	/**
-	 * Checks if the wave should be updated and does so if needed.
+	 * Starts the next wave after a rest, looking up in the wave schedule
+	 * whether it is a boss wave.
 	 */
 	private void updateWave() {
-		if ((startRest == 0 || System.currentTimeMillis() - startRest > REST) 
-				&& wave != 0 && wave % WAVES_BETWEEN_BOSSES == 0) {
+		if (waves.isBoss(wave)) {
 			spawnBoss();
-		} else if (startRest == 0) {
-			Logger.getInstance().log("Wave: " + (wave + 1) + ".");
-			spawnAsteroid(STARTING_ASTEROIDS);
-			startRest = System.currentTimeMillis();
-			wave++;
-		} else if (System.currentTimeMillis() - startRest > REST) {
+		} else {
 			nextWave();
 		}
 	}
 	
 	/**
-	 * Checks if and which boss should be spawned.
+	 * Spawns a boss and counts it as a wave.
 	 */
 	private void spawnBoss() {
-		if (Math.random() < (telebossratio)) {
+		spawnBossGroup();
+		wave++;
+	}
+
+	/**
+	 * Checks which boss should be spawned and does so.
+	 */
+	private void spawnBossGroup() {
+		final GameRandom random = thisGame.getSpawnRandom();
+		if (random.nextDouble() < waves.getTeleBossRatio()) {
 			spawnTeleBoss();
 		} else {
-			if (Math.random() < (telebossratio + doublebossratio)) {
+			if (random.nextDouble() < waves.getTeleBossRatio() + waves.getDoubleBossRatio()) {
 				spawnDoubleBoss();
 				spawnDoubleBoss();
 			} else {
 				spawnBasicBoss();
 			}
 		}
-		startRest = System.currentTimeMillis();
-		wave++;
 	}
 
 	/**
-	 * Spawns the next wave of asteroids.
+	 * Spawns the asteroids and saucers of the next wave.
 	 */
 	private void nextWave() {
-		int extra = wave * 2;
-		if (extra > MAX_EXTRA) {
-			extra = MAX_EXTRA;
-		}
 		Logger.getInstance().log("Wave: " + (wave + 1) + ".");
-		spawnAsteroid(STARTING_ASTEROIDS + extra);
+		spawnAsteroid(waves.getAsteroids(wave));
+		for (int i = 0; i < waves.getSaucers(wave); i++) {
+			spawnSaucer();
+		}
 		wave++;
-		startRest = System.currentTimeMillis();
+	}
+
+	/**
+	 * Queue an event, replacing the queued event of the same kind.
+	 *
+	 * @param kind the kind of event
+	 * @param time the event fires in the first tick after this game time
+	 */
+	private void schedule(final int kind, final long time) {
+		cancel(kind);
+		final SpawnEvent event = new SpawnEvent(kind, time, sequence++);
+		queued[kind] = event;
+		events.add(event);
+	}
+
+	/**
+	 * Remove the queued event of a kind, if there is one.
+	 *
+	 * @param kind the kind of event
+	 */
+	private void cancel(final int kind) {
+		if (queued[kind] != null) {
+			events.remove(queued[kind]);
+			queued[kind] = null;
+		}
 	}
 	
 	/**
 	 * adds a Saucer with random Y, side of screen, path and size.
 	 */
 	private void spawnSaucer() {
+		final GameRandom random = thisGame.getSpawnRandom();
 		final Saucer newSaucer = new Saucer(random.nextInt(1)
-				* 2 * thisGame.getScreenX(), (float) Math.random()
+				* 2 * thisGame.getScreenX(), random.nextFloat()
 				* thisGame.getScreenY(), 0, 0, thisGame);
-		if (Math.random() < smallSaucerRatio()) {
+		if (random.nextDouble() < smallSaucerRatio()) {
 			newSaucer.setRadius(Saucer.getSmallRadius());
 		}
 		thisGame.create(newSaucer);
@@ -191,10 +269,11 @@ public final class Spawner {
 	 * adds a Powerup with random X and Y and type.
 	 */
 	private void spawnPowerup() {
+		final GameRandom random = thisGame.getSpawnRandom();
 		thisGame.create(new Powerup(thisGame.getScreenY()
-				* (float) Math.random(),
+				* random.nextFloat(),
 				thisGame.getScreenY()
-						* (float) Math.random(), thisGame));
+						* random.nextFloat(), thisGame));
 	}
 
 	/**
@@ -220,9 +299,10 @@ public final class Spawner {
 	 * @param times the number of asteroids
 	 */
 	private void spawnAsteroid(final int times) {
+		final GameRandom random = thisGame.getSpawnRandom();
 		for (int i = 0; i < times; i++) {
-			thisGame.create(new Asteroid(0, thisGame.getScreenY() * (float) Math.random(),
-					(float) (Math.random() - .5) * ASTEROID_SPEED, (float) (Math.random() - .5) * ASTEROID_SPEED,
+			thisGame.create(new Asteroid(0, thisGame.getScreenY() * random.nextFloat(),
+					(random.nextFloat() - .5f) * ASTEROID_SPEED, (random.nextFloat() - .5f) * ASTEROID_SPEED,
 					thisGame));
 		}
 		if (times == 1) {
@@ -236,9 +316,10 @@ public final class Spawner {
 	 * Spawns a boss.
 	 */
 	private void spawnBasicBoss() {
+		final GameRandom random = thisGame.getSpawnRandom();
 		final BasicBoss boss =
 				new BasicBoss(random.nextInt(1)
-				* 2 * thisGame.getScreenX(), (float) Math.random()
+				* 2 * thisGame.getScreenX(), random.nextFloat()
 				* thisGame.getScreenY(), 0, 0, thisGame);
 		thisGame.create(boss);
 	}
@@ -247,9 +328,10 @@ public final class Spawner {
 	 * Spawn Teleporting Boss.
 	 */
 	private void spawnTeleBoss() {
+		final GameRandom random = thisGame.getSpawnRandom();
 		final TeleBoss telboss =
 				new TeleBoss(random.nextInt(1)
-				* 2 * thisGame.getScreenX(), (float) Math.random()
+				* 2 * thisGame.getScreenX(), random.nextFloat()
 				* thisGame.getScreenY(), 0, 0, thisGame);
 		thisGame.create(telboss);
 	}
@@ -258,21 +340,25 @@ public final class Spawner {
 	 * Spawn one of a pair of bosses.
 	 */
 	private void spawnDoubleBoss() {
+		final GameRandom random = thisGame.getSpawnRandom();
 		final DoubleBoss doubboss =
 				new DoubleBoss(random.nextInt(1)
-				* 2 * thisGame.getScreenX(), (float) Math.random()
+				* 2 * thisGame.getScreenX(), random.nextFloat()
 				* thisGame.getScreenY(), 0, 0, thisGame);
 		thisGame.create(doubboss);
 	}
 	
 	/**
-	 * reset.
+	 * reset, the first wave or boss comes right away and the first saucer and
+	 * powerup after their usual time.
 	 */
 	public void reset() {
 		wave = 0;
-		startSaucerTime = System.currentTimeMillis();
-		startPowerupTime = System.currentTimeMillis();
-		startRest = 0;
+		survivalExtra = -1;
+		enemiesChanged = true;
+		setStartSaucerTime(thisGame.getTime());
+		setStartPowerupTime(thisGame.getTime());
+		setStartRest(0);
 	}
 
 	/**
@@ -293,6 +379,22 @@ public final class Spawner {
 		return wave;
 	}
 
+	/**
+	 * @return the schedule of the waves
+	 */
+	public WaveSchedule getWaves() {
+		return waves;
+	}
+
+	/**
+	 * Replace the waves, for example with stress waves.
+	 *
+	 * @param waves the new schedule of the waves
+	 */
+	public void setWaves(final WaveSchedule waves) {
+		this.waves = waves;
+	}
+
 	/**
 	 * @param wave the wave to set
 	 */
@@ -301,23 +403,109 @@ public final class Spawner {
 	}
 
 	/**
-	 * @param startSaucerTime the startSaucerTime to set
+	 * @param startSaucerTime the game time the saucer timer started at, the
+	 *                        next saucer comes SAUCER_TIME later
 	 */
 	public void setStartSaucerTime(final long startSaucerTime) {
-		this.startSaucerTime = startSaucerTime;
+		schedule(SAUCER_EVENT, startSaucerTime + SAUCER_TIME);
 	}
 
 	/**
-	 * @param startPowerupTime the startPowerupTime to set
+	 * @param startPowerupTime the game time the powerup timer started at, the
+	 *                         next powerup comes POWERUP_TIME later
 	 */
 	public void setStartPowerupTime(final long startPowerupTime) {
-		this.startPowerupTime = startPowerupTime;
+		schedule(POWERUP_EVENT, startPowerupTime + POWERUP_TIME);
 	}
 
 	/**
-	 * @param startRest the startRest to set
+	 * @param startRest the game time the rest started at, the next wave comes
+	 *                  REST later, or right away if this is 0
 	 */
 	public void setStartRest(final long startRest) {
-		this.startRest = startRest;
+		if (startRest == 0) {
+			schedule(REST_EVENT, Long.MIN_VALUE);
+		} else {
+			schedule(REST_EVENT, startRest + REST);
+		}
+	}
+
+	/**
+	 * Write the wave and the queued events, with times relative to the timers
+	 * of the game. The wave schedule itself is not written.
+	 *
+	 * @param out the buffer
+	 */
+	public void save(final ByteBuffer out) {
+		final long now = thisGame.getTimers().getNow();
+		Codec.putVarLong(out, wave);
+		Codec.putSigned(out, survivalExtra);
+		Codec.putBoolean(out, enemiesChanged);
+		Codec.putVarLong(out, sequence);
+		for (final SpawnEvent event : queued) {
+			if (event == null) {
+				out.put(NOT_QUEUED);
+			} else if (event.time == Long.MIN_VALUE) {
+				out.put(QUEUED_NOW);
+				Codec.putVarLong(out, event.sequence);
+			} else {
+				out.put(QUEUED_AT);
+				Codec.putVarLong(out, event.sequence);
+				Codec.putTime(out, event.time, now);
+			}
+		}
+	}
+
+	/**
+	 * Restore the state written by save.
+	 *
+	 * @param in the buffer
+	 */
+	public void load(final ByteBuffer in) {
+		final long now = thisGame.getTimers().getNow();
+		wave = Codec.getVarInt(in);
+		survivalExtra = (int) Codec.getSigned(in);
+		enemiesChanged = Codec.getBoolean(in);
+		sequence = Codec.getVarLong(in);
+		events.clear();
+		for (int kind = 0; kind < EVENTS; kind++) {
+			final byte queuedAs = in.get();
+			queued[kind] = null;
+			if (queuedAs == NOT_QUEUED) {
+				continue;
+			}
+			final long eventSequence = Codec.getVarLong(in);
+			long time = Long.MIN_VALUE;
+			if (queuedAs == QUEUED_AT) {
+				time = Codec.getTime(in, now);
+			}
+			queued[kind] = new SpawnEvent(kind, time, eventSequence);
+			events.add(queued[kind]);
+		}
+	}
+
+	/**
+	 * A spawn that happens in the first tick after its time.
+	 */
+	private static final class SpawnEvent {
+		private final int kind;
+		private final long time;
+		/**
+		 * Keeps events with the same time in the order they were queued.
+		 */
+		private final long sequence;
+
+		/**
+		 * Constructor for a SpawnEvent.
+		 *
+		 * @param kind     the kind of event
+		 * @param time     the game time after which it fires
+		 * @param sequence the number of events queued before it
+		 */
+		SpawnEvent(final int kind, final long time, final long sequence) {
+			this.kind = kind;
+			this.time = time;
+			this.sequence = sequence;
+		}
 	}
 }
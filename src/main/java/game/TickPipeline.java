@@ -0,0 +1,180 @@
+package game;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs one game tick as a fixed sequence of stages.
+ * <p>
+ * The stages are, in order: input, simulate, broadphase, resolve, spawn,
+ * commit and render. Every stage has a body that can be replaced, hooks that
+ * run right before and after it, and can be skipped, for example render when
+ * no one is watching. The time each stage took in the last tick is kept, so
+ * the stages can be measured without touching the code they run.
+ */
+public final class TickPipeline {
+	/**
+	 * Stage that settles the keys used in this tick.
+	 */
+	public static final int INPUT = 0;
+	/**
+	 * Stage that moves and updates all entities.
+	 */
+	public static final int SIMULATE = 1;
+	/**
+	 * Stage that finds all colliding pairs of entities.
+	 */
+	public static final int BROADPHASE = 2;
+	/**
+	 * Stage that lets colliding entities collide.
+	 */
+	public static final int RESOLVE = 3;
+	/**
+	 * Stage that spawns new enemies.
+	 */
+	public static final int SPAWN = 4;
+	/**
+	 * Stage that applies the entities created and destroyed in this tick.
+	 */
+	public static final int COMMIT = 5;
+	/**
+	 * Stage that draws the game, plays music and shows the HUD.
+	 */
+	public static final int RENDER = 6;
+	/**
+	 * The amount of stages.
+	 */
+	public static final int STAGES = 7;
+	private static final String[] NAMES = {
+			"input", "simulate", "broadphase", "resolve", "spawn", "commit", "render"
+	};
+
+	private final Runnable[] bodies;
+	private final List<List<Runnable>> before;
+	private final List<List<Runnable>> after;
+	private final boolean[] skipped;
+	private final long[] nanos;
+	/**
+	 * The keys pressed in the current tick, hooks before or after the input
+	 * stage may replace them.
+	 */
+	@Getter
+	@Setter
+	private List<String> input;
+
+	/**
+	 * Constructor for a TickPipeline where every stage does nothing.
+	 */
+	public TickPipeline() {
+		bodies = new Runnable[STAGES];
+		before = new ArrayList<>();
+		after = new ArrayList<>();
+		skipped = new boolean[STAGES];
+		nanos = new long[STAGES];
+		input = new ArrayList<>();
+		for (int stage = 0; stage < STAGES; stage++) {
+			bodies[stage] = () -> { };
+			before.add(new ArrayList<>());
+			after.add(new ArrayList<>());
+		}
+	}
+
+	/**
+	 * Run all stages that are not skipped, in order.
+	 *
+	 * @param keys all keys pressed at the time of the tick
+	 */
+	public void run(final List<String> keys) {
+		input = keys;
+		for (int stage = 0; stage < STAGES; stage++) {
+			if (skipped[stage]) {
+				nanos[stage] = 0;
+				continue;
+			}
+			final long start = System.nanoTime();
+			before.get(stage).forEach(Runnable::run);
+			bodies[stage].run();
+			after.get(stage).forEach(Runnable::run);
+			nanos[stage] = System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Replace what a stage does.
+	 *
+	 * @param stage the stage
+	 * @param body  the new body of the stage
+	 */
+	public void setStage(final int stage, final Runnable body) {
+		bodies[stage] = body;
+	}
+
+	/**
+	 * Add a hook that runs right before a stage.
+	 *
+	 * @param stage the stage
+	 * @param hook  the hook
+	 */
+	public void addBefore(final int stage, final Runnable hook) {
+		before.get(stage).add(hook);
+	}
+
+	/**
+	 * Add a hook that runs right after a stage.
+	 *
+	 * @param stage the stage
+	 * @param hook  the hook
+	 */
+	public void addAfter(final int stage, final Runnable hook) {
+		after.get(stage).add(hook);
+	}
+
+	/**
+	 * Remove a hook from before and after a stage.
+	 *
+	 * @param stage the stage
+	 * @param hook  the hook
+	 */
+	public void removeHook(final int stage, final Runnable hook) {
+		before.get(stage).remove(hook);
+		after.get(stage).remove(hook);
+	}
+
+	/**
+	 * Skip a stage, or stop skipping it. The hooks of a skipped stage do not
+	 * run either.
+	 *
+	 * @param stage   the stage
+	 * @param skip    true to skip the stage
+	 */
+	public void setSkipped(final int stage, final boolean skip) {
+		skipped[stage] = skip;
+	}
+
+	/**
+	 * @param stage the stage
+	 * @return whether the stage is skipped
+	 */
+	public boolean isSkipped(final int stage) {
+		return skipped[stage];
+	}
+
+	/**
+	 * @param stage the stage
+	 * @return the time the stage and its hooks took in the last tick, in nanoseconds
+	 */
+	public long getNanos(final int stage) {
+		return nanos[stage];
+	}
+
+	/**
+	 * @param stage the stage
+	 * @return the name of the stage
+	 */
+	public static String getName(final int stage) {
+		return NAMES[stage];
+	}
+}
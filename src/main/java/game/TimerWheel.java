@@ -0,0 +1,386 @@
+package game;
+
+import game.snapshot.Codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fires scheduled tasks when the game time reaches their deadline.
+ * <p>
+ * Timers are kept in a hierarchical wheel: four levels of 64 slots, where a
+ * slot of level 0 holds the timers of one millisecond and a slot of each next
+ * level covers 64 slots of the level below. A timer is put in the level its
+ * distance to the deadline fits in, and moved one level down every time the
+ * wheel below it goes round, so scheduling, cancelling and firing take
+ * constant time and a pending timer costs nothing until it is due. Timers due
+ * in the same millisecond fire in the order they were scheduled, and timers
+ * scheduled for a time that already passed wait in a separate list that is
+ * emptied at the start of the next advance.
+ * <p>
+ * Every schedule gives the timer the next sequence number and every slot is
+ * kept sorted on it, so a timer moved down from a higher level still fires
+ * before the timers of the same millisecond that were scheduled after it.
+ * This makes the order timers fire in depend only on their deadlines and
+ * sequence numbers, which is what a snapshot saves.
+ * <p>
+ * The wheel is not thread safe, timers are only scheduled, cancelled and
+ * fired on the game thread.
+ */
+public final class TimerWheel {
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	private static final int DUE = LEVELS * SLOTS;
+
+	private final Timer[] heads;
+	private final Timer[] tails;
+	private long now;
+	private int size;
+	/**
+	 * The sequence number the next scheduled timer gets.
+	 */
+	private long sequence;
+	/**
+	 * Counts the advances, so timers that become due while the due list is
+	 * fired can be told apart from the ones that were there before.
+	 */
+	private long round;
+
+	/**
+	 * Constructor for a TimerWheel.
+	 *
+	 * @param now the current time in milliseconds
+	 */
+	public TimerWheel(final long now) {
+		heads = new Timer[DUE + 1];
+		tails = new Timer[DUE + 1];
+		this.now = now;
+	}
+
+	/**
+	 * Make a timer that runs a task, it is not scheduled yet.
+	 *
+	 * @param task the task to run when the timer fires
+	 * @return the timer
+	 */
+	public Timer timer(final Runnable task) {
+		return new Timer(this, task);
+	}
+
+	/**
+	 * Make a timer that runs a task and schedule it.
+	 *
+	 * @param deadline the time at which the task runs, in milliseconds
+	 * @param task     the task to run
+	 * @return the timer, which can be cancelled or scheduled again
+	 */
+	public Timer schedule(final long deadline, final Runnable task) {
+		final Timer timer = new Timer(this, task);
+		timer.schedule(deadline);
+		return timer;
+	}
+
+	/**
+	 * Move the time forward, firing every timer whose deadline is at or
+	 * before the new time. A timer that a task schedules for a time that is
+	 * not reached yet fires in this same call if it is due by the new time,
+	 * one scheduled for a time already reached fires in the next call.
+	 *
+	 * @param time the new time in milliseconds, earlier times are ignored
+	 */
+	public void advance(final long time) {
+		if (time < now) {
+			return;
+		}
+		fireDue();
+		while (now < time) {
+			if (size == 0) {
+				now = time;
+				return;
+			}
+			now++;
+			cascade();
+			final int bucket = (int) (now & SLOT_MASK);
+			while (heads[bucket] != null) {
+				final Timer timer = heads[bucket];
+				unlink(timer);
+				if (timer.deadline <= now) {
+					timer.task.run();
+				} else {
+					insert(timer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drop all pending timers and set the time, for example when the game
+	 * restarts or its clock is replaced.
+	 *
+	 * @param time the current time in milliseconds
+	 */
+	public void reset(final long time) {
+		for (int bucket = 0; bucket < heads.length; bucket++) {
+			Timer timer = heads[bucket];
+			while (timer != null) {
+				final Timer next = timer.next;
+				timer.bucket = -1;
+				timer.prev = null;
+				timer.next = null;
+				timer = next;
+			}
+			heads[bucket] = null;
+			tails[bucket] = null;
+		}
+		size = 0;
+		now = time;
+	}
+
+	/**
+	 * Write the sequence counter of the wheel. The time is the base the
+	 * deadlines of timers are saved against and is not written.
+	 *
+	 * @param out the buffer
+	 */
+	public void save(final ByteBuffer out) {
+		Codec.putVarLong(out, sequence);
+	}
+
+	/**
+	 * Restore the sequence counter written by save, after the timers have
+	 * been loaded.
+	 *
+	 * @param in the buffer
+	 */
+	public void load(final ByteBuffer in) {
+		sequence = Codec.getVarLong(in);
+	}
+
+	/**
+	 * @return the amount of pending timers
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the time up to which timers have fired, in milliseconds
+	 */
+	public long getNow() {
+		return now;
+	}
+
+	/**
+	 * Fire the timers that were scheduled for a time already reached, but not
+	 * the ones their tasks schedule in turn.
+	 */
+	private void fireDue() {
+		round++;
+		while (heads[DUE] != null && heads[DUE].round != round) {
+			final Timer timer = heads[DUE];
+			unlink(timer);
+			timer.task.run();
+		}
+	}
+
+	/**
+	 * Move the timers of every level that just went round one level down,
+	 * starting at the highest so timers moved down twice are not missed. A
+	 * timer due right now goes in the slot of level 0 that fires next, not in
+	 * the due list, which is only emptied by the next advance.
+	 */
+	private void cascade() {
+		int levels = 0;
+		while (levels + 1 < LEVELS && (now & ((1L << (SLOT_BITS * (levels + 1))) - 1)) == 0) {
+			levels++;
+		}
+		for (int level = levels; level > 0; level--) {
+			final int bucket = level * SLOTS + (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK);
+			Timer timer = heads[bucket];
+			heads[bucket] = null;
+			tails[bucket] = null;
+			while (timer != null) {
+				final Timer next = timer.next;
+				timer.prev = null;
+				timer.next = null;
+				timer.bucket = -1;
+				size--;
+				if (timer.deadline <= now) {
+					link(timer, (int) (now & SLOT_MASK));
+				} else {
+					insert(timer);
+				}
+				timer = next;
+			}
+		}
+	}
+
+	/**
+	 * Put a timer in the slot its deadline belongs in, after the timers with
+	 * a lower sequence number.
+	 *
+	 * @param timer the timer, which must not be pending
+	 */
+	private void insert(final Timer timer) {
+		final long delay = timer.deadline - now;
+		final int bucket;
+		if (delay <= 0) {
+			bucket = DUE;
+			timer.round = round;
+		} else {
+			int level = 0;
+			while (level + 1 < LEVELS && delay >= 1L << (SLOT_BITS * (level + 1))) {
+				level++;
+			}
+			bucket = level * SLOTS + (int) ((timer.deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+		}
+		link(timer, bucket);
+	}
+
+	/**
+	 * Put a timer in a slot, after the timers with a lower sequence number.
+	 *
+	 * @param timer  the timer, which must not be pending
+	 * @param bucket the slot
+	 */
+	private void link(final Timer timer, final int bucket) {
+		timer.bucket = bucket;
+		Timer before = tails[bucket];
+		while (before != null && before.sequence > timer.sequence) {
+			before = before.prev;
+		}
+		timer.prev = before;
+		if (before == null) {
+			timer.next = heads[bucket];
+			heads[bucket] = timer;
+		} else {
+			timer.next = before.next;
+			before.next = timer;
+		}
+		if (timer.next == null) {
+			tails[bucket] = timer;
+		} else {
+			timer.next.prev = timer;
+		}
+		size++;
+	}
+
+	/**
+	 * Take a pending timer out of its slot.
+	 *
+	 * @param timer the timer
+	 */
+	private void unlink(final Timer timer) {
+		final int bucket = timer.bucket;
+		if (timer.prev == null) {
+			heads[bucket] = timer.next;
+		} else {
+			timer.prev.next = timer.next;
+		}
+		if (timer.next == null) {
+			tails[bucket] = timer.prev;
+		} else {
+			timer.next.prev = timer.prev;
+		}
+		timer.prev = null;
+		timer.next = null;
+		timer.bucket = -1;
+		size--;
+	}
+
+	/**
+	 * A task with a deadline in a TimerWheel. A timer can be scheduled again
+	 * after it fired or was cancelled, so entities keep one timer for every
+	 * thing they wait for instead of making a new one each time.
+	 */
+	public static final class Timer {
+		private final TimerWheel wheel;
+		private final Runnable task;
+		private long deadline;
+		private long sequence;
+		private int bucket = -1;
+		private long round;
+		private Timer prev;
+		private Timer next;
+
+		/**
+		 * Constructor for a Timer.
+		 *
+		 * @param wheel the wheel the timer belongs to
+		 * @param task  the task to run when the timer fires
+		 */
+		private Timer(final TimerWheel wheel, final Runnable task) {
+			this.wheel = wheel;
+			this.task = task;
+		}
+
+		/**
+		 * Schedule the timer, replacing its deadline if it is pending.
+		 *
+		 * @param time the time at which the task runs, in milliseconds
+		 */
+		public void schedule(final long time) {
+			if (bucket >= 0) {
+				wheel.unlink(this);
+			}
+			deadline = time;
+			sequence = wheel.sequence++;
+			wheel.insert(this);
+		}
+
+		/**
+		 * Stop the timer from firing, does nothing if it is not pending.
+		 */
+		public void cancel() {
+			if (bucket >= 0) {
+				wheel.unlink(this);
+			}
+		}
+
+		/**
+		 * Write whether the timer is pending and, if so, its deadline and
+		 * sequence number.
+		 *
+		 * @param out the buffer
+		 */
+		public void save(final ByteBuffer out) {
+			if (bucket < 0) {
+				Codec.putVarLong(out, 0);
+				return;
+			}
+			Codec.putVarLong(out, sequence + 1);
+			Codec.putTime(out, deadline, wheel.now);
+		}
+
+		/**
+		 * Restore the state written by save, replacing the current one.
+		 *
+		 * @param in the buffer
+		 */
+		public void load(final ByteBuffer in) {
+			cancel();
+			final long saved = Codec.getVarLong(in);
+			if (saved == 0) {
+				return;
+			}
+			sequence = saved - 1;
+			deadline = Codec.getTime(in, wheel.now);
+			wheel.insert(this);
+		}
+
+		/**
+		 * @return whether the timer is scheduled and has not fired yet
+		 */
+		public boolean isPending() {
+			return bucket >= 0;
+		}
+
+		/**
+		 * @return the time at which the timer fires or last fired
+		 */
+		public long getDeadline() {
+			return deadline;
+		}
+	}
+}
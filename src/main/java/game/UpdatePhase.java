@@ -0,0 +1,43 @@
+package game;
+
+import entity.AbstractEntity;
+import entity.EntityTypes;
+
+import java.util.List;
+
+/**
+ * Runs the update of every entity in a game tick, one after another in the
+ * order of the entity list, dispatching on the type kept in the entity store.
+ * <p>
+ * The updates are not spread over threads. Moving entities is done in one
+ * pass over the columns of the store before this phase, so what is left of
+ * the update of asteroids, bullets and particles does nothing, and the
+ * entities whose update does work read input, play audio or draw from the
+ * random numbers of the game, which has to happen in list order.
+ */
+public final class UpdatePhase {
+	private final Game thisGame;
+
+	/**
+	 * Constructor for an UpdatePhase.
+	 *
+	 * @param thisGame the game whose entities are updated
+	 */
+	public UpdatePhase(final Game thisGame) {
+		this.thisGame = thisGame;
+	}
+
+	/**
+	 * Update all entities. The entity store of the game must hold exactly
+	 * these entities, as the types of the entities are read from it.
+	 *
+	 * @param entities the entities to update
+	 * @param input    all keys pressed at the time of update
+	 */
+	public void run(final List<AbstractEntity> entities, final List<String> input) {
+		final int[] entityTypes = thisGame.getEntityStore().getType();
+		for (int i = 0; i < entities.size(); i++) {
+			EntityTypes.update(entityTypes[i], entities.get(i), input);
+		}
+	}
+}
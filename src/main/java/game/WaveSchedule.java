@@ -0,0 +1,202 @@
+package game;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * What every wave of an arcade game consists of.
+ * <p>
+ * Waves are described in a json resource, which is read once and compiled
+ * into one table entry per wave, so the spawner only looks up the wave it
+ * is at. The definition holds:
+ * <ul>
+ * <li>waves: the asteroids and saucers of each wave, optionally marked as a
+ * boss wave. After the last one, that last wave repeats. A wave that is no
+ * boss wave needs at least one asteroid or saucer, as the next wave only
+ * comes once the enemies of a wave are gone.</li>
+ * <li>bossEvery: every wave whose number is a multiple of this is a boss
+ * wave instead, 0 for none.</li>
+ * <li>teleBossRatio and doubleBossRatio: the chances of a boss wave being a
+ * tele boss or a pair of double bosses rather than a basic boss.</li>
+ * <li>survivalAsteroids: the asteroids a survival game keeps at the start.</li>
+ * </ul>
+ * Wave numbers start at 0 and count boss waves as well.
+ */
+public final class WaveSchedule {
+	/**
+	 * The resource holding the waves of the game.
+	 */
+	public static final String DEFAULT_RESOURCE = "/waves.json";
+
+	private static WaveSchedule defaultSchedule;
+
+	private final int[] asteroids;
+	private final int[] saucers;
+	private final boolean[] boss;
+	private final int bossEvery;
+	private final double teleBossRatio;
+	private final double doubleBossRatio;
+	private final int survivalAsteroids;
+
+	/**
+	 * Constructor for a WaveSchedule, compiling a checked definition.
+	 *
+	 * @param definition the definition
+	 */
+	private WaveSchedule(final Definition definition) {
+		final int length = definition.waves.length;
+		asteroids = new int[length];
+		saucers = new int[length];
+		boss = new boolean[length];
+		bossEvery = definition.bossEvery;
+		for (int w = 0; w < length; w++) {
+			final Wave wave = definition.waves[w];
+			asteroids[w] = wave.asteroids;
+			saucers[w] = wave.saucers;
+			boss[w] = wave.boss || isBossNumber(w);
+		}
+		teleBossRatio = definition.teleBossRatio;
+		doubleBossRatio = definition.doubleBossRatio;
+		survivalAsteroids = definition.survivalAsteroids;
+	}
+
+	/**
+	 * Get the schedule of the default resource, reading it the first time.
+	 *
+	 * @return the default schedule
+	 */
+	public static synchronized WaveSchedule getDefault() {
+		if (defaultSchedule == null) {
+			final InputStream in = WaveSchedule.class.getResourceAsStream(DEFAULT_RESOURCE);
+			if (in == null) {
+				throw new IllegalStateException("missing wave resource " + DEFAULT_RESOURCE);
+			}
+			try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+				defaultSchedule = read(reader);
+			} catch (IOException e) {
+				throw new IllegalStateException("unable to read " + DEFAULT_RESOURCE, e);
+			}
+			Logger.getInstance().log("Waves were loaded from " + DEFAULT_RESOURCE + ".");
+		}
+		return defaultSchedule;
+	}
+
+	/**
+	 * Read and compile a wave definition.
+	 *
+	 * @param reader the json definition
+	 * @return the compiled schedule
+	 */
+	public static WaveSchedule read(final Reader reader) {
+		final Definition definition;
+		try {
+			definition = new Gson().fromJson(reader, Definition.class);
+		} catch (JsonParseException e) {
+			throw new IllegalArgumentException("malformed wave definition", e);
+		}
+		if (definition == null || definition.waves == null || definition.waves.length == 0) {
+			throw new IllegalArgumentException("a wave definition needs at least one wave");
+		}
+		if (definition.bossEvery < 0 || definition.survivalAsteroids < 0
+				|| definition.teleBossRatio < 0 || definition.doubleBossRatio < 0
+				|| definition.teleBossRatio + definition.doubleBossRatio > 1) {
+			throw new IllegalArgumentException("invalid wave settings");
+		}
+		for (final Wave wave : definition.waves) {
+			if (wave == null || wave.asteroids < 0 || wave.saucers < 0) {
+				throw new IllegalArgumentException("invalid wave");
+			}
+		}
+		final WaveSchedule schedule = new WaveSchedule(definition);
+		// the last wave repeats, of two waves after it at least one is no
+		// boss wave unless every wave is
+		for (int w = 0; w < definition.waves.length + 2; w++) {
+			if (!schedule.isBoss(w) && schedule.getAsteroids(w) + schedule.getSaucers(w) == 0) {
+				throw new IllegalArgumentException("wave " + w + " is no boss wave and spawns nothing");
+			}
+		}
+		return schedule;
+	}
+
+	/**
+	 * @param wave the number of the wave
+	 * @return whether the wave is a boss wave
+	 */
+	public boolean isBoss(final int wave) {
+		if (wave < boss.length) {
+			return boss[wave];
+		}
+		return isBossNumber(wave);
+	}
+
+	/**
+	 * @param wave the number of the wave
+	 * @return the amount of asteroids in the wave, when it is no boss wave
+	 */
+	public int getAsteroids(final int wave) {
+		return asteroids[Math.min(wave, asteroids.length - 1)];
+	}
+
+	/**
+	 * @param wave the number of the wave
+	 * @return the amount of saucers in the wave, when it is no boss wave
+	 */
+	public int getSaucers(final int wave) {
+		return saucers[Math.min(wave, saucers.length - 1)];
+	}
+
+	/**
+	 * @return the chance of a boss wave being a tele boss
+	 */
+	public double getTeleBossRatio() {
+		return teleBossRatio;
+	}
+
+	/**
+	 * @return the chance of a boss wave being a pair of double bosses
+	 */
+	public double getDoubleBossRatio() {
+		return doubleBossRatio;
+	}
+
+	/**
+	 * @return the asteroids a survival game keeps at the start
+	 */
+	public int getSurvivalAsteroids() {
+		return survivalAsteroids;
+	}
+
+	/**
+	 * @param wave the number of the wave
+	 * @return whether bossEvery makes the wave a boss wave
+	 */
+	private boolean isBossNumber(final int wave) {
+		return bossEvery > 0 && wave != 0 && wave % bossEvery == 0;
+	}
+
+	/**
+	 * The json form of a schedule.
+	 */
+	private static final class Definition {
+		private int bossEvery;
+		private double teleBossRatio;
+		private double doubleBossRatio;
+		private int survivalAsteroids;
+		private Wave[] waves;
+	}
+
+	/**
+	 * The json form of one wave.
+	 */
+	private static final class Wave {
+		private int asteroids;
+		private int saucers;
+		private boolean boss;
+	}
+}
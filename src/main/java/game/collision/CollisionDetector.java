@@ -0,0 +1,175 @@
+package game.collision;
+
+import entity.AbstractEntity;
+import entity.EntityStore;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds all colliding pairs of entities in a game tick.
+ * <p>
+ * The playfield is split into blocks of grid rows. With enough entities and
+ * cores the blocks are searched on a fork/join pool, every block writing into
+ * its own buffer. The buffers are merged and sorted afterwards, so the result
+ * is the same no matter how many threads did the work.
+ */
+public final class CollisionDetector {
+	private static final int PARALLEL_THRESHOLD = 512;
+	private static final int ROWS_PER_BLOCK = 2;
+
+	private final CollisionGrid grid;
+	private final PairBuffer found;
+	private final PairBuffer ordered;
+	private PairBuffer[] blockBuffers;
+	@Getter
+	@Setter
+	private boolean parallel;
+	@Setter
+	private ForkJoinPool pool;
+
+	/**
+	 * Constructor for a CollisionDetector.
+	 *
+	 * @param screenX width of the playfield
+	 * @param screenY height of the playfield
+	 */
+	public CollisionDetector(final float screenX, final float screenY) {
+		grid = new CollisionGrid(screenX, screenY);
+		found = new PairBuffer();
+		ordered = new PairBuffer();
+		blockBuffers = new PairBuffer[0];
+		pool = ForkJoinPool.commonPool();
+		parallel = pool.getParallelism() > 1;
+	}
+
+	/**
+	 * Find all colliding pairs of entities.
+	 * <p>
+	 * Every collision is returned twice, once for each entity, ordered the same
+	 * way a nested loop over the list would find them: on the index of the first
+	 * entity and then on the index of the second. The returned buffer is reused
+	 * by the next call.
+	 *
+	 * @param entities the entities to check
+	 * @return the colliding pairs of indices into the list
+	 */
+	public PairBuffer detect(final List<AbstractEntity> entities) {
+		return detect(entities, null);
+	}
+
+	/**
+	 * Find all colliding pairs of entities, reading their state from the
+	 * columns of a store when there is one.
+	 *
+	 * @param entities the entities to check
+	 * @param store    the store of the game the entities are in, which holds
+	 *                 them in list order, or null
+	 * @return the colliding pairs of indices into the list
+	 * @see #detect(List)
+	 */
+	public PairBuffer detect(final List<AbstractEntity> entities, final EntityStore store) {
+		grid.build(entities, store);
+		final int blocks = (grid.getRows() + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+		ensureBlockBuffers(blocks);
+		if (parallel && entities.size() >= PARALLEL_THRESHOLD) {
+			pool.invoke(new BlockTask(0, blocks));
+		} else {
+			for (int b = 0; b < blocks; b++) {
+				searchBlock(b);
+			}
+		}
+		found.clear();
+		for (int b = 0; b < blocks; b++) {
+			found.addAll(blockBuffers[b]);
+		}
+		ordered.clear();
+		for (int k = 0; k < found.size(); k++) {
+			ordered.add(found.first(k), found.second(k));
+			ordered.add(found.second(k), found.first(k));
+		}
+		ordered.sort();
+		return ordered;
+	}
+
+	/**
+	 * @return whether overlapping circles are checked again on their outlines
+	 */
+	public boolean isPrecise() {
+		return grid.isPrecise();
+	}
+
+	/**
+	 * Turn the precise narrowphase on or off. When on, entities whose circles
+	 * overlap only collide when the outlines they are drawn with overlap too.
+	 *
+	 * @param precise true to check the outlines
+	 */
+	public void setPrecise(final boolean precise) {
+		grid.setPrecise(precise);
+	}
+
+	/**
+	 * Search one block of rows, writing into the buffer of that block.
+	 *
+	 * @param block index of the block
+	 */
+	private void searchBlock(final int block) {
+		final PairBuffer buffer = blockBuffers[block];
+		buffer.clear();
+		grid.collectPairs(block * ROWS_PER_BLOCK,
+				Math.min(grid.getRows(), (block + 1) * ROWS_PER_BLOCK), buffer);
+	}
+
+	/**
+	 * Make sure there is one buffer for every block.
+	 *
+	 * @param blocks amount of blocks
+	 */
+	private void ensureBlockBuffers(final int blocks) {
+		if (blockBuffers.length < blocks) {
+			final PairBuffer[] buffers = new PairBuffer[blocks];
+			for (int b = 0; b < blocks; b++) {
+				if (b < blockBuffers.length) {
+					buffers[b] = blockBuffers[b];
+				} else {
+					buffers[b] = new PairBuffer();
+				}
+			}
+			blockBuffers = buffers;
+		}
+	}
+
+	/**
+	 * Fork/join task that splits a range of blocks in halves until one is left.
+	 */
+	private final class BlockTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+
+		/**
+		 * Constructor for a BlockTask.
+		 *
+		 * @param from first block to search
+		 * @param to   block after the last block to search
+		 */
+		BlockTask(final int from, final int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				searchBlock(from);
+			} else {
+				final int middle = (from + to) / 2;
+				invokeAll(new BlockTask(from, middle), new BlockTask(middle, to));
+			}
+		}
+	}
+}
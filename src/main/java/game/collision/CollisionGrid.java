@@ -0,0 +1,260 @@
+package game.collision;
+
+import entity.AbstractEntity;
+import entity.EntityStore;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the playfield used as collision broadphase.
+ * <p>
+ * Every entity is put in each cell its bounding box overlaps, and a pair is only
+ * reported by the one cell that is the top-left corner of the overlap of both
+ * boxes. That way rows of cells can be searched independently without
+ * reporting a pair twice. Fast entities cover the whole path they travelled in
+ * the last tick, so swept collisions are found as well. Once built the grid is
+ * only read, so several threads may collect pairs from it at the same time.
+ */
+public final class CollisionGrid {
+	private static final int MIN_CELLS = 4;
+	private static final int MAX_CELLS = 64;
+	private static final int ENTITIES_PER_CELL = 4;
+
+	private final float screenX;
+	private final float screenY;
+	private int cells;
+	private float cellWidth;
+	private float cellHeight;
+	private int count;
+	private List<AbstractEntity> entities;
+	/**
+	 * Whether overlapping circles are checked again on their outlines.
+	 */
+	@Getter
+	@Setter
+	private boolean precise;
+
+	private float[] x = new float[0];
+	private float[] y = new float[0];
+	private float[] radius = new float[0];
+	private float[] pathX = new float[0];
+	private float[] pathY = new float[0];
+	private boolean[] swept = new boolean[0];
+	private int[] minCellX = new int[0];
+	private int[] maxCellX = new int[0];
+	private int[] minCellY = new int[0];
+	private int[] maxCellY = new int[0];
+	private int[] cellStart = new int[0];
+	private int[] cellFill = new int[0];
+	private int[] cellItems = new int[0];
+
+	/**
+	 * Constructor for a CollisionGrid.
+	 *
+	 * @param screenX width of the playfield
+	 * @param screenY height of the playfield
+	 */
+	public CollisionGrid(final float screenX, final float screenY) {
+		this.screenX = screenX;
+		this.screenY = screenY;
+	}
+
+	/**
+	 * Put all entities in the grid, the index of an entity in the list is the
+	 * index used in reported pairs.
+	 *
+	 * @param entities the entities to sort into cells
+	 */
+	public void build(final List<AbstractEntity> entities) {
+		build(entities, null);
+	}
+
+	/**
+	 * Put all entities in the grid, copying their state straight from the
+	 * columns of the store when there is one.
+	 *
+	 * @param entities the entities to sort into cells
+	 * @param store    the store of the game the entities are in, which holds
+	 *                 them in list order, or null
+	 */
+	public void build(final List<AbstractEntity> entities, final EntityStore store) {
+		this.entities = entities;
+		count = entities.size();
+		ensureEntityCapacity(count);
+		cells = Math.max(MIN_CELLS, Math.min(MAX_CELLS, (int) Math.sqrt(count / ENTITIES_PER_CELL)));
+		cellWidth = screenX / cells;
+		cellHeight = screenY / cells;
+		if (store != null) {
+			gather(store);
+		} else {
+			gather(entities);
+		}
+		bucket();
+	}
+
+	/**
+	 * Copy the state of the entities from the columns of a store.
+	 *
+	 * @param store the store holding the entities in list order
+	 */
+	private void gather(final EntityStore store) {
+		System.arraycopy(store.getX(), 0, x, 0, count);
+		System.arraycopy(store.getY(), 0, y, 0, count);
+		System.arraycopy(store.getRadius(), 0, radius, 0, count);
+		final float[] dX = store.getDX();
+		final float[] dY = store.getDY();
+		final float[] sweepSpeed = store.getSweepSpeed();
+		for (int i = 0; i < count; i++) {
+			swept[i] = dX[i] * dX[i] + dY[i] * dY[i] > sweepSpeed[i] * sweepSpeed[i];
+			pathX[i] = 0;
+			pathY[i] = 0;
+			if (swept[i]) {
+				pathX[i] = dX[i];
+				pathY[i] = dY[i];
+			}
+		}
+	}
+
+	/**
+	 * Gather the state of the entities one entity at a time.
+	 *
+	 * @param entities the entities to gather
+	 */
+	private void gather(final List<AbstractEntity> entities) {
+		for (int i = 0; i < count; i++) {
+			final AbstractEntity e = entities.get(i);
+			x[i] = e.getX();
+			y[i] = e.getY();
+			radius[i] = e.getRadius();
+			swept[i] = e.isSwept();
+			pathX[i] = 0;
+			pathY[i] = 0;
+			if (swept[i]) {
+				pathX[i] = e.getDX();
+				pathY[i] = e.getDY();
+			}
+		}
+	}
+
+	/**
+	 * Sort the gathered entities into cells, counting first so the cells can
+	 * share one flat array.
+	 */
+	private void bucket() {
+		final int totalCells = cells * cells;
+		if (cellStart.length < totalCells + 1) {
+			cellStart = new int[totalCells + 1];
+			cellFill = new int[totalCells];
+		}
+		Arrays.fill(cellStart, 0, totalCells + 1, 0);
+		for (int i = 0; i < count; i++) {
+			minCellX[i] = cell(Math.min(x[i], x[i] - pathX[i]) - radius[i], cellWidth);
+			maxCellX[i] = cell(Math.max(x[i], x[i] - pathX[i]) + radius[i], cellWidth);
+			minCellY[i] = cell(Math.min(y[i], y[i] - pathY[i]) - radius[i], cellHeight);
+			maxCellY[i] = cell(Math.max(y[i], y[i] - pathY[i]) + radius[i], cellHeight);
+			for (int cy = minCellY[i]; cy <= maxCellY[i]; cy++) {
+				for (int cx = minCellX[i]; cx <= maxCellX[i]; cx++) {
+					cellStart[cy * cells + cx + 1]++;
+				}
+			}
+		}
+		for (int c = 0; c < totalCells; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		if (cellItems.length < cellStart[totalCells]) {
+			cellItems = new int[cellStart[totalCells]];
+		}
+		System.arraycopy(cellStart, 0, cellFill, 0, totalCells);
+		for (int i = 0; i < count; i++) {
+			for (int cy = minCellY[i]; cy <= maxCellY[i]; cy++) {
+				for (int cx = minCellX[i]; cx <= maxCellX[i]; cx++) {
+					cellItems[cellFill[cy * cells + cx]++] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collect all overlapping pairs reported by the cells in the given rows.
+	 * Pairs are added with the lowest index first.
+	 *
+	 * @param rowFrom first row to search
+	 * @param rowTo   row after the last row to search
+	 * @param out     the buffer to add the pairs to
+	 */
+	public void collectPairs(final int rowFrom, final int rowTo, final PairBuffer out) {
+		for (int cy = rowFrom; cy < rowTo; cy++) {
+			for (int cx = 0; cx < cells; cx++) {
+				final int c = cy * cells + cx;
+				for (int a = cellStart[c]; a < cellStart[c + 1]; a++) {
+					final int i = cellItems[a];
+					for (int b = a + 1; b < cellStart[c + 1]; b++) {
+						final int j = cellItems[b];
+						if (Math.max(minCellX[i], minCellX[j]) == cx
+								&& Math.max(minCellY[i], minCellY[j]) == cy && collides(i, j)) {
+							out.add(i, j);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test two entities in the grid for a collision, only doing the swept test
+	 * when the circles do not overlap and one of them is fast, and only doing
+	 * the precise test when the circles do overlap.
+	 *
+	 * @param i index of the first entity
+	 * @param j index of the second entity
+	 * @return true if the entities collide
+	 */
+	private boolean collides(final int i, final int j) {
+		if (AbstractEntity.overlap(x[i], y[i], radius[i], x[j], y[j], radius[j])) {
+			return !precise || Narrowphase.collision(entities.get(i), entities.get(j));
+		}
+		return (swept[i] || swept[j]) && AbstractEntity.sweptOverlap(entities.get(i), entities.get(j));
+	}
+
+	/**
+	 * @return the amount of rows of cells in the grid
+	 */
+	public int getRows() {
+		return cells;
+	}
+
+	/**
+	 * Find the cell a coordinate lies in, entities outside the playfield are
+	 * counted to the border cells.
+	 *
+	 * @param coordinate the coordinate
+	 * @param size       the size of a cell along this axis
+	 * @return the cell index along this axis
+	 */
+	private int cell(final float coordinate, final float size) {
+		return Math.max(0, Math.min(cells - 1, (int) Math.floor(coordinate / size)));
+	}
+
+	/**
+	 * Make sure the per entity arrays can hold the given amount of entities.
+	 *
+	 * @param capacity the required capacity
+	 */
+	private void ensureEntityCapacity(final int capacity) {
+		if (x.length < capacity) {
+			x = new float[capacity];
+			y = new float[capacity];
+			radius = new float[capacity];
+			pathX = new float[capacity];
+			pathY = new float[capacity];
+			swept = new boolean[capacity];
+			minCellX = new int[capacity];
+			maxCellX = new int[capacity];
+			minCellY = new int[capacity];
+			maxCellY = new int[capacity];
+		}
+	}
+}
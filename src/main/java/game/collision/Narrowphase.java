@@ -0,0 +1,310 @@
+package game.collision;
+
+import display.DisplayEntity;
+import entity.AbstractEntity;
+import entity.Asteroid;
+import entity.BasicBoss;
+import entity.DoubleBoss;
+import entity.Player;
+import entity.Saucer;
+import entity.TeleBoss;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precise collision test on the outlines entities are drawn with.
+ * <p>
+ * The outlines come from the shape tables in DisplayEntity, scaled and rotated
+ * the same way they are drawn. Entities without a closed outline, like bullets
+ * and particles, are treated as their circle. This test is only meant to run
+ * after the circle test has passed, it never finds a collision the circles
+ * would not.
+ */
+public final class Narrowphase {
+	private static final double[][][] ASTEROID_OUTLINES = outlines(DisplayEntity.getAsteroidShapes());
+	private static final double[][] SAUCER_OUTLINE = closed(DisplayEntity.getSaucerShape());
+	private static final double[][] BASIC_BOSS_OUTLINE = closed(DisplayEntity.getBasicBossShape());
+	private static final double[][] TELE_BOSS_OUTLINE = closed(DisplayEntity.getTeleBossShape());
+	private static final double[][] DOUBLE_BOSS_OUTLINE = closed(DisplayEntity.getDoubleBossShape());
+	private static final double[][] PLAYER_ONE_OUTLINE = {DisplayEntity.getPlayerOneLines()};
+	private static final int MIN_POLYGON = 6;
+
+	/**
+	 * private constructor for utility class.
+	 */
+	private Narrowphase() {
+		//no-op
+	}
+
+	/**
+	 * Check whether the outlines of two entities overlap.
+	 *
+	 * @param e1 first AbstractEntity
+	 * @param e2 second AbstractEntity
+	 * @return true if the outlines overlap
+	 */
+	public static boolean collision(final AbstractEntity e1, final AbstractEntity e2) {
+		final Outline o1 = outline(e1);
+		final Outline o2 = outline(e2);
+		if (o1 == null && o2 == null) {
+			return true;
+		} else if (o1 == null) {
+			return o2.touchesCircle(e1.getX(), e1.getY(), e1.getRadius());
+		} else if (o2 == null) {
+			return o1.touchesCircle(e2.getX(), e2.getY(), e2.getRadius());
+		}
+		return o1.crosses(o2) || o1.contains(o2.vertexX(0, 0), o2.vertexY(0, 0))
+				|| o2.contains(o1.vertexX(0, 0), o1.vertexY(0, 0));
+	}
+
+	/**
+	 * Find the outline an entity is drawn with.
+	 *
+	 * @param e the entity
+	 * @return the outline, or null if the entity is drawn as a circle
+	 */
+	private static Outline outline(final AbstractEntity e) {
+		if (e instanceof Asteroid) {
+			return new Outline(e, ASTEROID_OUTLINES[((Asteroid) e).getShape()],
+					e.getRadius() * DisplayEntity.getAsteroidSize(), 0);
+		} else if (e instanceof Saucer) {
+			return new Outline(e, SAUCER_OUTLINE, e.getRadius() * DisplayEntity.getSaucerSize(), 0);
+		} else if (e instanceof DoubleBoss) {
+			return new Outline(e, DOUBLE_BOSS_OUTLINE, e.getRadius() * DisplayEntity.getBossSize(), 0);
+		} else if (e instanceof BasicBoss) {
+			return new Outline(e, BASIC_BOSS_OUTLINE, e.getRadius() * DisplayEntity.getBossSize(), 0);
+		} else if (e instanceof TeleBoss) {
+			return new Outline(e, TELE_BOSS_OUTLINE, e.getRadius() * DisplayEntity.getBossSize(), 0);
+		} else if (e instanceof Player && !((Player) e).isPlayerTwo()) {
+			return new Outline(e, PLAYER_ONE_OUTLINE, DisplayEntity.getPlayerOneSize(), -((Player) e).getRotation());
+		}
+		return null;
+	}
+
+	/**
+	 * Wrap every shape in its own outline.
+	 *
+	 * @param shapes the shapes
+	 * @return one outline per shape
+	 */
+	private static double[][][] outlines(final double[][] shapes) {
+		final double[][][] result = new double[shapes.length][][];
+		for (int i = 0; i < shapes.length; i++) {
+			result[i] = new double[][] {shapes[i]};
+		}
+		return result;
+	}
+
+	/**
+	 * Keep only the closed polygons of a shape, the lines in between are
+	 * details drawn on the inside.
+	 *
+	 * @param shape the shape
+	 * @return the polygons with at least three points
+	 */
+	private static double[][] closed(final double[][] shape) {
+		final List<double[]> polygons = new ArrayList<>();
+		for (final double[] polygon : shape) {
+			if (polygon.length >= MIN_POLYGON) {
+				polygons.add(polygon);
+			}
+		}
+		return polygons.toArray(new double[polygons.size()][]);
+	}
+
+	/**
+	 * Outline of one entity, placed in the world.
+	 */
+	private static final class Outline {
+		private final double[][] polygons;
+		private final double x;
+		private final double y;
+		private final double cos;
+		private final double sin;
+
+		/**
+		 * Constructor for an Outline.
+		 *
+		 * @param e        the entity the outline belongs to
+		 * @param polygons the polygons of the shape, as x and y pairs
+		 * @param scale    the scale the shape is drawn at
+		 * @param rotation the rotation the shape is drawn at, in radians
+		 */
+		Outline(final AbstractEntity e, final double[][] polygons, final double scale, final double rotation) {
+			this.polygons = polygons;
+			this.x = e.getX();
+			this.y = e.getY();
+			this.cos = Math.cos(rotation) * scale;
+			this.sin = Math.sin(rotation) * scale;
+		}
+
+		/**
+		 * @param p polygon index
+		 * @return the amount of vertices of the polygon
+		 */
+		int vertices(final int p) {
+			return polygons[p].length / 2;
+		}
+
+		/**
+		 * @param p polygon index
+		 * @param v vertex index, wraps around
+		 * @return x coordinate of the vertex in the world
+		 */
+		double vertexX(final int p, final int v) {
+			final double[] polygon = polygons[p];
+			final int k = v % vertices(p) * 2;
+			return x + polygon[k] * cos - polygon[k + 1] * sin;
+		}
+
+		/**
+		 * @param p polygon index
+		 * @param v vertex index, wraps around
+		 * @return y coordinate of the vertex in the world
+		 */
+		double vertexY(final int p, final int v) {
+			final double[] polygon = polygons[p];
+			final int k = v % vertices(p) * 2;
+			return y + polygon[k] * sin + polygon[k + 1] * cos;
+		}
+
+		/**
+		 * Even-odd test whether a point lies inside any of the polygons.
+		 *
+		 * @param px x coordinate of the point
+		 * @param py y coordinate of the point
+		 * @return true if the point is inside
+		 */
+		boolean contains(final double px, final double py) {
+			for (int p = 0; p < polygons.length; p++) {
+				boolean inside = false;
+				for (int v = 0; v < vertices(p); v++) {
+					final double ax = vertexX(p, v);
+					final double ay = vertexY(p, v);
+					final double bx = vertexX(p, v + 1);
+					final double by = vertexY(p, v + 1);
+					if (ay > py != by > py && px < ax + (py - ay) * (bx - ax) / (by - ay)) {
+						inside = !inside;
+					}
+				}
+				if (inside) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Check whether a circle lies inside the outline or touches an edge.
+		 *
+		 * @param cx x coordinate of the circle
+		 * @param cy y coordinate of the circle
+		 * @param r  radius of the circle
+		 * @return true if they touch
+		 */
+		boolean touchesCircle(final double cx, final double cy, final double r) {
+			if (contains(cx, cy)) {
+				return true;
+			}
+			for (int p = 0; p < polygons.length; p++) {
+				for (int v = 0; v < vertices(p); v++) {
+					if (segmentDistance(cx, cy, vertexX(p, v), vertexY(p, v),
+							vertexX(p, v + 1), vertexY(p, v + 1)) < r * r) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Check whether any edge of this outline crosses an edge of another.
+		 *
+		 * @param other the other outline
+		 * @return true if two edges cross
+		 */
+		boolean crosses(final Outline other) {
+			for (int p = 0; p < polygons.length; p++) {
+				for (int v = 0; v < vertices(p); v++) {
+					final double ax = vertexX(p, v);
+					final double ay = vertexY(p, v);
+					final double bx = vertexX(p, v + 1);
+					final double by = vertexY(p, v + 1);
+					for (int q = 0; q < other.polygons.length; q++) {
+						for (int w = 0; w < other.vertices(q); w++) {
+							if (intersect(ax, ay, bx, by, other, q, w)) {
+								return true;
+							}
+						}
+					}
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Squared distance from a point to a line segment.
+	 *
+	 * @param px x coordinate of the point
+	 * @param py y coordinate of the point
+	 * @param ax x coordinate of the start of the segment
+	 * @param ay y coordinate of the start of the segment
+	 * @param bx x coordinate of the end of the segment
+	 * @param by y coordinate of the end of the segment
+	 * @return the squared distance
+	 */
+	private static double segmentDistance(final double px, final double py, final double ax, final double ay,
+										  final double bx, final double by) {
+		final double ex = bx - ax;
+		final double ey = by - ay;
+		final double length = ex * ex + ey * ey;
+		double t = 0;
+		if (length > 0) {
+			t = Math.max(0, Math.min(1, ((px - ax) * ex + (py - ay) * ey) / length));
+		}
+		final double dx = ax + t * ex - px;
+		final double dy = ay + t * ey - py;
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * Check whether a line segment crosses an edge of an outline, using the
+	 * side each end point lies on of the other segment.
+	 *
+	 * @param ax    x coordinate of the start of the segment
+	 * @param ay    y coordinate of the start of the segment
+	 * @param bx    x coordinate of the end of the segment
+	 * @param by    y coordinate of the end of the segment
+	 * @param other the outline
+	 * @param q     polygon index in the outline
+	 * @param w     index of the vertex the edge starts at
+	 * @return true if the segment and the edge cross
+	 */
+	private static boolean intersect(final double ax, final double ay, final double bx, final double by,
+									 final Outline other, final int q, final int w) {
+		final double cx = other.vertexX(q, w);
+		final double cy = other.vertexY(q, w);
+		final double dx = other.vertexX(q, w + 1);
+		final double dy = other.vertexY(q, w + 1);
+		return side(cx, cy, dx, dy, ax, ay) > 0 != side(cx, cy, dx, dy, bx, by) > 0
+				&& side(ax, ay, bx, by, cx, cy) > 0 != side(ax, ay, bx, by, dx, dy) > 0;
+	}
+
+	/**
+	 * Cross product telling on which side of a line a point lies.
+	 *
+	 * @param ax x coordinate of the start of the line
+	 * @param ay y coordinate of the start of the line
+	 * @param bx x coordinate of the end of the line
+	 * @param by y coordinate of the end of the line
+	 * @param px x coordinate of the point
+	 * @param py y coordinate of the point
+	 * @return positive on one side, negative on the other and zero on the line
+	 */
+	private static double side(final double ax, final double ay, final double bx, final double by,
+							   final double px, final double py) {
+		return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+	}
+}
@@ -0,0 +1,106 @@
+package game.collision;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of entity index pairs, packed into longs so a buffer can be
+ * sorted and merged without creating objects.
+ */
+public final class PairBuffer {
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int SHIFT = 32;
+	private static final long MASK = 0xFFFFFFFFL;
+
+	private long[] pairs;
+	private int size;
+
+	/**
+	 * Constructor for an empty PairBuffer.
+	 */
+	public PairBuffer() {
+		pairs = new long[INITIAL_CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Add a pair to this buffer.
+	 *
+	 * @param first  index of the first entity
+	 * @param second index of the second entity
+	 */
+	public void add(final int first, final int second) {
+		ensureCapacity(size + 1);
+		pairs[size] = pack(first, second);
+		size++;
+	}
+
+	/**
+	 * Append every pair of another buffer to this one.
+	 *
+	 * @param other the buffer to copy from
+	 */
+	public void addAll(final PairBuffer other) {
+		ensureCapacity(size + other.size);
+		System.arraycopy(other.pairs, 0, pairs, size, other.size);
+		size += other.size;
+	}
+
+	/**
+	 * Sort the pairs on first index, then on second index.
+	 */
+	public void sort() {
+		Arrays.sort(pairs, 0, size);
+	}
+
+	/**
+	 * Remove all pairs, keeping the allocated memory.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @return the amount of pairs in this buffer
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param k position in the buffer
+	 * @return the first index of the k-th pair
+	 */
+	public int first(final int k) {
+		return (int) (pairs[k] >>> SHIFT);
+	}
+
+	/**
+	 * @param k position in the buffer
+	 * @return the second index of the k-th pair
+	 */
+	public int second(final int k) {
+		return (int) (pairs[k] & MASK);
+	}
+
+	/**
+	 * Pack two non-negative indices into one long, ordered on the first index.
+	 *
+	 * @param first  index of the first entity
+	 * @param second index of the second entity
+	 * @return the packed pair
+	 */
+	private static long pack(final int first, final int second) {
+		return (long) first << SHIFT | second;
+	}
+
+	/**
+	 * Make sure the buffer can hold the given amount of pairs.
+	 *
+	 * @param capacity the required capacity
+	 */
+	private void ensureCapacity(final int capacity) {
+		if (capacity > pairs.length) {
+			pairs = Arrays.copyOf(pairs, Math.max(capacity, pairs.length * 2));
+		}
+	}
+}
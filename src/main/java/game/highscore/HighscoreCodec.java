@@ -0,0 +1,123 @@
+package game.highscore;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import game.highscore.model.HighScore;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes highscores as json, field by field with the streaming
+ * reader and writer of Gson instead of its reflection.
+ * <p>
+ * The json is the same as Gson made of a HighScore array, an array of objects
+ * with userName, score, id and gamemode, so files written before are still
+ * read. Unknown fields are skipped and missing ones are empty or 0.
+ */
+public final class HighscoreCodec {
+	private static final String USER_NAME = "userName";
+	private static final String SCORE = "score";
+	private static final String ID = "id";
+	private static final String GAMEMODE = "gamemode";
+	private static final HighScore[] NONE = new HighScore[0];
+
+	/**
+	 * this is a utility class so it can't be instantiated.
+	 */
+	private HighscoreCodec() { }
+
+	/**
+	 * Read highscores. An empty document or null is no highscores, and so are
+	 * nulls in the array.
+	 *
+	 * @param in the json, which is not closed
+	 * @return the highscores in the order they were written
+	 * @throws IOException if reading fails or the json holds no highscores
+	 */
+	public static HighScore[] read(final Reader in) throws IOException {
+		final JsonReader reader = new JsonReader(in);
+		try {
+			if (reader.peek() == JsonToken.NULL) {
+				return NONE;
+			}
+		} catch (EOFException e) {
+			return NONE;
+		}
+		try {
+			final List<HighScore> scores = new ArrayList<>();
+			reader.beginArray();
+			while (reader.hasNext()) {
+				if (reader.peek() == JsonToken.NULL) {
+					reader.nextNull();
+				} else {
+					scores.add(readScore(reader));
+				}
+			}
+			reader.endArray();
+			return scores.toArray(NONE);
+		} catch (IllegalStateException | NumberFormatException e) {
+			throw new IOException("not a highscores file", e);
+		}
+	}
+
+	/**
+	 * Write highscores, leaving out nulls.
+	 *
+	 * @param out    the json, which is flushed but not closed
+	 * @param scores the highscores
+	 * @throws IOException if writing fails
+	 */
+	public static void write(final Writer out, final HighScore[] scores) throws IOException {
+		final JsonWriter writer = new JsonWriter(out);
+		writer.beginArray();
+		for (final HighScore score : scores) {
+			if (score != null) {
+				writer.beginObject();
+				writer.name(USER_NAME).value(score.getUserName());
+				writer.name(SCORE).value(score.getScore());
+				writer.name(ID).value(score.getId());
+				writer.name(GAMEMODE).value(score.getGamemode());
+				writer.endObject();
+			}
+		}
+		writer.endArray();
+		writer.flush();
+	}
+
+	/**
+	 * @param reader the json, at an object
+	 * @return the highscore of the object
+	 * @throws IOException if reading fails
+	 */
+	private static HighScore readScore(final JsonReader reader) throws IOException {
+		String userName = "";
+		long score = 0;
+		int id = 0;
+		int gamemode = 0;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if (reader.peek() == JsonToken.NULL) {
+				reader.nextNull();
+			} else if (USER_NAME.equals(name)) {
+				userName = reader.nextString();
+			} else if (SCORE.equals(name)) {
+				score = reader.nextLong();
+			} else if (ID.equals(name)) {
+				id = reader.nextInt();
+			} else if (GAMEMODE.equals(name)) {
+				gamemode = reader.nextInt();
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new HighScore(userName, score, id, gamemode);
+	}
+}
@@ -1,22 +1,27 @@
 package game.highscore;
 
 import com.google.common.collect.ImmutableList;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.stream.JsonWriter;
 import game.Logger;
 import game.highscore.model.HighScore;
+import lombok.Getter;
+import lombok.Setter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Created by douwe on 20-9-16.
@@ -24,31 +29,57 @@ import java.util.List;
 public class HighscoreStore {
 
     private static final int MODES = 6;
+    /**
+     * the default check interval, in milliseconds.
+     */
+    public static final long CHECK_INTERVAL = 1000;
 	/**
      * the local list of known highscores.
      */
     private HighScore[] highScores;
+    /**
+     * the best scores of every mode, of which the highscores are the first.
+     */
+    private final Leaderboard leaderboard = new Leaderboard(
+            new File(HighscoreUtils.getAppDirectory() + "leaderboard.dat"), MODES, Leaderboard.DEFAULT_CAPACITY);
+    private final File file = HighscoreUtils.getHighScoreFile();
+    /**
+     * the version stamp of the file when it was last read, see stamp.
+     */
+    private Object stamp;
+    private long checked;
+    /**
+     * the least time between two checks whether another game changed the
+     * highscores file, in milliseconds.
+     */
+    @Getter
+    @Setter
+    private long checkInterval = CHECK_INTERVAL;
+    /**
+     * the number of the last write asked for, the last one written and the
+     * last one that cleared the scores.
+     */
+    private final AtomicLong requested = new AtomicLong();
+    private volatile long written;
+    private volatile long cleared;
 
     /**
-     * basic constructor.
+     * basic constructor. scores this game is still writing are written first,
+     * so they are read back.
      */
     public HighscoreStore() {
+        HighscoreWriter.getInstance().flush();
     	highScores = initHighscores();
-        final HighScore[] oldScores = readHighScores();
-        if (oldScores.length == MODES) {
-	        for (int i = 0; i < MODES; i++) {
-				if (oldScores[i].getScore() > highScores[i].getScore()) {
-					highScores[i] = oldScores[i];
-				}
-			}
-        }
+        stamp = stamp(file);
+        checked = System.currentTimeMillis();
+        merge(highScores, readHighScores(file));
     }
 
     /**
      * initialize highscores in correct order.
      * @return the initialized list of highscores
      */
-    private HighScore[] initHighscores() {
+    private static HighScore[] initHighscores() {
     	final HighScore[] array = new HighScore[MODES];
     	for (int i = 0; i < MODES; i++) {
 			array[i] = new HighScore("", 0, i, i + 1);
@@ -57,61 +88,191 @@ public class HighscoreStore {
 	}
 
 	/**
-     * read the highscores currently stored on disk. if an error occurs whilst
-     * trying to read the file an empty list will be returned
+     * read the highscores currently stored on disk. if the file does not
+     * exist yet or an error occurs whilst trying to read it an empty list will
+     * be returned
+     * @param from - the file
      * @return the list of highscores
      */
-    private HighScore[] readHighScores() {
+    private static HighScore[] readHighScores(final File from) {
+        if (!from.isFile()) {
+            return new HighScore[0];
+        }
         try (InputStreamReader reader = new InputStreamReader(
-                new FileInputStream(HighscoreUtils.getHighScoreFile()),
+                new FileInputStream(from),
                 StandardCharsets.UTF_8)) {
-            final Gson gson = new GsonBuilder().create();
-            HighScore[] array = gson.fromJson(reader, HighScore[].class);
-
-            reader.close();
+            return HighscoreCodec.read(reader);
+        } catch (IOException e) {
+            Logger.getInstance().log("was unable to read the highscores file", e);
+            return new HighScore[0];
+        }
+    }
 
-            if (array == null) {
-                array = new HighScore[0];
+    /**
+     * keep the best score of every mode.
+     * @param into - the highscores per mode, which are replaced by better ones
+     * @param from - highscores in any order
+     */
+    private static void merge(final HighScore[] into, final HighScore[] from) {
+        for (final HighScore score : from) {
+            if (score != null && score.getGamemode() > 0 && score.getGamemode() <= MODES
+                    && score.getScore() > into[score.getGamemode() - 1].getScore()) {
+                into[score.getGamemode() - 1] = score;
             }
+        }
+    }
 
-            final List<HighScore> result = Arrays.asList(array);
-            Collections.sort(result, (o1, o2) -> Integer.compare(o1.getGamemode(), o2.getGamemode()));
-
-            return result.toArray(array);
+    /**
+     * get the version stamp of a file, which changes whenever it is replaced.
+     * @param of - the file
+     * @return the stamp, or null if the file does not exist
+     */
+    private static Object stamp(final File of) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(of.toPath(), BasicFileAttributes.class);
+            return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
         } catch (IOException e) {
-            Logger.getInstance().log("was unable to read the highscores file", e);
-            if (highScores == null) {
-                highScores = initHighscores();
-            }
-            return initHighscores();
+            return null;
         }
     }
 
     /**
-     * adds a <strong>nonnull</strong> highscore to the store.
+     * take the better scores other games wrote, if the file changed since it
+     * was read. the file is checked at most once every check interval, and
+     * not while this store is still writing it.
+     */
+    private void refresh() {
+        final long now = System.currentTimeMillis();
+        if (now - checked < checkInterval || written != requested.get()) {
+            return;
+        }
+        checked = now;
+        final Object current = stamp(file);
+        if (!Objects.equals(current, stamp)) {
+            stamp = current;
+            merge(highScores, readHighScores(file));
+        }
+    }
+
+    /**
+     * adds a <strong>nonnull</strong> highscore to the store, and to the
+     * leaderboard of its mode if it is higher than 0.
      * @param name - the name
      * @param score - the score we want to add as a highscore.
      * @param modeInt - the current gamemode
      */
     public final void addHighScore(final String name, final long score, final int modeInt) {
     	highScores[modeInt - 1] = new HighScore(name, score, modeInt, modeInt);
+    	addScore(name, score, modeInt);
     }
 
     /**
-     * write the currently stored scores to file. this overrides everything
-     * previously in the file
+     * adds the score of a finished game to the leaderboard of its mode if it
+     * is higher than 0, whether or not it is a highscore.
+     * @param name - the name
+     * @param score - the score
+     * @param modeInt - the gamemode
      */
-    public final void writeScores() {
-        try (JsonWriter writer = new JsonWriter(new PrintWriter(
-                new OutputStreamWriter(new FileOutputStream(
-                        HighscoreUtils.getHighScoreFile()),
-                        StandardCharsets.UTF_8)))) {
-            new GsonBuilder().create().toJson(highScores, HighScore[].class,
-                    writer);
+    public final void addScore(final String name, final long score, final int modeInt) {
+        if (score > 0) {
+            leaderboard.add(modeInt, name, score);
+        }
+    }
+
+    /**
+     * get the best scores of a mode.
+     * @param modeInt - the gamemode
+     * @param n - the amount of scores
+     * @return the best scores, best first, with their place as id
+     */
+    public final List<HighScore> getLeaderboard(final int modeInt, final int n) {
+        return leaderboard.top(modeInt, n);
+    }
+
+    /**
+     * get the file the replay of the highscore of a mode is stored in.
+     * @param modeInt - the gamemode
+     * @return the gzipped replay file, which may not exist
+     */
+    public final File getReplayFile(final int modeInt) {
+        return new File(HighscoreUtils.getAppDirectory() + "ghost" + modeInt + ".replay.gz");
+    }
+
+    /**
+     * store the replay of the highscore of a mode next to it, gzipped, in the
+     * background. an empty replay removes the stored one, as it no longer
+     * belongs to the highscore.
+     * @param modeInt - the gamemode
+     * @param replay - the replay, see ReplayRecorder
+     */
+    public final void addReplay(final int modeInt, final byte[] replay) {
+        final File file = getReplayFile(modeInt);
+        if (replay.length == 0) {
+            HighscoreWriter.getInstance().delete(file);
+            return;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(replay);
         } catch (IOException e) {
-            Logger.getInstance().log("an error occurred whilst trying to write "
-                    + "the highscore to file", e);
+            Logger.getInstance().log("an error occurred whilst trying to compress "
+                    + "the replay of the highscore", e);
+            return;
+        }
+        HighscoreWriter.getInstance().replace(file, bytes.toByteArray());
+    }
+
+    /**
+     * write the currently stored scores to file, in the background, see
+     * HighscoreWriter. other games may have written better scores to the file
+     * meanwhile, so it is read again first and the best score of every mode
+     * is kept.
+     */
+    public final void writeScores() {
+        write(false);
+    }
+
+    /**
+     * write the currently stored scores to file.
+     * @param clearing - whether to drop the scores in the file instead of
+     *                 keeping the better ones
+     */
+    private void write(final boolean clearing) {
+        final HighScore[] scores = highScores.clone();
+        final long version = requested.incrementAndGet();
+        if (clearing) {
+            cleared = version;
         }
+        HighscoreWriter.getInstance().update(file, this, old -> {
+            final HighScore[] merged = initHighscores();
+            if (written >= cleared) {
+                merge(merged, readHighScores(old));
+            }
+            merge(merged, scores);
+            written = version;
+            return toJson(merged);
+        });
+    }
+
+    /**
+     * @param scores - the highscores
+     * @return the highscores as json
+     * @throws IOException if writing fails
+     */
+    private static byte[] toJson(final HighScore[] scores) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            HighscoreCodec.write(writer, scores);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * wait until the scores, replays and leaderboard given to the store so
+     * far are on disk.
+     */
+    public final void flush() {
+        HighscoreWriter.getInstance().flush();
     }
 
     /**
@@ -119,7 +280,11 @@ public class HighscoreStore {
      */
     public final void clear() {
         highScores = initHighscores();
-        this.writeScores();
+        write(true);
+        leaderboard.clear();
+        for (int i = 1; i <= MODES; i++) {
+            addReplay(i, new byte[0]);
+        }
     }
 
     /**
@@ -127,6 +292,7 @@ public class HighscoreStore {
      * @return an immutable list of highscores
      */
     public final List<HighScore> getHighScores() {
+        refresh();
         return ImmutableList.copyOf(highScores);
     }
 
@@ -137,6 +303,7 @@ public class HighscoreStore {
      */
     public final HighScore getHighScore(final int mode) {
         if (mode > 0 && mode < MODES + 1) {
+            refresh();
             return highScores[mode - 1];
         } else {
             throw new IllegalArgumentException("provided mode id (" + mode + ") does not exists");
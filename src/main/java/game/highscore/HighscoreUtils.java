@@ -3,7 +3,6 @@ package game.highscore;
 import game.Logger;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Locale;
 
 /**
@@ -14,6 +13,18 @@ public final class HighscoreUtils {
      * the app name to use for creating our config folder.
      */
     public static final String APP_NAME = "SEM-Asteroids";
+    /**
+     * the name of the file the highscores are stored in.
+     */
+    public static final String HIGHSCORE_FILE = "highscore.json";
+    /**
+     * the app directory of this system, resolved once.
+     */
+    private static final String APP_DIRECTORY = getAppDirectoryForOs(System.getProperty("os.name"));
+    /**
+     * the highscores file, once its directory has been checked.
+     */
+    private static File highScoreFile;
 
     /**
      * this is a utility class so it can't be instantiated.
@@ -25,7 +36,7 @@ public final class HighscoreUtils {
      * @return the directory path.
      */
     public static String getAppDirectory() {
-        return getAppDirectoryForOs(System.getProperty("os.name"));
+        return APP_DIRECTORY;
     }
 
     /**
@@ -47,25 +58,25 @@ public final class HighscoreUtils {
     }
 
     /**
-     * get the file the highscores are stored in.
+     * get the file the highscores are stored in. the first call creates the
+     * app directory if needed and checks that it can be written, later calls
+     * only return the file. the file itself is created when the highscores
+     * are first written.
      * @return highscores store
      */
-    public static File getHighScoreFile() {
-        final File highscore = new File(getAppDirectory() + "highscore.json");
-        try {
-            if (highscore.getParentFile().mkdirs()) {
+    public static synchronized File getHighScoreFile() {
+        if (highScoreFile == null) {
+            highScoreFile = new File(APP_DIRECTORY + HIGHSCORE_FILE);
+            final File directory = highScoreFile.getParentFile();
+            if (directory.mkdirs()) {
                 Logger.getInstance().log("created app config directory over at "
-                        + highscore.getParentFile().getAbsolutePath());
+                        + directory.getAbsolutePath());
             }
-            if (highscore.createNewFile()) {
-                Logger.getInstance().log("created file for storing "
-                        + "highscores over at"
-                        + highscore.getAbsolutePath());
+            if (!directory.isDirectory() || !directory.canWrite()) {
+                Logger.getInstance().log("the app config directory " + directory.getAbsolutePath()
+                        + " can not be written, highscores will not be saved");
             }
-        } catch (IOException e) {
-            Logger.getInstance().log("an I/O error occurred whilst trying to check the highscore file", e);
         }
-
-        return highscore;
+        return highScoreFile;
     }
 }
@@ -0,0 +1,251 @@
+package game.highscore;
+
+import game.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the highscore files on a background thread, so the game thread never
+ * waits for the disk.
+ * <p>
+ * A file is replaced by writing its new contents to a temporary file next to
+ * it, forcing that to disk and renaming it over the old one, so a crash leaves
+ * either the old or the new file and never a half written one. Writes happen
+ * in the order they were asked for, except that when a file is updated again
+ * by the same owner before the writer got to it, only the newest contents are
+ * written, at the place of the first update. So those contents may get to
+ * disk before writes that were asked for in between; a file that is written
+ * both ways should not depend on that order. Whatever is still waiting when
+ * the game exits is written by a shutdown hook.
+ * <p>
+ * Other games on the same machine write the same files, so every file is
+ * written while holding a lock on a lock file in its directory, and an update
+ * may read the file first and merge its own changes in. Reading a replaced
+ * file needs no lock, as it is only ever renamed into place whole. A file that
+ * is written in place, with runLocked, is read again under the lock before it
+ * is written.
+ */
+public final class HighscoreWriter {
+	/**
+	 * The name of the lock file, next to the files that are written.
+	 */
+	public static final String LOCK_FILE = "highscore.lock";
+	private static final HighscoreWriter INSTANCE = new HighscoreWriter();
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+		final Thread thread = new Thread(r, "highscore-writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	/**
+	 * The newest update of every file and owner that is waiting to be written.
+	 */
+	private final Map<List<Object>, Update> pending = new HashMap<>();
+	private final AtomicInteger replaced = new AtomicInteger();
+
+	/**
+	 * Private constructor of HighscoreWriter, which flushes at exit.
+	 */
+	private HighscoreWriter() {
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "highscore-flush"));
+	}
+
+	/**
+	 * getter for the INSTANCE.
+	 *
+	 * @return the writer.
+	 */
+	public static HighscoreWriter getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Write a file, on the writer thread. An update of the same owner that is
+	 * still waiting for the same file is dropped.
+	 *
+	 * @param file   the file
+	 * @param owner  what the update comes from
+	 * @param update gives the new contents, with the lock held
+	 */
+	public void update(final File file, final Object owner, final Update update) {
+		final List<Object> key = Arrays.asList(file, owner);
+		synchronized (pending) {
+			if (pending.put(key, update) != null) {
+				return;
+			}
+		}
+		executor.execute(() -> updatePending(key, file));
+	}
+
+	/**
+	 * Replace the contents of a file, on the writer thread.
+	 *
+	 * @param file     the file
+	 * @param contents the new contents, which are not changed afterwards
+	 */
+	public void replace(final File file, final byte[] contents) {
+		update(file, this, old -> contents);
+	}
+
+	/**
+	 * Delete a file, on the writer thread.
+	 *
+	 * @param file the file
+	 */
+	public void delete(final File file) {
+		update(file, this, old -> null);
+	}
+
+	/**
+	 * Run a write on the writer thread, after the writes asked for before it.
+	 *
+	 * @param write the write
+	 */
+	public void run(final Runnable write) {
+		executor.execute(write);
+	}
+
+	/**
+	 * Run a write of a file on the writer thread, holding the lock, after the
+	 * writes asked for before it. The write may read the file first, to keep
+	 * what other games wrote since.
+	 *
+	 * @param file  the file
+	 * @param write the write
+	 */
+	public void runLocked(final File file, final Write write) {
+		executor.execute(() -> lock(file, write));
+	}
+
+	/**
+	 * Wait until every write asked for so far is done.
+	 */
+	public void flush() {
+		try {
+			executor.submit(() -> { }).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Logger.getInstance().log("the highscore writer failed", e);
+		}
+	}
+
+	/**
+	 * @return the amount of files replaced so far
+	 */
+	public int getReplaced() {
+		return replaced.get();
+	}
+
+	/**
+	 * Write the newest update of a file, holding the lock.
+	 *
+	 * @param key  the file and owner of the update
+	 * @param file the file
+	 */
+	private void updatePending(final List<Object> key, final File file) {
+		final Update update;
+		synchronized (pending) {
+			update = pending.remove(key);
+		}
+		lock(file, () -> {
+			final byte[] contents = update.apply(file);
+			if (contents == null) {
+				Files.deleteIfExists(file.toPath());
+			} else {
+				write(file, contents);
+				replaced.incrementAndGet();
+			}
+		});
+	}
+
+	/**
+	 * Run a write of a file, holding the lock on the lock file in its
+	 * directory, which is created when it does not exist yet.
+	 *
+	 * @param file  the file
+	 * @param write the write
+	 */
+	private void lock(final File file, final Write write) {
+		final File directory = file.getAbsoluteFile().getParentFile();
+		if (directory.mkdirs()) {
+			Logger.getInstance().log("created app config directory over at " + directory.getAbsolutePath());
+		}
+		try (FileChannel lock = FileChannel.open(new File(directory, LOCK_FILE).toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			final FileLock held = lock.lock();
+			try {
+				write.write();
+			} finally {
+				held.release();
+			}
+		} catch (IOException e) {
+			Logger.getInstance().log("an error occurred whilst trying to write " + file.getName(), e);
+		}
+	}
+
+	/**
+	 * Replace a file through a temporary file that is forced to disk.
+	 *
+	 * @param file     the file
+	 * @param contents the contents
+	 * @throws IOException if writing fails, the old file is then left as it is
+	 */
+	static void write(final File file, final byte[] contents) throws IOException {
+		final File temp = new File(file.getPath() + TEMP_SUFFIX);
+		try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final ByteBuffer out = ByteBuffer.wrap(contents);
+			while (out.hasRemaining()) {
+				channel.write(out);
+			}
+			channel.force(true);
+		}
+		try {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * A new version of a file.
+	 */
+	public interface Update {
+		/**
+		 * @param file the file, which no other game writes meanwhile
+		 * @return the new contents, or null to delete the file
+		 * @throws IOException if reading the file fails, it is then left as it
+		 *                     is
+		 */
+		byte[] apply(File file) throws IOException;
+	}
+
+	/**
+	 * A write of a file that is done holding the lock.
+	 */
+	public interface Write {
+		/**
+		 * @throws IOException if writing fails
+		 */
+		void write() throws IOException;
+	}
+}
@@ -0,0 +1,523 @@
+package game.highscore;
+
+import game.Logger;
+import game.highscore.model.HighScore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The best scores of every mode, up to a capacity per mode, kept in a binary
+ * file of fixed size records.
+ * <p>
+ * The file starts with a header that holds the capacity, the next sequence
+ * number and, per mode, the offset of its records, how many there are and
+ * which record is free. Every mode has room for one record more than its
+ * capacity after that, which are not sorted: the records up to and including
+ * the count are in use, except for the free one. A new score is always written
+ * to the free record, and the next unused record, or the record of the score
+ * it pushes off the board, becomes free. So adding a score writes that one
+ * record and the header, however long the board is. In memory every mode is a
+ * sorted set, so adding a score and finding the lowest one take logarithmic
+ * time. The file is read the first time the board is used.
+ * <p>
+ * The file is written by the HighscoreWriter, so the game does not wait for
+ * the disk. The record is forced to disk before the header that makes it part
+ * of the board is written, and no record in use is ever written over, so a
+ * crash leaves the board as it was before the score or as it is after it. The
+ * header is small enough to be written to disk whole.
+ * <p>
+ * Other games on the same machine add to the same file. A score is written
+ * holding the lock of the HighscoreWriter, after reading the file again, so
+ * the scores they added are kept. The boards read back then replace the ones
+ * shown, with the scores that are not written yet added again, under a lock
+ * that the game only holds for an add or to read a board.
+ */
+public final class Leaderboard {
+	/**
+	 * The bytes "ASLB".
+	 */
+	public static final int MAGIC = 0x41534C42;
+	public static final int VERSION = 2;
+	/**
+	 * The amount of scores kept per mode.
+	 */
+	public static final int DEFAULT_CAPACITY = 1000;
+	/**
+	 * The size of a record: score, sequence number, name length and name.
+	 */
+	static final int RECORD_SIZE = 48;
+	/**
+	 * The room for the name in a record, in UTF-8 bytes.
+	 */
+	static final int NAME_BYTES = RECORD_SIZE - Long.BYTES - Long.BYTES - 1;
+	/**
+	 * The positions of the fields of the header.
+	 */
+	private static final int VERSION_AT = Integer.BYTES;
+	private static final int MODES_AT = VERSION_AT + Integer.BYTES;
+	private static final int CAPACITY_AT = MODES_AT + Integer.BYTES;
+	private static final int RECORD_SIZE_AT = CAPACITY_AT + Integer.BYTES;
+	private static final int SEQUENCE_AT = RECORD_SIZE_AT + Integer.BYTES;
+	private static final int INDEX_START = SEQUENCE_AT + Long.BYTES;
+	private static final int INDEX_ENTRY = 3 * Integer.BYTES;
+	private static final int BYTE_MASK = 0xFF;
+
+	/**
+	 * Higher scores first, of equal scores the one set first.
+	 */
+	private static final Comparator<Entry> ORDER = (a, b) -> {
+		if (a.score != b.score) {
+			return Long.compare(b.score, a.score);
+		}
+		return Long.compare(a.sequence, b.sequence);
+	};
+
+	private final File file;
+	private final int modes;
+	private final int capacity;
+	/**
+	 * Guards the boards that are shown, the scores that are not written yet
+	 * and the amount of clears that are not done yet.
+	 */
+	private final Object lock = new Object();
+	/**
+	 * The boards that are shown: as last read back from the file by the
+	 * writer thread, with the scores added since. Null until first used.
+	 */
+	private Boards shown;
+	/**
+	 * The scores that were added but are not written yet, oldest first.
+	 */
+	private final List<HighScore> pending = new ArrayList<>();
+	private int clearing;
+
+	/**
+	 * Constructor for a Leaderboard.
+	 *
+	 * @param file     the file the board is kept in
+	 * @param modes    the amount of modes, which are numbered from 1
+	 * @param capacity the amount of scores kept per mode
+	 */
+	public Leaderboard(final File file, final int modes, final int capacity) {
+		this.file = file;
+		this.modes = modes;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Add a score to the board of its mode, pushing off the lowest score if
+	 * the board is full.
+	 *
+	 * @param mode  the mode
+	 * @param name  the name of the player, cut to fit a record
+	 * @param score the score
+	 * @return false if the score is too low for the board
+	 */
+	public boolean add(final int mode, final String name, final long score) {
+		final String fitted = fit(name);
+		load();
+		synchronized (lock) {
+			if (shown.add(mode, fitted, score) == null) {
+				return false;
+			}
+			pending.add(new HighScore(fitted, score, 0, mode));
+		}
+		HighscoreWriter.getInstance().runLocked(file, () -> write(mode, fitted, score));
+		return true;
+	}
+
+	/**
+	 * @param mode the mode
+	 * @param n    the amount of scores
+	 * @return the best scores of the mode, best first, each with its place as
+	 *         id
+	 */
+	public List<HighScore> top(final int mode, final int n) {
+		load();
+		final List<HighScore> top = new ArrayList<>();
+		synchronized (lock) {
+			final Iterator<Entry> it = shown.board(mode).iterator();
+			while (top.size() < n && it.hasNext()) {
+				final Entry entry = it.next();
+				top.add(new HighScore(entry.name, entry.score, top.size() + 1, mode));
+			}
+		}
+		return Collections.unmodifiableList(top);
+	}
+
+	/**
+	 * @param mode the mode
+	 * @return the amount of scores on the board of the mode
+	 */
+	public int size(final int mode) {
+		load();
+		synchronized (lock) {
+			return shown.board(mode).size();
+		}
+	}
+
+	/**
+	 * Remove all scores.
+	 */
+	public void clear() {
+		synchronized (lock) {
+			shown = new Boards();
+			clearing++;
+		}
+		HighscoreWriter.getInstance().runLocked(file, () -> {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE)) {
+				channel.truncate(0);
+				writeFully(channel, new Boards().header(), 0);
+				channel.force(false);
+			} finally {
+				synchronized (lock) {
+					clearing--;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Read the file, the first time the board is used.
+	 */
+	private void load() {
+		synchronized (lock) {
+			if (shown != null) {
+				return;
+			}
+		}
+		final Boards read = readFile();
+		synchronized (lock) {
+			if (shown == null) {
+				shown = read;
+			}
+		}
+	}
+
+	/**
+	 * Read the file, after the writes this game asked for. A file that is not
+	 * a leaderboard of the same layout is started over with the next score.
+	 *
+	 * @return the boards in the file
+	 */
+	private Boards readFile() {
+		HighscoreWriter.getInstance().flush();
+		if (!file.isFile()) {
+			return new Boards();
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final Boards read = read(channel);
+			if (read == null) {
+				Logger.getInstance().log("the leaderboard file has another layout, starting a new one");
+				return new Boards();
+			}
+			return read;
+		} catch (IOException e) {
+			Logger.getInstance().log("was unable to read the leaderboard file", e);
+			return new Boards();
+		}
+	}
+
+	/**
+	 * @param channel the file, at its start
+	 * @return the boards in the file, or null if it is not a leaderboard of
+	 *         this layout
+	 * @throws IOException if reading fails
+	 */
+	private Boards read(final FileChannel channel) throws IOException {
+		final ByteBuffer in = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE));
+		int n = 0;
+		while (in.hasRemaining() && n >= 0) {
+			n = channel.read(in);
+		}
+		in.flip();
+		final Boards read = new Boards();
+		if (!read.read(in)) {
+			return null;
+		}
+		return read;
+	}
+
+	/**
+	 * Add a score to the boards in the file, on the writer thread with the
+	 * lock held. The file is read again first, so the scores other games added
+	 * since are kept. The boards it ends up with are shown from then on, with
+	 * the scores that are not written yet added again.
+	 *
+	 * @param mode  the mode
+	 * @param name  the name, which fits a record
+	 * @param score the score
+	 * @throws IOException if reading or writing fails
+	 */
+	private void write(final int mode, final String name, final long score) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			Boards onDisk = read(channel);
+			final boolean restart = onDisk == null;
+			if (restart) {
+				onDisk = new Boards();
+				channel.truncate(0);
+			}
+			final Entry entry = onDisk.add(mode, name, score);
+			if (entry != null) {
+				writeFully(channel, record(entry), regionStart(mode) + (long) entry.slot * RECORD_SIZE);
+				channel.force(false);
+			}
+			if (entry != null || restart) {
+				writeFully(channel, onDisk.header(), 0);
+				channel.force(false);
+			}
+			show(onDisk);
+		} finally {
+			synchronized (lock) {
+				pending.remove(0);
+			}
+		}
+	}
+
+	/**
+	 * Show the boards read back from the file, with the scores added after
+	 * the one just written. Nothing changes while a clear is waiting, as the
+	 * boards would then show scores that are about to be removed.
+	 *
+	 * @param onDisk the boards in the file, which are not used elsewhere
+	 */
+	private void show(final Boards onDisk) {
+		synchronized (lock) {
+			if (clearing > 0) {
+				return;
+			}
+			for (int i = 1; i < pending.size(); i++) {
+				final HighScore later = pending.get(i);
+				onDisk.add(later.getGamemode(), later.getUserName(), later.getScore());
+			}
+			shown = onDisk;
+		}
+	}
+
+	/**
+	 * @param entry an entry
+	 * @return the record of the entry
+	 */
+	private static ByteBuffer record(final Entry entry) {
+		final ByteBuffer out = ByteBuffer.allocate(RECORD_SIZE);
+		final byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+		out.putLong(entry.score);
+		out.putLong(entry.sequence);
+		out.put((byte) name.length);
+		out.put(name);
+		out.position(RECORD_SIZE);
+		out.flip();
+		return out;
+	}
+
+	/**
+	 * @param in       the file
+	 * @param position the position of the record
+	 * @return the entry of the record
+	 */
+	private static Entry readRecord(final ByteBuffer in, final int position) {
+		final long score = in.getLong(position);
+		final long sequence = in.getLong(position + Long.BYTES);
+		final int length = Math.min(in.get(position + 2 * Long.BYTES) & BYTE_MASK, NAME_BYTES);
+		final byte[] name = new byte[length];
+		for (int i = 0; i < length; i++) {
+			name[i] = in.get(position + 2 * Long.BYTES + 1 + i);
+		}
+		return new Entry(new String(name, StandardCharsets.UTF_8), score, sequence);
+	}
+
+	/**
+	 * @param channel  the file
+	 * @param out      the bytes to write
+	 * @param position where to write them
+	 * @throws IOException if writing fails
+	 */
+	private static void writeFully(final FileChannel channel, final ByteBuffer out, final long position)
+			throws IOException {
+		long at = position;
+		while (out.hasRemaining()) {
+			at += channel.write(out, at);
+		}
+	}
+
+	/**
+	 * @param name a name
+	 * @return the name, cut until it fits a record
+	 */
+	private static String fit(final String name) {
+		String fitted = name;
+		while (fitted.getBytes(StandardCharsets.UTF_8).length > NAME_BYTES) {
+			fitted = fitted.substring(0, fitted.length() - 1);
+		}
+		return fitted;
+	}
+
+	/**
+	 * @return the size of the header
+	 */
+	private int headerSize() {
+		return INDEX_START + modes * INDEX_ENTRY;
+	}
+
+	/**
+	 * @param mode a mode
+	 * @return the position of the first record of the mode, which has room for
+	 *         one record more than the capacity
+	 */
+	private int regionStart(final int mode) {
+		return headerSize() + (mode - 1) * (capacity + 1) * RECORD_SIZE;
+	}
+
+	/**
+	 * The boards of every mode, with the free record of each and the next
+	 * sequence number.
+	 */
+	private final class Boards {
+		private final List<TreeSet<Entry>> sets;
+		private final int[] free;
+		private long sequence;
+
+		/**
+		 * Empty boards.
+		 */
+		Boards() {
+			sets = new ArrayList<>();
+			for (int m = 0; m < modes; m++) {
+				sets.add(new TreeSet<>(ORDER));
+			}
+			free = new int[modes];
+		}
+
+		/**
+		 * @param mode the mode
+		 * @return the board of the mode
+		 */
+		TreeSet<Entry> board(final int mode) {
+			if (mode < 1 || mode > modes) {
+				throw new IllegalArgumentException("provided mode id (" + mode + ") does not exists");
+			}
+			return sets.get(mode - 1);
+		}
+
+		/**
+		 * Add a score to the free record of its mode, pushing off the lowest
+		 * score if the board is full.
+		 *
+		 * @param mode  the mode
+		 * @param name  the name, which fits a record
+		 * @param score the score
+		 * @return the entry of the score, or null if it is too low
+		 */
+		Entry add(final int mode, final String name, final long score) {
+			final TreeSet<Entry> board = board(mode);
+			final Entry entry = new Entry(name, score, sequence);
+			entry.slot = free[mode - 1];
+			if (board.size() == capacity) {
+				if (capacity == 0 || ORDER.compare(entry, board.last()) > 0) {
+					return null;
+				}
+				free[mode - 1] = board.pollLast().slot;
+			} else {
+				free[mode - 1] = board.size() + 1;
+			}
+			sequence++;
+			board.add(entry);
+			return entry;
+		}
+
+		/**
+		 * @param in the whole file
+		 * @return false if the file is not a leaderboard of this layout
+		 */
+		boolean read(final ByteBuffer in) {
+			if (in.remaining() < headerSize() || in.getInt(0) != MAGIC || in.getInt(VERSION_AT) != VERSION
+					|| in.getInt(MODES_AT) != modes || in.getInt(CAPACITY_AT) != capacity
+					|| in.getInt(RECORD_SIZE_AT) != RECORD_SIZE) {
+				return false;
+			}
+			sequence = in.getLong(SEQUENCE_AT);
+			for (int m = 1; m <= modes; m++) {
+				final int index = INDEX_START + (m - 1) * INDEX_ENTRY;
+				final int offset = in.getInt(index);
+				final int count = in.getInt(index + Integer.BYTES);
+				final int spare = in.getInt(index + 2 * Integer.BYTES);
+				if (offset != regionStart(m) || count < 0 || count > capacity || spare < 0 || spare > count) {
+					return false;
+				}
+				for (int slot = 0; slot <= count; slot++) {
+					if (slot == spare) {
+						continue;
+					}
+					if (offset + (long) (slot + 1) * RECORD_SIZE > in.limit()) {
+						return false;
+					}
+					final Entry entry = readRecord(in, offset + slot * RECORD_SIZE);
+					entry.slot = slot;
+					board(m).add(entry);
+				}
+				free[m - 1] = spare;
+			}
+			return true;
+		}
+
+		/**
+		 * @return the whole header with the index of every mode
+		 */
+		ByteBuffer header() {
+			final ByteBuffer out = ByteBuffer.allocate(headerSize());
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(modes);
+			out.putInt(capacity);
+			out.putInt(RECORD_SIZE);
+			out.putLong(sequence);
+			for (int m = 1; m <= modes; m++) {
+				out.putInt(regionStart(m));
+				out.putInt(sets.get(m - 1).size());
+				out.putInt(free[m - 1]);
+			}
+			out.flip();
+			return out;
+		}
+	}
+
+	/**
+	 * A score on the board.
+	 */
+	private static final class Entry {
+		private final String name;
+		private final long score;
+		/**
+		 * The order in which scores were added, which ranks equal scores.
+		 */
+		private final long sequence;
+		/**
+		 * The record the entry is kept in.
+		 */
+		private int slot;
+
+		/**
+		 * @param name     the name
+		 * @param score    the score
+		 * @param sequence the sequence number
+		 */
+		Entry(final String name, final long score, final long sequence) {
+			this.name = name;
+			this.score = score;
+			this.sequence = sequence;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package game.replay;
+
+import entity.Player;
+import game.Logger;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The best run of a mode played again next to the live game, as a ship that
+ * is only drawn.
+ * <p>
+ * The replay of the run is read into memory on a background thread as soon
+ * as a mode is picked, so starting the game does not wait for the disk. The
+ * ghost is a ReplayPlayer, its own game without sound or drawing, that is
+ * stepped a tick at a time as the live game reaches the game time the tick
+ * was recorded at, so it plays out exactly as the recorded run and never
+ * touches the entities of the live game. Only its first player is drawn, see
+ * DisplayEntity.
+ */
+public final class Ghost {
+	private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+		final Thread thread = new Thread(r, "ghost-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Whether the best run is loaded when a mode is picked.
+	 */
+	@Getter
+	@Setter
+	private boolean enabled;
+	private CompletableFuture<ReplayPlayer> loading;
+	private ReplayPlayer run;
+	private long liveStart;
+
+	/**
+	 * Start reading a run on the background thread, dropping the current one.
+	 * Does nothing if ghosts are not enabled or the file does not exist.
+	 *
+	 * @param file      the gzipped replay of the run
+	 * @param startTime the game time the live game started at
+	 */
+	public void load(final File file, final long startTime) {
+		clear();
+		if (!enabled || file == null || !file.isFile()) {
+			return;
+		}
+		liveStart = startTime;
+		loading = CompletableFuture.supplyAsync(() -> read(file), LOADER);
+	}
+
+	/**
+	 * Drop the run.
+	 */
+	public void clear() {
+		if (loading != null) {
+			loading.cancel(false);
+		}
+		loading = null;
+		run = null;
+	}
+
+	/**
+	 * @return whether the run is read and playing
+	 */
+	public boolean isReady() {
+		if (run == null && loading != null && loading.isDone()) {
+			if (!loading.isCompletedExceptionally()) {
+				run = loading.getNow(null);
+			}
+			loading = null;
+		}
+		return run != null;
+	}
+
+	/**
+	 * Play the ticks of the run up to the time the live game is at. Does
+	 * nothing while the run is still being read, a run that turns out to be
+	 * broken is dropped.
+	 *
+	 * @param now the game time of the live game
+	 */
+	public void update(final long now) {
+		if (isReady()) {
+			try {
+				run.playUntil(now - liveStart);
+			} catch (IOException e) {
+				Logger.getInstance().log("the ghost could not be read", e);
+				clear();
+			}
+		}
+	}
+
+	/**
+	 * @return the ship of the run, or null if it is not ready or has no lives
+	 *         left
+	 */
+	public Player getPlayer() {
+		if (!isReady()) {
+			return null;
+		}
+		final Player player = run.getThisGame().getPlayer();
+		if (player == null || !player.isAlive()) {
+			return null;
+		}
+		return player;
+	}
+
+	/**
+	 * Read a run into memory and start its game, on the background thread.
+	 *
+	 * @param file the gzipped replay
+	 * @return the run, or null if it could not be read
+	 */
+	private static ReplayPlayer read(final File file) {
+		try {
+			final byte[] bytes = Files.readAllBytes(file.toPath());
+			final ReplayPlayer read = new ReplayPlayer(
+					new ReplayReader(new GZIPInputStream(new ByteArrayInputStream(bytes))));
+			read.getThisGame().getRecorder().cancel();
+			Logger.getInstance().log("Ghost loaded from " + file.getName());
+			return read;
+		} catch (IOException e) {
+			Logger.getInstance().log("the ghost could not be read", e);
+			return null;
+		}
+	}
+}
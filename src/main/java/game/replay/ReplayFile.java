@@ -0,0 +1,257 @@
+package game.replay;
+
+import game.snapshot.Codec;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A whole replay in a buffer, usually a mapped file, whose index of
+ * keyframes is used to start reading at any tick.
+ * <p>
+ * Opening a replay only reads its header and the trailer after the index.
+ * The index has an entry of a fixed size per keyframe, so the keyframe before
+ * a tick is found with a binary search straight in the buffer, and only the
+ * ticks of its segment have to be decoded. See ReplayFormat for the layout.
+ */
+public final class ReplayFile {
+	private static final int BYTE_MASK = 0xFF;
+
+	private final ByteBuffer buffer;
+	@Getter
+	private final long seed;
+	@Getter
+	private final int mode;
+	@Getter
+	private final long startTime;
+	/**
+	 * The amount of keyframes in the replay.
+	 */
+	@Getter
+	private final int keyframes;
+	private final int indexStart;
+
+	/**
+	 * Constructor for a ReplayFile.
+	 *
+	 * @param buffer the replay, from its position to its limit, which is not
+	 *               changed afterwards
+	 * @throws IOException if the buffer does not hold a replay with an index
+	 */
+	public ReplayFile(final ByteBuffer buffer) throws IOException {
+		this.buffer = buffer.slice();
+		final int size = this.buffer.limit();
+		if (size < ReplayFormat.HEADER_SIZE + ReplayFormat.TRAILER_SIZE
+				|| this.buffer.getInt(0) != ReplayFormat.MAGIC) {
+			throw new IOException("not a replay");
+		}
+		final int version = this.buffer.get(Integer.BYTES);
+		if (version < ReplayFormat.KEYFRAME_VERSION || version > ReplayFormat.VERSION) {
+			throw new IOException("replay version " + version + " has no index");
+		}
+		if (this.buffer.getInt(size - Integer.BYTES) != ReplayFormat.INDEX_MAGIC) {
+			throw new IOException("replay has no index, it may not have been written completely");
+		}
+		keyframes = this.buffer.getInt(size - ReplayFormat.TRAILER_SIZE);
+		if (keyframes < 0 || keyframes > (size - ReplayFormat.HEADER_SIZE - ReplayFormat.TRAILER_SIZE)
+				/ ReplayFormat.ENTRY_SIZE) {
+			throw new IOException("replay index is damaged");
+		}
+		indexStart = size - ReplayFormat.TRAILER_SIZE - keyframes * ReplayFormat.ENTRY_SIZE;
+		seed = this.buffer.getLong(Integer.BYTES + 1);
+		mode = this.buffer.get(Integer.BYTES + 1 + Long.BYTES);
+		startTime = this.buffer.getLong(ReplayFormat.HEADER_SIZE - Long.BYTES);
+	}
+
+	/**
+	 * Open a replay file by mapping it, so only the parts that are read are
+	 * loaded.
+	 *
+	 * @param file the file
+	 * @return the replay
+	 * @throws IOException if reading fails or the file holds no replay with
+	 *                     an index
+	 */
+	public static ReplayFile open(final File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return new ReplayFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * @param tick an amount of played ticks
+	 * @return the last keyframe taken after at most that many ticks, or -1 if
+	 *         the first keyframe comes later
+	 */
+	public int keyframeAt(final int tick) {
+		int low = 0;
+		int high = keyframes - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (getTicks(mid) <= tick) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return high;
+	}
+
+	/**
+	 * @param keyframe a keyframe
+	 * @return the amount of ticks played before it
+	 */
+	public int getTicks(final int keyframe) {
+		return buffer.getInt(entry(keyframe));
+	}
+
+	/**
+	 * @param keyframe a keyframe
+	 * @return the game time of the last tick before it
+	 */
+	public long getTime(final int keyframe) {
+		return buffer.getLong(entry(keyframe) + Integer.BYTES);
+	}
+
+	/**
+	 * @param keyframe a keyframe
+	 * @return the snapshot of the keyframe, see Snapshot
+	 * @throws IOException if the keyframe lies outside the replay
+	 */
+	public ByteBuffer getSnapshot(final int keyframe) throws IOException {
+		final ByteBuffer in = at(offset(keyframe));
+		final int length = readLength(in);
+		in.limit(in.position() + length);
+		return in.slice();
+	}
+
+	/**
+	 * @return a reader of the replay from its first tick
+	 */
+	public ReplayReader read() {
+		try {
+			return new ReplayReader(new BufferInputStream(at(0)));
+		} catch (IOException e) {
+			// the header was checked when the replay was opened
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param keyframe a keyframe
+	 * @return a reader of the replay from the first tick after the keyframe
+	 * @throws IOException if the keyframe lies outside the replay
+	 */
+	public ReplayReader readFrom(final int keyframe) throws IOException {
+		final ByteBuffer in = at(offset(keyframe));
+		final int length = readLength(in);
+		in.position(in.position() + length);
+		return new ReplayReader(new BufferInputStream(in), seed, mode, startTime,
+				getTime(keyframe), getTicks(keyframe));
+	}
+
+	/**
+	 * @param keyframe a keyframe
+	 * @return the position of its entry in the index
+	 */
+	private int entry(final int keyframe) {
+		if (keyframe < 0 || keyframe >= keyframes) {
+			throw new IndexOutOfBoundsException("no keyframe " + keyframe);
+		}
+		return indexStart + keyframe * ReplayFormat.ENTRY_SIZE;
+	}
+
+	/**
+	 * @param keyframe a keyframe
+	 * @return the position of its length in the replay
+	 * @throws IOException if it lies outside the replay
+	 */
+	private int offset(final int keyframe) throws IOException {
+		final int offset = buffer.getInt(entry(keyframe) + Integer.BYTES + Long.BYTES);
+		if (offset < ReplayFormat.HEADER_SIZE || offset >= indexStart) {
+			throw new IOException("replay index is damaged");
+		}
+		return offset;
+	}
+
+	/**
+	 * @param in a view of the replay at the length of a keyframe
+	 * @return the length, after which the view is at the keyframe
+	 * @throws IOException if the keyframe does not fit in the replay
+	 */
+	private static int readLength(final ByteBuffer in) throws IOException {
+		try {
+			final int length = Codec.getVarInt(in);
+			if (length > 0 && length <= in.remaining()) {
+				return length;
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("replay keyframe is damaged", e);
+		}
+		throw new IOException("replay keyframe is damaged");
+	}
+
+	/**
+	 * @param position a position in the replay
+	 * @return a view of the replay from the position up to its index
+	 */
+	private ByteBuffer at(final int position) {
+		final ByteBuffer view = buffer.duplicate();
+		view.limit(indexStart);
+		view.position(position);
+		return view;
+	}
+
+	/**
+	 * Reads a buffer as a stream.
+	 */
+	private static final class BufferInputStream extends InputStream {
+		private final ByteBuffer in;
+
+		/**
+		 * @param in the buffer, read from its position to its limit
+		 */
+		BufferInputStream(final ByteBuffer in) {
+			this.in = in;
+		}
+
+		@Override
+		public int read() {
+			if (!in.hasRemaining()) {
+				return -1;
+			}
+			return in.get() & BYTE_MASK;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!in.hasRemaining()) {
+				return -1;
+			}
+			final int n = Math.min(len, in.remaining());
+			in.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public long skip(final long n) {
+			final int skipped = (int) Math.max(0, Math.min(n, in.remaining()));
+			in.position(in.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return in.remaining();
+		}
+	}
+}
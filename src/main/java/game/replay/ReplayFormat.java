@@ -0,0 +1,138 @@
+package game.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The layout of a replay file, shared by the recorder and the reader.
+ * <p>
+ * A replay starts with a header: the magic number, the version, the seed of
+ * the game, its mode and the game time it started at. Every tick after that
+ * is one varint holding the time passed since the tick before, zigzag encoded
+ * and shifted left by one, where the lowest bit tells whether the input
+ * changed. Only if it did, the input follows as a varint count and a varint
+ * per key, which is the index of the key in a table built while reading. An
+ * index equal to the size of the table adds the key, written as UTF right
+ * after it. Every tick ends with the lowest 16 bits of the rolling state hash
+ * after it, which version 1 did not have. A tick at a steady frame rate with
+ * unchanged input takes three bytes.
+ * <p>
+ * Since version 3 the ticks are split into segments, each starting with an
+ * int holding its amount of ticks. Every segment but the first follows a
+ * keyframe, a varint length and a snapshot of the game after the ticks
+ * before it, see Snapshot, and starts with an empty key table and the input
+ * of its first tick written out. So a segment can be decoded on its own from
+ * its keyframe. A varint 0 where a keyframe length would be ends the
+ * segments. After it comes an index with a fixed size entry per keyframe:
+ * the int amount of ticks before it, the long game time of the last of them
+ * and the int offset of its length in the file. The file ends with the int
+ * amount of entries and INDEX_MAGIC, so the index is found from the end and
+ * searched without reading the ticks.
+ */
+final class ReplayFormat {
+	/**
+	 * The bytes "ASRP".
+	 */
+	static final int MAGIC = 0x41535250;
+	static final int VERSION = 3;
+	/**
+	 * The first version that ends every tick with a state check.
+	 */
+	static final int HASHED_VERSION = 2;
+	/**
+	 * The first version with segments, keyframes and an index.
+	 */
+	static final int KEYFRAME_VERSION = 3;
+	/**
+	 * The bytes "ASRI", which end a replay with an index.
+	 */
+	static final int INDEX_MAGIC = 0x41535249;
+	/**
+	 * The size of the header: magic, version, seed, mode and start time.
+	 */
+	static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES + 1 + Long.BYTES;
+	/**
+	 * The size of an index entry: ticks, time and offset.
+	 */
+	static final int ENTRY_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+	/**
+	 * The size of what follows the index: its amount of entries and the magic.
+	 */
+	static final int TRAILER_SIZE = Integer.BYTES + Integer.BYTES;
+	private static final int SEVEN_BITS = 0x7F;
+	private static final int MORE = 0x80;
+	private static final int SHIFT = 7;
+
+	/**
+	 * This is a utility class so it can't be instantiated.
+	 */
+	private ReplayFormat() { }
+
+	/**
+	 * Write a number in as few bytes as it needs, seven bits per byte.
+	 *
+	 * @param out   the output
+	 * @param value the number, read as unsigned
+	 * @throws IOException if writing fails
+	 */
+	static void writeVarLong(final DataOutput out, final long value) throws IOException {
+		long rest = value;
+		while ((rest & ~SEVEN_BITS) != 0) {
+			out.writeByte((int) (rest & SEVEN_BITS) | MORE);
+			rest >>>= SHIFT;
+		}
+		out.writeByte((int) rest);
+	}
+
+	/**
+	 * Read a number written by writeVarLong whose first byte was already read.
+	 *
+	 * @param in    the input
+	 * @param first the first byte
+	 * @return the number
+	 * @throws IOException if reading fails or the stream ends inside the number
+	 */
+	static long readVarLong(final DataInput in, final int first) throws IOException {
+		long value = first & SEVEN_BITS;
+		int b = first;
+		int shift = SHIFT;
+		while ((b & MORE) != 0) {
+			if (shift >= Long.SIZE) {
+				throw new IOException("varint is too long");
+			}
+			b = in.readUnsignedByte();
+			value |= (long) (b & SEVEN_BITS) << shift;
+			shift += SHIFT;
+		}
+		return value;
+	}
+
+	/**
+	 * Read a number written by writeVarLong.
+	 *
+	 * @param in the input
+	 * @return the number
+	 * @throws IOException if reading fails or the stream ends inside the number
+	 */
+	static long readVarLong(final DataInput in) throws IOException {
+		return readVarLong(in, in.readUnsignedByte());
+	}
+
+	/**
+	 * @param value a signed number
+	 * @return the number with its sign in the lowest bit, so small negative
+	 *         numbers stay small
+	 */
+	static long zigzag(final long value) {
+		return (value << 1) ^ (value >> (Long.SIZE - 1));
+	}
+
+	/**
+	 * @param value a number made by zigzag
+	 * @return the signed number
+	 */
+	static long unzigzag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
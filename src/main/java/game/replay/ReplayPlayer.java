@@ -0,0 +1,234 @@
+package game.replay;
+
+import game.Game;
+import game.Logger;
+import game.snapshot.Snapshot;
+import lombok.Getter;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays a replay again in a new game, without drawing anything or playing
+ * sound.
+ * <p>
+ * The game reads its time from the replay instead of the wall clock and is
+ * seeded with the seed of the recorded game, so every tick gets the same time
+ * and input as when it was recorded and the game plays out the same. The
+ * replay can be played at its recorded speed, faster or slower, or as fast as
+ * possible to benchmark the same game on every build. A replay played from a
+ * ReplayFile can jump to any tick, by restoring the keyframe before it and
+ * playing only the ticks after that.
+ */
+public final class ReplayPlayer {
+	private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private ReplayReader replay;
+	/**
+	 * The replay with its keyframes, or null if it is streamed.
+	 */
+	private final ReplayFile file;
+	/**
+	 * The game the replay is played in.
+	 */
+	@Getter
+	private final Game thisGame;
+	private long now;
+	/**
+	 * Whether the replay is at a tick that is read but not played yet.
+	 */
+	private boolean ahead;
+
+	/**
+	 * Constructor for a ReplayPlayer, which starts the recorded game.
+	 *
+	 * @param replay the replay, of which no tick is read yet
+	 */
+	public ReplayPlayer(final ReplayReader replay) {
+		this(replay, null);
+	}
+
+	/**
+	 * Constructor for a ReplayPlayer that can seek, which starts the recorded
+	 * game.
+	 *
+	 * @param file the replay
+	 */
+	public ReplayPlayer(final ReplayFile file) {
+		this(file.read(), file);
+	}
+
+	/**
+	 * Constructor for a ReplayPlayer, which starts the recorded game.
+	 *
+	 * @param replay the replay, of which no tick is read yet
+	 * @param file   the replay with its keyframes, or null
+	 */
+	private ReplayPlayer(final ReplayReader replay, final ReplayFile file) {
+		this.replay = replay;
+		this.file = file;
+		now = replay.getStartTime();
+		thisGame = Game.headless(() -> now, replay.getMode(), replay.getSeed());
+	}
+
+	/**
+	 * Play one tick of the replay.
+	 *
+	 * @return false if the replay has no more ticks
+	 * @throws IOException if reading the replay fails
+	 */
+	public boolean step() throws IOException {
+		if (!ahead && !replay.next()) {
+			return false;
+		}
+		playTick();
+		return true;
+	}
+
+	/**
+	 * Play the ticks recorded up to a time. The first tick after it is read
+	 * and played by the next call.
+	 *
+	 * @param elapsed the game time since the start of the replay
+	 * @return false if the replay has no more ticks
+	 * @throws IOException if reading the replay fails
+	 */
+	public boolean playUntil(final long elapsed) throws IOException {
+		while (ahead || replay.next()) {
+			if (replay.getTime() - replay.getStartTime() > elapsed) {
+				ahead = true;
+				return true;
+			}
+			playTick();
+		}
+		return false;
+	}
+
+	/**
+	 * Bring the game to the state after an amount of ticks. Going forward
+	 * within the segment of the current tick plays on from it, otherwise the
+	 * game is restored from the keyframe before the tick.
+	 *
+	 * @param tick the amount of played ticks to go to
+	 * @return false if the replay ends before that tick, the game is then at
+	 *         the last tick
+	 * @throws IOException if reading the replay fails
+	 * @throws IllegalStateException if the replay is streamed
+	 */
+	public boolean seek(final int tick) throws IOException {
+		if (file == null) {
+			throw new IllegalStateException("only a replay file can be seeked");
+		}
+		final int keyframe = file.keyframeAt(tick);
+		if (tick < played()) {
+			if (keyframe < 0) {
+				now = file.getStartTime();
+				thisGame.startGame(file.getSeed());
+				replay = file.read();
+				ahead = false;
+			} else {
+				restore(keyframe);
+			}
+		} else if (keyframe >= 0 && file.getTicks(keyframe) > played()) {
+			restore(keyframe);
+		}
+		while (played() < tick) {
+			if (!step()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the amount of ticks played, which is one less than read while
+	 *         a tick is read ahead
+	 */
+	private int played() {
+		if (ahead) {
+			return replay.getTicks() - 1;
+		}
+		return replay.getTicks();
+	}
+
+	/**
+	 * Restore the game from a keyframe and read on after it.
+	 *
+	 * @param keyframe the keyframe
+	 * @throws IOException if reading the replay fails
+	 */
+	private void restore(final int keyframe) throws IOException {
+		now = file.getTime(keyframe);
+		Snapshot.read(thisGame, file.getSnapshot(keyframe));
+		replay = file.readFrom(keyframe);
+		ahead = false;
+	}
+
+	/**
+	 * Run the game for the tick the replay is at.
+	 */
+	private void playTick() {
+		ahead = false;
+		now = replay.getTime();
+		thisGame.updateGame(replay.getInput());
+	}
+
+	/**
+	 * Play the rest of the replay.
+	 *
+	 * @param speed how many times faster than recorded to play, 0 or less
+	 *              plays as fast as possible
+	 * @return the amount of ticks played
+	 * @throws IOException if reading the replay fails
+	 */
+	public int run(final double speed) throws IOException {
+		final long wallStart = System.nanoTime();
+		int played = 0;
+		while (ahead || replay.next()) {
+			if (speed > 0) {
+				final long due = wallStart
+						+ (long) ((replay.getTime() - replay.getStartTime()) * NANOS_PER_MILLI / speed);
+				final long wait = due - System.nanoTime();
+				if (wait > 0) {
+					try {
+						TimeUnit.NANOSECONDS.sleep(wait);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return played;
+					}
+				}
+			}
+			playTick();
+			played++;
+		}
+		return played;
+	}
+
+	/**
+	 * Play a replay file without showing the game.
+	 *
+	 * @param args the replay file, optionally followed by the speed, which is
+	 *             as fast as possible if left out
+	 * @throws IOException if reading the replay fails
+	 */
+	public static void main(final String... args) throws IOException {
+		if (args.length == 0) {
+			Logger.getInstance().log("usage: ReplayPlayer <replay file> [speed]");
+			return;
+		}
+		double speed = 0;
+		if (args.length > 1) {
+			speed = Double.parseDouble(args[1]);
+		}
+		try (InputStream in = new FileInputStream(args[0])) {
+			final ReplayPlayer player = new ReplayPlayer(new ReplayReader(in));
+			final long start = System.nanoTime();
+			final int ticks = player.run(speed);
+			final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			Logger.getInstance().log("Replayed " + ticks + " ticks in " + millis + " ms, score "
+					+ player.getThisGame().getScorecounter().getScore() + ".");
+		}
+	}
+}
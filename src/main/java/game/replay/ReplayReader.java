@@ -0,0 +1,191 @@
+package game.replay;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a replay written by ReplayRecorder one tick at a time, so a replay
+ * of any length is streamed instead of loaded at once. Keyframes are skipped,
+ * ReplayFile reads them to start at a later tick.
+ */
+@Getter
+public final class ReplayReader {
+	private final long seed;
+	private final int mode;
+	private final long startTime;
+	/**
+	 * The game time of the current tick.
+	 */
+	private long time;
+	/**
+	 * The keys pressed during the current tick, the same list is returned
+	 * while the input does not change.
+	 */
+	private List<String> input = Collections.emptyList();
+	/**
+	 * The lowest 16 bits of the rolling state hash after the current tick, or
+	 * 0 if the replay has no state checks.
+	 */
+	private int check;
+	/**
+	 * Whether the replay ends every tick with a state check.
+	 */
+	private final boolean hashed;
+	/**
+	 * The amount of ticks read so far.
+	 */
+	private int ticks;
+	@Getter(AccessLevel.NONE)
+	private final boolean segmented;
+	/**
+	 * The amount of ticks left in the current segment.
+	 */
+	@Getter(AccessLevel.NONE)
+	private int segmentTicks;
+	@Getter(AccessLevel.NONE)
+	private boolean ended;
+	@Getter(AccessLevel.NONE)
+	private final DataInputStream in;
+	@Getter(AccessLevel.NONE)
+	private final List<String> keys = new ArrayList<>();
+
+	/**
+	 * Constructor for a ReplayReader, which reads the header.
+	 *
+	 * @param stream the stream the replay is read from
+	 * @throws IOException if reading fails or the stream is not a replay
+	 */
+	public ReplayReader(final InputStream stream) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(stream));
+		if (in.readInt() != ReplayFormat.MAGIC) {
+			throw new IOException("not a replay");
+		}
+		final int version = in.readUnsignedByte();
+		if (version < 1 || version > ReplayFormat.VERSION) {
+			throw new IOException("unsupported replay version " + version);
+		}
+		hashed = version >= ReplayFormat.HASHED_VERSION;
+		segmented = version >= ReplayFormat.KEYFRAME_VERSION;
+		seed = in.readLong();
+		mode = in.readUnsignedByte();
+		startTime = in.readLong();
+		time = startTime;
+		if (segmented) {
+			segmentTicks = in.readInt();
+		}
+	}
+
+	/**
+	 * Constructor for a ReplayReader that starts at a segment after a
+	 * keyframe.
+	 *
+	 * @param stream    the stream, at the amount of ticks of the segment
+	 * @param seed      the seed of the game
+	 * @param mode      the mode of the game
+	 * @param startTime the game time the game started at
+	 * @param time      the game time of the tick before the segment
+	 * @param ticks     the amount of ticks before the segment
+	 * @throws IOException if reading fails
+	 */
+	ReplayReader(final InputStream stream, final long seed, final int mode, final long startTime,
+			final long time, final int ticks) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(stream));
+		hashed = true;
+		segmented = true;
+		this.seed = seed;
+		this.mode = mode;
+		this.startTime = startTime;
+		this.time = time;
+		this.ticks = ticks;
+		segmentTicks = in.readInt();
+	}
+
+	/**
+	 * Move to the next tick.
+	 *
+	 * @return false if the replay has no more ticks
+	 * @throws IOException if reading fails or the replay ends inside a tick
+	 */
+	public boolean next() throws IOException {
+		if (segmented && !nextSegmentTick()) {
+			return false;
+		}
+		final int first = in.read();
+		if (first < 0) {
+			if (segmented) {
+				throw new IOException("replay ends inside a segment");
+			}
+			return false;
+		}
+		final long token = ReplayFormat.readVarLong(in, first);
+		time += ReplayFormat.unzigzag(token >>> 1);
+		if ((token & 1) != 0) {
+			final int count = (int) ReplayFormat.readVarLong(in);
+			final List<String> next = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				next.add(readKey());
+			}
+			input = Collections.unmodifiableList(next);
+		}
+		if (hashed) {
+			check = in.readUnsignedShort();
+		}
+		ticks++;
+		return true;
+	}
+
+	/**
+	 * Skip the keyframes up to the next segment that has a tick left.
+	 *
+	 * @return false if there are no segments left
+	 * @throws IOException if reading fails or the replay ends inside a keyframe
+	 */
+	private boolean nextSegmentTick() throws IOException {
+		while (segmentTicks == 0) {
+			if (ended) {
+				return false;
+			}
+			final int length = (int) ReplayFormat.readVarLong(in);
+			if (length == 0) {
+				ended = true;
+				return false;
+			}
+			int skipped = 0;
+			while (skipped < length) {
+				final int n = in.skipBytes(length - skipped);
+				if (n <= 0) {
+					throw new IOException("replay ends inside a keyframe");
+				}
+				skipped += n;
+			}
+			segmentTicks = in.readInt();
+			keys.clear();
+		}
+		segmentTicks--;
+		return true;
+	}
+
+	/**
+	 * Read a key, adding it to the key table if it is new.
+	 *
+	 * @return the key
+	 * @throws IOException if reading fails or the index is not in the table
+	 */
+	private String readKey() throws IOException {
+		final long index = ReplayFormat.readVarLong(in);
+		if (index == keys.size()) {
+			keys.add(in.readUTF());
+		} else if (index > keys.size()) {
+			throw new IOException("unknown key " + index);
+		}
+		return keys.get((int) index);
+	}
+}
@@ -0,0 +1,308 @@
+package game.replay;
+
+import game.Logger;
+import game.highscore.HighscoreWriter;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the input of every tick of a game, so the game can be played again
+ * exactly from its seed.
+ * <p>
+ * The ticks are encoded as they come in, which costs about three bytes per
+ * tick while the input does not change. A tick is opened with its input before
+ * it runs and closed with the hash of the state after it, so a tick that ends
+ * the game is still recorded whole. When the game ends the recording is kept
+ * in memory and, if a file is set, written to it.
+ * <p>
+ * Every keyframe interval of game time the game hands in a snapshot, which
+ * starts a new segment, and an index of the keyframes is written after the
+ * ticks. A player can then jump to any tick by restoring the keyframe before
+ * it and playing only the ticks after that, see ReplayFile.
+ */
+public final class ReplayRecorder {
+	/**
+	 * Game time between keyframes, in milliseconds.
+	 */
+	public static final long DEFAULT_KEYFRAME_INTERVAL = 30000;
+
+	/**
+	 * The header and the finished segments with their keyframes.
+	 */
+	private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	private final DataOutputStream fileOut = new DataOutputStream(bytes);
+	/**
+	 * The ticks of the current segment.
+	 */
+	private final ByteArrayOutputStream segment = new ByteArrayOutputStream();
+	private final DataOutputStream out = new DataOutputStream(segment);
+	private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+	private final DataOutputStream indexOut = new DataOutputStream(index);
+	private final Map<String, Integer> keys = new HashMap<>();
+	private final List<String> lastInput = new ArrayList<>();
+	private long lastTime;
+	private long lastKeyframe;
+	private int segmentTicks;
+	private int keyframes;
+	/**
+	 * Whether the next tick starts a segment and writes its input anyway.
+	 */
+	private boolean segmentStart;
+	private long rolling;
+	@Getter
+	private boolean recording;
+	/**
+	 * Whether a tick was opened and not closed yet.
+	 */
+	@Getter
+	private boolean ticking;
+	private boolean stopping;
+	@Getter
+	private int ticks;
+	/**
+	 * The file every finished recording is written to, or null to only keep
+	 * it in memory.
+	 */
+	@Getter
+	@Setter
+	private File file;
+	/**
+	 * Game time between keyframes in milliseconds, 0 or less for none.
+	 */
+	@Getter
+	@Setter
+	private long keyframeInterval = DEFAULT_KEYFRAME_INTERVAL;
+
+	/**
+	 * Start a new recording, dropping the previous one.
+	 *
+	 * @param seed      the seed the game started with
+	 * @param mode      the mode of the game
+	 * @param startTime the game time the game started at
+	 */
+	public void start(final long seed, final int mode, final long startTime) {
+		clear();
+		lastTime = startTime;
+		lastKeyframe = startTime;
+		try {
+			fileOut.writeInt(ReplayFormat.MAGIC);
+			fileOut.writeByte(ReplayFormat.VERSION);
+			fileOut.writeLong(seed);
+			fileOut.writeByte(mode);
+			fileOut.writeLong(startTime);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		recording = true;
+	}
+
+	/**
+	 * Open a tick, does nothing if no recording was started.
+	 *
+	 * @param time  the game time of the tick
+	 * @param input the keys pressed during the tick
+	 */
+	public void tick(final long time, final List<String> input) {
+		if (!recording || ticking) {
+			return;
+		}
+		final boolean changed = segmentStart || !lastInput.equals(input);
+		long token = ReplayFormat.zigzag(time - lastTime) << 1;
+		if (changed) {
+			token |= 1;
+		}
+		try {
+			ReplayFormat.writeVarLong(out, token);
+			if (changed) {
+				ReplayFormat.writeVarLong(out, input.size());
+				for (final String key : input) {
+					writeKey(key);
+				}
+				lastInput.clear();
+				lastInput.addAll(input);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		lastTime = time;
+		segmentStart = false;
+		ticking = true;
+	}
+
+	/**
+	 * Close the open tick with the hash of the state after it. Does nothing
+	 * if no tick is open.
+	 *
+	 * @param state the hash of the state, see StateHash
+	 */
+	public void endTick(final long state) {
+		if (!ticking) {
+			return;
+		}
+		rolling = StateHash.roll(rolling, state);
+		try {
+			out.writeShort((int) rolling);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		ticking = false;
+		ticks++;
+		segmentTicks++;
+		if (stopping) {
+			stop();
+		}
+	}
+
+	/**
+	 * @return whether a keyframe interval of game time passed since the last
+	 *         keyframe, so the game should hand in a snapshot now
+	 */
+	public boolean isKeyframeDue() {
+		return recording && !ticking && keyframeInterval > 0 && lastTime - lastKeyframe >= keyframeInterval;
+	}
+
+	/**
+	 * End the current segment with a snapshot of the game after its last
+	 * tick, from which the next segment can be played. Does nothing if no
+	 * recording was started or a tick is open.
+	 *
+	 * @param snapshot the snapshot, read from its position to its limit
+	 */
+	public void keyframe(final ByteBuffer snapshot) {
+		if (!recording || ticking) {
+			return;
+		}
+		try {
+			fileOut.writeInt(segmentTicks);
+			segment.writeTo(fileOut);
+			indexOut.writeInt(ticks);
+			indexOut.writeLong(lastTime);
+			indexOut.writeInt(bytes.size());
+			final byte[] keyframe = new byte[snapshot.remaining()];
+			snapshot.get(keyframe);
+			ReplayFormat.writeVarLong(fileOut, keyframe.length);
+			fileOut.write(keyframe);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		segment.reset();
+		segmentTicks = 0;
+		keyframes++;
+		keys.clear();
+		segmentStart = true;
+		lastKeyframe = lastTime;
+	}
+
+	/**
+	 * Write a key as its index in the key table, adding it if it is new.
+	 *
+	 * @param key the key
+	 * @throws IOException if writing fails
+	 */
+	private void writeKey(final String key) throws IOException {
+		final Integer index = keys.get(key);
+		if (index != null) {
+			ReplayFormat.writeVarLong(out, index);
+			return;
+		}
+		ReplayFormat.writeVarLong(out, keys.size());
+		out.writeUTF(key);
+		keys.put(key, keys.size());
+	}
+
+	/**
+	 * End the recording and write it to the file, if one is set, on the
+	 * highscore writer thread. If a tick is open the recording ends when it is
+	 * closed. Does nothing if no recording was started.
+	 */
+	public void stop() {
+		if (!recording) {
+			return;
+		}
+		if (ticking) {
+			stopping = true;
+			return;
+		}
+		recording = false;
+		stopping = false;
+		if (file == null) {
+			return;
+		}
+		HighscoreWriter.getInstance().replace(file, toByteArray());
+		Logger.getInstance().log("Replay of " + ticks + " ticks is written to " + file.getAbsolutePath());
+	}
+
+	/**
+	 * Drop the recording without writing it, for example when the game is
+	 * restored from a snapshot and its input no longer follows from the seed.
+	 */
+	public void cancel() {
+		clear();
+		recording = false;
+	}
+
+	/**
+	 * Drop everything recorded.
+	 */
+	private void clear() {
+		bytes.reset();
+		segment.reset();
+		index.reset();
+		keys.clear();
+		lastInput.clear();
+		rolling = 0;
+		ticks = 0;
+		segmentTicks = 0;
+		keyframes = 0;
+		segmentStart = false;
+		ticking = false;
+		stopping = false;
+	}
+
+	/**
+	 * Write the recording so far to a stream, with the current segment and
+	 * the index. Writes nothing if no recording was started.
+	 *
+	 * @param target the stream
+	 * @throws IOException if writing fails
+	 */
+	public void writeTo(final OutputStream target) throws IOException {
+		if (bytes.size() == 0) {
+			return;
+		}
+		bytes.writeTo(target);
+		final DataOutputStream tail = new DataOutputStream(target);
+		tail.writeInt(segmentTicks);
+		segment.writeTo(tail);
+		ReplayFormat.writeVarLong(tail, 0);
+		index.writeTo(tail);
+		tail.writeInt(keyframes);
+		tail.writeInt(ReplayFormat.INDEX_MAGIC);
+		tail.flush();
+	}
+
+	/**
+	 * @return the recording so far
+	 */
+	public byte[] toByteArray() {
+		final ByteArrayOutputStream all = new ByteArrayOutputStream(
+				bytes.size() + segment.size() + index.size() + ReplayFormat.TRAILER_SIZE + Integer.BYTES + 1);
+		try {
+			writeTo(all);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return all.toByteArray();
+	}
+}
@@ -0,0 +1,94 @@
+package game.replay;
+
+import game.Logger;
+import lombok.Getter;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays a replay as fast as possible and checks after every tick that the
+ * game is in the same state as when it was recorded.
+ * <p>
+ * After each tick the state of the game is hashed again and rolled into the
+ * rolling hash, which is compared with the check stored in the replay. As the
+ * rolling hash differs in every tick after the first difference, a check that
+ * happens to match by chance does not hide it for more than a tick. This
+ * shows whether a change to the game keeps it playing out the same, and
+ * whether a submitted replay really reaches its score.
+ */
+public final class ReplayVerifier {
+	/**
+	 * Returned by run when every tick matched.
+	 */
+	public static final int SAME = -1;
+	private static final int CHECK_MASK = 0xFFFF;
+
+	private final ReplayReader replay;
+	/**
+	 * The player that runs the replay, with the game it is played in.
+	 */
+	@Getter
+	private final ReplayPlayer player;
+
+	/**
+	 * Constructor for a ReplayVerifier, which starts the recorded game.
+	 *
+	 * @param replay the replay, of which no tick is read yet
+	 * @throws IOException if the replay has no state checks
+	 */
+	public ReplayVerifier(final ReplayReader replay) throws IOException {
+		if (!replay.isHashed()) {
+			throw new IOException("replay has no state checks");
+		}
+		this.replay = replay;
+		player = new ReplayPlayer(replay);
+	}
+
+	/**
+	 * Play the rest of the replay, stopping at the first tick that does not
+	 * match.
+	 *
+	 * @return the number of the first tick that does not match, counting from
+	 *         1, or SAME if all ticks match
+	 * @throws IOException if reading the replay fails
+	 */
+	public int run() throws IOException {
+		long rolling = 0;
+		while (player.step()) {
+			rolling = StateHash.roll(rolling, StateHash.of(player.getThisGame()));
+			if (((int) rolling & CHECK_MASK) != replay.getCheck()) {
+				return replay.getTicks();
+			}
+		}
+		return SAME;
+	}
+
+	/**
+	 * Verify a replay file.
+	 *
+	 * @param args the replay file
+	 * @throws IOException if reading the replay fails
+	 */
+	public static void main(final String... args) throws IOException {
+		if (args.length == 0) {
+			Logger.getInstance().log("usage: ReplayVerifier <replay file>");
+			return;
+		}
+		try (InputStream in = new FileInputStream(args[0])) {
+			final ReplayReader replay = new ReplayReader(in);
+			final long start = System.nanoTime();
+			final int tick = new ReplayVerifier(replay).run();
+			final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (tick == SAME) {
+				Logger.getInstance().log("Replay matches, " + replay.getTicks() + " ticks verified in "
+						+ millis + " ms.");
+			} else {
+				Logger.getInstance().log("Replay diverges at tick " + tick + " of game time "
+						+ (replay.getTime() - replay.getStartTime()) + " ms.");
+			}
+		}
+	}
+}
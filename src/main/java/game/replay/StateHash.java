@@ -0,0 +1,93 @@
+package game.replay;
+
+import entity.AbstractEntity;
+import entity.EntityTypes;
+import entity.Player;
+import game.Game;
+
+/**
+ * Hashes the state of a game, so two runs of the same replay can be compared
+ * tick by tick without keeping the state itself.
+ * <p>
+ * The hash covers the type, position and velocity of every entity in order,
+ * the lives of the players and the score. Floats are hashed by their bits,
+ * so a difference in the last bit of any coordinate changes the hash. The
+ * hashes of the ticks are folded into a rolling hash, which then also
+ * changes in every tick after the first difference.
+ */
+public final class StateHash {
+	/**
+	 * Multiplier of the mixing function, the 64 bit golden ratio.
+	 */
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+	private static final long MIX_ONE = 0xBF58476D1CE4E5B9L;
+	private static final long MIX_TWO = 0x94D049BB133111EBL;
+	private static final int SHIFT_ONE = 30;
+	private static final int SHIFT_TWO = 27;
+	private static final int SHIFT_THREE = 31;
+
+	/**
+	 * This is a utility class so it can't be instantiated.
+	 */
+	private StateHash() { }
+
+	/**
+	 * @param thisGame a game
+	 * @return the hash of the current state of the game
+	 */
+	public static long of(final Game thisGame) {
+		long hash = thisGame.getEntities().size();
+		for (final AbstractEntity e : thisGame.getEntities()) {
+			hash = add(hash, EntityTypes.of(e));
+			hash = add(hash, Float.floatToIntBits(e.getX()));
+			hash = add(hash, Float.floatToIntBits(e.getY()));
+			hash = add(hash, Float.floatToIntBits(e.getDX()));
+			hash = add(hash, Float.floatToIntBits(e.getDY()));
+		}
+		hash = add(hash, lives(thisGame.getPlayer()));
+		hash = add(hash, lives(thisGame.getPlayerTwo()));
+		return mix(add(hash, thisGame.getScorecounter().getScore()));
+	}
+
+	/**
+	 * @param rolling the rolling hash up to the tick before
+	 * @param state   the hash of the state after this tick
+	 * @return the rolling hash up to this tick
+	 */
+	public static long roll(final long rolling, final long state) {
+		return mix(rolling * GOLDEN + state);
+	}
+
+	/**
+	 * @param player a player, or null
+	 * @return the lives of the player, or -1 if there is none
+	 */
+	private static int lives(final Player player) {
+		if (player == null) {
+			return -1;
+		}
+		return player.getLives();
+	}
+
+	/**
+	 * @param hash  the hash so far
+	 * @param value the next value
+	 * @return the hash including the value
+	 */
+	private static long add(final long hash, final long value) {
+		return (hash + value) * GOLDEN;
+	}
+
+	/**
+	 * Spread every bit of a value over all bits of the result.
+	 *
+	 * @param value the value
+	 * @return the mixed value
+	 */
+	private static long mix(final long value) {
+		long z = value;
+		z = (z ^ (z >>> SHIFT_ONE)) * MIX_ONE;
+		z = (z ^ (z >>> SHIFT_TWO)) * MIX_TWO;
+		return z ^ (z >>> SHIFT_THREE);
+	}
+}
@@ -0,0 +1,119 @@
+package game.snapshot;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes the small values snapshots are made of.
+ * <p>
+ * Counts, sequence numbers and handles are varints, seven bits per byte, so
+ * the common small values take one or two bytes. Times are written as the
+ * zigzag encoded distance to the time the snapshot was taken at, which keeps
+ * them small and lets a snapshot be restored at another time, with every
+ * timer and cooldown still the same distance away.
+ */
+public final class Codec {
+	private static final int SEVEN_BITS = 0x7F;
+	private static final int MORE = 0x80;
+	private static final int SHIFT = 7;
+
+	/**
+	 * This is a utility class so it can't be instantiated.
+	 */
+	private Codec() { }
+
+	/**
+	 * @param out   the buffer
+	 * @param value a number, written as unsigned
+	 */
+	public static void putVarLong(final ByteBuffer out, final long value) {
+		long rest = value;
+		while ((rest & ~SEVEN_BITS) != 0) {
+			out.put((byte) ((rest & SEVEN_BITS) | MORE));
+			rest >>>= SHIFT;
+		}
+		out.put((byte) rest);
+	}
+
+	/**
+	 * @param in the buffer
+	 * @return a number written by putVarLong
+	 */
+	public static long getVarLong(final ByteBuffer in) {
+		long value = 0;
+		int shift = 0;
+		int b;
+		do {
+			if (shift >= Long.SIZE) {
+				throw new BufferUnderflowException();
+			}
+			b = in.get();
+			value |= (long) (b & SEVEN_BITS) << shift;
+			shift += SHIFT;
+		} while ((b & MORE) != 0);
+		return value;
+	}
+
+	/**
+	 * @param in the buffer
+	 * @return a number written by putVarLong that fits an int
+	 */
+	public static int getVarInt(final ByteBuffer in) {
+		return (int) getVarLong(in);
+	}
+
+	/**
+	 * @param out   the buffer
+	 * @param value a signed number
+	 */
+	public static void putSigned(final ByteBuffer out, final long value) {
+		putVarLong(out, (value << 1) ^ (value >> (Long.SIZE - 1)));
+	}
+
+	/**
+	 * @param in the buffer
+	 * @return a number written by putSigned
+	 */
+	public static long getSigned(final ByteBuffer in) {
+		final long value = getVarLong(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * @param out  the buffer
+	 * @param time a game time
+	 * @param base the time the snapshot is taken at
+	 */
+	public static void putTime(final ByteBuffer out, final long time, final long base) {
+		putSigned(out, time - base);
+	}
+
+	/**
+	 * @param in   the buffer
+	 * @param base the time the snapshot is restored at
+	 * @return a time written by putTime, moved to the new base
+	 */
+	public static long getTime(final ByteBuffer in, final long base) {
+		return getSigned(in) + base;
+	}
+
+	/**
+	 * @param out   the buffer
+	 * @param value a flag
+	 */
+	public static void putBoolean(final ByteBuffer out, final boolean value) {
+		if (value) {
+			out.put((byte) 1);
+		} else {
+			out.put((byte) 0);
+		}
+	}
+
+	/**
+	 * @param in the buffer
+	 * @return a flag written by putBoolean
+	 */
+	public static boolean getBoolean(final ByteBuffer in) {
+		return in.get() != 0;
+	}
+}
@@ -0,0 +1,226 @@
+package game.snapshot;
+
+import game.Game;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Keeps snapshots of the last seconds of a game, one for every tick, so they
+ * can be shown again without simulating the game again, for example in the
+ * kill cam.
+ * <p>
+ * The snapshots are written one after the other into a direct buffer that is
+ * allocated once, on the first capture, and used as a ring: when the next
+ * snapshot does not fit before the end it starts at the front again, and the
+ * oldest snapshots it overwrites are dropped. The position, length and game
+ * time of every snapshot are kept in arrays that are also allocated once, so
+ * capturing a tick does not allocate.
+ */
+public final class RewindBuffer {
+	/**
+	 * Snapshots kept by default, ten seconds at sixty ticks per second.
+	 */
+	public static final int DEFAULT_FRAMES = 600;
+	/**
+	 * Bytes of the buffer by default, room for about ten seconds of a busy
+	 * game.
+	 */
+	public static final int DEFAULT_BYTES = 2 * 1024 * 1024;
+
+	private final int[] offsets;
+	private final int[] lengths;
+	private final long[] times;
+	private final int capacity;
+	private ByteBuffer ring;
+	private ByteBuffer reader;
+	private int first;
+	private int count;
+	private int head;
+	private int largest;
+	/**
+	 * Whether capture keeps snapshots, off by default so games that are not
+	 * shown, like replays and tests, do not pay for it.
+	 */
+	@Getter
+	@Setter
+	private boolean enabled;
+
+	/**
+	 * Constructor for a RewindBuffer of the default size.
+	 */
+	public RewindBuffer() {
+		this(DEFAULT_FRAMES, DEFAULT_BYTES);
+	}
+
+	/**
+	 * Constructor for a RewindBuffer.
+	 *
+	 * @param frames   the most snapshots kept
+	 * @param capacity the size of the buffer in bytes
+	 */
+	public RewindBuffer(final int frames, final int capacity) {
+		offsets = new int[frames];
+		lengths = new int[frames];
+		times = new long[frames];
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Keep a snapshot of a game after its tick, dropping the oldest ones it
+	 * has no room for. Does nothing if the buffer is not enabled.
+	 *
+	 * @param thisGame the game
+	 */
+	public void capture(final Game thisGame) {
+		if (!enabled) {
+			return;
+		}
+		if (ring == null) {
+			ring = ByteBuffer.allocateDirect(capacity);
+			reader = ring.duplicate();
+		}
+		int start = head;
+		if (capacity - start < 2 * largest) {
+			start = wrap();
+		}
+		if (!write(thisGame, start)) {
+			if (start == 0 || !write(thisGame, wrap())) {
+				// the snapshot is larger than the whole buffer
+				clear();
+				return;
+			}
+			start = 0;
+		}
+		final int end = ring.position();
+		drop(start, end);
+		if (count == offsets.length) {
+			first = (first + 1) % offsets.length;
+			count--;
+		}
+		final int slot = (first + count) % offsets.length;
+		offsets[slot] = start;
+		lengths[slot] = end - start;
+		times[slot] = thisGame.getTimers().getNow();
+		count++;
+		head = end;
+		largest = Math.max(largest, end - start);
+	}
+
+	/**
+	 * Restore a kept snapshot into a game, see Snapshot.read.
+	 *
+	 * @param frame    the number of the snapshot, 0 being the oldest
+	 * @param thisGame the game to restore it into
+	 */
+	public void restore(final int frame, final Game thisGame) {
+		final int slot = slot(frame);
+		reader.limit(offsets[slot] + lengths[slot]);
+		reader.position(offsets[slot]);
+		Snapshot.read(thisGame, reader);
+	}
+
+	/**
+	 * @param frame the number of a snapshot, 0 being the oldest
+	 * @return the game time the snapshot was taken at
+	 */
+	public long getTime(final int frame) {
+		return times[slot(frame)];
+	}
+
+	/**
+	 * Find the snapshot to show for a game time.
+	 *
+	 * @param time a game time
+	 * @return the number of the newest snapshot taken at or before the time,
+	 *         or 0 if all were taken after it
+	 */
+	public int frameAt(final long time) {
+		int low = 0;
+		int high = count - 1;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if (getTime(middle) <= time) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return the amount of snapshots kept
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Drop all snapshots, for example when a new game starts. The buffer is
+	 * kept for the next ones.
+	 */
+	public void clear() {
+		first = 0;
+		count = 0;
+		head = 0;
+	}
+
+	/**
+	 * Write a snapshot into the ring. If it does not fit, the snapshots it
+	 * overwrote before running out of room are dropped.
+	 *
+	 * @param thisGame the game
+	 * @param start    the position to write at
+	 * @return whether the snapshot fit
+	 */
+	private boolean write(final Game thisGame, final int start) {
+		ring.limit(capacity);
+		ring.position(start);
+		try {
+			Snapshot.write(thisGame, ring);
+			return true;
+		} catch (BufferOverflowException e) {
+			drop(start, capacity);
+			return false;
+		}
+	}
+
+	/**
+	 * Start writing at the front of the ring again. The snapshots between the
+	 * last one and the end are the oldest, and are dropped.
+	 *
+	 * @return the new position to write at
+	 */
+	private int wrap() {
+		drop(head, capacity);
+		head = 0;
+		return 0;
+	}
+
+	/**
+	 * Drop the oldest snapshots as long as they lie in a range of the ring.
+	 *
+	 * @param start the start of the range
+	 * @param end   the end of the range, exclusive
+	 */
+	private void drop(final int start, final int end) {
+		while (count > 0 && offsets[first] < end && offsets[first] + lengths[first] > start) {
+			first = (first + 1) % offsets.length;
+			count--;
+		}
+	}
+
+	/**
+	 * @param frame the number of a snapshot, 0 being the oldest
+	 * @return the index of the snapshot in the arrays
+	 */
+	private int slot(final int frame) {
+		if (frame < 0 || frame >= count) {
+			throw new IndexOutOfBoundsException("frame " + frame + " of " + count);
+		}
+		return (first + frame) % offsets.length;
+	}
+}
@@ -0,0 +1,122 @@
+package game.snapshot;
+
+import game.Game;
+import game.Logger;
+import game.highscore.HighscoreWriter;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Keeps the run that was being played when the game was closed, so it can be
+ * resumed after a restart.
+ * <p>
+ * The run is written as the frames of a snapshot to a file, on the highscore
+ * writer thread, which replaces the file through a temporary file that is
+ * forced to disk, so a crash while saving leaves the old save or the new one.
+ * Whether a save exists is only checked once, with a single look at the file
+ * system, so starting the game without a save costs nothing more. A save is
+ * streamed through a buffer a frame at a time, and deleted once it is
+ * resumed, so a run can only be continued once.
+ */
+public final class SessionStore {
+	/**
+	 * The file the run is saved to, or null to not save runs.
+	 */
+	@Getter
+	private File file;
+	private boolean checked;
+	private boolean saved;
+
+	/**
+	 * @param file the file to save runs to, or null to not save them
+	 */
+	public void setFile(final File file) {
+		this.file = file;
+		checked = false;
+	}
+
+	/**
+	 * @return whether a saved run can be resumed
+	 */
+	public boolean hasSave() {
+		if (file == null) {
+			return false;
+		}
+		if (!checked) {
+			saved = file.isFile();
+			checked = true;
+		}
+		return saved;
+	}
+
+	/**
+	 * Save the run of a game, replacing the saved one. Does nothing if no
+	 * file is set.
+	 *
+	 * @param thisGame the game, which is not in the middle of a tick
+	 */
+	public void save(final Game thisGame) {
+		if (file == null) {
+			return;
+		}
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			Snapshot.write(thisGame, out);
+		} catch (IOException e) {
+			Logger.getInstance().log("an I/O error occurred whilst trying to save the run", e);
+			return;
+		}
+		HighscoreWriter.getInstance().replace(file, bytes.toByteArray());
+		saved = true;
+		checked = true;
+		Logger.getInstance().log("Run saved to " + file.getAbsolutePath());
+	}
+
+	/**
+	 * Continue the saved run in a game and delete the save.
+	 *
+	 * @param thisGame the game
+	 * @return whether the run was resumed, a save that can not be read is
+	 *         deleted as well
+	 */
+	public boolean resume(final Game thisGame) {
+		if (!hasSave()) {
+			return false;
+		}
+		boolean resumed = false;
+		// the save may still be waiting for the writer thread
+		HighscoreWriter.getInstance().flush();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))) {
+			Snapshot.read(thisGame, in);
+			resumed = true;
+			Logger.getInstance().log("Run resumed from " + file.getAbsolutePath());
+		} catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+			Logger.getInstance().log("the saved run could not be read", e);
+		}
+		discard();
+		return resumed;
+	}
+
+	/**
+	 * Delete the saved run, if there is one.
+	 */
+	public void discard() {
+		if (hasSave()) {
+			HighscoreWriter.getInstance().delete(file);
+			Logger.getInstance().log("Saved run deleted.");
+		}
+		saved = false;
+		checked = true;
+	}
+}
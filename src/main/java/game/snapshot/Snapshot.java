@@ -0,0 +1,403 @@
+package game.snapshot;
+
+import entity.AbstractEntity;
+import entity.EntityHandles;
+import entity.EntityTypes;
+import entity.Player;
+import game.Game;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Saves the whole state of a game between two ticks into a buffer and
+ * restores it, so the game continues exactly as the saved one would have.
+ * <p>
+ * A snapshot holds the seed, mode, score, spawner, the state of the random
+ * generators and timers, the entity handles and every entity with its
+ * position, speed and own fields. Times are written relative to the time the
+ * timers of the game reached, so a snapshot can be restored at any other time
+ * and all timers and cooldowns are still the same distance away. Restoring at
+ * the time it was taken and ticking with the same input gives the same states
+ * as the saved game, see StateHash. What is drawn, sounds and the replay being
+ * recorded are not part of a snapshot.
+ * <p>
+ * A snapshot can also be written to a stream as frames of one entity each,
+ * so it can be read back a frame at a time without holding all of it.
+ */
+public final class Snapshot {
+	/**
+	 * Marks the start of a snapshot, "ASSN".
+	 */
+	public static final int MAGIC = 0x4153534E;
+	/**
+	 * The version of the snapshot layout.
+	 */
+	public static final int VERSION = 1;
+	private static final int INITIAL_CAPACITY = 4096;
+	private static final int HAS_PLAYER = 1;
+	private static final int HAS_PLAYER_TWO = 2;
+	private static final int PLAYER_TWO = 1;
+
+	/**
+	 * This is a utility class so it can't be instantiated.
+	 */
+	private Snapshot() { }
+
+	/**
+	 * Write the state of a game that is not in the middle of a tick.
+	 * <p>
+	 * The entities come first and the state they change when they are made,
+	 * the handles, spawner, timer sequence and random generators, after them,
+	 * so read can make the entities and then overwrite that state.
+	 *
+	 * @param thisGame the game
+	 * @param out      the buffer, which must have room for the snapshot
+	 * @throws BufferOverflowException if the buffer is too small
+	 */
+	public static void write(final Game thisGame, final ByteBuffer out) {
+		writeHead(thisGame, out);
+		final List<AbstractEntity> entities = thisGame.getEntities();
+		for (int i = 0; i < entities.size(); i++) {
+			writeListed(thisGame, entities.get(i), out);
+		}
+		writeTail(thisGame, out);
+	}
+
+	/**
+	 * Write the state of a game that is not in the middle of a tick as
+	 * frames, each an int length and then that many bytes: one frame with
+	 * the players and the amount of entities, one per entity and one with the
+	 * rest of the state. The frames together hold the same bytes write puts
+	 * in a buffer.
+	 *
+	 * @param thisGame the game
+	 * @param out      the stream
+	 * @throws IOException if writing fails
+	 */
+	public static void write(final Game thisGame, final DataOutputStream out) throws IOException {
+		ByteBuffer frame = writeFrame(out, ByteBuffer.allocate(INITIAL_CAPACITY), b -> writeHead(thisGame, b));
+		for (final AbstractEntity e : thisGame.getEntities()) {
+			frame = writeFrame(out, frame, b -> writeListed(thisGame, e, b));
+		}
+		writeFrame(out, frame, b -> writeTail(thisGame, b));
+	}
+
+	/**
+	 * Restore a game from a snapshot, at the current time of the game. The
+	 * game continues in the saved mode and its replay recording is dropped.
+	 *
+	 * @param thisGame the game, whose state is replaced
+	 * @param in       the buffer, positioned at the start of the snapshot
+	 * @throws IllegalArgumentException if the buffer holds no snapshot of this
+	 *                                  version
+	 */
+	public static void read(final Game thisGame, final ByteBuffer in) {
+		final Restore restore = new Restore(thisGame, in);
+		for (int i = 0; i < restore.count; i++) {
+			restore.readListed(in);
+		}
+		restore.readTail(in);
+	}
+
+	/**
+	 * Restore a game from the frames of a snapshot, reading one frame at a
+	 * time, see read.
+	 *
+	 * @param thisGame the game, whose state is replaced
+	 * @param in       the stream, at the first frame
+	 * @throws IOException              if reading fails or the stream ends
+	 *                                  early
+	 * @throws IllegalArgumentException if the stream holds no snapshot of this
+	 *                                  version
+	 */
+	public static void read(final Game thisGame, final DataInputStream in) throws IOException {
+		ByteBuffer frame = readFrame(in, ByteBuffer.allocate(INITIAL_CAPACITY));
+		final Restore restore = new Restore(thisGame, frame);
+		for (int i = 0; i < restore.count; i++) {
+			frame = readFrame(in, frame);
+			restore.readListed(frame);
+		}
+		restore.readTail(readFrame(in, frame));
+	}
+
+	/**
+	 * Write the header, the players and the amount of entities.
+	 *
+	 * @param thisGame the game
+	 * @param out      the buffer
+	 */
+	private static void writeHead(final Game thisGame, final ByteBuffer out) {
+		out.putInt(MAGIC);
+		out.put((byte) VERSION);
+		out.putLong(thisGame.getSeed());
+		out.put((byte) thisGame.getGamestate().getCurrentMode());
+		out.putLong(thisGame.getTimers().getNow());
+
+		int players = 0;
+		if (thisGame.getPlayer() != null) {
+			players |= HAS_PLAYER;
+		}
+		if (thisGame.getPlayerTwo() != null) {
+			players |= HAS_PLAYER_TWO;
+		}
+		out.put((byte) players);
+		if (thisGame.getPlayer() != null) {
+			writeEntity(thisGame.getPlayer(), out);
+		}
+		if (thisGame.getPlayerTwo() != null) {
+			writeEntity(thisGame.getPlayerTwo(), out);
+		}
+		Codec.putVarLong(out, thisGame.getEntities().size());
+	}
+
+	/**
+	 * Write an entity of the entity list, a player only as which one it is.
+	 *
+	 * @param thisGame the game
+	 * @param e        the entity
+	 * @param out      the buffer
+	 */
+	private static void writeListed(final Game thisGame, final AbstractEntity e, final ByteBuffer out) {
+		final int type = EntityTypes.of(e);
+		out.put((byte) type);
+		if (type != EntityTypes.PLAYER) {
+			writeEntity(e, out);
+		} else if (e == thisGame.getPlayerTwo()) {
+			out.put((byte) PLAYER_TWO);
+		} else {
+			out.put((byte) 0);
+		}
+	}
+
+	/**
+	 * Write the state after the entities.
+	 *
+	 * @param thisGame the game
+	 * @param out      the buffer
+	 */
+	private static void writeTail(final Game thisGame, final ByteBuffer out) {
+		thisGame.getEntityHandles().save(out);
+		thisGame.getSpawner().save(out);
+		Codec.putVarLong(out, thisGame.getScorecounter().getScore());
+		thisGame.getTimers().save(out);
+		thisGame.getRandom().save(out);
+		thisGame.getSpawnRandom().save(out);
+		thisGame.getEffectRandom().save(out);
+	}
+
+	/**
+	 * Write one frame, growing the buffer until the part fits.
+	 *
+	 * @param out   the stream
+	 * @param frame a buffer to write the part into first
+	 * @param part  writes the part into a buffer
+	 * @return the buffer that was used, to use for the next frame
+	 * @throws IOException if writing fails
+	 */
+	private static ByteBuffer writeFrame(final DataOutputStream out, final ByteBuffer frame,
+			final Consumer<ByteBuffer> part) throws IOException {
+		ByteBuffer buffer = frame;
+		while (true) {
+			buffer.clear();
+			try {
+				part.accept(buffer);
+				break;
+			} catch (BufferOverflowException e) {
+				buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+			}
+		}
+		out.writeInt(buffer.position());
+		out.write(buffer.array(), 0, buffer.position());
+		return buffer;
+	}
+
+	/**
+	 * Read one frame, into a new buffer if it does not fit the given one.
+	 *
+	 * @param in    the stream
+	 * @param frame the buffer of the last frame
+	 * @return the buffer holding the frame, flipped to be read
+	 * @throws IOException if reading fails or the stream ends early
+	 */
+	private static ByteBuffer readFrame(final DataInputStream in, final ByteBuffer frame) throws IOException {
+		final int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("frame of negative length " + length);
+		}
+		ByteBuffer buffer = frame;
+		if (buffer.capacity() < length) {
+			buffer = ByteBuffer.allocate(length);
+		}
+		buffer.clear();
+		buffer.limit(length);
+		in.readFully(buffer.array(), 0, length);
+		return buffer;
+	}
+
+	/**
+	 * Write the state of a game into a new buffer that is grown until the
+	 * snapshot fits.
+	 *
+	 * @param thisGame the game
+	 * @return the snapshot, flipped to be read
+	 */
+	public static ByteBuffer capture(final Game thisGame) {
+		int capacity = INITIAL_CAPACITY;
+		while (true) {
+			final ByteBuffer out = ByteBuffer.allocate(capacity);
+			try {
+				write(thisGame, out);
+				out.flip();
+				return out;
+			} catch (BufferOverflowException e) {
+				capacity *= 2;
+			}
+		}
+	}
+
+	/**
+	 * Write the handle, position, speed and size of an entity and then its own
+	 * state.
+	 *
+	 * @param e   the entity
+	 * @param out the buffer
+	 */
+	private static void writeEntity(final AbstractEntity e, final ByteBuffer out) {
+		Codec.putVarLong(out, Integer.toUnsignedLong(e.getId()));
+		out.putFloat(e.getX());
+		out.putFloat(e.getY());
+		out.putFloat(e.getDX());
+		out.putFloat(e.getDY());
+		out.putFloat(e.getRadius());
+		e.save(out);
+	}
+
+	/**
+	 * Restore the state written by writeEntity.
+	 *
+	 * @param e  an entity of the saved type, in the game
+	 * @param in the buffer
+	 * @return the handle the entity had
+	 */
+	private static int readEntity(final AbstractEntity e, final ByteBuffer in) {
+		final int id = Codec.getVarInt(in);
+		e.setX(in.getFloat());
+		e.setY(in.getFloat());
+		e.setDX(in.getFloat());
+		e.setDY(in.getFloat());
+		e.setRadius(in.getFloat());
+		e.load(in);
+		return id;
+	}
+
+	/**
+	 * A snapshot that is being read, with the players and entities made so far
+	 * and the handles they had.
+	 */
+	private static final class Restore {
+		private final Game thisGame;
+		private Player player;
+		private Player playerTwo;
+		private int playerId = EntityHandles.NONE;
+		private int playerTwoId = EntityHandles.NONE;
+		private final int count;
+		private final List<AbstractEntity> entities;
+		private final int[] ids;
+
+		/**
+		 * Start restoring a game, reading the header, the players and the
+		 * amount of entities.
+		 *
+		 * @param thisGame the game, whose state is replaced
+		 * @param in       the buffer, at the start of the snapshot
+		 */
+		Restore(final Game thisGame, final ByteBuffer in) {
+			this.thisGame = thisGame;
+			if (in.getInt() != MAGIC) {
+				throw new IllegalArgumentException("not a snapshot");
+			}
+			final int version = in.get();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("unsupported snapshot version " + version);
+			}
+			thisGame.getTimers().reset(thisGame.getTime());
+			thisGame.setSeed(in.getLong());
+			thisGame.getGamestate().setCurrentMode(in.get());
+			thisGame.getGamestate().setState(thisGame.getGamestate().getOngoingGameState());
+			// the time the snapshot was taken at, every other time is relative to it
+			in.getLong();
+			thisGame.getCreateList().clear();
+			thisGame.getDestroyList().clear();
+
+			final int players = in.get();
+			if ((players & HAS_PLAYER) != 0) {
+				player = (Player) EntityTypes.create(EntityTypes.PLAYER, thisGame);
+				playerId = readEntity(player, in);
+			}
+			if ((players & HAS_PLAYER_TWO) != 0) {
+				playerTwo = (Player) EntityTypes.create(EntityTypes.PLAYER, thisGame);
+				playerTwoId = readEntity(playerTwo, in);
+			}
+			count = Codec.getVarInt(in);
+			entities = new ArrayList<>(count);
+			ids = new int[count];
+		}
+
+		/**
+		 * Read the next entity of the entity list.
+		 *
+		 * @param in the buffer
+		 */
+		void readListed(final ByteBuffer in) {
+			final int type = in.get();
+			if (type != EntityTypes.PLAYER) {
+				final AbstractEntity e = EntityTypes.create(type, thisGame);
+				ids[entities.size()] = readEntity(e, in);
+				entities.add(e);
+			} else if (in.get() == PLAYER_TWO) {
+				entities.add(playerTwo);
+			} else {
+				entities.add(player);
+			}
+		}
+
+		/**
+		 * Read the state after the entities and put the players and entities
+		 * in the game.
+		 *
+		 * @param in the buffer
+		 */
+		void readTail(final ByteBuffer in) {
+			final EntityHandles handles = thisGame.getEntityHandles();
+			handles.load(in);
+			if (player != null) {
+				handles.restore(player, playerId);
+			}
+			if (playerTwo != null) {
+				handles.restore(playerTwo, playerTwoId);
+			}
+			for (int i = 0; i < count; i++) {
+				if (EntityTypes.of(entities.get(i)) != EntityTypes.PLAYER) {
+					handles.restore(entities.get(i), ids[i]);
+				}
+			}
+			thisGame.setPlayer(player);
+			thisGame.setPlayerTwo(playerTwo);
+			thisGame.setEntities(entities);
+			thisGame.getSpawner().load(in);
+			thisGame.getScorecounter().setScore(Codec.getVarLong(in));
+			thisGame.getTimers().load(in);
+			thisGame.getRandom().load(in);
+			thisGame.getSpawnRandom().load(in);
+			thisGame.getEffectRandom().load(in);
+			thisGame.getRecorder().cancel();
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package game.states;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import display.DisplayText;
+import game.Game;
+import game.Gamestate;
+import game.Logger;
+import game.snapshot.RewindBuffer;
+
+/**
+ * Shows the last seconds before a player died again, in slow motion, from
+ * the snapshots in the rewind buffer of the game.
+ * <p>
+ * The snapshots are restored into a second game that only draws, so the
+ * game itself is not touched and nothing is simulated again. That game is
+ * made when a game with rewind starts, so nothing is made at the death. Game time is
+ * held while the kill cam is shown. Left and right scrub through the
+ * snapshots and enter goes back to the game.
+ */
+public class KillCamState extends AbstractState {
+	/**
+	 * Game time shown before the death, in milliseconds.
+	 */
+	private static final long LENGTH = 3000;
+	/**
+	 * Game time the last snapshot stays on screen, in milliseconds.
+	 */
+	private static final long END = 500;
+	private static final double SPEED = 0.5;
+	/**
+	 * Game time moved per update while scrubbing, in milliseconds.
+	 */
+	private static final long SCRUB_STEP = 32;
+
+	private final List<String> noInput = new ArrayList<>();
+	private Game viewer;
+	private AbstractState next;
+	private long from;
+	private long to;
+	private double position;
+	private long lastUpdate;
+
+	/**
+	 * Constructor for kill cam state.
+	 * @param game this state belongs to
+	 */
+	public KillCamState(final Game game) {
+		super(game);
+	}
+
+	/**
+	 * Make the game the snapshots are drawn in, if it was not made yet.
+	 */
+	public final void prepare() {
+		if (viewer == null) {
+			viewer = Game.viewer(getThisGame());
+		}
+	}
+
+	/**
+	 * Show the kill cam, and afterwards the state the game is in now. Does
+	 * nothing if the rewind buffer holds no snapshots.
+	 */
+	public final void start() {
+		final RewindBuffer rewind = getThisGame().getRewind();
+		if (rewind.size() == 0) {
+			return;
+		}
+		final Gamestate gamestate = getThisGame().getGamestate();
+		next = gamestate.getState();
+		to = rewind.getTime(rewind.size() - 1);
+		from = Math.max(rewind.getTime(0), to - LENGTH);
+		position = from;
+		lastUpdate = System.currentTimeMillis();
+		getThisGame().hold();
+		gamestate.setState(this);
+		Logger.getInstance().log("Kill cam opened.");
+	}
+
+	@Override
+	public final void update(final List<String> input) {
+		final long now = System.currentTimeMillis();
+		final long elapsed = now - lastUpdate;
+		lastUpdate = now;
+		if (input.contains("LEFT")) {
+			position = Math.max(from, Math.min(position, to) - SCRUB_STEP);
+		} else if (input.contains("RIGHT")) {
+			position = Math.min(to, position + SCRUB_STEP);
+		} else {
+			position += elapsed * SPEED;
+		}
+		show((long) Math.min(position, to));
+		DisplayText.killCam();
+		if (position >= to + END
+				|| input.contains("ENTER") && getThisGame().getGamestate().isSwitchTime()) {
+			finish();
+		}
+	}
+
+	/**
+	 * Go back to the game, letting game time go on.
+	 */
+	public final void finish() {
+		getThisGame().release();
+		getThisGame().getGamestate().setState(next);
+	}
+
+	/**
+	 * @return whether the game goes on after the kill cam, instead of being
+	 *         over
+	 */
+	public final boolean isReturningToGame() {
+		return next == getThisGame().getGamestate().getOngoingGameState();
+	}
+
+	/**
+	 * @return the game time that is shown
+	 */
+	public final long getPosition() {
+		return (long) Math.min(position, to);
+	}
+
+	/**
+	 * Draw the snapshot of a game time.
+	 *
+	 * @param time the game time
+	 */
+	private void show(final long time) {
+		final RewindBuffer rewind = getThisGame().getRewind();
+		prepare();
+		rewind.restore(rewind.frameAt(time), viewer);
+		viewer.updateGame(noInput);
+	}
+}
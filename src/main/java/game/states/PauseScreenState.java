@@ -5,6 +5,7 @@ import java.util.List;
 import display.DisplayText;
 import game.Game;
 import game.Gamestate;
+import game.Launcher;
 import game.Logger;
 
 /**
@@ -40,6 +41,13 @@ public class PauseScreenState extends AbstractState {
 			Logger.getInstance().log("Game stopped.");
 			getThisGame().overSwitch();
 			getThisGame().getGamestate().getHighscoreState().setPressedButton("R");
+		} else if (input.contains("ESCAPE") && gamestate.isSwitchTime()) {
+			Logger.getInstance().log("Game saved and quit.");
+			getThisGame().getSession().save(getThisGame());
+			getThisGame().getAudio().stopAll();
+			gamestate.setCurrentMode(Gamestate.NONEMODE);
+			gamestate.setState(gamestate.getStartScreenState());
+			Launcher.quit();
 		}
 	}
 }
@@ -28,6 +28,10 @@ public class StartScreenState extends AbstractState {
 		if (gamestate.isSwitchTime()) {
 			gamestate.startScreen(input);
 		}
-		DisplayText.startScreen();		
+		DisplayText.startScreen();
+		DisplayText.ghostOption(getThisGame().getGhost().isEnabled());
+		if (getThisGame().getSession().hasSave()) {
+			DisplayText.resumeOption();
+		}
 	}
 }
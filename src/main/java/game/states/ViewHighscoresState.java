@@ -13,6 +13,14 @@ import java.util.List;
  *
  */
 public class ViewHighscoresState extends AbstractState {
+	private static final int MODES = 6;
+	private static final int ROWS = 6;
+	/**
+	 * The mode whose best scores are shown, or NONEMODE for the highscore of
+	 * every mode.
+	 */
+	private int mode = Gamestate.NONEMODE;
+
 	/**
 	 * Constructor for highscore screen state.
 	 * @param game this screen belongs to
@@ -24,7 +32,12 @@ public class ViewHighscoresState extends AbstractState {
 	@Override
 	public final void update(final List<String> input) {
 		viewHighscoresScreen(input);
-		DisplayText.viewHighscoresScreen(getThisGame().getScorecounter().highScoresToStrings());
+		if (mode == Gamestate.NONEMODE) {
+			DisplayText.viewHighscoresScreen(getThisGame().getScorecounter().highScoresToStrings(), "all modes");
+		} else {
+			DisplayText.viewHighscoresScreen(getThisGame().getScorecounter().leaderboardToStrings(mode, ROWS),
+					getThisGame().getGamestate().intToString(mode));
+		}
 	}
 	
 	/**
@@ -35,9 +48,16 @@ public class ViewHighscoresState extends AbstractState {
 		final Gamestate gamestate = getThisGame().getGamestate();
 		if (input.contains("R") && gamestate.isSwitchTime()) {
 			Logger.getInstance().log("Return to start screen.");
+			mode = Gamestate.NONEMODE;
 			gamestate.setState(gamestate.getStartScreenState());
 		} else if (input.contains("D") && gamestate.isSwitchTime()) {
 			getThisGame().getScorecounter().clearHighscores();
+		} else if (input.contains("RIGHT") && gamestate.isSwitchTime()) {
+			mode = (mode + 1) % (MODES + 1);
+			switchScreen();
+		} else if (input.contains("LEFT") && gamestate.isSwitchTime()) {
+			mode = (mode + MODES) % (MODES + 1);
+			switchScreen();
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package benchmark;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import game.Game;
+import game.collision.CollisionDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the grid broadphase single threaded and on the fork/join pool, and
+ * gathering the entity state per entity or from the columns of the entity
+ * store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+	@Param({"50", "500", "5000"})
+	private int entities;
+
+	private Game thisGame;
+	private CollisionDetector sequential;
+	private CollisionDetector parallel;
+
+	@Setup(Level.Trial)
+	public final void setUp() {
+		thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		final List<AbstractEntity> list = new ArrayList<>();
+		final Random random = new Random(entities);
+		for (int i = 0; i < entities; i++) {
+			// asteroids ignore each other, so collide has no side effects here
+			list.add(new Asteroid(random.nextFloat() * Game.getCanvasSize(),
+					random.nextFloat() * Game.getCanvasSize(), 0, 0, Asteroid.getSmallRadius(), thisGame));
+		}
+		thisGame.setEntities(list);
+		sequential = new CollisionDetector(Game.getCanvasSize(), Game.getCanvasSize());
+		sequential.setParallel(false);
+		parallel = new CollisionDetector(Game.getCanvasSize(), Game.getCanvasSize());
+		parallel.setParallel(true);
+	}
+
+	@Benchmark
+	public final int gridSequential() {
+		return sequential.detect(thisGame.getEntities()).size();
+	}
+
+	@Benchmark
+	public final int gridSequentialStore() {
+		return sequential.detect(thisGame.getEntities(), thisGame.getEntityStore()).size();
+	}
+
+	@Benchmark
+	public final int gridParallel() {
+		return parallel.detect(thisGame.getEntities()).size();
+	}
+}
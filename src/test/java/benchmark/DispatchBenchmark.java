@@ -0,0 +1,129 @@
+package benchmark;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import entity.BasicBoss;
+import entity.Bullet;
+import entity.DoubleBoss;
+import entity.EntityTypes;
+import entity.Particle;
+import entity.Powerup;
+import entity.Saucer;
+import entity.TeleBoss;
+import entity.builders.PlayerBuilder;
+import game.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling update on a list mixing all entity classes with calling it
+ * through EntityTypes on the same entities sorted on type.
+ * <p>
+ * Add {@code -jvmArgsAppend "-XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining"}
+ * to the JMH arguments to see which update methods the JIT inlines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+	private static final int SPECIAL = 10;
+
+	@Param({"3000"})
+	private int entities;
+
+	private Game thisGame;
+	private List<AbstractEntity> mixed;
+	private List<AbstractEntity> grouped;
+	private int[] types;
+	private final List<String> input = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public final void setUp() {
+		thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		final Random random = new Random(entities);
+		mixed = new ArrayList<>();
+		final PlayerBuilder pBuilder = new PlayerBuilder();
+		pBuilder.setThisGame(thisGame);
+		mixed.add(pBuilder.getResult());
+		for (int i = 0; i < SPECIAL; i++) {
+			mixed.add(new Saucer(random.nextFloat() * Game.getCanvasSize(), 0, 0, 0, thisGame));
+			mixed.add(new Powerup(random.nextFloat() * Game.getCanvasSize(), 0, thisGame));
+			mixed.add(new BasicBoss(random.nextFloat() * Game.getCanvasSize(), 0, 0, 0, thisGame));
+			mixed.add(new DoubleBoss(random.nextFloat() * Game.getCanvasSize(), 0, 0, 0, thisGame));
+			mixed.add(new TeleBoss(random.nextFloat() * Game.getCanvasSize(), 0, 0, 0, thisGame));
+		}
+		while (mixed.size() < entities) {
+			final float x = random.nextFloat() * Game.getCanvasSize();
+			final float y = random.nextFloat() * Game.getCanvasSize();
+			mixed.add(new Asteroid(x, y, 1, 1, thisGame));
+			mixed.add(new Particle(x, y, 1, 1, thisGame));
+			final Bullet bullet = new Bullet();
+			bullet.setThisGame(thisGame);
+			mixed.add(bullet);
+		}
+		Collections.shuffle(mixed, random);
+		grouped = new ArrayList<>(mixed);
+		grouped.sort(EntityTypes.ORDER);
+		types = new int[grouped.size()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = EntityTypes.of(grouped.get(i));
+		}
+	}
+
+	@Benchmark
+	public final List<AbstractEntity> mixedVirtual() {
+		for (final AbstractEntity e : mixed) {
+			e.update(input);
+		}
+		return clear();
+	}
+
+	@Benchmark
+	public final List<AbstractEntity> groupedVirtual() {
+		for (final AbstractEntity e : grouped) {
+			e.update(input);
+		}
+		return clear();
+	}
+
+	@Benchmark
+	public final List<AbstractEntity> groupedTyped() {
+		for (int i = 0; i < types.length; i++) {
+			EntityTypes.update(types[i], grouped.get(i), input);
+		}
+		return clear();
+	}
+
+	/**
+	 * Throw away entities created and destroyed by the updates, so every run
+	 * does the same work.
+	 *
+	 * @return the create list before it was cleared
+	 */
+	private List<AbstractEntity> clear() {
+		final List<AbstractEntity> created = thisGame.getCreateList();
+		thisGame.setCreateList(new ArrayList<>());
+		thisGame.setDestroyList(new ArrayList<>());
+		return created;
+	}
+}
@@ -0,0 +1,138 @@
+package benchmark;
+
+import com.google.gson.Gson;
+import game.highscore.HighscoreCodec;
+import game.highscore.HighscoreWriter;
+import game.highscore.Leaderboard;
+import game.highscore.model.HighScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading and saving large leaderboards: as json with the streaming
+ * codec against Gson reflection, and as the binary leaderboard file, whose
+ * save is one record written by the highscore writer thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighscoreBenchmark {
+	private static final long SEED = 42;
+	private static final int MODES = 6;
+	private static final int MAX_SCORE = 1000000;
+
+	/**
+	 * The amount of scores, per mode for the leaderboard file.
+	 */
+	@Param({"1000", "10000"})
+	private int scores;
+
+	private final Gson gson = new Gson();
+	private HighScore[] board;
+	private byte[] json;
+	private File file;
+	private Leaderboard leaderboard;
+	private long next;
+
+	@Setup(Level.Trial)
+	public final void setUp() throws IOException {
+		final Random random = new Random(SEED);
+		board = new HighScore[scores];
+		for (int i = 0; i < scores; i++) {
+			board[i] = new HighScore("player" + i, random.nextInt(MAX_SCORE), i + 1, i % MODES + 1);
+		}
+		json = gson.toJson(board, HighScore[].class).getBytes(StandardCharsets.UTF_8);
+		file = File.createTempFile("leaderboard", ".dat");
+		Files.delete(file.toPath());
+		leaderboard = new Leaderboard(file, MODES, scores);
+		for (int m = 1; m <= MODES; m++) {
+			for (int i = 0; i < scores; i++) {
+				leaderboard.add(m, "player" + i, random.nextInt(MAX_SCORE));
+			}
+		}
+		HighscoreWriter.getInstance().flush();
+		next = MAX_SCORE;
+	}
+
+	@TearDown(Level.Trial)
+	public final void tearDown() throws IOException {
+		HighscoreWriter.getInstance().flush();
+		Files.deleteIfExists(file.toPath());
+	}
+
+	@Benchmark
+	public final HighScore[] loadCodec() throws IOException {
+		try (Reader in = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+			return HighscoreCodec.read(in);
+		}
+	}
+
+	@Benchmark
+	public final HighScore[] loadGson() throws IOException {
+		try (Reader in = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+			return gson.fromJson(in, HighScore[].class);
+		}
+	}
+
+	@Benchmark
+	public final byte[] saveCodec() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+			HighscoreCodec.write(out, board);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public final byte[] saveGson() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+			gson.toJson(board, HighScore[].class, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public final int loadLeaderboard() {
+		return new Leaderboard(file, MODES, scores).size(1);
+	}
+
+	/**
+	 * Adds a score that makes the board and waits until it is on disk.
+	 *
+	 * @return whether it was added
+	 */
+	@Benchmark
+	public final boolean saveLeaderboard() {
+		final boolean added = leaderboard.add(1, "new", next++);
+		HighscoreWriter.getInstance().flush();
+		return added;
+	}
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import entity.Particle;
+import game.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares moving every body one entity at a time, the way updates used to,
+ * with the single integrate-and-wrap pass over the columns of the entity store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntegrateBenchmark {
+	@Param({"10000"})
+	private int bodies;
+
+	private Game thisGame;
+	private List<AbstractEntity> detached;
+	private final List<String> input = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public final void setUp() {
+		thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		detached = bodies(new Random(bodies));
+		thisGame.setEntities(bodies(new Random(bodies)));
+	}
+
+	/**
+	 * @param random source of positions and velocities
+	 * @return asteroids and particles moving in random directions
+	 */
+	private List<AbstractEntity> bodies(final Random random) {
+		final List<AbstractEntity> list = new ArrayList<>();
+		for (int i = 0; i < bodies; i++) {
+			final float x = random.nextFloat() * Game.getCanvasSize();
+			final float y = random.nextFloat() * Game.getCanvasSize();
+			final float dX = random.nextFloat() * 2 - 1;
+			final float dY = random.nextFloat() * 2 - 1;
+			if (i % 2 == 0) {
+				list.add(new Asteroid(x, y, dX, dY, thisGame));
+			} else {
+				list.add(new Particle(x, y, dX, dY, thisGame));
+			}
+		}
+		return list;
+	}
+
+	@Benchmark
+	public final List<AbstractEntity> perEntity() {
+		for (final AbstractEntity e : detached) {
+			e.integrate();
+		}
+		return detached;
+	}
+
+	@Benchmark
+	public final float batched() {
+		thisGame.getEntityStore().integrate(thisGame.getScreenX(), thisGame.getScreenY());
+		return thisGame.getEntityStore().getX()[0];
+	}
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import entity.Saucer;
+import entity.builders.BulletBuilder;
+import game.Game;
+import game.collision.CollisionDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the polygon narrowphase costs on top of the circle broadphase,
+ * for screens crowded the way a real game gets: mostly asteroids, some bullets
+ * and a saucer now and then.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NarrowphaseBenchmark {
+	@Param({"50", "200"})
+	private int entities;
+
+	private List<AbstractEntity> list;
+	private CollisionDetector circles;
+	private CollisionDetector precise;
+
+	@Setup(Level.Trial)
+	public final void setUp() {
+		final Game thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		final BulletBuilder bBuilder = new BulletBuilder();
+		bBuilder.setThisGame(thisGame);
+		list = new ArrayList<>();
+		final Random random = new Random(entities);
+		for (int i = 0; i < entities; i++) {
+			final float x = random.nextFloat() * Game.getCanvasSize();
+			final float y = random.nextFloat() * Game.getCanvasSize();
+			if (i % 10 == 0) {
+				list.add(new Saucer(x, y, 0, 0, thisGame));
+			} else if (i % 3 == 0) {
+				bBuilder.setX(x);
+				bBuilder.setY(y);
+				list.add(bBuilder.getResult());
+			} else {
+				list.add(new Asteroid(x, y, 0, 0, thisGame));
+			}
+		}
+		circles = new CollisionDetector(Game.getCanvasSize(), Game.getCanvasSize());
+		circles.setParallel(false);
+		precise = new CollisionDetector(Game.getCanvasSize(), Game.getCanvasSize());
+		precise.setParallel(false);
+		precise.setPrecise(true);
+	}
+
+	@Benchmark
+	public final int circlesOnly() {
+		return circles.detect(list).size();
+	}
+
+	@Benchmark
+	public final int withNarrowphase() {
+		return precise.detect(list).size();
+	}
+}
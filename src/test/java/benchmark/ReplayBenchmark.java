@@ -0,0 +1,96 @@
+package benchmark;
+
+import game.Game;
+import game.Gamestate;
+import game.replay.ReplayFile;
+import game.replay.ReplayPlayer;
+import game.replay.ReplayReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the same recorded game as fast as possible, so every build is
+ * measured on exactly the same gameplay.
+ * <p>
+ * The game is recorded from a fixed seed and a scripted player that turns,
+ * thrusts and shoots. Set {@code replay} to the path of a recorded file to
+ * play that instead. seek jumps to the last tick from the keyframe before it,
+ * which play has to reach by playing every tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+	private static final long SEED = 42;
+	private static final int FRAME = 17;
+
+	@Param({"3600"})
+	private int ticks;
+
+	@Param({""})
+	private String replay;
+
+	private byte[] bytes;
+
+	@Setup(Level.Trial)
+	public final void setUp() throws IOException {
+		if (!replay.isEmpty()) {
+			bytes = Files.readAllBytes(Paths.get(replay));
+			return;
+		}
+		final long[] time = {0};
+		final Game thisGame = Game.headless(() -> time[0], Gamestate.SURVIVALMODE, SEED);
+		final List<String> input = new ArrayList<>();
+		for (int i = 0; i < ticks; i++) {
+			time[0] += FRAME;
+			input.clear();
+			if (i % 40 < 20) {
+				input.add("A");
+			}
+			if (i % 90 < 30) {
+				input.add("W");
+			}
+			if (i % 7 == 0) {
+				input.add("SPACE");
+			}
+			thisGame.updateGame(input);
+		}
+		bytes = thisGame.getRecorder().toByteArray();
+	}
+
+	@Benchmark
+	public final Game play() throws IOException {
+		final ReplayPlayer player = new ReplayPlayer(new ReplayReader(new ByteArrayInputStream(bytes)));
+		player.run(0);
+		return player.getThisGame();
+	}
+
+	@Benchmark
+	public final Game seek() throws IOException {
+		final ReplayPlayer player = new ReplayPlayer(new ReplayFile(ByteBuffer.wrap(bytes)));
+		player.seek(Integer.MAX_VALUE);
+		return player.getThisGame();
+	}
+}
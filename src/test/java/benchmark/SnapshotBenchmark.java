@@ -0,0 +1,103 @@
+package benchmark;
+
+import game.Game;
+import game.Gamestate;
+import game.snapshot.RewindBuffer;
+import game.snapshot.Snapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures taking a snapshot of a busy survival game and restoring it, and
+ * keeping one in a rewind buffer as the game does every tick. Run with
+ * {@code -prof gc} to see that capture does not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+	private static final long SEED = 42;
+	private static final int FRAME = 17;
+	private static final int CAPACITY = 1 << 20;
+
+	@Param({"3600"})
+	private int ticks;
+
+	private Game thisGame;
+	private Game restored;
+	private ByteBuffer buffer;
+	private ByteBuffer snapshot;
+	private RewindBuffer rewind;
+
+	@Setup(Level.Trial)
+	public final void setUp() {
+		final long[] time = {0};
+		thisGame = newGame(time);
+		final List<String> input = new ArrayList<>();
+		for (int i = 0; i < ticks; i++) {
+			time[0] += FRAME;
+			input.clear();
+			if (i % 40 < 20) {
+				input.add("A");
+			}
+			if (i % 90 < 30) {
+				input.add("W");
+			}
+			if (i % 7 == 0) {
+				input.add("SPACE");
+			}
+			thisGame.updateGame(input);
+		}
+		restored = newGame(time);
+		buffer = ByteBuffer.allocateDirect(CAPACITY);
+		snapshot = Snapshot.capture(thisGame);
+		rewind = new RewindBuffer();
+		rewind.setEnabled(true);
+	}
+
+	@Benchmark
+	public final ByteBuffer write() {
+		buffer.clear();
+		Snapshot.write(thisGame, buffer);
+		return buffer;
+	}
+
+	@Benchmark
+	public final RewindBuffer capture() {
+		rewind.capture(thisGame);
+		return rewind;
+	}
+
+	@Benchmark
+	public final Game read() {
+		snapshot.rewind();
+		Snapshot.read(restored, snapshot);
+		return restored;
+	}
+
+	/**
+	 * @param time the clock of the game
+	 * @return a started survival game without rendering or sound
+	 */
+	private static Game newGame(final long[] time) {
+		return Game.headless(() -> time[0], Gamestate.SURVIVALMODE, SEED);
+	}
+}
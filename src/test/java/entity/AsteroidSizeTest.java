@@ -0,0 +1,73 @@
+package entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import entity.builders.BulletBuilder;
+import entity.cannons.SaucerCannon;
+import game.Game;
+
+/**
+ * Tests for AsteroidSize and the other data entities of one kind share.
+ */
+public class AsteroidSizeTest {
+
+	@Test
+	public final void testOf() {
+		assertSame(AsteroidSize.BIG, AsteroidSize.of(AsteroidSize.BIG.getRadius()));
+		assertSame(AsteroidSize.MEDIUM, AsteroidSize.of(Asteroid.getMediumRadius()));
+		assertSame(AsteroidSize.SMALL, AsteroidSize.of(Asteroid.getSmallRadius()));
+		assertSame(AsteroidSize.SMALL, AsteroidSize.of(0));
+	}
+
+	@Test
+	public final void testChildren() {
+		assertSame(AsteroidSize.MEDIUM, AsteroidSize.BIG.getChild());
+		assertSame(AsteroidSize.SMALL, AsteroidSize.MEDIUM.getChild());
+		assertNull(AsteroidSize.SMALL.getChild());
+	}
+
+	@Test
+	public final void testSurvivalSize() {
+		final Game thisGame = new Game();
+		final Asteroid asteroid = new Asteroid(0, 0, 0, 0, thisGame);
+		assertEquals(AsteroidSize.BIG.getSurvivalSize(), asteroid.getSurvivalSize());
+		asteroid.setRadius(AsteroidSize.SMALL.getRadius());
+		assertEquals(AsteroidSize.SMALL.getSurvivalSize(), asteroid.getSurvivalSize());
+	}
+
+	@Test
+	public final void testSaucerSize() {
+		assertSame(SaucerSize.SMALL, SaucerSize.of(Saucer.getSmallRadius()));
+		assertSame(SaucerSize.BIG, SaucerSize.of(Saucer.getBigRadius()));
+		final Saucer saucer = new Saucer(0, 0, 0, 0, new Game());
+		assertSame(SaucerSize.BIG, saucer.getSize());
+		saucer.setRadius(Saucer.getSmallRadius());
+		assertTrue(saucer.isSmall());
+	}
+
+	@Test
+	public final void testBossType() {
+		final Game thisGame = new Game();
+		final DoubleBoss boss = new DoubleBoss(0, 0, 0, 0, thisGame);
+		assertSame(BossType.DOUBLE, boss.getType());
+		assertEquals(BossType.DOUBLE.getRadius(), boss.getRadius(), 0);
+		assertEquals(BossType.DOUBLE.getStartingLives(), boss.getCurrentLives());
+		assertEquals(BossType.DOUBLE.getBullets(), boss.getBullets());
+		assertSame(BossType.TELE, new TeleBoss(0, 0, 0, 0, thisGame).getType());
+	}
+
+	@Test
+	public final void testSharedEnemyBullets() {
+		final Game thisGame = new Game();
+		final BulletBuilder bullets = thisGame.getEnemyBullets();
+		final Saucer saucer = new Saucer(0, 0, 0, 0, thisGame);
+		final BasicBoss boss = new BasicBoss(0, 0, 0, 0, thisGame);
+		assertSame(bullets, boss.getBBuilder());
+		assertSame(SaucerCannon.getInstance(), saucer.getShooter());
+	}
+}
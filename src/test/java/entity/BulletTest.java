@@ -107,6 +107,7 @@ public class BulletTest {
 		final List<String> input = new ArrayList<>(0);
 		bullet.setBirthTime(0);
 		bullet.update(input);
+		thisGame.getTimers().advance(thisGame.getTime());
         assertTrue(thisGame.getDestroyList().contains(bullet));
 	}
 	
@@ -179,4 +180,46 @@ public class BulletTest {
 		bullet.setShooter(p);
 		assertEquals(DX_START,bullet.getShooter().getDX(),0);
 	}
+
+	/**
+	 * Test that a fast bullet hits an asteroid it moved past in one tick.
+	 */
+	@Test
+	public final void testSweptCollision() {
+		final Asteroid a = new Asteroid(20, 0, 0, 0, Asteroid.getSmallRadius(), thisGame);
+		a.setDX(0);
+		a.setDY(0);
+		bullet.setX(30);
+		bullet.setY(0);
+		bullet.setDX(20);
+		bullet.setDY(0);
+		assertTrue(bullet.isSwept());
+		assertTrue(AbstractEntity.collision(bullet, a));
+		assertTrue(AbstractEntity.collision(a, bullet));
+	}
+
+	/**
+	 * Test that a fast bullet does not hit an asteroid next to its path.
+	 */
+	@Test
+	public final void testSweptMiss() {
+		final Asteroid a = new Asteroid(20, 10, 0, 0, Asteroid.getSmallRadius(), thisGame);
+		a.setDX(0);
+		a.setDY(0);
+		bullet.setX(30);
+		bullet.setY(0);
+		bullet.setDX(20);
+		bullet.setDY(0);
+		assertFalse(AbstractEntity.collision(bullet, a));
+	}
+
+	/**
+	 * Test that slow bullets are not swept.
+	 */
+	@Test
+	public final void testNotSwept() {
+		bullet.setDX(1);
+		bullet.setDY(0);
+		assertFalse(bullet.isSwept());
+	}
 }
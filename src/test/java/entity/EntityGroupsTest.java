@@ -0,0 +1,148 @@
+package entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import game.Game;
+
+/**
+ * Tests for EntityGroups.
+ */
+public class EntityGroupsTest {
+	private static final long SEED = 32;
+
+	private Game thisGame;
+	private EntityGroups groups;
+	private List<AbstractEntity> entities;
+	private List<AbstractEntity> destroy;
+	private List<AbstractEntity> create;
+
+	@Before
+	public final void setUp() {
+		thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		groups = new EntityGroups();
+		entities = new ArrayList<>();
+		destroy = new ArrayList<>();
+		create = new ArrayList<>();
+	}
+
+	@Test
+	public final void testGroupsOnFirstCommit() {
+		final Asteroid first = new Asteroid(0, 0, 0, 0, thisGame);
+		final Particle particle = new Particle(0, 0, 0, 0, thisGame);
+		final Asteroid second = new Asteroid(0, 0, 0, 0, thisGame);
+		final Player player = new Player();
+		entities.add(first);
+		entities.add(particle);
+		entities.add(second);
+		entities.add(player);
+		groups.commit(entities, destroy, create);
+		assertSame(player, entities.get(0));
+		assertSame(first, entities.get(1));
+		assertSame(second, entities.get(2));
+		assertSame(particle, entities.get(3));
+		assertEquals(2, groups.getCount(EntityTypes.ASTEROID));
+	}
+
+	@Test
+	public final void testCreatedGoAfterTheirType() {
+		final Asteroid asteroid = new Asteroid(0, 0, 0, 0, thisGame);
+		final Particle particle = new Particle(0, 0, 0, 0, thisGame);
+		entities.add(asteroid);
+		entities.add(particle);
+		groups.commit(entities, destroy, create);
+		final Particle newParticle = new Particle(0, 0, 0, 0, thisGame);
+		final Asteroid newAsteroid = new Asteroid(0, 0, 0, 0, thisGame);
+		final Player player = new Player();
+		create.add(newParticle);
+		create.add(newAsteroid);
+		create.add(player);
+		groups.commit(entities, destroy, create);
+		assertEquals(5, entities.size());
+		assertSame(player, entities.get(0));
+		assertSame(asteroid, entities.get(1));
+		assertSame(newAsteroid, entities.get(2));
+		assertSame(particle, entities.get(3));
+		assertSame(newParticle, entities.get(4));
+	}
+
+	@Test
+	public final void testDestroyedAreTakenOut() {
+		final Asteroid first = new Asteroid(0, 0, 0, 0, thisGame);
+		final Asteroid second = new Asteroid(0, 0, 0, 0, thisGame);
+		final Particle particle = new Particle(0, 0, 0, 0, thisGame);
+		entities.add(first);
+		entities.add(second);
+		entities.add(particle);
+		destroy.add(first);
+		destroy.add(first);
+		final Asteroid third = new Asteroid(0, 0, 0, 0, thisGame);
+		create.add(third);
+		groups.commit(entities, destroy, create);
+		assertEquals(3, entities.size());
+		assertSame(second, entities.get(0));
+		assertSame(third, entities.get(1));
+		assertSame(particle, entities.get(2));
+		assertEquals(2, groups.getCount(EntityTypes.ASTEROID));
+	}
+
+	@Test
+	public final void testChangedListIsGroupedAgain() {
+		entities.add(new Particle(0, 0, 0, 0, thisGame));
+		groups.commit(entities, destroy, create);
+		final Asteroid asteroid = new Asteroid(0, 0, 0, 0, thisGame);
+		entities.add(asteroid);
+		groups.commit(entities, destroy, create);
+		assertSame(asteroid, entities.get(0));
+		entities.set(0, new Particle(0, 0, 0, 0, thisGame));
+		entities.set(1, asteroid);
+		groups.invalidate();
+		groups.commit(entities, destroy, create);
+		assertSame(asteroid, entities.get(0));
+	}
+
+	@Test
+	public final void testSameOrderAsSortingEveryTick() {
+		final Random random = new Random(SEED);
+		final List<AbstractEntity> sorted = new ArrayList<>();
+		for (int tick = 0; tick < 200; tick++) {
+			for (final AbstractEntity e : entities) {
+				if (random.nextInt(5) == 0) {
+					destroy.add(e);
+				}
+			}
+			final int created = random.nextInt(6);
+			for (int j = 0; j < created; j++) {
+				create.add(random(random));
+			}
+			sorted.removeAll(destroy);
+			sorted.addAll(create);
+			sorted.sort(EntityTypes.ORDER);
+			groups.commit(entities, destroy, create);
+			destroy.clear();
+			create.clear();
+			assertEquals(sorted, entities);
+		}
+	}
+
+	private AbstractEntity random(final Random random) {
+		switch (random.nextInt(4)) {
+			case 0:
+				return new Asteroid(0, 0, 0, 0, thisGame);
+			case 1:
+				return new Particle(0, 0, 0, 0, thisGame);
+			case 2:
+				return new Powerup(0, 0, thisGame);
+			default:
+				return new Bullet();
+		}
+	}
+}
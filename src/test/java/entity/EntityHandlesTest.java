@@ -0,0 +1,90 @@
+package entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import entity.builders.BulletBuilder;
+import entity.builders.PlayerBuilder;
+import game.Game;
+import game.TickPipeline;
+
+/**
+ * Tests for EntityHandles.
+ */
+public class EntityHandlesTest {
+	private Game thisGame;
+	private EntityHandles handles;
+	private Asteroid asteroid;
+
+	@Before
+	public final void setUp() {
+		thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		handles = new EntityHandles();
+		asteroid = new Asteroid(0, 0, 0, 0, thisGame);
+	}
+
+	@Test
+	public final void testHandleOf() {
+		final int handle = handles.handleOf(asteroid);
+		assertNotEquals(EntityHandles.NONE, handle);
+		assertEquals(handle, handles.handleOf(asteroid));
+		assertSame(asteroid, handles.get(handle));
+		assertEquals(1, handles.size());
+	}
+
+	@Test
+	public final void testNone() {
+		assertNull(handles.get(EntityHandles.NONE));
+	}
+
+	@Test
+	public final void testReleaseAndReuse() {
+		final int old = handles.handleOf(asteroid);
+		handles.release(asteroid);
+		assertNull(handles.get(old));
+		assertEquals(0, handles.size());
+		final Asteroid other = new Asteroid(0, 0, 0, 0, thisGame);
+		final int reused = handles.handleOf(other);
+		assertNotEquals(old, reused);
+		assertNull(handles.get(old));
+		assertSame(other, handles.get(reused));
+	}
+
+	@Test
+	public final void testReleaseTwice() {
+		handles.handleOf(asteroid);
+		final Asteroid other = new Asteroid(0, 0, 0, 0, thisGame);
+		handles.release(asteroid);
+		final int handle = handles.handleOf(other);
+		handles.release(asteroid);
+		assertSame(other, handles.get(handle));
+	}
+
+	@Test
+	public final void testShooterDestroyed() {
+		final PlayerBuilder pBuilder = new PlayerBuilder();
+		pBuilder.setThisGame(thisGame);
+		final Player p = (Player) pBuilder.getResult();
+		final BulletBuilder bBuilder = new BulletBuilder();
+		bBuilder.setThisGame(thisGame);
+		bBuilder.setShooter(p);
+		final Bullet b = (Bullet) bBuilder.getResult();
+		assertSame(p, b.getShooter());
+		final ArrayList<AbstractEntity> entities = new ArrayList<>();
+		entities.add(p);
+		entities.add(b);
+		thisGame.setEntities(entities);
+		thisGame.destroy(p);
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.updateGame(new ArrayList<>());
+		assertNull(b.getShooter());
+	}
+}
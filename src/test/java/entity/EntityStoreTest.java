@@ -0,0 +1,207 @@
+package entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import game.Game;
+
+/**
+ * Tests for EntityStore.
+ */
+public class EntityStoreTest {
+	private Game thisGame;
+	private EntityStore store;
+	private Asteroid first;
+	private Asteroid second;
+	private List<AbstractEntity> entities;
+
+	@Before
+	public final void setUp() {
+		thisGame = new Game();
+		store = new EntityStore();
+		first = new Asteroid(1, 2, 3, 4, thisGame);
+		second = new Asteroid(5, 6, 7, 8, thisGame);
+		entities = new ArrayList<>();
+		entities.add(first);
+		entities.add(second);
+	}
+
+	@Test
+	public final void testSync() {
+		store.sync(entities);
+		assertEquals(2, store.getSize());
+		assertTrue(first.isAttached());
+		assertEquals(0, first.getSlot());
+		assertEquals(5, store.getX()[1], 0);
+		assertEquals(8, store.getDY()[1], 0);
+		assertEquals(first.getRadius(), store.getRadius()[0], 0);
+		assertTrue(store.holds(entities));
+	}
+
+	@Test
+	public final void testWriteThrough() {
+		store.sync(entities);
+		second.setX(10);
+		second.setDX(11);
+		assertEquals(10, store.getX()[1], 0);
+		store.getY()[1] = 12;
+		assertEquals(12, second.getY(), 0);
+		assertEquals(11, second.getDX(), 0);
+	}
+
+	@Test
+	public final void testDetach() {
+		store.sync(entities);
+		second.setX(10);
+		entities.remove(first);
+		assertFalse(store.holds(entities));
+		store.sync(entities);
+		assertFalse(first.isAttached());
+		assertEquals(1, first.getX(), 0);
+		assertEquals(0, second.getSlot());
+		assertEquals(10, second.getX(), 0);
+		assertEquals(10, store.getX()[0], 0);
+	}
+
+	@Test
+	public final void testCommit() {
+		final Particle third = new Particle(9, 9, 0, 0, thisGame);
+		entities.add(third);
+		store.sync(entities);
+		second.setX(10);
+		final Particle created = new Particle(20, 21, 0, 0, thisGame);
+		final Particle last = new Particle(30, 31, 0, 0, thisGame);
+		entities.remove(first);
+		entities.add(1, created);
+		entities.add(last);
+		store.commit(entities, Arrays.asList(first));
+		assertTrue(store.holds(entities));
+		assertFalse(first.isAttached());
+		assertEquals(1, first.getX(), 0);
+		for (int i = 0; i < entities.size(); i++) {
+			assertEquals(i, entities.get(i).getSlot());
+		}
+		assertEquals(10, store.getX()[0], 0);
+		assertEquals(20, store.getX()[1], 0);
+		assertEquals(9, store.getX()[2], 0);
+		assertEquals(31, store.getY()[3], 0);
+		assertEquals(EntityTypes.PARTICLE, store.getType()[2]);
+	}
+
+	@Test
+	public final void testCommitMovesBack() {
+		store.sync(entities);
+		second.setX(10);
+		entities.add(0, new Particle(20, 21, 0, 0, thisGame));
+		entities.add(2, new Particle(30, 31, 0, 0, thisGame));
+		store.commit(entities, new ArrayList<>());
+		assertTrue(store.holds(entities));
+		assertEquals(20, store.getX()[0], 0);
+		assertEquals(1, first.getX(), 0);
+		assertEquals(30, store.getX()[2], 0);
+		assertEquals(10, second.getX(), 0);
+		assertEquals(3, second.getSlot());
+	}
+
+	@Test
+	public final void testCommitOtherOrder() {
+		store.sync(entities);
+		entities.remove(first);
+		entities.add(first);
+		store.commit(entities, new ArrayList<>());
+		assertTrue(store.holds(entities));
+		assertEquals(1, first.getX(), 0);
+		assertEquals(5, second.getX(), 0);
+	}
+
+	@Test
+	public final void testGrow() {
+		for (int i = 0; i < 100; i++) {
+			entities.add(new Particle(i, i, 0, 0, thisGame));
+		}
+		store.sync(entities);
+		assertEquals(102, store.getSize());
+		assertEquals(5, second.getX(), 0);
+		assertEquals(99, entities.get(101).getX(), 0);
+	}
+
+	@Test
+	public final void testGameSetEntities() {
+		thisGame.setEntities(entities);
+		assertTrue(thisGame.getEntityStore().holds(entities));
+		thisGame.setEntities(new ArrayList<>());
+		assertFalse(first.isAttached());
+		assertEquals(3, first.getDX(), 0);
+	}
+
+	@Test
+	public final void testIntegrate() {
+		store.sync(entities);
+		store.integrate(Game.getCanvasSize(), Game.getCanvasSize());
+		assertEquals(4, first.getX(), 0);
+		assertEquals(6, first.getY(), 0);
+		assertEquals(12, second.getX(), 0);
+	}
+
+	@Test
+	public final void testIntegrateWrap() {
+		first.setX(498);
+		first.setY(1);
+		first.setDY(-3);
+		store.sync(entities);
+		store.integrate(Game.getCanvasSize(), Game.getCanvasSize());
+		assertEquals(1, first.getX(), 0);
+		assertEquals(498, first.getY(), 0);
+	}
+
+	@Test
+	public final void testIntegrateFlags() {
+		final Saucer saucer = new Saucer(498, 10, 0, 0, thisGame);
+		saucer.setDX(3);
+		saucer.setDY(0);
+		final Bullet bullet = new Bullet();
+		bullet.setDX(1);
+		entities.add(saucer);
+		entities.add(bullet);
+		store.sync(entities);
+		store.integrate(Game.getCanvasSize(), Game.getCanvasSize());
+		assertEquals(501, saucer.getX(), 0);
+		assertEquals(0, bullet.getX(), 0);
+		bullet.setShot(true);
+		store.integrate(Game.getCanvasSize(), Game.getCanvasSize());
+		assertEquals(1, bullet.getX(), 0);
+	}
+
+	@Test
+	public final void testAttachedUpdateDoesNotMove() {
+		store.sync(entities);
+		first.update(new ArrayList<>());
+		assertEquals(1, first.getX(), 0);
+	}
+
+	@Test
+	public final void testWrap() {
+		assertEquals(499, AbstractEntity.wrap(-1, 500), 0);
+		assertEquals(1, AbstractEntity.wrap(501, 500), 0);
+		assertEquals(250, AbstractEntity.wrap(250, 500), 0);
+	}
+
+	@Test
+	public final void testWrapJustBelowZero() {
+		final float size = 1000;
+		assertEquals(0, AbstractEntity.wrap(-1e-6f, size), 0);
+		first.setX(-1e-6f);
+		first.setDX(0);
+		store.sync(entities);
+		store.integrate(size, size);
+		assertEquals(0, first.getX(), 0);
+	}
+}
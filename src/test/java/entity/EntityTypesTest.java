@@ -0,0 +1,71 @@
+package entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import game.Game;
+
+/**
+ * Tests for EntityTypes.
+ */
+public class EntityTypesTest {
+	private Game thisGame;
+
+	@Before
+	public final void setUp() {
+		thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+	}
+
+	@Test
+	public final void testOf() {
+		assertEquals(EntityTypes.ASTEROID, EntityTypes.of(new Asteroid(0, 0, 0, 0, thisGame)));
+		assertEquals(EntityTypes.BULLET, EntityTypes.of(new Bullet()));
+		assertEquals(EntityTypes.PLAYER, EntityTypes.of(new Player()));
+		assertEquals(EntityTypes.DOUBLE_BOSS, EntityTypes.of(new DoubleBoss(0, 0, 0, 0, thisGame)));
+		assertEquals(EntityTypes.BASIC_BOSS, EntityTypes.of(new BasicBoss(0, 0, 0, 0, thisGame)));
+		assertEquals(EntityTypes.TELE_BOSS, EntityTypes.of(new TeleBoss(0, 0, 0, 0, thisGame)));
+	}
+
+	@Test
+	public final void testOrderIsStable() {
+		final List<AbstractEntity> entities = new ArrayList<>();
+		final Asteroid first = new Asteroid(0, 0, 0, 0, thisGame);
+		final Asteroid second = new Asteroid(0, 0, 0, 0, thisGame);
+		final Particle particle = new Particle(0, 0, 0, 0, thisGame);
+		final Player player = new Player();
+		entities.add(first);
+		entities.add(particle);
+		entities.add(second);
+		entities.add(player);
+		entities.sort(EntityTypes.ORDER);
+		assertSame(player, entities.get(0));
+		assertSame(first, entities.get(1));
+		assertSame(second, entities.get(2));
+		assertSame(particle, entities.get(3));
+	}
+
+	@Test
+	public final void testUpdate() {
+		final Asteroid asteroid = new Asteroid(1, 2, 3, 4, thisGame);
+		EntityTypes.update(EntityTypes.ASTEROID, asteroid, new ArrayList<>());
+		assertEquals(4, asteroid.getX(), 0);
+		assertEquals(6, asteroid.getY(), 0);
+	}
+
+	@Test
+	public final void testStoreType() {
+		final List<AbstractEntity> entities = new ArrayList<>();
+		entities.add(new Particle(0, 0, 0, 0, thisGame));
+		entities.add(new Saucer(0, 0, 0, 0, thisGame));
+		thisGame.setEntities(entities);
+		assertEquals(EntityTypes.PARTICLE, thisGame.getEntityStore().getType()[0]);
+		assertEquals(EntityTypes.SAUCER, thisGame.getEntityStore().getType()[1]);
+	}
+}
@@ -144,7 +144,7 @@ public class PowerupTest {
 	@Test
 	public void testUpdate1() {
 		powerup.setStartTime(0);
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertTrue(thisGame.getDestroyList().contains(powerup));
 	}
 	
@@ -157,14 +157,14 @@ public class PowerupTest {
 	@Test
 	public void testUpdate3() {
 		powerup.setPickupTime(1);
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertTrue(thisGame.getDestroyList().contains(powerup));
 	}
 	
 	@Test
 	public void testUpdate4() {
 		powerup.setPickupTime(System.currentTimeMillis());
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertFalse(thisGame.getDestroyList().contains(powerup));
 	}
 	
@@ -175,7 +175,7 @@ public class PowerupTest {
 		powerup.setPlayer(p);
 		powerup.setType(2);
 		powerup.setPickupTime(1);
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertEquals(PlayerCannon.getBulletSize(), p.getShooter().getCurrentBulletSize(), 0);
 	}
 	
@@ -186,7 +186,7 @@ public class PowerupTest {
 		powerup.setPlayer(p);
 		powerup.setType(3);
 		powerup.setPickupTime(1);
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertFalse(p.getShooter().isTripleShot());
 	}
 	
@@ -197,7 +197,7 @@ public class PowerupTest {
 		powerup.setPlayer(p);
 		powerup.setType(4);
 		powerup.setPickupTime(1);
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertEquals(1, p.getShooter().getPiercing(), 0);
 	}
 	
@@ -208,7 +208,7 @@ public class PowerupTest {
 		powerup.setPlayer(p);
 		powerup.setType(5);
 		powerup.setPickupTime(1);
-		powerup.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertEquals(PlayerCannon.getFireRate(), p.getShooter().getCurrentFireRate(), 0);
 	}
 }
@@ -101,7 +101,7 @@ public class SaucerTest {
 	@Test
 	public final void testChangeDirection(){
 		saucer.setDirChangeTime(0);
-		saucer.update(null);
+		thisGame.getTimers().advance(thisGame.getTime());
 		assertEquals(System.currentTimeMillis(), saucer.getDirChangeTime(), 0);
 	}
 	
@@ -52,7 +52,7 @@ public class SaucerCannonTest {
 		thisGame.setPlayer(p);
 		thisGame.getScorecounter().setScore(120000);
 		saucer.setRadius(Saucer.getSmallRadius());
-		saucer.getShooter().setLastShot(0);
+		saucer.setLastShot(0);
 		saucer.update(null);
 		final Bullet b = (Bullet) thisGame.getCreateList().get(0);
 		assertEquals(4, b.getDX(), 0.1);
@@ -67,7 +67,7 @@ public class SaucerCannonTest {
 		thisGame.setPlayer(p);
 		thisGame.getScorecounter().setScore(50000);
 		saucer.setRadius(Saucer.getSmallRadius());
-		saucer.getShooter().setLastShot(0);
+		saucer.setLastShot(0);
 		saucer.update(null);
 		final Bullet b = (Bullet) thisGame.getCreateList().get(0);
 		assertEquals(4, b.getDX(), 4);
@@ -79,7 +79,7 @@ public class SaucerCannonTest {
 		final Player p = (Player) pBuilder.getResult();
 		thisGame.setPlayer(p);
 		saucer.update(null);
-		assertEquals(System.currentTimeMillis(), saucer.getShooter().getLastShot(), 0);
+		assertEquals(System.currentTimeMillis(), saucer.getLastShot(), 0);
 	}
 	
 	@Test
@@ -87,7 +87,7 @@ public class SaucerCannonTest {
 		final Player p = (Player) pBuilder.getResult();
 		p.setInvincibleStart(0);
 		thisGame.setPlayer(p);
-		saucer.getShooter().setLastShot(0);
+		saucer.setLastShot(0);
 		saucer.update(null);
 		assertEquals(1, thisGame.getCreateList().size(), 0);
 		final AbstractEntity b = thisGame.getCreateList().get(0);
@@ -110,7 +110,7 @@ public class SaucerCannonTest {
 		p.setInvincibleStart(0);
 		thisGame.setPlayer(p);
 		saucer.setRadius(Saucer.getSmallRadius());
-		saucer.getShooter().setLastShot(0);
+		saucer.setLastShot(0);
 		saucer.update(null);
 		assertEquals(1, thisGame.getCreateList().size(), 0);
 		final AbstractEntity b = thisGame.getCreateList().get(0);
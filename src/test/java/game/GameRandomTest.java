@@ -0,0 +1,110 @@
+package game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import entity.AbstractEntity;
+
+/**
+ * Tests for GameRandom.
+ */
+public class GameRandomTest {
+	private static final long SEED = 42;
+
+	@Test
+	public final void testSameSeed() {
+		final GameRandom first = new GameRandom(SEED);
+		final GameRandom second = new GameRandom(SEED);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(first.nextLong(), second.nextLong());
+		}
+	}
+
+	@Test
+	public final void testMatchesSplittableRandom() {
+		final GameRandom random = new GameRandom(SEED);
+		final SplittableRandom expected = new SplittableRandom(SEED);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(expected.nextLong(), random.nextLong());
+			assertEquals(expected.nextInt(7), random.nextInt(7));
+			assertEquals(expected.nextInt(64), random.nextInt(64));
+			assertEquals(expected.nextDouble(), random.nextDouble(), 0);
+		}
+		assertEquals(expected.split().nextLong(), random.split().nextLong());
+	}
+
+	@Test
+	public final void testSaveLoad() {
+		final GameRandom random = new GameRandom(SEED);
+		random.nextLong();
+		final ByteBuffer buffer = ByteBuffer.allocate(16);
+		random.save(buffer);
+		buffer.flip();
+		final GameRandom restored = new GameRandom(0);
+		restored.load(buffer);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(random.nextLong(), restored.nextLong());
+		}
+	}
+
+	@Test
+	public final void testRanges() {
+		final GameRandom random = new GameRandom(SEED);
+		for (int i = 0; i < 1000; i++) {
+			final float f = random.nextFloat();
+			assertTrue(f >= 0 && f < 1);
+			final double d = random.nextDouble();
+			assertTrue(d >= 0 && d < 1);
+			final int n = random.nextInt(3);
+			assertTrue(n >= 0 && n < 3);
+		}
+	}
+
+	@Test
+	public final void testSplitIsIndependent() {
+		final GameRandom first = new GameRandom(SEED);
+		final GameRandom firstSplit = first.split();
+		final GameRandom second = new GameRandom(SEED);
+		final GameRandom secondSplit = second.split();
+		for (int i = 0; i < 10; i++) {
+			first.nextLong();
+		}
+		assertEquals(secondSplit.nextLong(), firstSplit.nextLong());
+		assertNotEquals(first.nextLong(), firstSplit.nextLong());
+	}
+
+	@Test
+	public final void testGameIsReproducible() {
+		assertEquals(firstWave(SEED), firstWave(SEED));
+		assertNotEquals(firstWave(SEED), firstWave(SEED + 1));
+	}
+
+	/**
+	 * Spawn the first wave of an arcade game.
+	 *
+	 * @param seed the seed of the game
+	 * @return the positions and speeds of the spawned entities
+	 */
+	private static List<Float> firstWave(final long seed) {
+		final Game thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		thisGame.setSeed(seed);
+		thisGame.getSpawner().updateArcade();
+		final List<Float> state = new ArrayList<>();
+		for (final AbstractEntity e : thisGame.getCreateList()) {
+			state.add(e.getX());
+			state.add(e.getY());
+			state.add(e.getDX());
+			state.add(e.getDY());
+		}
+		return state;
+	}
+}
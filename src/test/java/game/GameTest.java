@@ -4,6 +4,7 @@ import display.DisplayText;
 import entity.AbstractEntity;
 import entity.Asteroid;
 import entity.Bullet;
+import entity.EntityHandles;
 import entity.Player;
 import entity.Saucer;
 import entity.builders.BulletBuilder;
@@ -147,8 +148,7 @@ public class GameTest {
 	public final void testCollision1(){
 		final Asteroid e1 = new Asteroid(0, 0, 1, 0, thisGame);
 		final Bullet e2 = (Bullet) bBuilder.getResult();
-		addToEntities(e2);
-		thisGame.checkCollision(e1);
+		resolveCollisions(e1, e2);
 		assertEquals(2, thisGame.getDestroyList().size(), 0);
 	}
 	
@@ -157,8 +157,7 @@ public class GameTest {
 		final Asteroid e1 = new Asteroid(0, 0, 1, 0, thisGame);
 		final Bullet e2 = (Bullet) bBuilder.getResult();
 		thisGame.destroy(e2);
-		addToEntities(e2);
-		thisGame.checkCollision(e1);
+		resolveCollisions(e1, e2);
 		assertEquals(1, thisGame.getDestroyList().size(), 0);
 	}
 	
@@ -167,8 +166,7 @@ public class GameTest {
 		final Asteroid e1 = new Asteroid(0, 0, 1, 0, thisGame);
 		final Bullet e2 = (Bullet) bBuilder.getResult();
 		thisGame.destroy(e1);
-		addToEntities(e2);
-		thisGame.checkCollision(e1);
+		resolveCollisions(e1, e2);
 		assertEquals(1, thisGame.getDestroyList().size(), 0);
 	}
 	
@@ -177,11 +175,28 @@ public class GameTest {
 		final Asteroid e1 = new Asteroid(0, 0, 1, 0, thisGame);
 		bBuilder.setY(100);
 		final Bullet e2 = (Bullet) bBuilder.getResult();
-		addToEntities(e2);
-		thisGame.checkCollision(e1);
+		resolveCollisions(e1, e2);
 		assertEquals(0, thisGame.getDestroyList().size(), 0);
 	}
 
+	/**
+	 * Run a tick that only finds and resolves the collisions of two entities.
+	 *
+	 * @param e1 the first entity
+	 * @param e2 the second entity
+	 */
+	private void resolveCollisions(final AbstractEntity e1, final AbstractEntity e2) {
+		final List<AbstractEntity> entities = new ArrayList<>();
+		entities.add(e1);
+		entities.add(e2);
+		thisGame.setEntities(entities);
+		thisGame.getPipeline().setSkipped(TickPipeline.SIMULATE, true);
+		thisGame.getPipeline().setSkipped(TickPipeline.SPAWN, true);
+		thisGame.getPipeline().setSkipped(TickPipeline.COMMIT, true);
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.updateGame(noInput);
+	}
+
 	private void addToEntities(final AbstractEntity a) {
 		final List<AbstractEntity> entities = thisGame.getEntities();
 		entities.add(a);
@@ -383,6 +398,19 @@ public class GameTest {
 		assertEquals(0, thisGame.bullets(p1), 0);
 	}
 	
+	@Test
+	public final void testBulletsOfPlayerWithoutHandle(){
+		final Player p1 = (Player) pBuilder.getResult();
+		p1.setLives(0);
+		thisGame.setPlayer(p1);
+		final Bullet b = (Bullet) bBuilder.getResult();
+		b.setShooter(p1);
+		addToEntities(b);
+		thisGame.getEntityHandles().release(p1);
+		assertEquals(0, thisGame.bullets(p1), 0);
+		assertEquals(EntityHandles.NONE, p1.getId());
+	}
+	
 	@Test
 	public final void testEnemies(){
 		final Bullet b = (Bullet) bBuilder.getResult();
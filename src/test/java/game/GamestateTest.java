@@ -4,7 +4,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import display.DisplayText;
+import game.highscore.HighscoreWriter;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -145,6 +148,19 @@ public class GamestateTest {
 		assertEquals("none", actual);
 	}
 	
+	@Test
+	public final void testGhostToggledOncePerPress() {
+		final boolean enabled = thisGame.getGhost().isEnabled();
+		input.add("G");
+		gamestate.startScreen(input);
+		gamestate.startScreen(input);
+		gamestate.startScreen(input);
+		assertEquals(!enabled, thisGame.getGhost().isEnabled());
+		gamestate.setScreenSwitchTime(0);
+		gamestate.startScreen(input);
+		assertEquals(enabled, thisGame.getGhost().isEnabled());
+	}
+	
 	@Test
 	public final void testGame1() {
 		gamestate.setState(gamestate.getOngoingGameState());
@@ -277,4 +293,116 @@ public class GamestateTest {
 		gamestate.setCurrentMode(Gamestate.SURVIVALMODE);
 		assertFalse(gamestate.isArcade());
 	}
+
+	@Test
+	public final void testKillCamAfterDeath() {
+		final long[] time = {1000};
+		startWithRewind(time);
+		thisGame.getPlayer().onHit();
+		time[0] += 16;
+		thisGame.updateGame(input);
+		assertEquals(gamestate.getKillCamState(), gamestate.getState());
+		assertTrue(thisGame.isHeld());
+		gamestate.update(input);
+		assertTrue(Launcher.getRoot().getChildren().size() > 0);
+		input.add("ENTER");
+		gamestate.setScreenSwitchTime(0);
+		gamestate.update(input);
+		assertEquals(gamestate.getOngoingGameState(), gamestate.getState());
+		assertFalse(thisGame.isHeld());
+	}
+
+	@Test
+	public final void testKillCamHoldsTime() {
+		final long[] time = {1000};
+		startWithRewind(time);
+		thisGame.getPlayer().onHit();
+		time[0] += 16;
+		thisGame.updateGame(input);
+		final long held = thisGame.getTime();
+		time[0] += 5000;
+		assertEquals(held, thisGame.getTime());
+		gamestate.getKillCamState().finish();
+		time[0] += 16;
+		assertEquals(held + 16, thisGame.getTime());
+	}
+
+	@Test
+	public final void testKillCamScrubs() {
+		final long[] time = {1000};
+		startWithRewind(time);
+		for (int i = 0; i < 100; i++) {
+			time[0] += 16;
+			thisGame.updateGame(input);
+		}
+		thisGame.getPlayer().onHit();
+		time[0] += 16;
+		thisGame.updateGame(input);
+		final long end = thisGame.getTimers().getNow();
+		input.add("RIGHT");
+		for (int i = 0; i < 100; i++) {
+			gamestate.update(input);
+		}
+		assertEquals(end, gamestate.getKillCamState().getPosition());
+		input.clear();
+		input.add("LEFT");
+		gamestate.update(input);
+		assertTrue(gamestate.getKillCamState().getPosition() < end);
+	}
+
+	@Test
+	public final void testNoKillCamWithoutRewind() {
+		final long[] time = {1000};
+		startWithRewind(time);
+		thisGame.getRewind().setEnabled(false);
+		thisGame.getPlayer().onHit();
+		time[0] += 16;
+		thisGame.updateGame(input);
+		assertEquals(gamestate.getOngoingGameState(), gamestate.getState());
+	}
+
+	@Test
+	public final void testIsPlaying() {
+		gamestate.setState(gamestate.getOngoingGameState());
+		assertTrue(gamestate.isPlaying());
+		gamestate.setState(gamestate.getPauseScreenState());
+		assertTrue(gamestate.isPlaying());
+		gamestate.setState(gamestate.getStartScreenState());
+		assertFalse(gamestate.isPlaying());
+	}
+
+	@Test
+	public final void testPauseSaveAndQuit() throws IOException {
+		final File file = File.createTempFile("session", ".snapshot");
+		assertTrue(file.delete());
+		thisGame.getSession().setFile(file);
+		thisGame.startGame();
+		gamestate.setState(gamestate.getPauseScreenState());
+		input.add("ESCAPE");
+		gamestate.update(input);
+		assertEquals(gamestate.getStartScreenState(), gamestate.getState());
+		assertTrue(thisGame.getSession().hasSave());
+
+		input.clear();
+		input.add("ENTER");
+		gamestate.update(input);
+		assertEquals(gamestate.getOngoingGameState(), gamestate.getState());
+		assertEquals(Gamestate.ARCADEMODE, gamestate.getCurrentMode());
+		HighscoreWriter.getInstance().flush();
+		assertFalse(file.exists());
+	}
+
+	/**
+	 * Start an arcade game that keeps snapshots for the kill cam.
+	 *
+	 * @param time the clock of the game
+	 */
+	private void startWithRewind(final long[] time) {
+		thisGame.setClock(() -> time[0]);
+		thisGame.getRewind().setEnabled(true);
+		gamestate.setState(gamestate.getOngoingGameState());
+		thisGame.startGame();
+		time[0] += 16;
+		thisGame.updateGame(input);
+	}
 }
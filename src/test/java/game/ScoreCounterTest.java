@@ -38,6 +38,18 @@ public class ScoreCounterTest {
 		assertEquals(sc.getHighscore(), 100);
 	}
 	
+	@Test
+	public void testStartGameAddsEveryScoreToLeaderboard() {
+		sc.setHighscore("best", 100);
+		sc.setScore(50);
+		sc.startGame("other");
+		final String[][] best = sc.leaderboardToStrings(Gamestate.ARCADEMODE, 5);
+		assertArrayEquals(new String[] {"1", "2"}, best[0]);
+		assertArrayEquals(new String[] {"100", "50"}, best[1]);
+		assertArrayEquals(new String[] {"best", "other"}, best[2]);
+		assertEquals(100, sc.getHighscore());
+	}
+	
 	@Test
 	public void testIsHighscore() {
 		sc.setScore(50);
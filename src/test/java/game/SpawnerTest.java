@@ -1,12 +1,16 @@
 package game;
 
+import entity.AbstractEntity;
+import entity.Asteroid;
 import entity.Saucer;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -75,4 +79,42 @@ public class SpawnerTest {
 		spawner.reset();
 		assertEquals(0, spawner.getWave(), 0);
 	}
+
+	@Test
+	public final void testRestWaitsForLastEnemy() {
+		final long[] time = {100000};
+		thisGame.setClock(() -> time[0]);
+		spawner.reset();
+		final List<AbstractEntity> entities = new ArrayList<>();
+		entities.add(new Asteroid(0, 0, 0, 0, thisGame));
+		thisGame.setEntities(entities);
+		spawner.setWave(1);
+		spawner.updateArcade();
+		assertEquals(0, thisGame.getCreateList().size());
+
+		time[0] += 10000;
+		thisGame.setEntities(new ArrayList<>());
+		spawner.updateArcade();
+		assertEquals(0, thisGame.getCreateList().size());
+
+		time[0] += 4001;
+		spawner.updateArcade();
+		assertEquals(6, thisGame.getCreateList().size());
+		assertEquals(2, spawner.getWave());
+	}
+
+	@Test
+	public final void testBossAfterRest() {
+		final long[] time = {100000};
+		thisGame.setClock(() -> time[0]);
+		spawner.reset();
+		spawner.updateBoss();
+		assertEquals(0, spawner.getWave());
+		assertTrue(thisGame.getCreateList().size() > 0);
+		thisGame.setCreateList(new ArrayList<>());
+
+		time[0] += 1;
+		spawner.updateBoss();
+		assertEquals(0, thisGame.getCreateList().size());
+	}
 }
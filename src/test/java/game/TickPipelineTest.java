@@ -0,0 +1,109 @@
+package game;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for TickPipeline.
+ */
+public class TickPipelineTest {
+	private TickPipeline pipeline;
+	private List<String> calls;
+
+	@Before
+	public final void setUp() {
+		pipeline = new TickPipeline();
+		calls = new ArrayList<>();
+		for (int stage = 0; stage < TickPipeline.STAGES; stage++) {
+			final String name = TickPipeline.getName(stage);
+			pipeline.setStage(stage, () -> calls.add(name));
+		}
+	}
+
+	@Test
+	public final void testOrder() {
+		pipeline.run(new ArrayList<>());
+		assertEquals(Arrays.asList("input", "simulate", "broadphase", "resolve", "spawn", "commit", "render"),
+				calls);
+	}
+
+	@Test
+	public final void testHooks() {
+		pipeline.addBefore(TickPipeline.RESOLVE, () -> calls.add("before"));
+		pipeline.addAfter(TickPipeline.RESOLVE, () -> calls.add("after"));
+		pipeline.run(new ArrayList<>());
+		assertEquals(Arrays.asList("broadphase", "before", "resolve", "after", "spawn"), calls.subList(2, 7));
+	}
+
+	@Test
+	public final void testRemoveHook() {
+		final Runnable hook = () -> calls.add("hook");
+		pipeline.addBefore(TickPipeline.SPAWN, hook);
+		pipeline.removeHook(TickPipeline.SPAWN, hook);
+		pipeline.run(new ArrayList<>());
+		assertEquals(TickPipeline.STAGES, calls.size());
+	}
+
+	@Test
+	public final void testSkip() {
+		pipeline.addBefore(TickPipeline.RENDER, () -> calls.add("before"));
+		pipeline.setSkipped(TickPipeline.RENDER, true);
+		pipeline.run(new ArrayList<>());
+		assertTrue(pipeline.isSkipped(TickPipeline.RENDER));
+		assertEquals(TickPipeline.STAGES - 1, calls.size());
+		assertEquals(0, pipeline.getNanos(TickPipeline.RENDER));
+	}
+
+	@Test
+	public final void testInputHook() {
+		final List<String> replaced = new ArrayList<>();
+		pipeline.addAfter(TickPipeline.INPUT, () -> pipeline.setInput(replaced));
+		pipeline.run(Arrays.asList("SPACE"));
+		assertEquals(replaced, pipeline.getInput());
+	}
+
+	@Test
+	public final void testGameWithoutRender() {
+		final Game thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		final List<AbstractEntity> entities = new ArrayList<>();
+		entities.add(new Asteroid(1, 1, 1, 1, thisGame));
+		thisGame.setEntities(entities);
+		Launcher.getRoot().getChildren().clear();
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.updateGame(new ArrayList<>());
+		assertEquals(0, Launcher.getRoot().getChildren().size());
+		assertEquals(2, entities.get(0).getX(), 0);
+		assertTrue(thisGame.getPipeline().getNanos(TickPipeline.SIMULATE) > 0);
+	}
+
+	@Test
+	public final void testResolveWithoutBroadphase() {
+		final Game thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.getPipeline().setSkipped(TickPipeline.SPAWN, true);
+		final List<AbstractEntity> entities = new ArrayList<>();
+		entities.add(new Asteroid(100, 100, 0, 0, Asteroid.getSmallRadius(), thisGame));
+		entities.add(new Asteroid(100, 100, 0, 0, Asteroid.getSmallRadius(), thisGame));
+		thisGame.setEntities(entities);
+		thisGame.getPipeline().setSkipped(TickPipeline.RESOLVE, true);
+		thisGame.updateGame(new ArrayList<>());
+		// the pairs found point at the second asteroid, which is gone now
+		entities.remove(1);
+		thisGame.setEntities(entities);
+		thisGame.getPipeline().setSkipped(TickPipeline.RESOLVE, false);
+		thisGame.getPipeline().setSkipped(TickPipeline.BROADPHASE, true);
+		thisGame.updateGame(new ArrayList<>());
+		assertEquals(1, thisGame.getEntities().size());
+	}
+}
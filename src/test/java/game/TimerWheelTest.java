@@ -0,0 +1,204 @@
+package game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for TimerWheel.
+ */
+public class TimerWheelTest {
+	private static final long START = 1000;
+	private TimerWheel wheel;
+	private List<Integer> fired;
+
+	@Before
+	public final void setUp() {
+		wheel = new TimerWheel(START);
+		fired = new ArrayList<>();
+	}
+
+	@Test
+	public final void testFiresAtDeadline() {
+		wheel.schedule(START + 10, () -> fired.add(1));
+		wheel.advance(START + 9);
+		assertTrue(fired.isEmpty());
+		wheel.advance(START + 10);
+		assertEquals(1, fired.size());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public final void testOrder() {
+		wheel.schedule(START + 30, () -> fired.add(3));
+		wheel.schedule(START + 20, () -> fired.add(1));
+		wheel.schedule(START + 20, () -> fired.add(2));
+		wheel.advance(START + 40);
+		assertEquals(Arrays.asList(1, 2, 3), fired);
+	}
+
+	@Test
+	public final void testHigherLevels() {
+		final long[] delays = {63, 64, 4095, 4096, 300000, 20000000};
+		for (int i = 0; i < delays.length; i++) {
+			final int index = i;
+			final long deadline = START + delays[i];
+			wheel.schedule(deadline, () -> {
+				assertEquals(deadline, wheel.getNow());
+				fired.add(index);
+			});
+		}
+		wheel.advance(START + 20000000);
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), fired);
+	}
+
+	@Test
+	public final void testAlignedDeadlines() {
+		final TimerWheel aligned = new TimerWheel(0);
+		final long[] deadlines = {64, 1088, 4096, 266240};
+		for (int i = 0; i < deadlines.length; i++) {
+			final int index = i;
+			final long deadline = deadlines[i];
+			aligned.schedule(deadline, () -> {
+				assertEquals(deadline, aligned.getNow());
+				fired.add(index);
+			});
+		}
+		aligned.advance(1087);
+		assertEquals(Arrays.asList(0), fired);
+		aligned.advance(1088);
+		assertEquals(Arrays.asList(0, 1), fired);
+		aligned.advance(266240);
+		assertEquals(Arrays.asList(0, 1, 2, 3), fired);
+	}
+
+	@Test
+	public final void testOrderAfterCascade() {
+		wheel.schedule(START + 5000, () -> fired.add(1));
+		wheel.advance(START + 4990);
+		wheel.schedule(START + 5000, () -> fired.add(2));
+		wheel.advance(START + 5000);
+		assertEquals(Arrays.asList(1, 2), fired);
+	}
+
+	@Test
+	public final void testSaveLoad() {
+		final TimerWheel.Timer later = wheel.timer(() -> fired.add(2));
+		final TimerWheel.Timer first = wheel.timer(() -> fired.add(1));
+		final TimerWheel.Timer idle = wheel.timer(() -> fired.add(3));
+		first.schedule(START + 100);
+		later.schedule(START + 100);
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		wheel.save(buffer);
+		later.save(buffer);
+		first.save(buffer);
+		idle.save(buffer);
+		buffer.flip();
+
+		wheel.reset(START + 1000);
+		wheel.load(buffer);
+		later.load(buffer);
+		first.load(buffer);
+		idle.load(buffer);
+		assertEquals(START + 1100, later.getDeadline());
+		assertFalse(idle.isPending());
+		wheel.advance(START + 1100);
+		assertEquals(Arrays.asList(1, 2), fired);
+	}
+
+	@Test
+	public final void testCancel() {
+		final TimerWheel.Timer timer = wheel.schedule(START + 100, () -> fired.add(1));
+		assertTrue(timer.isPending());
+		timer.cancel();
+		assertFalse(timer.isPending());
+		wheel.advance(START + 200);
+		assertTrue(fired.isEmpty());
+	}
+
+	@Test
+	public final void testReschedule() {
+		final TimerWheel.Timer timer = wheel.schedule(START + 100, () -> fired.add(1));
+		timer.schedule(START + 5000);
+		wheel.advance(START + 4999);
+		assertTrue(fired.isEmpty());
+		wheel.advance(START + 5000);
+		assertEquals(1, fired.size());
+		assertEquals(START + 5000, timer.getDeadline());
+	}
+
+	@Test
+	public final void testPastDeadline() {
+		wheel.schedule(0, () -> fired.add(1));
+		wheel.advance(START);
+		assertEquals(1, fired.size());
+	}
+
+	@Test
+	public final void testRepeating() {
+		final TimerWheel.Timer[] timer = new TimerWheel.Timer[1];
+		timer[0] = wheel.timer(() -> {
+			fired.add(1);
+			timer[0].schedule(wheel.getNow() + 10);
+		});
+		timer[0].schedule(START + 10);
+		wheel.advance(START + 100);
+		assertEquals(10, fired.size());
+	}
+
+	@Test
+	public final void testTaskSchedulesPast() {
+		wheel.schedule(START, () -> wheel.schedule(START, () -> fired.add(1)));
+		wheel.advance(START);
+		assertTrue(fired.isEmpty());
+		wheel.advance(START);
+		assertEquals(1, fired.size());
+	}
+
+	@Test
+	public final void testCancelFromTask() {
+		final TimerWheel.Timer second = wheel.timer(() -> fired.add(2));
+		wheel.schedule(START + 5, () -> {
+			fired.add(1);
+			second.cancel();
+		});
+		second.schedule(START + 5);
+		wheel.advance(START + 10);
+		assertEquals(Arrays.asList(1), fired);
+	}
+
+	@Test
+	public final void testReset() {
+		final TimerWheel.Timer timer = wheel.schedule(START + 10, () -> fired.add(1));
+		wheel.reset(0);
+		assertFalse(timer.isPending());
+		assertEquals(0, wheel.size());
+		assertEquals(0, wheel.getNow());
+		wheel.advance(START + 10);
+		assertTrue(fired.isEmpty());
+	}
+
+	@Test
+	public final void testGameTimers() {
+		final long[] time = {START};
+		final Game thisGame = new Game();
+		thisGame.setClock(() -> time[0]);
+		thisGame.getTimers().schedule(START + 16, () -> fired.add(1));
+		thisGame.getAudio().setMute(true);
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.getPipeline().setSkipped(TickPipeline.SPAWN, true);
+		thisGame.updateGame(new ArrayList<>());
+		assertTrue(fired.isEmpty());
+		time[0] = START + 16;
+		thisGame.updateGame(new ArrayList<>());
+		assertEquals(1, fired.size());
+	}
+}
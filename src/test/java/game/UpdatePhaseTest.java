@@ -0,0 +1,91 @@
+package game;
+
+import entity.AbstractEntity;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for UpdatePhase.
+ */
+public class UpdatePhaseTest {
+	private static final int ENTITIES = 100;
+	private final List<String> noInput = new ArrayList<>();
+
+	/**
+	 * Entity that creates a child, destroys itself and scores a point in
+	 * every update.
+	 */
+	private static final class Spawning extends AbstractEntity {
+		private final int id;
+
+		Spawning(final int id, final Game thisGame) {
+			super(0, 0, 0, 0, thisGame);
+			this.id = id;
+		}
+
+		@Override
+		public void update(final List<String> input) {
+			getThisGame().create(new Spawning(-id, getThisGame()));
+			getThisGame().destroy(this);
+			getThisGame().addScore(id);
+		}
+
+		@Override
+		public void draw() {
+		}
+
+		@Override
+		public void collide(final AbstractEntity e2) {
+		}
+
+		@Override
+		public void onDeath() {
+		}
+
+		@Override
+		public void save(final ByteBuffer out) {
+		}
+
+		@Override
+		public void load(final ByteBuffer in) {
+		}
+	}
+
+	/**
+	 * @return a game after one update phase of many spawning entities
+	 */
+	private Game run() {
+		final Game thisGame = new Game();
+		thisGame.getScorecounter().setScore(0);
+		final List<AbstractEntity> entities = new ArrayList<>();
+		for (int i = 1; i <= ENTITIES; i++) {
+			entities.add(new Spawning(i, thisGame));
+		}
+		thisGame.setEntities(entities);
+		thisGame.getUpdatePhase().run(entities, noInput);
+		return thisGame;
+	}
+
+	@Test
+	public final void testUpdatesAll() {
+		final Game thisGame = run();
+		assertEquals(ENTITIES, thisGame.getDestroyList().size());
+		assertEquals(ENTITIES, thisGame.getCreateList().size());
+		assertEquals((long) ENTITIES * (ENTITIES + 1) / 2, thisGame.getScorecounter().getScore());
+	}
+
+	@Test
+	public final void testListOrder() {
+		final Game thisGame = run();
+		for (int i = 0; i < ENTITIES; i++) {
+			assertSame(thisGame.getEntities().get(i), thisGame.getDestroyList().get(i));
+			assertEquals(-(i + 1), ((Spawning) thisGame.getCreateList().get(i)).id);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * Tests for WaveSchedule.
+ */
+public class WaveScheduleTest {
+	private static final String STRESS = "{\"bossEvery\": 0, \"survivalAsteroids\": 2, \"waves\": ["
+			+ "{\"asteroids\": 1}, {\"asteroids\": 300, \"saucers\": 20}, {\"boss\": true}, {\"asteroids\": 2}]}";
+
+	@Test
+	public final void testDefaultWaves() {
+		final WaveSchedule waves = WaveSchedule.getDefault();
+		for (int wave = 0; wave < 30; wave++) {
+			assertEquals(wave != 0 && wave % 5 == 0, waves.isBoss(wave));
+			if (!waves.isBoss(wave)) {
+				assertEquals(4 + Math.min(wave * 2, 7), waves.getAsteroids(wave));
+				assertEquals(0, waves.getSaucers(wave));
+			}
+		}
+		assertEquals(0.3, waves.getTeleBossRatio(), 0);
+		assertEquals(0.2, waves.getDoubleBossRatio(), 0);
+		assertEquals(4, waves.getSurvivalAsteroids());
+		assertSame(waves, WaveSchedule.getDefault());
+	}
+
+	@Test
+	public final void testRead() {
+		final WaveSchedule waves = WaveSchedule.read(new StringReader(STRESS));
+		assertFalse(waves.isBoss(0));
+		assertEquals(1, waves.getAsteroids(0));
+		assertEquals(300, waves.getAsteroids(1));
+		assertEquals(20, waves.getSaucers(1));
+		assertTrue(waves.isBoss(2));
+		assertFalse(waves.isBoss(10));
+		assertEquals(2, waves.getAsteroids(10));
+		assertEquals(2, waves.getSurvivalAsteroids());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testNoWaves() {
+		WaveSchedule.read(new StringReader("{\"waves\": []}"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testNegativeWave() {
+		WaveSchedule.read(new StringReader("{\"waves\": [{\"asteroids\": -1}]}"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testEmptyWave() {
+		WaveSchedule.read(new StringReader("{\"waves\": [{\"asteroids\": 1}, {\"saucers\": 0}, {\"asteroids\": 1}]}"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testEmptyLastBossWave() {
+		WaveSchedule.read(new StringReader("{\"bossEvery\": 3, \"waves\": [{\"asteroids\": 1}, {\"boss\": true}]}"));
+	}
+
+	@Test
+	public final void testEmptyBossWave() {
+		final WaveSchedule waves = WaveSchedule.read(new StringReader(
+				"{\"bossEvery\": 2, \"waves\": [{\"asteroids\": 1}, {\"asteroids\": 1}, {}, {\"asteroids\": 1}]}"));
+		assertTrue(waves.isBoss(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testMalformed() {
+		WaveSchedule.read(new StringReader("{\"waves\": [{\"asteroids\": \"many\"}]}"));
+	}
+
+	@Test
+	public final void testStressWave() {
+		final Game thisGame = new Game();
+		thisGame.getAudio().setMute(true);
+		final Spawner spawner = thisGame.getSpawner();
+		spawner.setWaves(WaveSchedule.read(new StringReader(STRESS)));
+		spawner.setWave(1);
+		spawner.updateArcade();
+		assertEquals(320, thisGame.getCreateList().size());
+	}
+}
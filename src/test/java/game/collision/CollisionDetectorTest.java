@@ -0,0 +1,133 @@
+package game.collision;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import entity.builders.BulletBuilder;
+import game.Game;
+import game.TickPipeline;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for CollisionDetector.
+ */
+public class CollisionDetectorTest {
+	private static final int ENTITIES = 1000;
+	private static final long SEED = 666;
+
+	private Game thisGame;
+	private CollisionDetector detector;
+	private List<AbstractEntity> entities;
+
+	@Before
+	public final void setUp() {
+		thisGame = new Game();
+		detector = new CollisionDetector(Game.getCanvasSize(), Game.getCanvasSize());
+		entities = new ArrayList<>();
+		final Random random = new Random(SEED);
+		final float[] radii = {Asteroid.getSmallRadius(), Asteroid.getMediumRadius(), 20};
+		for (int i = 0; i < ENTITIES; i++) {
+			// some entities are placed outside the screen on purpose
+			entities.add(new Asteroid(random.nextFloat() * 600 - 50, random.nextFloat() * 600 - 50,
+					0, 0, radii[random.nextInt(radii.length)], thisGame));
+		}
+	}
+
+	@Test
+	public final void testSequentialMatchesNestedLoop() {
+		detector.setParallel(false);
+		assertPairs(bruteForce(), detector.detect(entities));
+	}
+
+	@Test
+	public final void testParallelMatchesNestedLoop() {
+		detector.setParallel(true);
+		assertPairs(bruteForce(), detector.detect(entities));
+	}
+
+	@Test
+	public final void testNoEntities() {
+		assertEquals(0, detector.detect(new ArrayList<>()).size());
+	}
+
+	@Test
+	public final void testBigEntityOverManyCells() {
+		final List<AbstractEntity> two = new ArrayList<>();
+		two.add(new Asteroid(250, 250, 0, 0, 200, thisGame));
+		two.add(new Asteroid(150, 150, 0, 0, Asteroid.getSmallRadius(), thisGame));
+		final PairBuffer pairs = detector.detect(two);
+		assertEquals(2, pairs.size());
+		assertEquals(0, pairs.first(0));
+		assertEquals(1, pairs.second(0));
+	}
+
+	@Test
+	public final void testSweptBullet() {
+		final List<AbstractEntity> two = new ArrayList<>();
+		final BulletBuilder bBuilder = new BulletBuilder();
+		bBuilder.setX(260);
+		bBuilder.setY(100);
+		bBuilder.setDX(40);
+		bBuilder.setDY(0);
+		bBuilder.setThisGame(thisGame);
+		two.add(bBuilder.getResult());
+		two.add(new Asteroid(240, 100, 0, 0, Asteroid.getSmallRadius(), thisGame));
+		two.get(1).setDX(0);
+		two.get(1).setDY(0);
+		assertEquals(2, detector.detect(two).size());
+	}
+
+	@Test
+	public final void testCollisionsSeeEveryEntityMoved() {
+		// the bullet comes first and touches the asteroid where it was before
+		// the tick, but every entity moves before any pair is tested, so the
+		// asteroid has moved out of reach
+		final BulletBuilder bBuilder = new BulletBuilder();
+		bBuilder.setX(100);
+		bBuilder.setY(100);
+		bBuilder.setDX(0);
+		bBuilder.setDY(0);
+		bBuilder.setThisGame(thisGame);
+		final List<AbstractEntity> two = new ArrayList<>();
+		two.add(bBuilder.getResult());
+		final Asteroid asteroid = new Asteroid(105, 100, 0, 0, Asteroid.getSmallRadius(), thisGame);
+		asteroid.setDX(5);
+		asteroid.setDY(0);
+		two.add(asteroid);
+		assertTrue(AbstractEntity.collision(two.get(0), asteroid));
+		thisGame.getAudio().setMute(true);
+		thisGame.getPipeline().setSkipped(TickPipeline.RENDER, true);
+		thisGame.getPipeline().setSkipped(TickPipeline.SPAWN, true);
+		thisGame.setEntities(two);
+		thisGame.updateGame(new ArrayList<>());
+		assertEquals(2, thisGame.getEntities().size());
+		assertEquals(110, asteroid.getX(), 0);
+	}
+
+	private PairBuffer bruteForce() {
+		final PairBuffer expected = new PairBuffer();
+		for (int i = 0; i < entities.size(); i++) {
+			for (int j = 0; j < entities.size(); j++) {
+				if (i != j && AbstractEntity.collision(entities.get(i), entities.get(j))) {
+					expected.add(i, j);
+				}
+			}
+		}
+		return expected;
+	}
+
+	private void assertPairs(final PairBuffer expected, final PairBuffer actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int k = 0; k < expected.size(); k++) {
+			assertEquals(expected.first(k), actual.first(k));
+			assertEquals(expected.second(k), actual.second(k));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package game.collision;
+
+import entity.AbstractEntity;
+import entity.Asteroid;
+import entity.Bullet;
+import entity.Player;
+import entity.Saucer;
+import entity.builders.BulletBuilder;
+import entity.builders.PlayerBuilder;
+import game.Game;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for Narrowphase.
+ */
+public class NarrowphaseTest {
+	private Game thisGame;
+	private Asteroid asteroid;
+	private BulletBuilder bBuilder;
+
+	@Before
+	public final void setUp() {
+		thisGame = new Game();
+		asteroid = new Asteroid(100, 100, 0, 0, thisGame);
+		asteroid.setShape(0);
+		bBuilder = new BulletBuilder();
+		bBuilder.setThisGame(thisGame);
+		bBuilder.setRadius(1);
+	}
+
+	@Test
+	public final void testBulletInside() {
+		bBuilder.setX(100);
+		bBuilder.setY(100);
+		assertTrue(Narrowphase.collision(asteroid, bBuilder.getResult()));
+	}
+
+	@Test
+	public final void testBulletInNotch() {
+		// the first asteroid shape has a notch in the middle of its top edge
+		bBuilder.setX(100);
+		bBuilder.setY(85);
+		final Bullet b = (Bullet) bBuilder.getResult();
+		assertTrue(AbstractEntity.collision(asteroid, b));
+		assertFalse(Narrowphase.collision(asteroid, b));
+		assertFalse(Narrowphase.collision(b, asteroid));
+	}
+
+	@Test
+	public final void testBulletOnEdge() {
+		bBuilder.setX(100);
+		bBuilder.setY(90.5f);
+		assertTrue(Narrowphase.collision(asteroid, bBuilder.getResult()));
+	}
+
+	@Test
+	public final void testTwoCircles() {
+		bBuilder.setX(100);
+		bBuilder.setY(100);
+		assertTrue(Narrowphase.collision(bBuilder.getResult(), bBuilder.getResult()));
+	}
+
+	@Test
+	public final void testPolygons() {
+		final Saucer saucer = new Saucer(100, 100, 0, 0, thisGame);
+		assertTrue(Narrowphase.collision(asteroid, saucer));
+		saucer.setX(100);
+		saucer.setY(77);
+		assertTrue(AbstractEntity.collision(asteroid, saucer));
+		assertFalse(Narrowphase.collision(asteroid, saucer));
+	}
+
+	@Test
+	public final void testRotatedPlayer() {
+		final PlayerBuilder pBuilder = new PlayerBuilder();
+		pBuilder.setThisGame(thisGame);
+		pBuilder.setX(100);
+		pBuilder.setY(100);
+		final Player p = (Player) pBuilder.getResult();
+		bBuilder.setX(105.5f);
+		bBuilder.setY(100);
+		final Bullet nose = (Bullet) bBuilder.getResult();
+		assertTrue(Narrowphase.collision(p, nose));
+		p.setRotation(Math.PI);
+		assertFalse(Narrowphase.collision(p, nose));
+	}
+
+	@Test
+	public final void testPreciseDetector() {
+		final CollisionDetector detector = new CollisionDetector(Game.getCanvasSize(), Game.getCanvasSize());
+		final List<AbstractEntity> entities = new ArrayList<>();
+		entities.add(asteroid);
+		bBuilder.setX(100);
+		bBuilder.setY(85);
+		bBuilder.setDX(0);
+		bBuilder.setDY(0);
+		entities.add(bBuilder.getResult());
+		assertEquals(2, detector.detect(entities).size());
+		detector.setPrecise(true);
+		assertEquals(0, detector.detect(entities).size());
+	}
+}
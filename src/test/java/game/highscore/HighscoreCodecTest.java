@@ -0,0 +1,76 @@
+package game.highscore;
+
+import com.google.gson.Gson;
+import game.highscore.model.HighScore;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for HighscoreCodec.
+ */
+public class HighscoreCodecTest {
+    private static final HighScore[] SCORES = {
+            new HighScore("foo", 123, 1, 1),
+            new HighScore("\"bär\"", Long.MAX_VALUE, 2, 2),
+            new HighScore("", 0, 3, 6),
+    };
+
+    private static String write(final HighScore[] scores) throws IOException {
+        final StringWriter out = new StringWriter();
+        HighscoreCodec.write(out, scores);
+        return out.toString();
+    }
+
+    private static HighScore[] read(final String json) throws IOException {
+        return HighscoreCodec.read(new StringReader(json));
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        assertArrayEquals(SCORES, read(write(SCORES)));
+    }
+
+    @Test
+    public void sameAsGson() throws Exception {
+        final Gson gson = new Gson();
+        assertEquals(gson.toJson(SCORES, HighScore[].class), write(SCORES));
+        assertArrayEquals(SCORES, read(gson.toJson(SCORES, HighScore[].class)));
+    }
+
+    @Test
+    public void empty() throws Exception {
+        assertEquals(0, read("").length);
+        assertEquals(0, read("null").length);
+        assertEquals(0, read("[]").length);
+        assertEquals("[]", write(new HighScore[0]));
+    }
+
+    @Test
+    public void skipsNullsAndUnknownFields() throws Exception {
+        final HighScore[] read = read("[null, {\"gamemode\": 2, \"extra\": {\"a\": [1]}, \"userName\": null,"
+                + " \"score\": 5}]");
+        assertArrayEquals(new HighScore[] {new HighScore("", 5, 0, 2)}, read);
+        assertEquals("[]", write(new HighScore[] {null}));
+    }
+
+    @Test(expected = IOException.class)
+    public void notAnArray() throws Exception {
+        read("{\"score\": 5}");
+    }
+
+    @Test(expected = IOException.class)
+    public void notANumber() throws Exception {
+        read("[{\"score\": \"many\"}]");
+    }
+
+    @Test(expected = IOException.class)
+    public void cutOff() throws Exception {
+        read("[{\"score\": 5}");
+    }
+}
@@ -4,8 +4,17 @@ import game.highscore.model.HighScore;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by douwe on 4-11-16.
@@ -64,6 +73,80 @@ public class HighscoreStoreTest {
         assertArrayEquals(expected, actual);
     }
 
+    @Test
+    public void leaderboard() throws Exception {
+        store.addHighScore("low", 10, 3);
+        store.addHighScore("high", 30, 3);
+        store.addHighScore("", 0, 3);
+        final List<HighScore> top = store.getLeaderboard(3, 5);
+        assertEquals(2, top.size());
+        assertEquals(new HighScore("high", 30, 1, 3), top.get(0));
+        assertEquals(new HighScore("low", 10, 2, 3), top.get(1));
+        store.clear();
+        assertTrue(store.getLeaderboard(3, 5).isEmpty());
+    }
+
+    @Test
+    public void keepsBestScoresOfOtherGames() throws Exception {
+        final HighscoreStore other = new HighscoreStore();
+        store.addHighScore("mine", 100, 1);
+        store.writeScores();
+        other.addHighScore("theirs", 50, 2);
+        other.addHighScore("theirs", 80, 1);
+        other.writeScores();
+        store.flush();
+        final HighscoreStore read = new HighscoreStore();
+        assertEquals(new HighScore("mine", 100, 1, 1), read.getHighScore(1));
+        assertEquals(new HighScore("theirs", 50, 2, 2), read.getHighScore(2));
+    }
+
+    @Test
+    public void clearDropsWrittenScores() throws Exception {
+        store.addHighScore("mine", 100, 1);
+        store.writeScores();
+        store.clear();
+        store.flush();
+        assertEquals(0, new HighscoreStore().getHighScore(1).getScore());
+    }
+
+    @Test
+    public void reloadsWhenChanged() throws Exception {
+        store.flush();
+        store.setCheckInterval(Long.MAX_VALUE);
+        final HighscoreStore other = new HighscoreStore();
+        other.addHighScore("theirs", 70, 3);
+        other.writeScores();
+        other.flush();
+        assertEquals(0, store.getHighScore(3).getScore());
+        store.setCheckInterval(0);
+        assertEquals(70, store.getHighScore(3).getScore());
+    }
+
+    @Test
+    public void addReplay() throws Exception {
+        final byte[] replay = {1, 2, 3, 4};
+        store.addReplay(2, replay);
+        store.flush();
+        final File file = store.getReplayFile(2);
+        assertTrue(file.isFile());
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            final byte[] read = new byte[replay.length + 1];
+            assertEquals(replay.length, in.read(read));
+            assertArrayEquals(replay, Arrays.copyOf(read, replay.length));
+        }
+        store.addReplay(2, new byte[0]);
+        store.flush();
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void clearRemovesReplays() throws Exception {
+        store.addReplay(1, new byte[] {1});
+        store.clear();
+        store.flush();
+        assertFalse(store.getReplayFile(1).exists());
+    }
+
     @Test
     public void getHighScore() throws Exception {
         assertEquals("incorrectly initialised highscores", new HighScore("", 0, 0, 1), store.getHighScore(1));
@@ -0,0 +1,86 @@
+package game.highscore;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for HighscoreWriter.
+ */
+public class HighscoreWriterTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final HighscoreWriter writer = HighscoreWriter.getInstance();
+
+    @After
+    public void tearDown() {
+        writer.flush();
+    }
+
+    @Test
+    public void replace() throws Exception {
+        final File file = folder.newFile("scores.json");
+        Files.write(file.toPath(), bytes("old contents"));
+        writer.replace(file, bytes("new"));
+        writer.flush();
+        assertArrayEquals(bytes("new"), Files.readAllBytes(file.toPath()));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void createsDirectory() throws Exception {
+        final File file = new File(folder.getRoot(), "app/scores.json");
+        writer.replace(file, bytes("new"));
+        writer.flush();
+        assertArrayEquals(bytes("new"), Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void coalesces() throws Exception {
+        final File file = new File(folder.getRoot(), "scores.json");
+        final CountDownLatch blocked = new CountDownLatch(1);
+        writer.run(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final int before = writer.getReplaced();
+        writer.replace(file, bytes("1"));
+        writer.replace(file, bytes("2"));
+        writer.replace(file, bytes("3"));
+        assertFalse(file.exists());
+        blocked.countDown();
+        writer.flush();
+        assertEquals(before + 1, writer.getReplaced());
+        assertArrayEquals(bytes("3"), Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void delete() throws Exception {
+        final File file = new File(folder.getRoot(), "scores.json");
+        writer.replace(file, bytes("1"));
+        writer.flush();
+        assertTrue(file.exists());
+        writer.delete(file);
+        writer.flush();
+        assertFalse(file.exists());
+    }
+
+    private static byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
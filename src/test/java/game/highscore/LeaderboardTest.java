@@ -0,0 +1,201 @@
+package game.highscore;
+
+import game.highscore.model.HighScore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for Leaderboard.
+ */
+public class LeaderboardTest {
+    private static final int MODES = 3;
+    private static final int CAPACITY = 4;
+    private static final int HEADER = 5 * Integer.BYTES + Long.BYTES + MODES * 3 * Integer.BYTES;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private Leaderboard board;
+
+    @Before
+    public void setup() {
+        file = new File(folder.getRoot(), "leaderboard.dat");
+        board = new Leaderboard(file, MODES, CAPACITY);
+    }
+
+    @After
+    public void tearDown() {
+        HighscoreWriter.getInstance().flush();
+    }
+
+    @Test
+    public void sorted() {
+        board.add(1, "b", 20);
+        board.add(1, "a", 30);
+        board.add(1, "c", 10);
+        board.add(1, "d", 20);
+        assertEquals(Arrays.asList(
+                new HighScore("a", 30, 1, 1),
+                new HighScore("b", 20, 2, 1),
+                new HighScore("d", 20, 3, 1),
+                new HighScore("c", 10, 4, 1)), board.top(1, CAPACITY));
+        assertEquals(2, board.top(1, 2).size());
+        assertEquals(0, board.size(2));
+    }
+
+    @Test
+    public void full() {
+        for (int i = 1; i <= CAPACITY; i++) {
+            assertTrue(board.add(2, "p" + i, i * 10));
+        }
+        assertFalse(board.add(2, "low", 10));
+        assertTrue(board.add(2, "high", 25));
+        assertEquals(CAPACITY, board.size(2));
+        final List<HighScore> top = board.top(2, CAPACITY);
+        assertEquals("p4", top.get(0).getUserName());
+        assertEquals("high", top.get(2).getUserName());
+        assertEquals(20, top.get(CAPACITY - 1).getScore());
+    }
+
+    @Test
+    public void persisted() {
+        board.add(1, "one", 100);
+        board.add(3, "three", 300);
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            board.add(2, "x" + i, i);
+        }
+        final Leaderboard read = new Leaderboard(file, MODES, CAPACITY);
+        for (int m = 1; m <= MODES; m++) {
+            assertEquals(board.top(m, CAPACITY), read.top(m, CAPACITY));
+        }
+        read.add(3, "later", 300);
+        assertEquals("three", new Leaderboard(file, MODES, CAPACITY).top(3, 1).get(0).getUserName());
+    }
+
+    @Test
+    public void writesOnlyChangedRecords() throws Exception {
+        board.add(1, "first", 10);
+        board.add(1, "second", 20);
+        HighscoreWriter.getInstance().flush();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(HEADER + 2 * Long.BYTES + 1);
+            raf.write("FIRST".getBytes(StandardCharsets.UTF_8));
+        }
+        board.add(1, "third", 30);
+        final List<HighScore> top = new Leaderboard(file, MODES, CAPACITY).top(1, CAPACITY);
+        assertEquals("third", top.get(0).getUserName());
+        assertEquals("FIRST", top.get(2).getUserName());
+        assertEquals(HEADER + 3 * Leaderboard.RECORD_SIZE, file.length());
+    }
+
+    @Test
+    public void pushedOffRecordIsWrittenLast() throws Exception {
+        for (int i = 1; i <= CAPACITY; i++) {
+            board.add(1, "p" + i, i * 10);
+        }
+        board.add(1, "high", 25);
+        HighscoreWriter.getInstance().flush();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(HEADER);
+            assertEquals(10, raf.readLong());
+            raf.seek(HEADER + CAPACITY * Leaderboard.RECORD_SIZE);
+            assertEquals(25, raf.readLong());
+            raf.seek(HEADER);
+            raf.writeLong(1000);
+        }
+        final Leaderboard read = new Leaderboard(file, MODES, CAPACITY);
+        assertEquals(board.top(1, CAPACITY), read.top(1, CAPACITY));
+        board.add(1, "next", 35);
+        HighscoreWriter.getInstance().flush();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(HEADER);
+            assertEquals(35, raf.readLong());
+        }
+        assertEquals(board.top(1, CAPACITY), new Leaderboard(file, MODES, CAPACITY).top(1, CAPACITY));
+    }
+
+    @Test
+    public void sharedWithOtherGames() {
+        final Leaderboard other = new Leaderboard(file, MODES, CAPACITY);
+        assertEquals(0, board.size(1));
+        assertEquals(0, other.size(1));
+        board.add(1, "mine", 10);
+        other.add(1, "theirs", 20);
+        board.add(1, "later", 5);
+        HighscoreWriter.getInstance().flush();
+        final List<HighScore> top = new Leaderboard(file, MODES, CAPACITY).top(1, CAPACITY);
+        assertEquals(Arrays.asList("theirs", "mine", "later"),
+                Arrays.asList(top.get(0).getUserName(), top.get(1).getUserName(), top.get(2).getUserName()));
+        assertEquals(top, board.top(1, CAPACITY));
+    }
+
+    @Test
+    public void addsShownWhileWriting() throws Exception {
+        final CountDownLatch written = new CountDownLatch(1);
+        board.add(1, "first", 10);
+        HighscoreWriter.getInstance().runLocked(file, () -> {
+            try {
+                written.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 2; i <= CAPACITY + 1; i++) {
+            board.add(1, "p" + i, i * 10);
+        }
+        assertEquals(CAPACITY, board.size(1));
+        written.countDown();
+        HighscoreWriter.getInstance().flush();
+        assertEquals(CAPACITY, board.size(1));
+        assertEquals(board.top(1, CAPACITY), new Leaderboard(file, MODES, CAPACITY).top(1, CAPACITY));
+        assertEquals(20, board.top(1, CAPACITY).get(CAPACITY - 1).getScore());
+    }
+
+    @Test
+    public void longNamesAreCut() {
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < Leaderboard.NAME_BYTES; i++) {
+            name.append('é');
+        }
+        board.add(1, name.toString(), 1);
+        final String read = new Leaderboard(file, MODES, CAPACITY).top(1, 1).get(0).getUserName();
+        assertEquals(Leaderboard.NAME_BYTES / 2, read.length());
+    }
+
+    @Test
+    public void otherLayoutStartsOver() {
+        board.add(1, "one", 100);
+        final Leaderboard other = new Leaderboard(file, MODES, CAPACITY * 2);
+        assertEquals(0, other.size(1));
+        other.add(1, "two", 200);
+        assertEquals(1, new Leaderboard(file, MODES, CAPACITY * 2).size(1));
+    }
+
+    @Test
+    public void clear() {
+        board.add(1, "one", 100);
+        board.clear();
+        assertEquals(0, board.size(1));
+        assertEquals(0, new Leaderboard(file, MODES, CAPACITY).size(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownMode() {
+        board.size(MODES + 1);
+    }
+}
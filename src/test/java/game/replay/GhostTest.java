@@ -0,0 +1,110 @@
+package game.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import game.Game;
+import game.Gamestate;
+
+/**
+ * Tests for Ghost.
+ */
+public class GhostTest {
+	private static final long SEED = 5;
+	private static final long START = 1000;
+	private static final long LIVE_START = 90000;
+	private static final int TICKS = 300;
+	private static final int FRAME = 16;
+	private static final long WAIT = 10000;
+
+	private final float[] xs = new float[TICKS];
+	private final float[] ys = new float[TICKS];
+	private File file;
+	private Ghost ghost;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public final void setUp() throws IOException {
+		final long[] time = {START};
+		final Game thisGame = Game.headless(() -> time[0], Gamestate.ARCADEMODE, SEED);
+		for (int i = 0; i < TICKS; i++) {
+			time[0] += FRAME;
+			thisGame.updateGame(ReplayTest.script(i));
+			xs[i] = thisGame.getPlayer().getX();
+			ys[i] = thisGame.getPlayer().getY();
+		}
+		file = folder.newFile("ghost.replay.gz");
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(file))) {
+			thisGame.getRecorder().writeTo(out);
+		}
+		ghost = new Ghost();
+		ghost.setEnabled(true);
+	}
+
+	@Test
+	public final void testFollowsTheRun() throws InterruptedException {
+		ghost.load(file, LIVE_START);
+		awaitReady();
+		ghost.update(LIVE_START);
+		assertEquals(xs[0], ghost.getPlayer().getX(), 0);
+		ghost.update(LIVE_START + FRAME * 100 + FRAME / 2);
+		assertEquals(xs[99], ghost.getPlayer().getX(), 0);
+		assertEquals(ys[99], ghost.getPlayer().getY(), 0);
+		ghost.update(LIVE_START + FRAME * TICKS);
+		assertEquals(xs[TICKS - 1], ghost.getPlayer().getX(), 0);
+		assertEquals(ys[TICKS - 1], ghost.getPlayer().getY(), 0);
+	}
+
+	@Test
+	public final void testDisabled() {
+		ghost.setEnabled(false);
+		ghost.load(file, LIVE_START);
+		assertFalse(ghost.isReady());
+		assertNull(ghost.getPlayer());
+	}
+
+	@Test
+	public final void testNoRun() {
+		ghost.load(new File(folder.getRoot(), "missing.replay.gz"), LIVE_START);
+		assertFalse(ghost.isReady());
+		ghost.update(LIVE_START + FRAME);
+		assertNull(ghost.getPlayer());
+	}
+
+	@Test
+	public final void testClear() throws InterruptedException {
+		ghost.load(file, LIVE_START);
+		awaitReady();
+		ghost.clear();
+		assertFalse(ghost.isReady());
+		assertNull(ghost.getPlayer());
+	}
+
+	/**
+	 * Wait until the ghost is read on the background thread.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void awaitReady() throws InterruptedException {
+		final long end = System.currentTimeMillis() + WAIT;
+		while (!ghost.isReady() && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertTrue(ghost.isReady());
+	}
+}
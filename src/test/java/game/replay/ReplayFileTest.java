@@ -0,0 +1,174 @@
+package game.replay;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import game.Game;
+import game.Gamestate;
+import game.highscore.HighscoreWriter;
+
+/**
+ * Tests for keyframes, the index and seeking in replays.
+ */
+public class ReplayFileTest {
+	private static final long SEED = 23;
+	private static final long START = 2000;
+	private static final int TICKS = 1500;
+	private static final int FRAME = 16;
+	private static final long INTERVAL = 5000;
+
+	/**
+	 * The hash of the state of the recorded game after every tick.
+	 */
+	private long[] states;
+	private byte[] bytes;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public final void setUp() {
+		final long[] time = {START};
+		final Game thisGame = Game.headless(() -> time[0], Gamestate.SURVIVALMODE, SEED);
+		thisGame.getRecorder().setKeyframeInterval(INTERVAL);
+		states = new long[TICKS + 1];
+		states[0] = StateHash.of(thisGame);
+		for (int i = 0; i < TICKS; i++) {
+			time[0] += FRAME;
+			thisGame.updateGame(ReplayTest.script(i));
+			states[i + 1] = StateHash.of(thisGame);
+		}
+		bytes = thisGame.getRecorder().toByteArray();
+	}
+
+	@Test
+	public final void testIndex() throws IOException {
+		final ReplayFile file = new ReplayFile(ByteBuffer.wrap(bytes));
+		assertEquals(SEED, file.getSeed());
+		assertEquals(Gamestate.SURVIVALMODE, file.getMode());
+		assertEquals(START, file.getStartTime());
+		assertEquals(TICKS * FRAME / INTERVAL, file.getKeyframes());
+		for (int k = 0; k < file.getKeyframes(); k++) {
+			assertEquals(START + file.getTicks(k) * FRAME, file.getTime(k));
+			assertTrue(file.getTime(k) - START >= (k + 1) * INTERVAL);
+			assertTrue(file.getSnapshot(k).remaining() > 0);
+		}
+		assertEquals(-1, file.keyframeAt(0));
+		assertEquals(-1, file.keyframeAt(file.getTicks(0) - 1));
+		assertEquals(0, file.keyframeAt(file.getTicks(0)));
+		assertEquals(1, file.keyframeAt(file.getTicks(1) + 1));
+		assertEquals(file.getKeyframes() - 1, file.keyframeAt(TICKS));
+	}
+
+	@Test
+	public final void testStreamSkipsKeyframes() throws IOException {
+		final ReplayReader reader = new ReplayReader(new ByteArrayInputStream(bytes));
+		assertEquals(ReplayVerifier.SAME, new ReplayVerifier(reader).run());
+		assertEquals(TICKS, reader.getTicks());
+		assertEquals(START + TICKS * FRAME, reader.getTime());
+	}
+
+	@Test
+	public final void testSeek() throws IOException {
+		final ReplayFile file = new ReplayFile(ByteBuffer.wrap(bytes));
+		final ReplayPlayer player = new ReplayPlayer(file);
+		final int[] ticks = {file.getTicks(1) + 40, file.getTicks(1) + 80, 10, file.getTicks(0),
+			TICKS, file.getTicks(0) - 1, 0};
+		for (final int tick : ticks) {
+			assertTrue(player.seek(tick));
+			assertEquals("tick " + tick, states[tick], StateHash.of(player.getThisGame()));
+		}
+		assertTrue(player.step());
+		assertEquals(states[1], StateHash.of(player.getThisGame()));
+	}
+
+	@Test
+	public final void testPlayUntil() throws IOException {
+		final ReplayPlayer player = new ReplayPlayer(new ReplayFile(ByteBuffer.wrap(bytes)));
+		assertTrue(player.playUntil(FRAME * 10 + FRAME / 2));
+		assertEquals(states[10], StateHash.of(player.getThisGame()));
+		assertTrue(player.seek(10));
+		assertEquals(states[10], StateHash.of(player.getThisGame()));
+		assertTrue(player.step());
+		assertEquals(states[11], StateHash.of(player.getThisGame()));
+		assertTrue(player.playUntil(FRAME * 12 + FRAME / 2));
+		assertTrue(player.seek(5));
+		assertEquals(states[5], StateHash.of(player.getThisGame()));
+		assertFalse(player.playUntil(FRAME * TICKS));
+		assertEquals(states[TICKS], StateHash.of(player.getThisGame()));
+	}
+
+	@Test
+	public final void testSeekPastTheEnd() throws IOException {
+		final ReplayPlayer player = new ReplayPlayer(new ReplayFile(ByteBuffer.wrap(bytes)));
+		assertFalse(player.seek(TICKS + 1));
+		assertEquals(states[TICKS], StateHash.of(player.getThisGame()));
+	}
+
+	@Test
+	public final void testOpenFile() throws IOException {
+		final File replay = folder.newFile("test.replay");
+		Files.write(replay.toPath(), bytes);
+		final ReplayPlayer player = new ReplayPlayer(ReplayFile.open(replay));
+		assertTrue(player.seek(TICKS / 2));
+		assertEquals(states[TICKS / 2], StateHash.of(player.getThisGame()));
+	}
+
+	@Test
+	public final void testStopWritesFile() throws IOException {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		final File replay = new File(folder.getRoot(), "stopped.replay");
+		recorder.setFile(replay);
+		recorder.start(SEED, Gamestate.ARCADEMODE, START);
+		recorder.tick(START + FRAME, Arrays.asList("W"));
+		recorder.endTick(0);
+		recorder.stop();
+		HighscoreWriter.getInstance().flush();
+		assertArrayEquals(recorder.toByteArray(), Files.readAllBytes(replay.toPath()));
+	}
+
+	@Test(expected = IOException.class)
+	public final void testIncomplete() throws IOException {
+		new ReplayFile(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+	}
+
+	@Test(expected = IOException.class)
+	public final void testNotAReplay() throws IOException {
+		new ReplayFile(ByteBuffer.wrap(new byte[ReplayFormat.HEADER_SIZE + ReplayFormat.TRAILER_SIZE]));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public final void testStreamCanNotSeek() throws IOException {
+		new ReplayPlayer(new ReplayReader(new ByteArrayInputStream(bytes))).seek(1);
+	}
+
+	@Test
+	public final void testSegmentStartsWithInput() {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		recorder.start(SEED, Gamestate.ARCADEMODE, START);
+		recorder.tick(START + FRAME, Arrays.asList("W"));
+		recorder.endTick(0);
+		final int before = recorder.toByteArray().length;
+		recorder.keyframe(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+		final int keyframe = recorder.toByteArray().length;
+		assertEquals(before + Integer.BYTES + 1 + 3 + ReplayFormat.ENTRY_SIZE, keyframe);
+		recorder.tick(START + 2 * FRAME, Arrays.asList("W"));
+		recorder.endTick(0);
+		// the input and the key table are written again in the new segment
+		assertTrue(recorder.toByteArray().length > keyframe + 3);
+	}
+}
@@ -0,0 +1,205 @@
+package game.replay;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import entity.AbstractEntity;
+import game.Game;
+import game.Gamestate;
+import game.highscore.HighscoreStore;
+import game.highscore.HighscoreWriter;
+import game.highscore.Leaderboard;
+import game.highscore.model.HighScore;
+
+/**
+ * Tests for recording and playing replays.
+ */
+public class ReplayTest {
+	private static final long SEED = 42;
+	private static final long START = 1000;
+	private static final int TICKS = 600;
+	private static final int FRAME = 17;
+	private static final long SCORE = 1234;
+
+	@Test
+	public final void testRoundTrip() throws IOException {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		recorder.start(SEED, Gamestate.BOSSMODE, START);
+		tick(recorder, START + FRAME, Collections.emptyList());
+		tick(recorder, START + 2 * FRAME, Arrays.asList("W", "SPACE"));
+		tick(recorder, START + 2 * FRAME + 300, Arrays.asList("SPACE", "A"));
+		tick(recorder, START + 2 * FRAME + 290, Arrays.asList("SPACE", "A"));
+		recorder.stop();
+		assertFalse(recorder.isRecording());
+		assertEquals(4, recorder.getTicks());
+
+		final ReplayReader reader = new ReplayReader(new ByteArrayInputStream(recorder.toByteArray()));
+		assertEquals(SEED, reader.getSeed());
+		assertEquals(Gamestate.BOSSMODE, reader.getMode());
+		assertEquals(START, reader.getStartTime());
+		assertTrue(reader.isHashed());
+		assertTrue(reader.next());
+		assertEquals(START + FRAME, reader.getTime());
+		assertEquals(Collections.emptyList(), reader.getInput());
+		assertTrue(reader.next());
+		assertEquals(Arrays.asList("W", "SPACE"), reader.getInput());
+		assertTrue(reader.next());
+		assertEquals(START + 2 * FRAME + 300, reader.getTime());
+		assertEquals(Arrays.asList("SPACE", "A"), reader.getInput());
+		assertTrue(reader.next());
+		assertEquals(START + 2 * FRAME + 290, reader.getTime());
+		assertFalse(reader.next());
+		assertEquals(4, reader.getTicks());
+	}
+
+	@Test
+	public final void testSteadyTickTakesThreeBytes() {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		recorder.start(SEED, Gamestate.ARCADEMODE, START);
+		tick(recorder, START + FRAME, Arrays.asList("W"));
+		final int size = recorder.toByteArray().length;
+		for (int i = 2; i <= TICKS; i++) {
+			tick(recorder, START + i * FRAME, Arrays.asList("W"));
+		}
+		assertEquals(size + 3 * (TICKS - 1), recorder.toByteArray().length);
+	}
+
+	@Test
+	public final void testStopDuringTick() {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		recorder.start(SEED, Gamestate.ARCADEMODE, START);
+		recorder.tick(START + FRAME, Arrays.asList("W"));
+		recorder.stop();
+		assertTrue(recorder.isRecording());
+		recorder.endTick(0);
+		assertFalse(recorder.isRecording());
+		assertEquals(1, recorder.getTicks());
+	}
+
+	@Test
+	public final void testNotRecording() {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		tick(recorder, START, Arrays.asList("W"));
+		assertEquals(0, recorder.getTicks());
+		assertEquals(0, recorder.toByteArray().length);
+	}
+
+	@Test(expected = IOException.class)
+	public final void testNotAReplay() throws IOException {
+		new ReplayReader(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+	}
+
+	@Test(expected = IOException.class)
+	public final void testTruncated() throws IOException {
+		final ReplayRecorder recorder = new ReplayRecorder();
+		recorder.start(SEED, Gamestate.ARCADEMODE, START);
+		tick(recorder, START + FRAME, Arrays.asList("SPACE"));
+		final byte[] bytes = recorder.toByteArray();
+		// cut off the end of segments, the index and the last byte of the tick
+		final int cut = 1 + ReplayFormat.TRAILER_SIZE + 1;
+		final ReplayReader reader = new ReplayReader(
+				new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - cut)));
+		reader.next();
+	}
+
+	@Test
+	public final void testReplayPlaysTheSameGame() throws IOException {
+		final long[] time = {START};
+		final Game recorded = Game.headless(() -> time[0], Gamestate.ARCADEMODE, SEED);
+		for (int i = 0; i < TICKS; i++) {
+			time[0] += FRAME + i % 3;
+			recorded.updateGame(script(i));
+		}
+		final byte[] bytes = recorded.getRecorder().toByteArray();
+
+		final ReplayPlayer player = new ReplayPlayer(new ReplayReader(new ByteArrayInputStream(bytes)));
+		assertEquals(TICKS, player.run(0));
+		final Game replayed = player.getThisGame();
+		assertEquals(state(recorded), state(replayed));
+		assertEquals(recorded.getScorecounter().getScore(), replayed.getScorecounter().getScore());
+		assertArrayEquals(bytes, replayed.getRecorder().toByteArray());
+	}
+
+	@Test
+	public final void testReplayedGameOverSubmitsNoScore() throws IOException {
+		final long[] time = {START};
+		final Game recorded = Game.headless(() -> time[0], Gamestate.ARCADEMODE, SEED);
+		for (int i = 0; i < TICKS; i++) {
+			time[0] += FRAME;
+			recorded.updateGame(script(i));
+		}
+		final HighscoreStore store = new HighscoreStore();
+		final List<HighScore> before = store.getLeaderboard(Gamestate.ARCADEMODE, Leaderboard.DEFAULT_CAPACITY);
+
+		final ReplayPlayer player = new ReplayPlayer(
+				new ReplayReader(new ByteArrayInputStream(recorded.getRecorder().toByteArray())));
+		player.run(0);
+		final Game replayed = player.getThisGame();
+		replayed.getScorecounter().addScore(SCORE);
+		while (replayed.getPlayer().isAlive()) {
+			replayed.getPlayer().onHit();
+		}
+		HighscoreWriter.getInstance().flush();
+		assertFalse(replayed.getRecorder().isRecording());
+		assertEquals(replayed.getGamestate().getStartScreenState(), replayed.getGamestate().getState());
+		assertEquals(SCORE + recorded.getScorecounter().getScore(), replayed.getScorecounter().getScore());
+		assertEquals(before, new HighscoreStore().getLeaderboard(Gamestate.ARCADEMODE,
+				Leaderboard.DEFAULT_CAPACITY));
+	}
+
+	/**
+	 * Record a whole tick.
+	 *
+	 * @param recorder the recorder
+	 * @param time     the time of the tick
+	 * @param input    the keys pressed during the tick
+	 */
+	private static void tick(final ReplayRecorder recorder, final long time, final List<String> input) {
+		recorder.tick(time, input);
+		recorder.endTick(time);
+	}
+
+	/**
+	 * @param tick a tick
+	 * @return the keys pressed during the tick, turning, thrusting and shooting
+	 */
+	public static List<String> script(final int tick) {
+		final List<String> input = new ArrayList<>();
+		if (tick % 40 < 20) {
+			input.add("A");
+		}
+		if (tick % 90 < 30) {
+			input.add("W");
+		}
+		if (tick % 7 == 0) {
+			input.add("SPACE");
+		}
+		return input;
+	}
+
+	/**
+	 * @param thisGame a game
+	 * @return the positions and speeds of all entities
+	 */
+	private static List<Float> state(final Game thisGame) {
+		final List<Float> state = new ArrayList<>();
+		for (final AbstractEntity e : thisGame.getEntities()) {
+			state.add(e.getX());
+			state.add(e.getY());
+			state.add(e.getDX());
+			state.add(e.getDY());
+		}
+		return state;
+	}
+}
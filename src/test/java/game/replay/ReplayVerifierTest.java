@@ -0,0 +1,96 @@
+package game.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import game.Game;
+import game.Gamestate;
+
+/**
+ * Tests for ReplayVerifier and StateHash.
+ */
+public class ReplayVerifierTest {
+	private static final long SEED = 7;
+	private static final long START = 5000;
+	private static final int TICKS = 400;
+	private static final int FRAME = 16;
+	private static final int NUDGE = 150;
+
+	@Test
+	public final void testSameGameMatches() throws IOException {
+		final ReplayVerifier verifier = new ReplayVerifier(read(record(-1)));
+		assertEquals(ReplayVerifier.SAME, verifier.run());
+	}
+
+	@Test
+	public final void testFindsFirstDivergentTick() throws IOException {
+		final ReplayVerifier verifier = new ReplayVerifier(read(record(NUDGE)));
+		assertEquals(NUDGE + 1, verifier.run());
+	}
+
+	@Test
+	public final void testStateHashSeesSmallChanges() {
+		final Game thisGame = newGame();
+		final long before = StateHash.of(thisGame);
+		assertEquals(before, StateHash.of(thisGame));
+		thisGame.getPlayer().setX(Math.nextUp(thisGame.getPlayer().getX()));
+		assertNotEquals(before, StateHash.of(thisGame));
+	}
+
+	@Test(expected = IOException.class)
+	public final void testNeedsStateChecks() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(ReplayFormat.MAGIC);
+		out.writeByte(1);
+		out.writeLong(SEED);
+		out.writeByte(Gamestate.ARCADEMODE);
+		out.writeLong(START);
+		new ReplayVerifier(new ReplayReader(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	/**
+	 * Record a scripted game.
+	 *
+	 * @param nudge the tick before which the player is moved a little, which
+	 *              the replay does not know about, or -1
+	 * @return the replay
+	 */
+	private static byte[] record(final int nudge) {
+		final long[] time = {START};
+		final Game thisGame = newGame();
+		thisGame.setClock(() -> time[0]);
+		thisGame.startGame(SEED);
+		for (int i = 0; i < TICKS; i++) {
+			if (i == nudge) {
+				thisGame.getPlayer().setX(thisGame.getPlayer().getX() + 1);
+			}
+			time[0] += FRAME;
+			thisGame.updateGame(ReplayTest.script(i));
+		}
+		return thisGame.getRecorder().toByteArray();
+	}
+
+	/**
+	 * @return a started arcade game without rendering or sound
+	 */
+	private static Game newGame() {
+		return Game.headless(System::currentTimeMillis, Gamestate.ARCADEMODE, SEED);
+	}
+
+	/**
+	 * @param bytes a replay
+	 * @return a reader for the replay
+	 * @throws IOException if the replay can not be read
+	 */
+	private static ReplayReader read(final byte[] bytes) throws IOException {
+		return new ReplayReader(new ByteArrayInputStream(bytes));
+	}
+}
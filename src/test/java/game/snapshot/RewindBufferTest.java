@@ -0,0 +1,145 @@
+package game.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import game.Game;
+import game.Gamestate;
+import game.replay.ReplayTest;
+import game.replay.StateHash;
+
+/**
+ * Tests for RewindBuffer.
+ */
+public class RewindBufferTest {
+	private static final long START = 1000;
+	private static final int FRAME = 16;
+	private static final int FRAMES = 20;
+	private final long[] time = {START};
+	private Game thisGame;
+	private Map<Long, Long> hashes;
+
+	@Before
+	public final void setUp() {
+		thisGame = Game.headless(() -> time[0], Gamestate.SURVIVALMODE, 1);
+		hashes = new HashMap<>();
+	}
+
+	@Test
+	public final void testDisabled() {
+		final RewindBuffer rewind = new RewindBuffer(FRAMES, RewindBuffer.DEFAULT_BYTES);
+		play(rewind, 10);
+		assertEquals(0, rewind.size());
+	}
+
+	@Test
+	public final void testKeepsLastFrames() {
+		final RewindBuffer rewind = new RewindBuffer(FRAMES, RewindBuffer.DEFAULT_BYTES);
+		rewind.setEnabled(true);
+		play(rewind, 3 * FRAMES);
+		assertEquals(FRAMES, rewind.size());
+		assertEquals(thisGame.getTimers().getNow(), rewind.getTime(FRAMES - 1));
+		assertEquals(thisGame.getTimers().getNow() - (FRAMES - 1) * FRAME, rewind.getTime(0));
+		assertRestores(rewind);
+	}
+
+	@Test
+	public final void testWrapsAround() {
+		final RewindBuffer rewind = new RewindBuffer(RewindBuffer.DEFAULT_FRAMES, 1 << 14);
+		rewind.setEnabled(true);
+		play(rewind, 500);
+		assertTrue(rewind.size() > 1);
+		assertTrue(rewind.size() < 500);
+		assertEquals(thisGame.getTimers().getNow(), rewind.getTime(rewind.size() - 1));
+		assertRestores(rewind);
+	}
+
+	@Test
+	public final void testTooSmall() {
+		final RewindBuffer rewind = new RewindBuffer(FRAMES, 16);
+		rewind.setEnabled(true);
+		play(rewind, 10);
+		assertEquals(0, rewind.size());
+	}
+
+	@Test
+	public final void testFrameAt() {
+		final RewindBuffer rewind = new RewindBuffer(FRAMES, RewindBuffer.DEFAULT_BYTES);
+		rewind.setEnabled(true);
+		play(rewind, FRAMES);
+		assertEquals(0, rewind.frameAt(0));
+		assertEquals(0, rewind.frameAt(rewind.getTime(0) + FRAME - 1));
+		assertEquals(5, rewind.frameAt(rewind.getTime(5)));
+		assertEquals(FRAMES - 1, rewind.frameAt(Long.MAX_VALUE));
+	}
+
+	@Test
+	public final void testClear() {
+		final RewindBuffer rewind = new RewindBuffer(FRAMES, RewindBuffer.DEFAULT_BYTES);
+		rewind.setEnabled(true);
+		play(rewind, FRAMES);
+		rewind.clear();
+		assertEquals(0, rewind.size());
+		play(rewind, 1);
+		assertEquals(1, rewind.size());
+	}
+
+	@Test
+	public final void testRestoresIntoViewer() {
+		final RewindBuffer rewind = new RewindBuffer(FRAMES, RewindBuffer.DEFAULT_BYTES);
+		rewind.setEnabled(true);
+		play(rewind, FRAMES);
+		final Game viewer = Game.viewer(thisGame);
+		assertSame(thisGame.getScorecounter().getHighscoreStore(), viewer.getScorecounter().getHighscoreStore());
+		assertTrue(viewer.isHeadless());
+		rewind.restore(rewind.size() - 1, viewer);
+		assertEquals(StateHash.of(thisGame), StateHash.of(viewer));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public final void testNoSuchFrame() {
+		new RewindBuffer().getTime(0);
+	}
+
+	/**
+	 * Tick the game and capture every tick.
+	 *
+	 * @param rewind the buffer
+	 * @param ticks  the amount of ticks
+	 */
+	private void play(final RewindBuffer rewind, final int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			time[0] += FRAME;
+			thisGame.updateGame(ReplayTest.script(i));
+			rewind.capture(thisGame);
+			hashes.put(thisGame.getTimers().getNow(), StateHash.of(thisGame));
+		}
+	}
+
+	/**
+	 * Check that every kept snapshot restores the state it was taken of.
+	 *
+	 * @param rewind the buffer
+	 */
+	private void assertRestores(final RewindBuffer rewind) {
+		final Game restored = new Game();
+		restored.getAudio().setMute(true);
+		final List<Long> expected = new ArrayList<>();
+		final List<Long> actual = new ArrayList<>();
+		for (int i = 0; i < rewind.size(); i++) {
+			rewind.restore(i, restored);
+			expected.add(hashes.get(rewind.getTime(i)));
+			actual.add(StateHash.of(restored));
+		}
+		assertEquals(expected, actual);
+	}
+}
@@ -0,0 +1,120 @@
+package game.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import game.Game;
+import game.Gamestate;
+import game.highscore.HighscoreWriter;
+import game.replay.ReplayTest;
+import game.replay.StateHash;
+
+/**
+ * Tests for SessionStore.
+ */
+public class SessionStoreTest {
+	private static final long START = 1000;
+	private static final int FRAME = 16;
+	private final long[] time = {START};
+	private SessionStore store;
+	private File file;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public final void setUp() {
+		file = new File(folder.getRoot(), "session.snapshot");
+		store = new SessionStore();
+		store.setFile(file);
+	}
+
+	@After
+	public final void tearDown() {
+		HighscoreWriter.getInstance().flush();
+	}
+
+	@Test
+	public final void testSaveAndResume() {
+		final Game saved = newGame(Gamestate.BOSSMODE);
+		for (int i = 0; i < 500; i++) {
+			time[0] += FRAME;
+			saved.updateGame(ReplayTest.script(i));
+		}
+		assertFalse(store.hasSave());
+		store.save(saved);
+		assertTrue(store.hasSave());
+		HighscoreWriter.getInstance().flush();
+		assertTrue(file.isFile());
+
+		final Game resumed = newGame(Gamestate.ARCADEMODE);
+		assertTrue(store.resume(resumed));
+		assertEquals(StateHash.of(saved), StateHash.of(resumed));
+		assertEquals(Gamestate.BOSSMODE, resumed.getGamestate().getCurrentMode());
+		assertEquals(saved.getPlayer().getLives(), resumed.getPlayer().getLives());
+		assertFalse(store.hasSave());
+		HighscoreWriter.getInstance().flush();
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public final void testSaveAgainAfterResume() {
+		final Game saved = newGame(Gamestate.ARCADEMODE);
+		store.save(saved);
+		assertTrue(store.resume(newGame(Gamestate.ARCADEMODE)));
+		time[0] += FRAME;
+		saved.updateGame(ReplayTest.script(0));
+		store.save(saved);
+		HighscoreWriter.getInstance().flush();
+		assertTrue(file.isFile());
+		final Game resumed = newGame(Gamestate.ARCADEMODE);
+		assertTrue(store.resume(resumed));
+		assertEquals(StateHash.of(saved), StateHash.of(resumed));
+	}
+
+	@Test
+	public final void testLooksOnce() throws IOException {
+		assertFalse(store.hasSave());
+		assertTrue(file.createNewFile());
+		assertFalse(store.hasSave());
+		store.setFile(file);
+		assertTrue(store.hasSave());
+	}
+
+	@Test
+	public final void testUnreadableSave() throws IOException {
+		Files.write(file.toPath(), new byte[] {1, 2, 3});
+		assertTrue(store.hasSave());
+		assertFalse(store.resume(newGame(Gamestate.ARCADEMODE)));
+		assertFalse(store.hasSave());
+		HighscoreWriter.getInstance().flush();
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public final void testNoFile() {
+		store.setFile(null);
+		store.save(newGame(Gamestate.ARCADEMODE));
+		assertFalse(store.hasSave());
+		assertFalse(store.resume(newGame(Gamestate.ARCADEMODE)));
+	}
+
+	/**
+	 * @param mode the mode of the game
+	 * @return a started game without rendering or sound
+	 */
+	private Game newGame(final int mode) {
+		return Game.headless(() -> time[0], mode, 2);
+	}
+}
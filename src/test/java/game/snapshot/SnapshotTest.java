@@ -0,0 +1,200 @@
+package game.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import entity.AbstractEntity;
+import entity.EntityHandles;
+import entity.EntityTypes;
+import game.Game;
+import game.Gamestate;
+import game.replay.ReplayTest;
+import game.replay.StateHash;
+
+/**
+ * Tests for Snapshot and Codec.
+ */
+public class SnapshotTest {
+	private static final long SEED = 11;
+	private static final long START = 3000;
+	private static final int FRAME = 16;
+	private static final int BEFORE = 2000;
+	private static final int AFTER = 1500;
+
+	@Test
+	public final void testArcadeContinuesTheSame() {
+		continuesTheSame(Gamestate.ARCADEMODE);
+	}
+
+	@Test
+	public final void testCoopBossContinuesTheSame() {
+		continuesTheSame(Gamestate.COOPBOSSMODE);
+	}
+
+	@Test
+	public final void testSurvivalContinuesTheSame() {
+		continuesTheSame(Gamestate.SURVIVALMODE);
+	}
+
+	@Test
+	public final void testRestoreLater() {
+		final long[] time = {START};
+		final Game saved = newGame(Gamestate.ARCADEMODE, time);
+		play(saved, time, 0, BEFORE);
+		final ByteBuffer snapshot = Snapshot.capture(saved);
+
+		final long[] laterTime = {START + 1000000};
+		final Game restored = newGame(Gamestate.BOSSMODE, laterTime);
+		Snapshot.read(restored, snapshot);
+		assertEquals(Gamestate.ARCADEMODE, restored.getGamestate().getCurrentMode());
+		assertEquals(saved.getEntities().size(), restored.getEntities().size());
+		assertEquals(saved.getTimers().size(), restored.getTimers().size());
+		assertEquals(saved.getScorecounter().getScore(), restored.getScorecounter().getScore());
+		assertEquals(saved.getSpawner().getWave(), restored.getSpawner().getWave());
+		assertFalse(restored.getRecorder().isRecording());
+		for (final AbstractEntity e : restored.getEntities()) {
+			if (e.getId() != EntityHandles.NONE) {
+				assertEquals(e, restored.getEntityHandles().get(e.getId()));
+			}
+		}
+	}
+
+	@Test
+	public final void testPlayerOutsideEntities() {
+		final long[] time = {START};
+		final Game saved = newGame(Gamestate.COOPARCADEMODE, time);
+		saved.getEntities().remove(saved.getPlayerTwo());
+		final Game restored = newGame(Gamestate.ARCADEMODE, time);
+		Snapshot.read(restored, Snapshot.capture(saved));
+		assertNotNull(restored.getPlayerTwo());
+		assertFalse(restored.getEntities().contains(restored.getPlayerTwo()));
+		assertEquals(restored.getPlayer(), restored.getEntities().get(0));
+	}
+
+	@Test
+	public final void testNoPlayers() {
+		final long[] time = {START};
+		final Game saved = newGame(Gamestate.ARCADEMODE, time);
+		saved.getEntities().clear();
+		saved.setPlayer(null);
+		final Game restored = newGame(Gamestate.ARCADEMODE, time);
+		Snapshot.read(restored, Snapshot.capture(saved));
+		assertNull(restored.getPlayer());
+		assertEquals(0, restored.getEntities().size());
+	}
+
+	@Test
+	public final void testFrames() throws IOException {
+		final long[] time = {START};
+		final Game saved = newGame(Gamestate.COOPARCADEMODE, time);
+		play(saved, time, 0, BEFORE);
+		final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+		Snapshot.write(saved, new DataOutputStream(frames));
+
+		final Game restored = newGame(Gamestate.ARCADEMODE, time);
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(frames.toByteArray()));
+		Snapshot.read(restored, in);
+		assertEquals(-1, in.read());
+		assertEquals(StateHash.of(saved), StateHash.of(restored));
+		assertEquals(saved.getEntities().size(), restored.getEntities().size());
+		assertEquals(Snapshot.capture(saved), Snapshot.capture(restored));
+	}
+
+	@Test(expected = EOFException.class)
+	public final void testFramesCutOff() throws IOException {
+		final long[] time = {START};
+		final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+		Snapshot.write(newGame(Gamestate.ARCADEMODE, time), new DataOutputStream(frames));
+		final byte[] bytes = frames.toByteArray();
+		Snapshot.read(newGame(Gamestate.ARCADEMODE, time),
+				new DataInputStream(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testNotASnapshot() {
+		final long[] time = {START};
+		Snapshot.read(newGame(Gamestate.ARCADEMODE, time), ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5}));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testCanNotMakeOther() {
+		EntityTypes.create(EntityTypes.OTHER, new Game());
+	}
+
+	@Test
+	public final void testCodec() {
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		Codec.putVarLong(buffer, 0);
+		Codec.putVarLong(buffer, 300);
+		Codec.putVarLong(buffer, -1);
+		Codec.putSigned(buffer, -3);
+		Codec.putTime(buffer, 950, 1000);
+		Codec.putBoolean(buffer, true);
+		assertEquals(1 + 2 + 10 + 1 + 1 + 1, buffer.position());
+		buffer.flip();
+		assertEquals(0, Codec.getVarLong(buffer));
+		assertEquals(300, Codec.getVarInt(buffer));
+		assertEquals(-1, Codec.getVarLong(buffer));
+		assertEquals(-3, Codec.getSigned(buffer));
+		assertEquals(5950, Codec.getTime(buffer, 6000));
+		assertEquals(true, Codec.getBoolean(buffer));
+	}
+
+	/**
+	 * Play a game for a while, restore a snapshot of it into another game at
+	 * the same time and check that both games stay in the same state.
+	 *
+	 * @param mode the mode of the game
+	 */
+	private static void continuesTheSame(final int mode) {
+		final long[] time = {START};
+		final Game saved = newGame(mode, time);
+		play(saved, time, 0, BEFORE);
+		final ByteBuffer snapshot = Snapshot.capture(saved);
+
+		final Game restored = newGame(Gamestate.ARCADEMODE, time);
+		Snapshot.read(restored, snapshot);
+		assertEquals(StateHash.of(saved), StateHash.of(restored));
+		for (int i = BEFORE; i < BEFORE + AFTER; i++) {
+			time[0] += FRAME;
+			saved.updateGame(ReplayTest.script(i));
+			restored.updateGame(ReplayTest.script(i));
+			assertEquals("tick " + i, StateHash.of(saved), StateHash.of(restored));
+		}
+	}
+
+	/**
+	 * @param mode the mode of the game
+	 * @param time the clock of the game
+	 * @return a started game without rendering or sound
+	 */
+	private static Game newGame(final int mode, final long[] time) {
+		return Game.headless(() -> time[0], mode, SEED);
+	}
+
+	/**
+	 * @param thisGame the game
+	 * @param time     the clock of the game
+	 * @param from     the first tick
+	 * @param to       the tick to stop before
+	 */
+	private static void play(final Game thisGame, final long[] time, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			time[0] += FRAME;
+			thisGame.updateGame(ReplayTest.script(i));
+		}
+	}
+}